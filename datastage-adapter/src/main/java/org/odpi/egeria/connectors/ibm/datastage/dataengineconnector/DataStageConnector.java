@@ -8,6 +8,7 @@ import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping.Line
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping.ProcessMapping;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.mapping.SchemaTypeMapping;
 import org.odpi.egeria.connectors.ibm.datastage.dataengineconnector.model.*;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRequestPriority;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCVersionEnum;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
@@ -28,6 +29,7 @@ import org.slf4j.LoggerFactory;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class DataStageConnector extends DataEngineConnectorBase {
 
@@ -110,6 +112,8 @@ public class DataStageConnector extends DataEngineConnectorBase {
         if (this.igcRestClient.isSuccessfullyInitialised()) {
             // Set the version based on the IGC client's auto-determination of the IGC environment's version
             this.igcVersion = this.igcRestClient.getIgcVersion();
+            // Synchronising changed jobs is bulk work, so should never hold up interactive requests
+            this.igcRestClient.setDefaultRequestPriority(IGCRequestPriority.BACKGROUND);
             // Set the default page size to whatever is provided as part of config parameters (default to 100)
             if (igcPage != null) {
                 this.igcRestClient.setDefaultPageSize(igcPage);
@@ -309,9 +313,9 @@ public class DataStageConnector extends DataEngineConnectorBase {
      *
      * @param from the date and time from which to look for changed jobs
      * @param to the date and time up to which to look for changed jobs
-     * @return ReferenceList
+     * @return {@code Stream<Reference>}
      */
-    private ReferenceList getChangedJobs(Date from, Date to) {
+    private Stream<Reference> getChangedJobs(Date from, Date to) {
         long fromTime = 0;
         long toTime = to.getTime();
         // TODO: may need to modify search criteria for job retrieval to pick up jobs used in changed sequences
@@ -327,26 +331,21 @@ public class DataStageConnector extends DataEngineConnectorBase {
         }
         if (log.isInfoEnabled()) { log.info(" ... searching for changed jobs > {} and <= {}", fromTime, toTime); }
         igcSearch.addConditions(conditionSet);
-        ReferenceList changedJobs = igcRestClient.search(igcSearch);
-        return changedJobs;
+        // Prefetch the next page of jobs while the details of each job on the current page are being retrieved
+        return igcRestClient.searchStream(igcSearch, true);
     }
 
     /**
      * Build up the cache of changed job details for use by the other methods (minimizing re-retrieval of details)
      *
-     * @param jobs
+     * @param jobs the stream of changed jobs, which will be closed once all of them have been cached
      */
-    private void cacheChangedJobs(ReferenceList jobs) {
+    private void cacheChangedJobs(Stream<Reference> jobs) {
 
         // TODO: need to keep an eye on how fast this may consume memory, and may need to determine some other way
         //  to batch up
-        for (Reference job : jobs.getItems()) {
-            DSJob detailedJob = getJobDetails(job);
-            changedJobsCache.add(detailedJob);
-        }
-        if (jobs.hasMorePages()) {
-            jobs.getNextPage(igcRestClient);
-            cacheChangedJobs(jobs);
+        try (Stream<Reference> changedJobs = jobs) {
+            changedJobs.forEachOrdered(job -> changedJobsCache.add(getJobDetails(job)));
         }
 
     }
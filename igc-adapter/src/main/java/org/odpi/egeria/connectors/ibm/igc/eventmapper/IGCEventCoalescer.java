@@ -0,0 +1,231 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * Holds back the work arising from IGC events for a short window, so that repeated work for the same asset (eg. the
+ * burst of CREATE, MODIFY and ASSIGNED_RELATIONSHIP events IGC emits as an asset is imported or edited) is collapsed
+ * into a single unit of work.
+ * <br><br>
+ * Work for an asset is held from the first event for it until either the time window has passed or more assets than
+ * the size window allows are being held, whichever comes first; any further work for the asset in the meantime is
+ * merged into what is held (so that, for example, a delete supersedes any earlier changes). The completions of every
+ * event merged into a unit of work are kept with it, so that each of those events is only considered processed once
+ * the unit of work is.
+ * <br><br>
+ * Not thread-safe: intended to be used only from the thread consuming the events.
+ *
+ * @param <W> the type of unit of work
+ */
+class IGCEventCoalescer<W> {
+
+    public static final long DEFAULT_WINDOW_MS = 1000;
+    public static final int DEFAULT_MAX_PENDING = 10000;
+
+    private final long windowMillis;
+    private final int maxPending;
+    private final BinaryOperator<W> merger;
+    private final LinkedHashMap<String, Coalesced<W>> pendingByRid = new LinkedHashMap<>();
+
+    private long received = 0;
+    private long coalesced = 0;
+
+    /**
+     * Creates a new coalescer.
+     *
+     * @param windowMillis the number of milliseconds for which to hold the work for an asset
+     * @param maxPending the maximum number of assets for which to hold work at any one time
+     * @param merger the means of merging a later unit of work for an asset into an earlier one
+     */
+    IGCEventCoalescer(long windowMillis, int maxPending, BinaryOperator<W> merger) {
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxPending = Math.max(1, maxPending);
+        this.merger = merger;
+    }
+
+    /**
+     * Hold the provided unit of work, merging it into any work already held for the same asset. If this takes the
+     * number of assets held beyond the size window, the work held longest is released to the provided sink.
+     *
+     * @param rid the Repository ID (RID) of the asset the work concerns
+     * @param work the unit of work
+     * @param partition the partition of the event from which the work arose
+     * @param completion the callback to run once the work has completed
+     * @param now the current time, in milliseconds
+     * @param sink the destination for any work released
+     */
+    void add(String rid, W work, TopicPartition partition, Runnable completion, long now, Consumer<Coalesced<W>> sink) {
+        received++;
+        Coalesced<W> pending = pendingByRid.get(rid);
+        if (pending == null) {
+            pendingByRid.put(rid, new Coalesced<>(work, partition, completion, now));
+            while (pendingByRid.size() > maxPending) {
+                release(pendingByRid.keySet().iterator().next(), sink);
+            }
+        } else {
+            coalesced++;
+            pending.merge(merger.apply(pending.work, work), partition, completion);
+        }
+    }
+
+    /**
+     * Release any work held for the provided asset (eg. before other work for the asset that must follow it).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @param sink the destination for any work released
+     */
+    void release(String rid, Consumer<Coalesced<W>> sink) {
+        Coalesced<W> pending = pendingByRid.remove(rid);
+        if (pending != null) {
+            sink.accept(pending);
+        }
+    }
+
+    /**
+     * Release all of the work that has been held for at least the time window, in the order it was first held.
+     *
+     * @param now the current time, in milliseconds
+     * @param sink the destination for the work released
+     */
+    void releaseExpired(long now, Consumer<Coalesced<W>> sink) {
+        Iterator<Map.Entry<String, Coalesced<W>>> iterator = pendingByRid.entrySet().iterator();
+        List<Coalesced<W>> expired = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Coalesced<W> pending = iterator.next().getValue();
+            if (now - pending.firstHeld < windowMillis) {
+                break;
+            }
+            iterator.remove();
+            expired.add(pending);
+        }
+        expired.forEach(sink);
+    }
+
+    /**
+     * Discard the work held for events from the provided partitions (eg. because they have been revoked, and their
+     * events will be consumed again by their new owner). Work that also merges events from other partitions is still
+     * held, since those events must still be processed, but is attributed to the latest of those other partitions.
+     *
+     * @param partitions the partitions whose work to discard
+     * @return int - the number of units of work discarded
+     */
+    int removePartitions(Collection<TopicPartition> partitions) {
+        int removed = 0;
+        Iterator<Coalesced<W>> iterator = pendingByRid.values().iterator();
+        while (iterator.hasNext()) {
+            Coalesced<W> pending = iterator.next();
+            if (pending.partitions.removeAll(partitions)) {
+                if (pending.partitions.isEmpty()) {
+                    iterator.remove();
+                    removed++;
+                } else if (partitions.contains(pending.partition)) {
+                    TopicPartition latest = null;
+                    for (TopicPartition partition : pending.partitions) {
+                        latest = partition;
+                    }
+                    pending.partition = latest;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Discard all of the work held (eg. because it will never be processed, and its events will be consumed again).
+     */
+    void clear() {
+        pendingByRid.clear();
+    }
+
+    /**
+     * Retrieve the number of assets for which work is being held.
+     *
+     * @return int
+     */
+    int size() { return pendingByRid.size(); }
+
+    /**
+     * Retrieve the number of units of work that have been merged into others, and so will not be processed
+     * separately.
+     *
+     * @return long
+     */
+    long getCoalescedCount() { return coalesced; }
+
+    @Override
+    public String toString() {
+        return "IGCEventCoalescer{" +
+                "windowMillis=" + windowMillis +
+                ", maxPending=" + maxPending +
+                ", pending=" + pendingByRid.size() +
+                ", received=" + received +
+                ", coalesced=" + coalesced +
+                "}";
+    }
+
+    /**
+     * A unit of work into which the work from one or more events has been merged.
+     *
+     * @param <W> the type of unit of work
+     */
+    static final class Coalesced<W> {
+
+        private W work;
+        private TopicPartition partition;
+        private final Set<TopicPartition> partitions = new LinkedHashSet<>();
+        private final List<Runnable> completions = new ArrayList<>();
+        private final long firstHeld;
+
+        private Coalesced(W work, TopicPartition partition, Runnable completion, long firstHeld) {
+            this.work = work;
+            this.partition = partition;
+            this.partitions.add(partition);
+            this.completions.add(completion);
+            this.firstHeld = firstHeld;
+        }
+
+        private void merge(W work, TopicPartition partition, Runnable completion) {
+            this.work = work;
+            this.partition = partition;
+            this.partitions.remove(partition);
+            this.partitions.add(partition);
+            this.completions.add(completion);
+        }
+
+        /**
+         * Retrieve the merged unit of work.
+         *
+         * @return W
+         */
+        W getWork() { return work; }
+
+        /**
+         * Retrieve the partition of the latest event merged into the work.
+         *
+         * @return TopicPartition
+         */
+        TopicPartition getPartition() { return partition; }
+
+        /**
+         * Retrieve the callbacks to run once the work has completed (one per unit of work merged).
+         *
+         * @return {@code List<Runnable>}
+         */
+        List<Runnable> getCompletions() { return completions; }
+
+    }
+
+}
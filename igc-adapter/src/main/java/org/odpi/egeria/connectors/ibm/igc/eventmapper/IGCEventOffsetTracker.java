@@ -0,0 +1,161 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which of the events consumed from each Kafka partition have been completely processed, so that the offset
+ * of an event is only committed once the event (and every event before it in the partition) has been processed.
+ * <br><br>
+ * Since the work arising from an event may be spread across several worker threads, and the events of a partition
+ * may therefore complete out of order, the offset committed for each partition is its contiguous-completion
+ * watermark: the offset of the earliest event that has not yet completed (or, if all have, the offset after the
+ * last event consumed). Should processing stop before some event completes, consumption restarts from that event:
+ * every event is processed at least once.
+ */
+class IGCEventOffsetTracker {
+
+    private final Map<TopicPartition, PartitionProgress> progressByPartition = new ConcurrentHashMap<>();
+
+    /**
+     * Register an event that has been consumed, along with the number of units of work into which it was broken down.
+     * The event completes once the returned callback has been run once for each of those units (or immediately, if
+     * there are none).
+     *
+     * @param partition the partition from which the event was consumed
+     * @param offset the offset of the event within the partition
+     * @param units the number of units of work arising from the event
+     * @return Runnable - the callback to run as each unit of work completes
+     */
+    Runnable register(TopicPartition partition, long offset, int units) {
+        PartitionProgress progress = progressByPartition.computeIfAbsent(partition, p -> new PartitionProgress());
+        progress.register(offset, units);
+        return () -> progress.completeUnit(offset);
+    }
+
+    /**
+     * Retrieve the offsets that can be committed for every partition whose watermark has moved on since it was last
+     * committed.
+     *
+     * @return {@code Map<TopicPartition, OffsetAndMetadata>}
+     */
+    Map<TopicPartition, OffsetAndMetadata> getCommittableOffsets() {
+        return getCommittableOffsets(progressByPartition.keySet());
+    }
+
+    /**
+     * Retrieve the offsets that can be committed for those of the provided partitions whose watermark has moved on
+     * since it was last committed.
+     *
+     * @param partitions the partitions for which to retrieve the offsets
+     * @return {@code Map<TopicPartition, OffsetAndMetadata>}
+     */
+    Map<TopicPartition, OffsetAndMetadata> getCommittableOffsets(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionProgress progress = progressByPartition.get(partition);
+            if (progress != null) {
+                long watermark = progress.getWatermark();
+                if (watermark > progress.getCommitted()) {
+                    offsets.put(partition, new OffsetAndMetadata(watermark));
+                }
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Record that the provided offsets have been committed.
+     *
+     * @param offsets the offsets that were committed
+     */
+    void markCommitted(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+            PartitionProgress progress = progressByPartition.get(entry.getKey());
+            if (progress != null) {
+                progress.setCommitted(entry.getValue().offset());
+            }
+        }
+    }
+
+    /**
+     * Stop tracking the provided partitions (eg. once they are no longer assigned to this consumer). Any work still
+     * running for their events will no longer affect what is committed.
+     *
+     * @param partitions the partitions to stop tracking
+     */
+    void remove(Collection<TopicPartition> partitions) {
+        partitions.forEach(progressByPartition::remove);
+    }
+
+    /**
+     * Retrieve the number of events consumed that have not yet completed, across all partitions.
+     *
+     * @return int
+     */
+    int getPendingCount() {
+        int pending = 0;
+        for (PartitionProgress progress : progressByPartition.values()) {
+            pending += progress.getPendingCount();
+        }
+        return pending;
+    }
+
+    @Override
+    public String toString() {
+        return "IGCEventOffsetTracker{" +
+                "partitions=" + progressByPartition.size() +
+                ", pending=" + getPendingCount() +
+                "}";
+    }
+
+    /**
+     * The progress of the events consumed from a single partition.
+     */
+    private static class PartitionProgress {
+
+        private final TreeMap<Long, Integer> remainingByOffset = new TreeMap<>();
+        private long nextOffset = -1;
+        private long committed = -1;
+
+        synchronized void register(long offset, int units) {
+            if (units > 0) {
+                remainingByOffset.put(offset, units);
+            }
+            nextOffset = Math.max(nextOffset, offset + 1);
+        }
+
+        synchronized void completeUnit(long offset) {
+            Integer remaining = remainingByOffset.get(offset);
+            if (remaining != null) {
+                if (remaining > 1) {
+                    remainingByOffset.put(offset, remaining - 1);
+                } else {
+                    remainingByOffset.remove(offset);
+                }
+            }
+        }
+
+        synchronized long getWatermark() {
+            return remainingByOffset.isEmpty() ? nextOffset : remainingByOffset.firstKey();
+        }
+
+        synchronized long getCommitted() { return committed; }
+
+        synchronized void setCommitted(long offset) {
+            committed = Math.max(committed, offset);
+        }
+
+        synchronized int getPendingCount() { return remainingByOffset.size(); }
+
+    }
+
+}
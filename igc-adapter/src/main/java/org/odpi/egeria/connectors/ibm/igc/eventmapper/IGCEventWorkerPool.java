@@ -0,0 +1,179 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.eventmapper;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRequestPriority;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A pool of threads on which the work arising from IGC events is processed.
+ * <br><br>
+ * Each unit of work is routed to a thread by the Repository ID (RID) of the asset it concerns, so that the work for
+ * any one asset is always processed in the order in which it was submitted, while the work for unrelated assets is
+ * processed in parallel. Each thread has a bounded queue of work: once it is full, further work for that thread is
+ * refused (rather than waited for) so that the submitter can apply backpressure to its own source of events.
+ * <br><br>
+ * Work for one asset can cascade into processing other, related assets on the same thread, so the work for any one
+ * asset is not confined to its own thread. The pool therefore also provides a lock per asset (striped by the same hash
+ * as the routing), which the work must hold while reading and updating anything kept about that asset.
+ */
+class IGCEventWorkerPool {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCEventWorkerPool.class);
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private static final int LOCK_STRIPES_PER_THREAD = 16;
+
+    private final ThreadPoolExecutor[] workers;
+    private final ReentrantLock[] assetLocks;
+
+    /**
+     * Creates a new pool of workers, each of which runs its work at background priority.
+     *
+     * @param igcRestClient connectivity to the IGC environment against which the work runs
+     * @param threads the number of worker threads
+     * @param queueSize the maximum number of units of work waiting on each worker thread
+     */
+    IGCEventWorkerPool(IGCRestClient igcRestClient, int threads, int queueSize) {
+        this.workers = new ThreadPoolExecutor[Math.max(1, threads)];
+        for (int i = 0; i < workers.length; i++) {
+            final String threadName = "igc-omrs-event-" + (i + 1);
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                    runnable -> {
+                        Thread thread = new Thread(() -> {
+                            // Event processing is bulk work: schedule its requests behind interactive queries
+                            igcRestClient.setThreadRequestPriority(IGCRequestPriority.BACKGROUND);
+                            runnable.run();
+                        }, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        this.assetLocks = new ReentrantLock[workers.length * LOCK_STRIPES_PER_THREAD];
+        for (int i = 0; i < assetLocks.length; i++) {
+            assetLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Submit a unit of work, to be processed after any other work already submitted for the same asset.
+     *
+     * @param rid the Repository ID (RID) of the asset the work concerns
+     * @param work the work to process
+     * @return boolean - true if the work was accepted, or false if the queue for that asset's thread is full (or the
+     *                   pool has been shut down), in which case the work should be submitted again later
+     */
+    boolean submit(String rid, Runnable work) {
+        ThreadPoolExecutor worker = workers[getWorkerIndex(rid)];
+        try {
+            worker.execute(() -> {
+                try {
+                    work.run();
+                } catch (Exception e) {
+                    if (log.isErrorEnabled()) { log.error("Unable to process IGC event work for RID: {}", rid, e); }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieve the lock guarding the asset with the provided RID, which must be held while reading and updating
+     * anything kept about the asset. The same lock may also guard other assets, so no other asset's lock should be
+     * acquired while holding it.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return Lock
+     */
+    Lock getAssetLock(String rid) {
+        return assetLocks[(rid == null) ? 0 : Math.floorMod(rid.hashCode(), assetLocks.length)];
+    }
+
+    /**
+     * Retrieve the number of units of work waiting to be processed, across all threads.
+     *
+     * @return int
+     */
+    int getQueuedCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            queued += worker.getQueue().size();
+        }
+        return queued;
+    }
+
+    /**
+     * Retrieve the number of worker threads in the pool.
+     *
+     * @return int
+     */
+    int getThreadCount() { return workers.length; }
+
+    /**
+     * Stop accepting work, and wait (up to the provided time) for the work already accepted to be processed.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return boolean - true if all accepted work was processed, or false if the wait timed out (or was interrupted)
+     */
+    boolean shutdown(long timeout, TimeUnit unit) {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (ThreadPoolExecutor worker : workers) {
+                if (!worker.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Stop processing immediately, abandoning any work that has not yet started.
+     */
+    void shutdownNow() {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IGCEventWorkerPool{" +
+                "threads=" + workers.length +
+                ", queued=" + getQueuedCount() +
+                "}";
+    }
+
+    /**
+     * Retrieve the index of the worker thread to which work for the provided asset is routed.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return int
+     */
+    private int getWorkerIndex(String rid) {
+        return (rid == null) ? 0 : Math.floorMod(rid.hashCode(), workers.length);
+    }
+
+}
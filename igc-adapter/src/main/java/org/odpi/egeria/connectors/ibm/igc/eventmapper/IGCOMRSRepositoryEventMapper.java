@@ -4,7 +4,11 @@ package org.odpi.egeria.connectors.ibm.igc.eventmapper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.consumer.*;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRequestPriority;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCVersionEnum;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
@@ -36,7 +40,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 /**
  * IGCOMRSRepositoryEventMapper supports the event mapper function for the IBM Information Server suite
@@ -67,6 +75,18 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     private ObjectMapper mapper;
 
+    private int eventThreads = IGCEventWorkerPool.DEFAULT_THREADS;
+    private int eventQueueSize = IGCEventWorkerPool.DEFAULT_QUEUE_SIZE;
+    private IGCEventWorkerPool workerPool = null;
+    private IGCKafkaConsumerThread consumerThread = null;
+    private long pollTimeout = DEFAULT_POLL_TIMEOUT_MS;
+    private long coalesceWindow = IGCEventCoalescer.DEFAULT_WINDOW_MS;
+    private int coalesceSize = IGCEventCoalescer.DEFAULT_MAX_PENDING;
+
+    private static final long DEFAULT_POLL_TIMEOUT_MS = 100;
+    private static final long COMMIT_INTERVAL_MS = 1000;
+    private static final long DRAIN_TIMEOUT_MS = 30000;
+
     /**
      * Default constructor
      */
@@ -106,6 +126,38 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         igcKafkaProperties.put(ConsumerConfig.GROUP_ID_CONFIG, "IGCOMRSRepositoryEventMapper_consumer");
         igcKafkaProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
         igcKafkaProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
+        // Offsets are only committed once the events up to them have been processed (see IGCEventOffsetTracker)
+        igcKafkaProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+
+        // Retrieve the tuning of event processing
+        Integer igcEventThreads = (Integer) getConfigurationProperty("ibm.igc.events.threads");
+        Integer igcEventQueueSize = (Integer) getConfigurationProperty("ibm.igc.events.queuesize");
+        Integer igcEventMaxPollRecords = (Integer) getConfigurationProperty("ibm.igc.events.maxpollrecords");
+        Integer igcEventFetchMaxBytes = (Integer) getConfigurationProperty("ibm.igc.events.fetchmaxbytes");
+        Integer igcEventPollTimeout = (Integer) getConfigurationProperty("ibm.igc.events.polltimeout");
+        Integer igcEventCoalesceWindow = (Integer) getConfigurationProperty("ibm.igc.events.coalescewindow");
+        Integer igcEventCoalesceSize = (Integer) getConfigurationProperty("ibm.igc.events.coalescesize");
+        if (igcEventMaxPollRecords != null) {
+            igcKafkaProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, igcEventMaxPollRecords);
+        }
+        if (igcEventFetchMaxBytes != null) {
+            igcKafkaProperties.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, igcEventFetchMaxBytes);
+        }
+        if (igcEventPollTimeout != null) {
+            this.pollTimeout = igcEventPollTimeout;
+        }
+        if (igcEventCoalesceWindow != null) {
+            this.coalesceWindow = igcEventCoalesceWindow;
+        }
+        if (igcEventCoalesceSize != null) {
+            this.coalesceSize = igcEventCoalesceSize;
+        }
+        if (igcEventThreads != null) {
+            this.eventThreads = igcEventThreads;
+        }
+        if (igcEventQueueSize != null) {
+            this.eventQueueSize = igcEventQueueSize;
+        }
 
         // Setup ObjectMapper for (de-)serialisation of events
         this.mapper = new ObjectMapper();
@@ -176,17 +228,77 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                     auditCode.getUserAction());
         }
 
+        if (eventThreads > 0) {
+            this.workerPool = new IGCEventWorkerPool(igcRestClient, eventThreads, eventQueueSize);
+        }
+
         log.info("Starting consumption from IGC Kafka bus.");
-        new Thread(new IGCKafkaConsumerThread()).start();
+        this.consumerThread = new IGCKafkaConsumerThread(workerPool);
+        new Thread(consumerThread, "igc-omrs-event-consumer").start();
+
+    }
 
+    /**
+     * Retrieve the value of the provided configuration property: from the event mapper's own connection if it is
+     * set there, otherwise from the connection of the repository connector (since the event mapper's connection
+     * cannot always be given configuration properties).
+     *
+     * @param name the name of the configuration property
+     * @return Object - the value of the property, or null if it is not set
+     */
+    private Object getConfigurationProperty(String name) {
+        Object value = null;
+        Map<String, Object> eventMapperProperties = this.connectionBean.getConfigurationProperties();
+        if (eventMapperProperties != null) {
+            value = eventMapperProperties.get(name);
+        }
+        if (value == null && igcomrsRepositoryConnector.getConnection() != null) {
+            Map<String, Object> connectorProperties = igcomrsRepositoryConnector.getConnection().getConfigurationProperties();
+            if (connectorProperties != null) {
+                value = connectorProperties.get(name);
+            }
+        }
+        return value;
     }
 
 
     /**
      * Class to support multi-threaded consumption of IGC Kafka events.
+     * <br><br>
+     * Each event is broken down into the units of work for the individual assets it concerns, which are submitted to
+     * the worker pool (or, if there is no pool, processed immediately on this thread). Whenever an asset's worker has
+     * no room for more work, the rest of the work from that partition is held back and the partition paused (so that
+     * no further events are fetched from it) until the worker has caught up; the other partitions carry on.
+     * <br><br>
+     * Work that only refreshes an asset is first held in a coalescing window, so that repeated refreshes of the same
+     * asset (and any delete that follows them) are processed only once.
+     * <br><br>
+     * The offset of an event is only committed once all of the work arising from it, and from every event before it
+     * in its partition, has completed. When stopped, the consumer lets the work already submitted finish (for a
+     * limited time) and commits the offsets it reached, so that only the events that were not processed are consumed
+     * again on restart.
      */
     private class IGCKafkaConsumerThread implements Runnable {
 
+        private final IGCEventWorkerPool workerPool;
+        private final IGCEventOffsetTracker offsetTracker = new IGCEventOffsetTracker();
+        private final IGCEventCoalescer<RoutedWork> coalescer;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile boolean running = true;
+        private volatile Consumer<Long, String> consumer = null;
+        private final Map<TopicPartition, Deque<RoutedWork>> backlog = new HashMap<>();
+        private long lastCommit = 0;
+
+        /**
+         * Creates a new consumer of IGC events.
+         *
+         * @param workerPool the pool of workers on which to process events (or null to process them on this thread)
+         */
+        IGCKafkaConsumerThread(IGCEventWorkerPool workerPool) {
+            this.workerPool = workerPool;
+            this.coalescer = (coalesceWindow > 0) ? new IGCEventCoalescer<>(coalesceWindow, coalesceSize, RoutedWork::supersede) : null;
+        }
+
         /**
          * Read IGC Infosphere topic Kafka events.
          */
@@ -194,24 +306,324 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         public void run() {
 
             log.info("Starting IGC Event Mapper consumer thread.");
-            final Consumer<Long, String> consumer = new KafkaConsumer<>(igcKafkaProperties);
-            consumer.subscribe(Collections.singletonList(igcKafkaTopic));
+            // Event processing is bulk work: schedule its requests behind interactive queries from the cohort
+            igcRestClient.setThreadRequestPriority(IGCRequestPriority.BACKGROUND);
+            try {
+                consumer = new KafkaConsumer<>(igcKafkaProperties);
+                consumer.subscribe(Collections.singletonList(igcKafkaTopic), new ConsumerRebalanceListener() {
+                    @Override
+                    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                        // Commit what has been processed before giving up the partitions: work held back for them is
+                        // dropped, and will be consumed again by their new owner
+                        commitOffsets(partitions, true);
+                        partitions.forEach(backlog::remove);
+                        if (coalescer != null) {
+                            int dropped = coalescer.removePartitions(partitions);
+                            if (log.isDebugEnabled()) { log.debug("Dropped {} coalesced units of work for revoked partitions {}.", dropped, partitions); }
+                        }
+                        offsetTracker.remove(partitions);
+                    }
+                    @Override
+                    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                        // Nothing to do: consumption continues from the committed offsets
+                    }
+                });
+                while (running) {
+                    try {
+                        // Poll only briefly while work is held back, so that it is submitted as soon as there is room
+                        ConsumerRecords<Long, String> events = consumer.poll(Duration.ofMillis(backlog.isEmpty() ? pollTimeout : 10));
+                        for (TopicPartition partition : events.partitions()) {
+                            for (ConsumerRecord<Long, String> event : events.records(partition)) {
+                                consumeEvent(partition, event);
+                            }
+                        }
+                        if (coalescer != null) {
+                            coalescer.releaseExpired(System.currentTimeMillis(), this::enqueue);
+                        }
+                        if (workerPool != null) {
+                            submitBacklog();
+                        }
+                        if (System.currentTimeMillis() - lastCommit >= COMMIT_INTERVAL_MS) {
+                            commitOffsets(null, false);
+                        }
+                    } catch (WakeupException e) {
+                        if (log.isDebugEnabled()) { log.debug("IGC Event Mapper consumer thread woken up to stop."); }
+                    } catch (Exception e) {
+                        log.error("Failed trying to consume IGC events from Kafka.", e);
+                    }
+                }
+                drain();
+            } finally {
+                if (consumer != null) {
+                    consumer.close();
+                }
+                stopped.countDown();
+                log.info("Stopped IGC Event Mapper consumer thread.");
+            }
+        }
+
+        /**
+         * Break down the provided event into its units of work and either hold them in the coalescing window, process
+         * them immediately (if there is no worker pool) or queue them up to be submitted to the worker pool, tracking
+         * their completion.
+         *
+         * @param partition the partition from which the event was consumed
+         * @param event the event
+         */
+        private void consumeEvent(TopicPartition partition, ConsumerRecord<Long, String> event) {
+            List<RoutedWork> units = new ArrayList<>();
+            try {
+                dispatchEvent(event.value(), units::add);
+            } catch (RuntimeException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to break down event at offset {} of {} -- skipping: {}", event.offset(), partition, event.value(), e); }
+                units.clear();
+            }
+            Runnable completion = offsetTracker.register(partition, event.offset(), units.size());
+            for (RoutedWork unit : units) {
+                if (coalescer == null) {
+                    enqueue(unit, partition, Collections.singletonList(completion));
+                } else if (unit.refresh) {
+                    coalescer.add(unit.rid, unit, partition, completion, System.currentTimeMillis(), this::enqueue);
+                } else {
+                    // Any refresh already held for the asset must still be processed before this work
+                    coalescer.release(unit.rid, this::enqueue);
+                    enqueue(unit, partition, Collections.singletonList(completion));
+                }
+            }
+        }
 
-            // TODO: Likely need to tweak these settings to give further processing time for large events
-            //  like IMAM shares -- or even switch to manual offset management rather than auto-commits
-            //  (see: https://kafka.apache.org/0110/javadoc/org/apache/kafka/clients/consumer/KafkaConsumer.html)
-            while (true) {
+        /**
+         * Process the provided (coalesced) unit of work immediately (if there is no worker pool) or queue it up to be
+         * submitted to the worker pool.
+         *
+         * @param coalesced the unit of work released from the coalescing window
+         */
+        private void enqueue(IGCEventCoalescer.Coalesced<RoutedWork> coalesced) {
+            enqueue(coalesced.getWork(), coalesced.getPartition(), coalesced.getCompletions());
+        }
+
+        /**
+         * Process the provided unit of work immediately (if there is no worker pool) or queue it up to be submitted
+         * to the worker pool.
+         *
+         * @param unit the unit of work
+         * @param partition the partition from which the event(s) giving rise to the work were consumed
+         * @param completions the callbacks to run once the work has completed
+         */
+        private void enqueue(RoutedWork unit, TopicPartition partition, List<Runnable> completions) {
+            if (workerPool == null) {
                 try {
-                    ConsumerRecords<Long, String> events = consumer.poll(100);
-                    for (ConsumerRecord<Long, String> event : events) {
-                        processEvent(event.value());
+                    unit.work.run();
+                } catch (RuntimeException e) {
+                    if (log.isErrorEnabled()) { log.error("Unable to process IGC event work for RID: {}", unit.rid, e); }
+                } finally {
+                    completions.forEach(Runnable::run);
+                }
+            } else {
+                // A unit that fails is still complete: it will not succeed by being retried
+                backlog.computeIfAbsent(partition, p -> new ArrayDeque<>()).add(new RoutedWork(unit.rid, () -> {
+                    try {
+                        unit.work.run();
+                    } finally {
+                        completions.forEach(Runnable::run);
+                    }
+                }));
+            }
+        }
+
+        /**
+         * Submit as much of the work held back as the worker pool has room for, in order, pausing any partition whose
+         * work cannot all be submitted and resuming any partition whose work now has been.
+         */
+        private void submitBacklog() {
+
+            Set<TopicPartition> toPause = new HashSet<>();
+            Set<TopicPartition> toResume = new HashSet<>();
+            Set<TopicPartition> assigned = consumer.assignment();
+            Iterator<Map.Entry<TopicPartition, Deque<RoutedWork>>> iterator = backlog.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<TopicPartition, Deque<RoutedWork>> entry = iterator.next();
+                if (!assigned.contains(entry.getKey())) {
+                    // No longer ours (it can be neither paused nor resumed): its events will be consumed again by
+                    // its new owner
+                    if (log.isDebugEnabled()) { log.debug("Dropping work held back for unassigned partition {}.", entry.getKey()); }
+                    iterator.remove();
+                    continue;
+                }
+                Deque<RoutedWork> waiting = entry.getValue();
+                while (!waiting.isEmpty() && workerPool.submit(waiting.peek().rid, waiting.peek().work)) {
+                    waiting.poll();
+                }
+                if (waiting.isEmpty()) {
+                    iterator.remove();
+                    toResume.add(entry.getKey());
+                } else {
+                    toPause.add(entry.getKey());
+                }
+            }
+
+            Set<TopicPartition> paused = consumer.paused();
+            toPause.removeAll(paused);
+            toResume.retainAll(paused);
+            if (!toPause.isEmpty()) {
+                if (log.isDebugEnabled()) { log.debug("Pausing consumption of {} until event workers catch up: {}", toPause, workerPool); }
+                consumer.pause(toPause);
+            }
+            if (!toResume.isEmpty()) {
+                if (log.isDebugEnabled()) { log.debug("Resuming consumption of {}.", toResume); }
+                consumer.resume(toResume);
+            }
+
+        }
+
+        /**
+         * Commit the offsets up to which events have been completely processed.
+         *
+         * @param partitions the partitions for which to commit offsets (or null for all partitions)
+         * @param sync whether to wait for the commit to complete (true) or not (false)
+         */
+        private void commitOffsets(Collection<TopicPartition> partitions, boolean sync) {
+            lastCommit = System.currentTimeMillis();
+            Map<TopicPartition, OffsetAndMetadata> offsets = (partitions == null)
+                    ? offsetTracker.getCommittableOffsets()
+                    : offsetTracker.getCommittableOffsets(partitions);
+            if (!offsets.isEmpty()) {
+                if (log.isDebugEnabled()) { log.debug("Committing offsets: {}", offsets); }
+                if (sync) {
+                    try {
+                        consumer.commitSync(offsets);
+                        offsetTracker.markCommitted(offsets);
+                    } catch (KafkaException e) {
+                        if (log.isWarnEnabled()) { log.warn("Unable to commit offsets {} -- these events will be consumed again.", offsets, e); }
                     }
-                } catch (Exception e) {
-                    log.error("Failed trying to consume IGC events from Kafka.", e);
+                } else {
+                    consumer.commitAsync(offsets, (committed, e) -> {
+                        if (e == null) {
+                            offsetTracker.markCommitted(committed);
+                        } else {
+                            if (log.isWarnEnabled()) { log.warn("Unable to commit offsets {} -- will retry.", committed, e); }
+                        }
+                    });
+                }
+            }
+        }
+
+        /**
+         * Stop taking on work, let the work already submitted to the worker pool finish (for a limited time), and
+         * commit the offsets reached.
+         */
+        private void drain() {
+            // Work held back was never started, so it is simply consumed again on restart
+            if (coalescer != null) {
+                if (log.isInfoEnabled()) { log.info("Event coalescing at disconnect: {}", coalescer); }
+                coalescer.clear();
+            }
+            if (workerPool != null) {
+                backlog.clear();
+                if (!workerPool.shutdown(DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    if (log.isWarnEnabled()) { log.warn("Event workers did not finish within {}ms -- abandoning: {}", DRAIN_TIMEOUT_MS, workerPool); }
+                    workerPool.shutdownNow();
                 }
             }
+            commitOffsets(null, true);
+            if (log.isInfoEnabled()) { log.info("Drained event processing: {}", offsetTracker); }
+        }
+
+        /**
+         * Stop consuming events.
+         */
+        void stop() {
+            running = false;
+            Consumer<Long, String> current = consumer;
+            if (current != null) {
+                current.wakeup();
+            }
         }
 
+        /**
+         * Wait for the consumer to have stopped (including draining the work already submitted).
+         *
+         * @param timeout the maximum time to wait
+         * @param unit the unit of the timeout
+         * @return boolean - true if the consumer stopped, otherwise false
+         */
+        boolean awaitStopped(long timeout, TimeUnit unit) {
+            try {
+                return stopped.await(timeout, unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * A unit of work arising from an event, along with the Repository ID (RID) of the asset it concerns.
+     */
+    private static class RoutedWork {
+
+        private final String rid;
+        private final Runnable work;
+        private final boolean refresh;
+        private final String assetType;
+        private final boolean deleted;
+
+        /**
+         * Creates a unit of work that does more than refresh the asset it concerns, so cannot be coalesced.
+         *
+         * @param rid the Repository ID (RID) of the asset the work concerns
+         * @param work the work
+         */
+        RoutedWork(String rid, Runnable work) {
+            this(rid, work, false, null, false);
+        }
+
+        /**
+         * Creates a unit of work.
+         *
+         * @param rid the Repository ID (RID) of the asset the work concerns
+         * @param work the work
+         * @param refresh whether the work only refreshes the asset (from its latest state in IGC)
+         * @param assetType the IGC asset type of the asset, if known
+         * @param deleted whether the work arose from the deletion of the asset
+         */
+        RoutedWork(String rid, Runnable work, boolean refresh, String assetType, boolean deleted) {
+            this.rid = rid;
+            this.work = work;
+            this.refresh = refresh;
+            this.assetType = assetType;
+            this.deleted = deleted;
+        }
+
+        /**
+         * Merge two refreshes of the same asset. Since a refresh always works from the latest state of the asset,
+         * either one would do: the later one is kept, unless only the earlier one knows the asset's type (which is
+         * needed to purge a deleted asset). A delete always supersedes what came before it.
+         *
+         * @param earlier the earlier refresh
+         * @param later the later refresh
+         * @return RoutedWork - the refresh to keep
+         */
+        static RoutedWork supersede(RoutedWork earlier, RoutedWork later) {
+            return (later.deleted || later.assetType != null || earlier.assetType == null) ? later : earlier;
+        }
+
+    }
+
+    /**
+     * The means of processing each unit of work into which an event is broken down.
+     */
+    @FunctionalInterface
+    private interface EventDispatcher {
+
+        /**
+         * Process (or arrange to process) the provided unit of work.
+         *
+         * @param unit the unit of work
+         */
+        void dispatch(RoutedWork unit);
+
     }
 
 
@@ -234,11 +646,22 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      */
     @Override
     public void processEvent(String event) {
+        dispatchEvent(event, unit -> unit.work.run());
+    }
+
+    /**
+     * Break down the provided event into the units of work for the individual assets it concerns, and pass each of
+     * them (in order) to the provided dispatcher.
+     *
+     * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
+     */
+    private void dispatchEvent(String event, EventDispatcher dispatcher) {
         if (log.isDebugEnabled()) { log.debug("Processing event: {}", event); }
         if (igcVersion.isEqualTo(IGCVersionEnum.V11702) || igcVersion.isHigherThan(IGCVersionEnum.V11702)) {
-            processEventV117(event);
+            processEventV117(event, dispatcher);
         } else {
-            processEventV115(event);
+            processEventV115(event, dispatcher);
         }
     }
 
@@ -247,23 +670,24 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * Basically this method will simply route between processing IMAM events and normal asset events.
      *
      * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processEventV115(String event) {
+    private void processEventV115(String event, EventDispatcher dispatcher) {
 
         try {
             InfosphereEvents eventObj = this.mapper.readValue(event, InfosphereEvents.class);
             switch(eventObj.getEventType()) {
                 case "IMAM_SHARE_EVENT":
-                    processIMAMShareEventV115((InfosphereEventsIMAMEvent)eventObj);
+                    processIMAMShareEventV115((InfosphereEventsIMAMEvent)eventObj, dispatcher);
                     break;
                 case "DC_CREATE_EVENT":
                 case "DC_MERGED_EVENT":
-                    processDataConnectionEventV115((InfosphereEventsDCEvent)eventObj);
+                    processDataConnectionEventV115((InfosphereEventsDCEvent)eventObj, dispatcher);
                     break;
                 case "IA_COLUMN_CLASSIFIED_EVENT":
                 case "IA_COLUMN_ANALYZED_EVENT":
                 case "IA_TABLE_RESULTS_PUBLISHED":
-                    processIAEventV115((InfosphereEventsIAEvent)eventObj);
+                    processIAEventV115((InfosphereEventsIAEvent)eventObj, dispatcher);
                     break;
                 case "IA_PROJECT_CREATED_EVENT":
                 case "IA_TABLE_ADDED_TO_PROJECT":
@@ -279,7 +703,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                     log.info("Found Information Analyzer event that cannot be processed via APIs, skipping.");
                     break;
                 default:
-                    processAssetEventV115((InfosphereEventsAssetEvent)eventObj);
+                    processAssetEventV115((InfosphereEventsAssetEvent)eventObj, dispatcher);
                     break;
             }
         } catch (IOException e) {
@@ -290,23 +714,31 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     /**
      * Processes IMAM_SHARE_EVENT events from v11.5 of Information Server.
+     * <br><br>
+     * Each asset in the share is processed as its own unit of work, so that a large share need not hold up the
+     * processing of other events.
      *
      * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processIMAMShareEventV115(InfosphereEventsIMAMEvent event) {
+    private void processIMAMShareEventV115(InfosphereEventsIMAMEvent event, EventDispatcher dispatcher) {
 
         List<String> createdRIDs = getRIDsFromEventString(event.getCreatedRIDs());
         List<String> updatedRIDs = getRIDsFromEventString(event.getMergedRIDs());
         List<String> deletedRIDs = getRIDsFromEventString(event.getDeletedRIDs());
 
+        // Anything we have cached about the deleted assets is now out-of-date (the others are invalidated as they
+        // are processed)
+        deletedRIDs.forEach(igcRepositoryHelper::invalidateCachedAsset);
+
         // Start by creating any entities needed by the new RIDs
         for (String rid : createdRIDs) {
-            processAsset(rid, null, null);
+            dispatcher.dispatch(getRefreshWork(rid, null, false));
         }
 
         // Then iterate through any updated entities
         for (String rid : updatedRIDs) {
-            processAsset(rid, null, null);
+            dispatcher.dispatch(getRefreshWork(rid, null, false));
         }
 
         if (!deletedRIDs.isEmpty()) {
@@ -318,17 +750,18 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
     /**
      * Processes Data Connection events from v11.5 of Information Server.
      * @param event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processDataConnectionEventV115(InfosphereEventsDCEvent event) {
+    private void processDataConnectionEventV115(InfosphereEventsDCEvent event, EventDispatcher dispatcher) {
 
         String action = event.getEventType();
 
         switch(action) {
             case InfosphereEventsDCEvent.ACTION_CREATE:
-                processAsset(event.getCreatedRID(), "data_connection", null);
+                dispatcher.dispatch(getRefreshWork(event.getCreatedRID(), "data_connection", false));
                 break;
             case InfosphereEventsDCEvent.ACTION_MODIFY:
-                processAsset(event.getMergedRID(), "data_connection", null);
+                dispatcher.dispatch(getRefreshWork(event.getMergedRID(), "data_connection", false));
                 break;
             default:
                 if (log.isWarnEnabled()) { log.warn("Found unhandled action type '{}' for data connection on event: {}", action, event); }
@@ -341,8 +774,9 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * Processes all asset-specific events from v11.5 of Information Server.
      *
      * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processAssetEventV115(InfosphereEventsAssetEvent event) {
+    private void processAssetEventV115(InfosphereEventsAssetEvent event, EventDispatcher dispatcher) {
 
         String assetRid = event.getAssetRid();
         String action = event.getAction();
@@ -355,7 +789,10 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                 String igcAssetDisplayName = event.getAssetType();
                 if (igcAssetDisplayName != null && !igcAssetDisplayName.equals("OMRS Stub")) {
                     String igcAssetType = igcRepositoryHelper.getIgcAssetTypeForAssetName(igcAssetDisplayName);
-                    processAsset(assetRid, igcAssetType, null);
+                    dispatcher.dispatch(getRefreshWork(assetRid, igcAssetType, action.equals(InfosphereEventsAssetEvent.ACTION_DELETE)));
+                } else {
+                    // Anything we have cached about this asset is now out-of-date
+                    dispatcher.dispatch(new RoutedWork(assetRid, () -> igcRepositoryHelper.invalidateCachedAsset(assetRid)));
                 }
                 break;
             case InfosphereEventsAssetEvent.ACTION_ASSIGNED_RELATIONSHIP:
@@ -370,10 +807,14 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     /**
      * Processes all process-able Information Analyzer events from v11.5 of Information Server.
+     * <br><br>
+     * The columns / fields of a published table / file are processed as part of the same unit of work as the table /
+     * file itself, since they can only be found once it has been retrieved.
      *
      * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processIAEventV115(InfosphereEventsIAEvent event) {
+    private void processIAEventV115(InfosphereEventsIAEvent event, EventDispatcher dispatcher) {
 
         String action = event.getEventType();
 
@@ -387,39 +828,7 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
                 // This is the only event we can really do something with, as IGC API can only see
                 // published information
                 String containerRid = event.getDataCollectionRid();
-                processAsset(containerRid, null, null);
-                // We should also check the columns / file fields within the table / file for changes to be processed,
-                // as the relationship itself between column and table may not change but there may be
-                // new classifications on the columns / fields from the publication
-                Reference containerAsset = igcRestClient.getAssetRefById(containerRid);
-                String searchProperty = null;
-                String searchAssetType = null;
-                switch(containerAsset.getType()) {
-                    case "database_table":
-                        searchProperty = "database_table_or_view";
-                        searchAssetType = "database_column";
-                        break;
-                    case "data_file_record":
-                        searchProperty = "data_file_record";
-                        searchAssetType = "data_file_field";
-                        break;
-                    default:
-                        if (log.isWarnEnabled()) { log.warn("Unimplemented asset type '{}' for IA publishing: {}", containerAsset.getType(), event); }
-                        break;
-                }
-                IGCSearchCondition igcSearchCondition = new IGCSearchCondition(searchProperty, "=", containerAsset.getId());
-                IGCSearchConditionSet igcSearchConditionSet = new IGCSearchConditionSet(igcSearchCondition);
-                IGCSearch igcSearch = new IGCSearch(searchAssetType, new String[]{ searchProperty }, igcSearchConditionSet);
-                ReferenceList subAssets = igcRestClient.search(igcSearch);
-                if (subAssets != null) {
-                    subAssets.getAllPages(igcRestClient);
-                    if (log.isDebugEnabled()) { log.debug("Processing {} child assets from IA publication: {}", subAssets.getPaging().getNumTotal(), containerRid); }
-                    for (Reference child : subAssets.getItems()) {
-                        processAsset(child.getId(), child.getType(), null);
-                    }
-                } else {
-                    if (log.isWarnEnabled()) { log.warn("Unable to find any sub-assets for IA published container '{}': {}", containerRid, event); }
-                }
+                dispatcher.dispatch(new RoutedWork(containerRid, () -> processPublishedContainer(containerRid, event)));
                 break;
             default:
                 if (log.isWarnEnabled()) { log.warn("Action '{}' is not yet implemented for IA: {}", action, event); }
@@ -428,6 +837,69 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
 
     }
 
+    /**
+     * Retrieve the unit of work that refreshes the provided asset: invalidating anything cached about it and then
+     * processing its latest state (including its deletion).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @param assetType the IGC asset type of the asset, if known
+     * @param deleted whether the work arises from the deletion of the asset
+     * @return RoutedWork
+     */
+    private RoutedWork getRefreshWork(String rid, String assetType, boolean deleted) {
+        return new RoutedWork(rid, () -> {
+            igcRepositoryHelper.invalidateCachedAsset(rid);
+            processAsset(rid, assetType, null);
+        }, true, assetType, deleted);
+    }
+
+    /**
+     * Processes a table / file whose Information Analyzer results have been published, along with its columns /
+     * fields.
+     *
+     * @param containerRid the Repository ID (RID) of the table / file
+     * @param event inbound event
+     */
+    private void processPublishedContainer(String containerRid, InfosphereEventsIAEvent event) {
+
+        igcRepositoryHelper.invalidateCachedAsset(containerRid);
+        processAsset(containerRid, null, null);
+        // We should also check the columns / file fields within the table / file for changes to be processed,
+        // as the relationship itself between column and table may not change but there may be
+        // new classifications on the columns / fields from the publication
+        Reference containerAsset = igcRestClient.getAssetRefById(containerRid);
+        String searchProperty = null;
+        String searchAssetType = null;
+        switch(containerAsset.getType()) {
+            case "database_table":
+                searchProperty = "database_table_or_view";
+                searchAssetType = "database_column";
+                break;
+            case "data_file_record":
+                searchProperty = "data_file_record";
+                searchAssetType = "data_file_field";
+                break;
+            default:
+                if (log.isWarnEnabled()) { log.warn("Unimplemented asset type '{}' for IA publishing: {}", containerAsset.getType(), event); }
+                break;
+        }
+        IGCSearchCondition igcSearchCondition = new IGCSearchCondition(searchProperty, "=", containerAsset.getId());
+        IGCSearchConditionSet igcSearchConditionSet = new IGCSearchConditionSet(igcSearchCondition);
+        IGCSearch igcSearch = new IGCSearch(searchAssetType, new String[]{ searchProperty }, igcSearchConditionSet);
+        ReferenceList subAssets = igcRestClient.search(igcSearch);
+        if (subAssets != null) {
+            subAssets.getAllPages(igcRestClient);
+            if (log.isDebugEnabled()) { log.debug("Processing {} child assets from IA publication: {}", subAssets.getPaging().getNumTotal(), containerRid); }
+            for (Reference child : subAssets.getItems()) {
+                igcRepositoryHelper.invalidateCachedAsset(child.getId());
+                processAsset(child.getId(), child.getType(), null);
+            }
+        } else {
+            if (log.isWarnEnabled()) { log.warn("Unable to find any sub-assets for IA published container '{}': {}", containerRid, event); }
+        }
+
+    }
+
     /**
      * Attempt to retrieve the EntityDetail object for the provided asset, and handle any errors if unable to do so.
      *
@@ -567,43 +1039,44 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
             // If we can't retrieve the asset by RID, it no longer exists -- so send a delete event
             // TODO: currently only possible if we also know the assetType
             if (assetType != null) {
-                sendPurgedEntity(assetType, rid);
-                // Find any mapper(s) for this type that use a prefix and send a purge for the prefixed entity as well
-                List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(assetType, localServerUserId);
-                for (EntityMapping referenceableMapper : referenceableMappers) {
-                    List<RelationshipMapping> relationshipMappings = referenceableMapper.getRelationshipMappers();
-                    for (RelationshipMapping relationshipMapping : relationshipMappings) {
-                        String prefixOne = relationshipMapping.getProxyOneMapping().getIgcRidPrefix();
-                        String prefixTwo = relationshipMapping.getProxyTwoMapping().getIgcRidPrefix();
-                        if (prefixTwo != null) {
-                            sendPurgedEntity(assetType, prefixTwo + rid);
-                        }
-                        if (prefixOne != null) {
-                            sendPurgedEntity(assetType, prefixOne + rid);
-                        }
-                    }
+                Lock assetLock = lockAsset(rid);
+                try {
+                    sendPurgedEntities(rid, assetType);
+                } finally {
+                    unlockAsset(assetLock);
                 }
             } else {
                 if (log.isWarnEnabled()) { log.warn("No asset type was provided for purged RID {} -- cannot generate purgeEntity event.", rid); }
             }
         } else {
 
-            // Otherwise see if there's a stub...
-            OMRSStub stub = igcRepositoryHelper.getOMRSStubForAsset(latestVersion);
+            // Otherwise see if there's a stub, and bring it up-to-date with the latest version -- holding the asset's
+            // lock throughout, since work for a related asset may be processing this same asset on another thread
+            OMRSStub stub;
+            ChangeSet changeSet;
+            Set<String> changedProperties;
+            Lock assetLock = lockAsset(rid);
+            try {
 
-            // Calculate the delta between the latest version and the previous saved stub
-            ChangeSet changeSet = new ChangeSet(igcRestClient, latestVersion, stub);
-            Set<String> changedProperties = changeSet.getChangedProperties();
+                stub = igcRepositoryHelper.getOMRSStubForAsset(latestVersion);
 
-            // Output any entities first
-            if (stub == null) {
-                // If there is no stub, we need to treat this as a new entity
-                sendNewEntity(latestVersion);
-            } else if (!changedProperties.isEmpty()) {
-                // Otherwise, it should be treated as an updated entity, but only if there was some change
-                sendUpdatedEntity(latestVersion, stub);
-            } else {
-                if (log.isInfoEnabled()) { log.info("Skipping asset - no changes detected: {}", latestVersion.getId()); }
+                // Calculate the delta between the latest version and the previous saved stub
+                changeSet = new ChangeSet(igcRestClient, latestVersion, stub);
+                changedProperties = changeSet.getChangedProperties();
+
+                // Output any entities first
+                if (stub == null) {
+                    // If there is no stub, we need to treat this as a new entity
+                    sendNewEntity(latestVersion);
+                } else if (!changedProperties.isEmpty()) {
+                    // Otherwise, it should be treated as an updated entity, but only if there was some change
+                    sendUpdatedEntity(latestVersion, stub);
+                } else {
+                    if (log.isInfoEnabled()) { log.info("Skipping asset - no changes detected: {}", latestVersion.getId()); }
+                }
+
+            } finally {
+                unlockAsset(assetLock);
             }
 
             // Retrieve the mapping from IGC property name to OMRS relationship type
@@ -1392,6 +1865,59 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
         );
     }
 
+    /**
+     * Send events out on OMRS topic for the purge of the asset with the provided RID, including any entities
+     * generated from it under a prefixed RID.
+     *
+     * @param rid the IGC Repository ID (RID) of the purged asset
+     * @param assetType the IGC asset type of the purged asset
+     */
+    private void sendPurgedEntities(String rid, String assetType) {
+        sendPurgedEntity(assetType, rid);
+        // Find any mapper(s) for this type that use a prefix and send a purge for the prefixed entity as well
+        List<EntityMapping> referenceableMappers = igcRepositoryHelper.getMappers(assetType, localServerUserId);
+        for (EntityMapping referenceableMapper : referenceableMappers) {
+            List<RelationshipMapping> relationshipMappings = referenceableMapper.getRelationshipMappers();
+            for (RelationshipMapping relationshipMapping : relationshipMappings) {
+                String prefixOne = relationshipMapping.getProxyOneMapping().getIgcRidPrefix();
+                String prefixTwo = relationshipMapping.getProxyTwoMapping().getIgcRidPrefix();
+                if (prefixTwo != null) {
+                    sendPurgedEntity(assetType, prefixTwo + rid);
+                }
+                if (prefixOne != null) {
+                    sendPurgedEntity(assetType, prefixOne + rid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Acquire the lock guarding the asset with the provided RID, when events are being processed by a pool of
+     * workers (when they are not, every event is processed on a single thread and no lock is needed).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return Lock - the lock acquired, or null if none was needed
+     */
+    private Lock lockAsset(String rid) {
+        IGCEventWorkerPool pool = workerPool;
+        Lock assetLock = (pool == null) ? null : pool.getAssetLock(rid);
+        if (assetLock != null) {
+            assetLock.lock();
+        }
+        return assetLock;
+    }
+
+    /**
+     * Release a lock acquired through lockAsset.
+     *
+     * @param assetLock the lock to release (or null if none was acquired)
+     */
+    private void unlockAsset(Lock assetLock) {
+        if (assetLock != null) {
+            assetLock.unlock();
+        }
+    }
+
     /**
      * Send an event out on OMRS topic for a purged entity.
      *
@@ -1436,11 +1962,12 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
      * Method to process events from v11.7 of Information Server.
      *
      * @param event inbound event
+     * @param dispatcher the means of processing each unit of work
      */
-    private void processEventV117(String event) {
+    private void processEventV117(String event, EventDispatcher dispatcher) {
         // TODO: implement processEventV117
         if (log.isDebugEnabled()) { log.debug("Not yet implemented as v11.7-specific -- backing to v11.5 processing: {}", event); }
-        processEventV115(event);
+        processEventV115(event, dispatcher);
     }
 
     /**
@@ -1451,7 +1978,19 @@ public class IGCOMRSRepositoryEventMapper extends OMRSRepositoryEventMapperBase
     @Override
     public void disconnect() throws ConnectorCheckedException {
         super.disconnect();
-        // TODO: stop Kafka consumption thread?
+        if (consumerThread != null) {
+            // The consumer thread drains the event workers itself, so that it can commit the offsets they reach
+            consumerThread.stop();
+            // (allowing for the final commit as well as the drain itself)
+            if (!consumerThread.awaitStopped(2 * DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (log.isWarnEnabled()) { log.warn("IGC Event Mapper consumer thread did not stop in time."); }
+            }
+            consumerThread = null;
+        }
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+            workerPool = null;
+        }
     }
 
 }
@@ -11,6 +11,7 @@ import com.flipkart.zjsonpatch.DiffFlags;
 import com.flipkart.zjsonpatch.JsonDiff;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +27,9 @@ public class ChangeSet {
 
     private static final Logger log = LoggerFactory.getLogger(ChangeSet.class);
 
-    private ObjectMapper objectMapper;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final EnumSet<DiffFlags> DIFF_FLAGS = DiffFlags.dontNormalizeOpIntoMoveAndCopy().clone();
+
     private IGCRestClient igcRestClient;
 
     private JsonNode patch;
@@ -35,6 +38,9 @@ public class ChangeSet {
 
     /**
      * Create a new JSON Patch based on the provided asset details and stub.
+     * <br><br>
+     * The fingerprints of the two versions are compared first: if the asset is unchanged, nothing is parsed or
+     * diffed, and otherwise only those properties whose fingerprints differ are parsed and diffed.
      *
      * @param igcRestClient REST API connectivity to an IGC environment
      * @param asset the IGC asset (as a POJO) giving the most up-to-date definition of the asset
@@ -42,7 +48,6 @@ public class ChangeSet {
      */
     public ChangeSet(IGCRestClient igcRestClient, Reference asset, OMRSStub stub) {
 
-        this.objectMapper = new ObjectMapper();
         this.changesByProperty = new HashMap<>();
         this.igcRestClient = igcRestClient;
 
@@ -53,15 +58,38 @@ public class ChangeSet {
             stub.setPayload("{}");
         }
 
+        String stubJson = (stub.getPayload() == null) ? "{}" : stub.getPayload();
+        String currentJson = this.igcRestClient.getValueAsJSON(asset);
+        AssetFingerprint stubFingerprint = stub.getFingerprint();
+
+        // Short-circuit the (most common) case of an asset that has not changed at all
+        long stubHash = (stubFingerprint == null) ? AssetFingerprint.hash(stubJson) : stubFingerprint.getDocumentHash();
+        if (stubHash == AssetFingerprint.hash(currentJson)) {
+            if (log.isDebugEnabled()) { log.debug("No changes found for asset: {}", asset.getId()); }
+            return;
+        }
+
         // Calculate the delta between the latest version and the previous saved stub
         try {
-            EnumSet<DiffFlags> flags = DiffFlags.dontNormalizeOpIntoMoveAndCopy().clone();
-            JsonNode stubPayload = objectMapper.readTree(stub.getPayload());
-            JsonNode currentAsset = objectMapper.readTree(this.igcRestClient.getValueAsJSON(asset));
+            JsonNode stubPayload;
+            JsonNode currentAsset;
+            AssetFingerprint currentFingerprint = AssetFingerprint.of(currentJson);
+            if (stubFingerprint == null) {
+                stubFingerprint = AssetFingerprint.of(stubJson);
+            }
+            if (currentFingerprint != null && stubFingerprint != null) {
+                Set<String> differingProperties = currentFingerprint.getDifferingProperties(stubFingerprint);
+                if (log.isDebugEnabled()) { log.debug("Properties with differing fingerprints: {}", differingProperties); }
+                stubPayload = readProperties(stubJson, differingProperties);
+                currentAsset = readProperties(currentJson, differingProperties);
+            } else {
+                stubPayload = objectMapper.readTree(stubJson);
+                currentAsset = objectMapper.readTree(currentJson);
+            }
             this.patch = JsonDiff.asJson(
                     stubPayload,
                     currentAsset,
-                    flags
+                    DIFF_FLAGS
             );
             if (log.isDebugEnabled()) { log.debug("Found the following changes: {}", this.patch.toString()); }
             ArrayNode changes = (ArrayNode) this.patch;
@@ -107,6 +135,29 @@ public class ChangeSet {
 
     }
 
+    /**
+     * Parse only the provided top-level properties of the provided JSON payload of an asset.
+     *
+     * @param json the JSON payload of the asset
+     * @param properties the names of the properties to parse
+     * @return JsonNode - an object containing only those of the properties present in the payload
+     * @throws IOException if the payload cannot be parsed
+     */
+    private JsonNode readProperties(String json, Set<String> properties) throws IOException {
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        if (ranges == null) {
+            return objectMapper.readTree(json);
+        }
+        ObjectNode subset = objectMapper.createObjectNode();
+        for (String property : properties) {
+            int[] range = ranges.get(property);
+            if (range != null) {
+                subset.set(property, objectMapper.readTree(json.substring(range[0], range[1])));
+            }
+        }
+        return subset;
+    }
+
     /**
      * Retrieve the set of IGC property names that have some change.
      *
@@ -263,9 +314,9 @@ public class ChangeSet {
                     // a list, as the JSON Patch is only giving us a singular Reference (the paging we need for
                     // the list is split off on other change operations)
                     if (referenceListProperties.contains(getIgcPropertyName()) && !path.contains("/items/")) {
-                        value = igcRestClient.readJSONIntoReferenceList(node.toString());
+                        value = igcRestClient.readJSONIntoReferenceList(node);
                     } else {
-                        value = igcRestClient.readJSONIntoPOJO(node.toString());
+                        value = igcRestClient.readJSONIntoPOJO(node);
                     }
                     break;
                 case STRING:
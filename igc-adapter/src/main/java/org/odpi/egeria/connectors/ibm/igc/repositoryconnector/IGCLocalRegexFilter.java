@@ -0,0 +1,165 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Filters mapped entities by those regular expressions in a search that IGC cannot evaluate itself, by matching
+ * them against the entities' (mapped) OMRS property values.
+ * <br><br>
+ * Alongside each regular expression, the filter also keeps any IGC search condition that every matching value will
+ * meet (see IGCRegexPlanner), so that IGC can narrow the candidates to be filtered wherever the match criteria
+ * allow.
+ */
+class IGCLocalRegexFilter implements Predicate<EntityDetail> {
+
+    private final MatchCriteria matchCriteria;
+    private final Map<String, Pattern> patternsByProperty;
+    private final List<IGCSearchCondition> pushdownConditions;
+    private boolean pushdownComplete;
+
+    /**
+     * Creates a new, empty filter.
+     *
+     * @param matchCriteria how the regular expressions should be combined (null is the same as ALL)
+     */
+    IGCLocalRegexFilter(MatchCriteria matchCriteria) {
+        this.matchCriteria = (matchCriteria == null) ? MatchCriteria.ALL : matchCriteria;
+        this.patternsByProperty = new LinkedHashMap<>();
+        this.pushdownConditions = new ArrayList<>();
+        this.pushdownComplete = true;
+    }
+
+    /**
+     * Add a regular expression to be evaluated locally against the provided OMRS property.
+     *
+     * @param omrsPropertyName the name of the OMRS property to match (or null to match any string property)
+     * @param regex the regular expression the property's value must match
+     * @param pushdownCondition an IGC search condition that every matching value will meet (or null if there is none)
+     * @throws PatternSyntaxException if the regular expression is not valid
+     */
+    void addRegex(String omrsPropertyName, String regex, IGCSearchCondition pushdownCondition) {
+        patternsByProperty.put(omrsPropertyName, Pattern.compile(regex));
+        if (pushdownCondition == null) {
+            pushdownComplete = false;
+        } else {
+            pushdownConditions.add(pushdownCondition);
+        }
+    }
+
+    /**
+     * Indicates whether there are no regular expressions to evaluate locally.
+     *
+     * @return boolean
+     */
+    boolean isEmpty() { return patternsByProperty.isEmpty(); }
+
+    /**
+     * Retrieve the regular expressions to be evaluated locally.
+     *
+     * @return {@code List<String>}
+     */
+    List<String> getRegexes() {
+        List<String> regexes = new ArrayList<>();
+        for (Pattern pattern : patternsByProperty.values()) {
+            regexes.add(pattern.pattern());
+        }
+        return regexes;
+    }
+
+    /**
+     * Retrieve the IGC search conditions that can safely be added to the search to narrow its results, given the
+     * match criteria (none can be added when the criteria are NONE, as negating them would exclude values that
+     * should be kept). When the criteria are ANY the conditions are only usable if every regular expression has
+     * one, and together they must be the only conditions of the search.
+     *
+     * @return {@code List<IGCSearchCondition>}
+     */
+    List<IGCSearchCondition> getPushdownConditions() {
+        List<IGCSearchCondition> conditions = new ArrayList<>();
+        if (matchCriteria == MatchCriteria.ALL || (matchCriteria == MatchCriteria.ANY && pushdownComplete)) {
+            conditions.addAll(pushdownConditions);
+        }
+        return conditions;
+    }
+
+    /**
+     * Indicates whether the provided entity meets the regular expressions, according to the match criteria.
+     *
+     * @param entityDetail the mapped entity
+     * @return boolean
+     */
+    @Override
+    public boolean test(EntityDetail entityDetail) {
+        InstanceProperties properties = (entityDetail == null) ? null : entityDetail.getProperties();
+        boolean anyMatched = false;
+        boolean allMatched = true;
+        for (Map.Entry<String, Pattern> entry : patternsByProperty.entrySet()) {
+            boolean matched = matches(properties, entry.getKey(), entry.getValue());
+            anyMatched = anyMatched || matched;
+            allMatched = allMatched && matched;
+        }
+        switch (matchCriteria) {
+            case ANY:
+                return anyMatched;
+            case NONE:
+                return !anyMatched;
+            case ALL:
+            default:
+                return allMatched;
+        }
+    }
+
+    /**
+     * Indicates whether the value of the provided property matches the provided regular expression.
+     *
+     * @param properties the properties of the entity
+     * @param omrsPropertyName the name of the property to match (or null to match any string property)
+     * @param pattern the regular expression to match
+     * @return boolean
+     */
+    private boolean matches(InstanceProperties properties, String omrsPropertyName, Pattern pattern) {
+        if (properties == null || properties.getInstanceProperties() == null) {
+            return false;
+        } else if (omrsPropertyName == null) {
+            for (InstancePropertyValue value : properties.getInstanceProperties().values()) {
+                if (matches(value, pattern)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return matches(properties.getPropertyValue(omrsPropertyName), pattern);
+        }
+    }
+
+    /**
+     * Indicates whether the provided value is a string that matches the provided regular expression.
+     *
+     * @param value the value to match
+     * @param pattern the regular expression to match
+     * @return boolean
+     */
+    private boolean matches(InstancePropertyValue value, Pattern pattern) {
+        if (value instanceof PrimitivePropertyValue) {
+            Object primitive = ((PrimitivePropertyValue) value).getPrimitiveValue();
+            return (primitive instanceof String) && pattern.matcher((String) primitive).matches();
+        }
+        return false;
+    }
+
+}
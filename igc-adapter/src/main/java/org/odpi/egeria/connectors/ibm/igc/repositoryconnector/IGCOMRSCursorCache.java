@@ -0,0 +1,239 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the points at which paged entity searches can be continued, so that retrieving the next page of a
+ * search need not recompute every page before it.
+ * <br><br>
+ * OMRS pages through search results by element number alone, so each cursor is keyed by the search (its
+ * parameters, other than paging) and the element number at which the next page starts. The cursor records, for each
+ * of the underlying IGC searches (one per entity mapping), how many of its results have been consumed by the pages
+ * so far and the RID of the last of them: enough to continue each IGC search where it left off, rather than from its
+ * first result.
+ * <br><br>
+ * Cursors expire after a time-to-live, since the results of a search change as the metadata in IGC changes, and the
+ * least-recently used cursor is evicted when the cache holds more than its maximum number of cursors.
+ */
+public class IGCOMRSCursorCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TTL_MILLIS = 300000;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CachedCursor> cursorsByKey;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long expirationCount = 0;
+
+    /**
+     * Creates a new cache using the default maximum size and time-to-live.
+     */
+    public IGCOMRSCursorCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a new cache that will hold (at most) the provided number of cursors, each for (at most) the provided
+     * time.
+     *
+     * @param maxSize the maximum number of cursors to cache
+     * @param ttlMillis the number of milliseconds for which a cursor remains valid
+     */
+    public IGCOMRSCursorCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.cursorsByKey = new LinkedHashMap<String, CachedCursor>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCursor> eldest) {
+                boolean evict = size() > IGCOMRSCursorCache.this.maxSize;
+                if (evict) {
+                    evictionCount++;
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Retrieve the cursor from which to continue the provided search at the provided element number, or null if
+     * there is no (valid) such cursor.
+     *
+     * @param searchKey the key identifying the search (all of its parameters other than paging)
+     * @param fromElement the element number of the first result of the page to retrieve
+     * @return SearchCursor
+     */
+    public synchronized SearchCursor getCursor(String searchKey, int fromElement) {
+        String key = getKey(searchKey, fromElement);
+        CachedCursor cached = cursorsByKey.get(key);
+        SearchCursor cursor = null;
+        if (cached != null) {
+            if (System.currentTimeMillis() - cached.cachedAt <= ttlMillis) {
+                cursor = cached.cursor;
+            } else {
+                cursorsByKey.remove(key);
+                expirationCount++;
+            }
+        }
+        if (cursor == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return cursor;
+    }
+
+    /**
+     * Cache the cursor from which to continue the provided search at the provided element number.
+     *
+     * @param searchKey the key identifying the search (all of its parameters other than paging)
+     * @param fromElement the element number of the first result of the page that the cursor will retrieve
+     * @param cursor the cursor
+     */
+    public synchronized void putCursor(String searchKey, int fromElement, SearchCursor cursor) {
+        if (searchKey != null && cursor != null) {
+            cursorsByKey.put(getKey(searchKey, fromElement), new CachedCursor(cursor));
+        }
+    }
+
+    /**
+     * Remove all cached cursors.
+     */
+    public synchronized void invalidateAll() {
+        cursorsByKey.clear();
+    }
+
+    /**
+     * Retrieve the number of cursors currently cached.
+     *
+     * @return int
+     */
+    public synchronized int size() { return cursorsByKey.size(); }
+
+    /**
+     * Retrieve the maximum number of cursors that will be cached.
+     *
+     * @return int
+     */
+    public int getMaxSize() { return maxSize; }
+
+    /**
+     * Retrieve the number of milliseconds for which a cursor remains valid.
+     *
+     * @return long
+     */
+    public long getTtlMillis() { return ttlMillis; }
+
+    /**
+     * Retrieve the number of pages that could be continued from a cached cursor.
+     *
+     * @return long
+     */
+    public synchronized long getHitCount() { return hitCount; }
+
+    /**
+     * Retrieve the number of pages for which there was no (valid) cached cursor.
+     *
+     * @return long
+     */
+    public synchronized long getMissCount() { return missCount; }
+
+    @Override
+    public synchronized String toString() {
+        return "IGCOMRSCursorCache{" +
+                "size=" + cursorsByKey.size() +
+                ", maxSize=" + maxSize +
+                ", ttlMillis=" + ttlMillis +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                ", expirations=" + expirationCount +
+                "}";
+    }
+
+    /**
+     * Construct the key under which to cache a cursor.
+     *
+     * @param searchKey the key identifying the search
+     * @param fromElement the element number of the first result of the page
+     * @return String
+     */
+    private static String getKey(String searchKey, int fromElement) {
+        return fromElement + "@" + searchKey;
+    }
+
+    /**
+     * The point at which a paged search (across several entity mappings) can be continued.
+     */
+    public static final class SearchCursor {
+
+        private final int[] offsets;
+        private final String[] lastRids;
+
+        /**
+         * Creates a new cursor.
+         *
+         * @param offsets the number of results of each underlying search that have been consumed so far
+         * @param lastRids the RID of the last result consumed from each underlying search (null where none have been)
+         */
+        public SearchCursor(int[] offsets, String[] lastRids) {
+            this.offsets = offsets.clone();
+            this.lastRids = lastRids.clone();
+        }
+
+        /**
+         * Retrieve the number of underlying searches that the cursor covers.
+         *
+         * @return int
+         */
+        public int size() { return offsets.length; }
+
+        /**
+         * Retrieve the number of results of the provided underlying search that have been consumed so far.
+         *
+         * @param index the position of the underlying search
+         * @return int
+         */
+        public int getOffset(int index) { return offsets[index]; }
+
+        /**
+         * Retrieve the RID of the last result of the provided underlying search consumed so far (null if none).
+         *
+         * @param index the position of the underlying search
+         * @return String
+         */
+        public String getLastRid(int index) { return lastRids[index]; }
+
+        @Override
+        public String toString() {
+            return "SearchCursor{" +
+                    "offsets=" + Arrays.toString(offsets) +
+                    ", lastRids=" + Arrays.toString(lastRids) +
+                    "}";
+        }
+
+    }
+
+    /**
+     * A single cached cursor.
+     */
+    private static class CachedCursor {
+
+        private final SearchCursor cursor;
+        private final long cachedAt;
+
+        CachedCursor(SearchCursor cursor) {
+            this.cursor = cursor;
+            this.cachedAt = System.currentTimeMillis();
+        }
+
+    }
+
+}
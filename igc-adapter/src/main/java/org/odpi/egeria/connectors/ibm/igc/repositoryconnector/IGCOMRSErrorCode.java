@@ -30,6 +30,10 @@ public enum IGCOMRSErrorCode {
             "Unable to delete the relationship \"{0}\" from asset with RID \"{1}\"",
             "The system was unable to delete the specified relationship.",
             "Check the system logs and diagnose or report the problem."),
+    SEARCH_ERROR_UNKNOWN(500, "OMRS-IGC-REPOSITORY-500-007 ",
+            "Unable to complete the search across entity types in repository {0}",
+            "The system was unable to complete one or more of the searches for the requested entity types.",
+            "Check the system logs and diagnose or report the problem."),
     REGEX_NOT_IMPLEMENTED(501, "OMRS-IGC-REPOSITORY-501-001 ",
             "Repository {0} is not able to support the regular expression \"{1}\"",
             "This repository has a fixed subset of regular expressions it can support.",
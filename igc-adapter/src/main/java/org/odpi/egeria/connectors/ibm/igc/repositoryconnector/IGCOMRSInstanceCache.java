@@ -0,0 +1,367 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import java.util.*;
+
+/**
+ * A cache of fully-mapped OMRS instances (EntityDetails and Relationships), keyed by GUID, so that an instance whose
+ * underlying IGC asset(s) have not changed need not be run through the mapping pipeline again.
+ * <br><br>
+ * Each instance is cached along with the version(s) (the modified_on of each underlying IGC asset, as epoch
+ * milliseconds) from which it was mapped -- one for an entity, and one for each end of a relationship -- and is only
+ * returned when the caller's current versions of the assets all match: any mismatch discards the cached instance.
+ * Since not every change in IGC updates modified_on (eg. some relationship-level changes), any process that learns of
+ * a change to an asset (eg. through an event) should also invalidate that asset's RID, which discards every instance
+ * mapped from it; and as a backstop against changes of which no process learns, each instance also expires once it
+ * has been cached for longer than the time-to-live. When the cache holds more than its maximum number of instances,
+ * the least-recently used instance is evicted.
+ * <br><br>
+ * Instances are copied on the way in and on the way out, so callers are free to modify what they retrieve.
+ */
+public class IGCOMRSInstanceCache {
+
+    public static final int DEFAULT_MAX_SIZE = 5000;
+    public static final long DEFAULT_TTL_MILLIS = 300000;
+
+    /** The version recorded for an asset that has no modification details. */
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CachedInstance> instancesByGuid;
+    private final Map<String, Set<String>> guidsByRid;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long staleCount = 0;
+    private long evictionCount = 0;
+    private long expirationCount = 0;
+    private long invalidationCount = 0;
+
+    /**
+     * Creates a new cache using the default maximum size and time-to-live.
+     */
+    public IGCOMRSInstanceCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a new cache that will hold (at most) the provided number of instances, using the default time-to-live.
+     *
+     * @param maxSize the maximum number of instances to cache
+     */
+    public IGCOMRSInstanceCache(int maxSize) {
+        this(maxSize, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a new cache that will hold (at most) the provided number of instances, each for (at most) the provided
+     * time-to-live.
+     *
+     * @param maxSize the maximum number of instances to cache
+     * @param ttlMillis the number of milliseconds for which an instance remains valid once cached
+     */
+    public IGCOMRSInstanceCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.guidsByRid = new HashMap<>();
+        this.instancesByGuid = new LinkedHashMap<String, CachedInstance>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedInstance> eldest) {
+                boolean evict = size() > IGCOMRSInstanceCache.this.maxSize;
+                if (evict) {
+                    evictionCount++;
+                    unindex(eldest.getKey(), eldest.getValue());
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Retrieve a copy of the cached EntityDetail with the provided GUID, or null if it is not cached or was mapped
+     * from a different version of the IGC asset.
+     *
+     * @param guid the GUID of the entity
+     * @param version the current version (modified_on, as epoch milliseconds) of the IGC asset
+     * @return EntityDetail
+     */
+    public synchronized EntityDetail getEntityDetail(String guid, long version) {
+        EntityDetail cached = (EntityDetail) getValidInstance(guid, new long[]{ version }, EntityDetail.class);
+        return (cached == null) ? null : new EntityDetail(cached);
+    }
+
+    /**
+     * Cache a copy of the provided EntityDetail, as mapped from the provided version of the provided IGC asset.
+     *
+     * @param guid the GUID of the entity
+     * @param detail the EntityDetail to cache
+     * @param version the version (modified_on, as epoch milliseconds) of the IGC asset from which it was mapped
+     * @param rid the Repository ID (RID) of the IGC asset from which it was mapped
+     */
+    public synchronized void putEntityDetail(String guid, EntityDetail detail, long version, String rid) {
+        if (guid != null && detail != null) {
+            put(guid, new CachedInstance(new EntityDetail(detail), new long[]{ version }, Collections.singletonList(rid)));
+        }
+    }
+
+    /**
+     * Retrieve a copy of the cached Relationship with the provided GUID, or null if it is not cached or was mapped
+     * from a different version of either of the IGC assets.
+     *
+     * @param guid the GUID of the relationship
+     * @param versionOne the current version (modified_on, as epoch milliseconds) of the IGC asset at the first end of
+     *                   the relationship, or null if it has no modification details
+     * @param versionTwo the current version (modified_on, as epoch milliseconds) of the IGC asset at the second end
+     *                   of the relationship, or null if it has no modification details
+     * @return Relationship
+     */
+    public synchronized Relationship getRelationship(String guid, Long versionOne, Long versionTwo) {
+        Relationship cached = (Relationship) getValidInstance(guid, getVersions(versionOne, versionTwo), Relationship.class);
+        return (cached == null) ? null : new Relationship(cached);
+    }
+
+    /**
+     * Cache a copy of the provided Relationship, as mapped from the provided versions of the IGC assets.
+     *
+     * @param guid the GUID of the relationship
+     * @param relationship the Relationship to cache
+     * @param versionOne the version (modified_on, as epoch milliseconds) of the IGC asset at the first end of the
+     *                   relationship, or null if it has no modification details
+     * @param versionTwo the version (modified_on, as epoch milliseconds) of the IGC asset at the second end of the
+     *                   relationship, or null if it has no modification details
+     * @param rids the Repository IDs (RIDs) of the IGC assets at each end of the relationship
+     */
+    public synchronized void putRelationship(String guid,
+                                             Relationship relationship,
+                                             Long versionOne,
+                                             Long versionTwo,
+                                             String... rids) {
+        if (guid != null && relationship != null) {
+            put(guid, new CachedInstance(new Relationship(relationship), getVersions(versionOne, versionTwo), Arrays.asList(rids)));
+        }
+    }
+
+    /**
+     * Remove all cached instances that were mapped from the IGC asset with the provided RID (eg. because the asset
+     * has changed).
+     *
+     * @param rid the Repository ID (RID) of the IGC asset
+     */
+    public synchronized void invalidate(String rid) {
+        Set<String> guids = (rid == null) ? null : guidsByRid.remove(rid);
+        if (guids != null) {
+            for (String guid : guids) {
+                CachedInstance removed = instancesByGuid.remove(guid);
+                if (removed != null) {
+                    invalidationCount++;
+                    unindex(guid, removed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all cached instances.
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount += instancesByGuid.size();
+        instancesByGuid.clear();
+        guidsByRid.clear();
+    }
+
+    /**
+     * Retrieve the number of instances currently cached.
+     *
+     * @return int
+     */
+    public synchronized int size() { return instancesByGuid.size(); }
+
+    /**
+     * Retrieve the maximum number of instances that will be cached.
+     *
+     * @return int
+     */
+    public int getMaxSize() { return maxSize; }
+
+    /**
+     * Retrieve the number of milliseconds for which an instance remains valid once cached.
+     *
+     * @return long
+     */
+    public long getTtlMillis() { return ttlMillis; }
+
+    /**
+     * Retrieve the number of lookups that were answered from the cache.
+     *
+     * @return long
+     */
+    public synchronized long getHitCount() { return hitCount; }
+
+    /**
+     * Retrieve the number of lookups that could not be answered from the cache (including stale instances).
+     *
+     * @return long
+     */
+    public synchronized long getMissCount() { return missCount; }
+
+    /**
+     * Retrieve the number of cached instances that were discarded because the IGC asset had since changed.
+     *
+     * @return long
+     */
+    public synchronized long getStaleCount() { return staleCount; }
+
+    /**
+     * Retrieve the number of instances evicted from the cache to keep it within its maximum size.
+     *
+     * @return long
+     */
+    public synchronized long getEvictionCount() { return evictionCount; }
+
+    /**
+     * Retrieve the number of cached instances that were discarded because they had outlived the time-to-live.
+     *
+     * @return long
+     */
+    public synchronized long getExpirationCount() { return expirationCount; }
+
+    /**
+     * Retrieve the number of instances removed from the cache by invalidation.
+     *
+     * @return long
+     */
+    public synchronized long getInvalidationCount() { return invalidationCount; }
+
+    /**
+     * Retrieve the proportion of lookups that were answered from the cache (0.0 if there have been no lookups).
+     *
+     * @return double
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return (lookups == 0) ? 0.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IGCOMRSInstanceCache{" +
+                "size=" + instancesByGuid.size() +
+                ", maxSize=" + maxSize +
+                ", ttlMillis=" + ttlMillis +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", stale=" + staleCount +
+                ", evictions=" + evictionCount +
+                ", expirations=" + expirationCount +
+                ", invalidations=" + invalidationCount +
+                "}";
+    }
+
+    /**
+     * Retrieve the cached instance with the provided GUID, if it is of the expected type, was mapped from the
+     * provided versions and has not expired (discarding it if it was mapped from any other versions or has expired).
+     *
+     * @param guid the GUID of the instance
+     * @param versions the current versions of the IGC assets
+     * @param expectedType the type of instance expected
+     * @return Object - the (shared) cached instance, or null if there is no valid cached instance
+     */
+    private Object getValidInstance(String guid, long[] versions, Class<?> expectedType) {
+        CachedInstance cached = (guid == null) ? null : instancesByGuid.get(guid);
+        Object instance = null;
+        if (cached != null && expectedType.isInstance(cached.instance)) {
+            if (System.currentTimeMillis() >= cached.expiresAt) {
+                instancesByGuid.remove(guid);
+                unindex(guid, cached);
+                expirationCount++;
+            } else if (Arrays.equals(cached.versions, versions)) {
+                instance = cached.instance;
+            } else {
+                instancesByGuid.remove(guid);
+                unindex(guid, cached);
+                staleCount++;
+            }
+        }
+        if (instance == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return instance;
+    }
+
+    /**
+     * Combine the versions of the IGC assets at each end of a relationship.
+     *
+     * @param versionOne the version of the asset at the first end (or null if it has none)
+     * @param versionTwo the version of the asset at the second end (or null if it has none)
+     * @return long[]
+     */
+    private static long[] getVersions(Long versionOne, Long versionTwo) {
+        return new long[]{
+                (versionOne == null) ? NO_VERSION : versionOne,
+                (versionTwo == null) ? NO_VERSION : versionTwo
+        };
+    }
+
+    /**
+     * Cache the provided instance under the provided GUID, replacing any instance already cached under it.
+     *
+     * @param guid the GUID of the instance
+     * @param cached the instance to cache
+     */
+    private void put(String guid, CachedInstance cached) {
+        cached.expiresAt = System.currentTimeMillis() + ttlMillis;
+        CachedInstance replaced = instancesByGuid.put(guid, cached);
+        if (replaced != null) {
+            unindex(guid, replaced);
+        }
+        for (String rid : cached.rids) {
+            if (rid != null) {
+                guidsByRid.computeIfAbsent(rid, k -> new HashSet<>()).add(guid);
+            }
+        }
+    }
+
+    /**
+     * Remove the provided instance from the index of GUIDs by RID.
+     *
+     * @param guid the GUID of the instance
+     * @param cached the instance
+     */
+    private void unindex(String guid, CachedInstance cached) {
+        for (String rid : cached.rids) {
+            Set<String> guids = (rid == null) ? null : guidsByRid.get(rid);
+            if (guids != null) {
+                guids.remove(guid);
+                if (guids.isEmpty()) {
+                    guidsByRid.remove(rid);
+                }
+            }
+        }
+    }
+
+    /**
+     * A single cached instance.
+     */
+    private static class CachedInstance {
+
+        private final Object instance;
+        private final long[] versions;
+        private final List<String> rids;
+        private long expiresAt;
+
+        CachedInstance(Object instance, long[] versions, List<String> rids) {
+            this.instance = instance;
+            this.versions = versions;
+            this.rids = rids;
+        }
+
+    }
+
+}
@@ -10,7 +10,6 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ReferenceLi
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
-import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchSorting;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCCreate;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCUpdate;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.EntityMappingInstance;
@@ -31,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Provides the OMRSMetadataCollection implementation for IBM InfoSphere Information Governance Catalog ("IGC").
@@ -829,7 +829,9 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
      *                                beyond the first page of results. Zero means start from the first element.
      * @param limitResultsByStatus Not implemented for IGC -- will only retrieve ACTIVE entities.
      * @param asOfTime Must be null (history not implemented for IGC).
-     * @param sequencingProperty Must be null (there are no properties on IGC relationships).
+     * @param sequencingProperty String name of the relationship property that is to be used to sequence the results
+     *                           (only for the property orders, which are applied locally since IGC does not hold
+     *                           the properties of relationships).
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize -- the maximum number of result classifications that can be returned on this request.  Zero means
      *                 unrestricted return results size.
@@ -889,12 +891,7 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                     errorMessage,
                     errorCode.getSystemAction(),
                     errorCode.getUserAction());
-        } else if (sequencingProperty != null
-                || (sequencingOrder != null
-                &&
-                (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING)
-                        || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING)))
-        ) {
+        } else if (sequencingProperty == null && IGCRepositoryHelper.isPropertySequencing(sequencingOrder)) {
             IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.NO_RELATIONSHIP_PROPERTIES;
             String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(repositoryName);
             throw new PropertyErrorException(errorCode.getHTTPErrorCode(),
@@ -927,49 +924,75 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
             String rid = IGCRepositoryHelper.getRidFromGeneratedId(possiblyPrefixedRid);
             String prefix = IGCRepositoryHelper.getPrefixFromGeneratedId(possiblyPrefixedRid);
 
-            // 1. retrieve entity from IGC by GUID (RID)
-            Reference asset = this.igcRestClient.getAssetRefById(rid);
+            // Memoize the lookups of (eg. shared) related assets made while mapping the relationships
+            IGCRequestContext requestContext = igcRepositoryHelper.openRequestContext();
+            try {
 
-            // Ensure the entity actually exists (if not, throw error to that effect)
-            if (asset == null) {
-                IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.ENTITY_NOT_KNOWN;
-                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
-                        entityGUID,
-                        rid,
-                        repositoryName);
-                throw new EntityNotKnownException(errorCode.getHTTPErrorCode(),
-                        this.getClass().getName(),
-                        methodName,
-                        errorMessage,
-                        errorCode.getSystemAction(),
-                        errorCode.getUserAction());
-            } else {
+                // 1. retrieve entity from IGC by GUID (RID)
+                Reference asset = igcRepositoryHelper.getAssetRefById(rid);
 
-                EntityMappingInstance entityMap = igcRepositoryHelper.getMappingInstanceForParameters(asset, prefix, userId);
-
-                if (entityMap != null) {
-                    // 2. Apply the mapping to the object, and retrieve the resulting relationships
-                    alRelationships.addAll(
-                            EntityMapping.getMappedRelationships(
-                                    entityMap,
-                                    relationshipTypeGUID,
-                                    fromRelationshipElement,
-                                    sequencingOrder,
-                                    pageSize)
-                    );
-                } else {
-                    IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.TYPEDEF_NOT_MAPPED;
+                // Ensure the entity actually exists (if not, throw error to that effect)
+                if (asset == null) {
+                    IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.ENTITY_NOT_KNOWN;
                     String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
-                            prefix + asset.getType(),
+                            entityGUID,
+                            rid,
                             repositoryName);
-                    throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                    throw new EntityNotKnownException(errorCode.getHTTPErrorCode(),
                             this.getClass().getName(),
                             methodName,
                             errorMessage,
                             errorCode.getSystemAction(),
                             errorCode.getUserAction());
+                } else {
+
+                    EntityMappingInstance entityMap = igcRepositoryHelper.getMappingInstanceForParameters(asset, prefix, userId);
+
+                    if (entityMap != null && IGCRepositoryHelper.isPropertySequencing(sequencingOrder)) {
+                        // 2. Apply the mapping to the object, and retrieve the resulting relationships: IGC cannot
+                        // order these by their properties, so every relationship must be mapped but only the first
+                        // fromRelationshipElement + pageSize of them (in the requested order) are kept
+                        TopKSelector<Relationship> selector = new TopKSelector<>(
+                                IGCRepositoryHelper.getComparatorForSequencingProperty(Relationship::getProperties, sequencingProperty, sequencingOrder),
+                                (pageSize > 0) ? fromRelationshipElement + pageSize : 0
+                        );
+                        EntityMapping.getMappedRelationships(
+                                entityMap,
+                                relationshipTypeGUID,
+                                0,
+                                null,
+                                0
+                        ).forEach(selector::offer);
+                        alRelationships.addAll(selector.getPage(fromRelationshipElement, pageSize));
+                        alRelationships.forEach(igcRepositoryHelper::cacheRelationship);
+                    } else if (entityMap != null) {
+                        // 2. Apply the mapping to the object, and retrieve the resulting relationships
+                        alRelationships.addAll(
+                                EntityMapping.getMappedRelationships(
+                                        entityMap,
+                                        relationshipTypeGUID,
+                                        fromRelationshipElement,
+                                        sequencingOrder,
+                                        pageSize)
+                        );
+                        alRelationships.forEach(igcRepositoryHelper::cacheRelationship);
+                    } else {
+                        IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.TYPEDEF_NOT_MAPPED;
+                        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
+                                prefix + asset.getType(),
+                                repositoryName);
+                        throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                                this.getClass().getName(),
+                                methodName,
+                                errorMessage,
+                                errorCode.getSystemAction(),
+                                errorCode.getUserAction());
+                    }
+
                 }
 
+            } finally {
+                igcRepositoryHelper.closeRequestContext(requestContext, methodName);
             }
 
         }
@@ -1113,7 +1136,8 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                                             limitResultsByClassification,
                                             sequencingProperty,
                                             sequencingOrder,
-                                            pageSize
+                                            pageSize,
+                                            null
                                     );
                                 }
                             }
@@ -1126,24 +1150,35 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                 // If we're searching for anything else, however, we need to iterate through all of the possible mappings
                 // to ensure a full set of search results, so construct and run an appropriate search for each one
                 List<EntityMapping> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
+                List<IGCRepositoryHelper.MappingSearch> searches = new ArrayList<>();
 
                 for (EntityMapping mapping : mappingsToSearch) {
 
-                    igcRepositoryHelper.processResultsForMapping(
+                    searches.add((results, beginAt, size, afterRid) -> igcRepositoryHelper.processResultsForMapping(
                             mapping,
-                            entityDetails,
+                            results,
                             userId,
                             matchProperties,
                             matchCriteria,
-                            fromEntityElement,
+                            beginAt,
                             limitResultsByClassification,
                             sequencingProperty,
                             sequencingOrder,
-                            pageSize
-                    );
+                            size,
+                            afterRid
+                    ));
 
                 }
 
+                entityDetails.addAll(igcRepositoryHelper.searchAcrossMappings(
+                        searches,
+                        IGCRepositoryHelper.getSearchKey(methodName, userId, entityTypeGUID, matchProperties, matchCriteria, limitResultsByClassification, sequencingProperty, sequencingOrder),
+                        fromEntityElement,
+                        sequencingProperty,
+                        sequencingOrder,
+                        pageSize
+                ));
+
             }
 
         }
@@ -1243,9 +1278,10 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
             // will just return an empty list
 
             List<EntityMapping> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
+            List<IGCRepositoryHelper.MappingSearch> searches = new ArrayList<>();
 
-            // Now iterate through all of the mappings we need to search, construct and run an appropriate search
-            // for each one
+            // Now iterate through all of the mappings we need to search, construct an appropriate search for each
+            // one, and then run them all
             for (EntityMapping mapping : mappingsToSearch) {
 
                 ClassificationMapping foundMapping = null;
@@ -1279,11 +1315,6 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                     IGCSearchConditionSet baseCriteria = foundMapping.getIGCSearchCriteria(matchClassificationProperties);
                     igcSearchConditionSet.addNestedConditionSet(baseCriteria);
 
-                    IGCSearchSorting igcSearchSorting = null;
-                    if (sequencingProperty == null && sequencingOrder != null) {
-                        igcSearchSorting = IGCRepositoryHelper.sortFromNonPropertySequencingOrder(sequencingOrder);
-                    }
-
                     if (matchCriteria != null) {
                         switch (matchCriteria) {
                             case ALL:
@@ -1302,20 +1333,19 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                     List<String> igcClassificationPropertiesList = new ArrayList<>(igcClassificationProperties);
                     igcSearch.addProperties(igcClassificationPropertiesList);
                     igcSearch.addConditions(igcSearchConditionSet);
+                    Comparator<EntityDetail> localSort = igcRepositoryHelper.addSortingForSequencing(mapping, igcSearch, sequencingProperty, sequencingOrder);
 
-                    igcRepositoryHelper.setPagingForSearch(igcSearch, fromEntityElement, pageSize);
-
-                    if (igcSearchSorting != null) {
-                        igcSearch.addSortingCriteria(igcSearchSorting);
-                    }
-
-                    igcRepositoryHelper.processResults(
+                    searches.add((results, beginAt, size, afterRid) -> igcRepositoryHelper.runSearchForMapping(
                             mapping,
-                            this.igcRestClient.search(igcSearch),
-                            entityDetails,
-                            pageSize,
-                            userId
-                    );
+                            igcSearch,
+                            results,
+                            beginAt,
+                            size,
+                            userId,
+                            null,
+                            localSort,
+                            afterRid
+                    ));
 
                 } else {
                     if (log.isInfoEnabled()) { log.info("No classification mapping has been implemented for {} on entity {} -- skipping from search.", classificationName, mapping.getOmrsTypeDefName()); }
@@ -1323,6 +1353,15 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
 
             }
 
+            entityDetails.addAll(igcRepositoryHelper.searchAcrossMappings(
+                    searches,
+                    IGCRepositoryHelper.getSearchKey(methodName, userId, entityTypeGUID, classificationName, matchClassificationProperties, matchCriteria, sequencingProperty, sequencingOrder),
+                    fromEntityElement,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize
+            ));
+
         }
 
         return entityDetails.isEmpty() ? null : entityDetails;
@@ -1418,9 +1457,10 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
             // will just return an empty list
 
             List<EntityMapping> mappingsToSearch = getMappingsToSearch(entityTypeGUID, userId);
+            List<IGCRepositoryHelper.MappingSearch> searches = new ArrayList<>();
 
-            // Now iterate through all of the mappings we need to search, construct and run an appropriate search
-            // for each one
+            // Now iterate through all of the mappings we need to search, construct an appropriate search for each
+            // one, and then run them all
             for (EntityMapping mapping : mappingsToSearch) {
 
                 IGCSearch igcSearch = new IGCSearch();
@@ -1442,10 +1482,22 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                     } else {
 
                         IGCSearchConditionSet outerConditions = new IGCSearchConditionSet();
+                        IGCLocalRegexFilter localFilter = null;
 
                         // If the searchCriteria is empty, retrieve all entities of the type (no conditions)
                         if (searchCriteria != null && !searchCriteria.equals("")) {
 
+                            // Any regular expression IGC cannot evaluate itself is instead narrowed by the literal it
+                            // implies, and then evaluated locally against the string properties of the mapped results
+                            if (!IGCRepositoryHelper.isRegexSupportedByIGC(repositoryHelper, searchCriteria)) {
+                                localFilter = new IGCLocalRegexFilter(MatchCriteria.ALL);
+                                try {
+                                    localFilter.addRegex(null, searchCriteria, null);
+                                } catch (PatternSyntaxException e) {
+                                    throw IGCRepositoryHelper.getRegexNotImplementedException(repositoryName, searchCriteria, methodName);
+                                }
+                            }
+
                             List<String> properties = igcRestClient.getStringPropertiesFromPOJO(igcAssetType);
                             // POST'd search to IGC doesn't work on v11.7.0.2 using long_description
                             // Using "searchText" requires using "searchProperties" (no "where" conditions) -- but does not
@@ -1490,19 +1542,16 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                                             unqualifiedValue
                                     ));
                                 } else {
-                                    IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.REGEX_NOT_IMPLEMENTED;
-                                    String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
-                                            repositoryName,
-                                            searchCriteria);
-                                    throw new FunctionNotSupportedException(errorCode.getHTTPErrorCode(),
-                                            this.getClass().getName(),
-                                            methodName,
-                                            errorMessage,
-                                            errorCode.getSystemAction(),
-                                            errorCode.getUserAction());
+                                    IGCSearchCondition pushdown = IGCRegexPlanner.getPushdownCondition(property, searchCriteria);
+                                    if (pushdown != null) {
+                                        innerConditions.addCondition(pushdown);
+                                    }
                                 }
                             }
-                            outerConditions.addNestedConditionSet(innerConditions);
+                            // (if no literal is implied, every entity of the type must be evaluated locally)
+                            if (localFilter == null || innerConditions.size() > 0) {
+                                outerConditions.addNestedConditionSet(innerConditions);
+                            }
 
                         }
 
@@ -1511,26 +1560,21 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                             outerConditions.setMatchAnyCondition(false);
                         }
 
-                        IGCSearchSorting igcSearchSorting = null;
-                        if (sequencingProperty == null && sequencingOrder != null) {
-                            igcSearchSorting = IGCRepositoryHelper.sortFromNonPropertySequencingOrder(sequencingOrder);
-                        }
-
                         igcSearch.addConditions(outerConditions);
+                        Comparator<EntityDetail> localSort = igcRepositoryHelper.addSortingForSequencing(mapping, igcSearch, sequencingProperty, sequencingOrder);
 
-                        igcRepositoryHelper.setPagingForSearch(igcSearch, fromEntityElement, pageSize);
-
-                        if (igcSearchSorting != null) {
-                            igcSearch.addSortingCriteria(igcSearchSorting);
-                        }
-
-                        igcRepositoryHelper.processResults(
+                        final IGCLocalRegexFilter filter = localFilter;
+                        searches.add((results, beginAt, size, afterRid) -> igcRepositoryHelper.runSearchForMapping(
                                 mapping,
-                                this.igcRestClient.search(igcSearch),
-                                entityDetails,
-                                pageSize,
-                                userId
-                        );
+                                igcSearch,
+                                results,
+                                beginAt,
+                                size,
+                                userId,
+                                filter,
+                                localSort,
+                                afterRid
+                        ));
 
                     }
 
@@ -1540,6 +1584,15 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
 
             }
 
+            entityDetails.addAll(igcRepositoryHelper.searchAcrossMappings(
+                    searches,
+                    IGCRepositoryHelper.getSearchKey(methodName, userId, entityTypeGUID, searchCriteria, limitResultsByClassification, sequencingProperty, sequencingOrder),
+                    fromEntityElement,
+                    sequencingProperty,
+                    sequencingOrder,
+                    pageSize
+            ));
+
         }
 
         return entityDetails.isEmpty() ? null : entityDetails;
@@ -1629,6 +1682,18 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
         } else {
             proxyOne = igcRestClient.getAssetRefById(proxyOneIgcRid);
             proxyTwo = igcRestClient.getAssetRefById(proxyTwoIgcRid);
+            // If neither end has changed since the relationship was last mapped, re-use the result of that mapping
+            IGCOMRSInstanceCache instanceCache = igcomrsRepositoryConnector.getInstanceCache();
+            if (instanceCache != null && proxyOne != null && proxyTwo != null) {
+                Long versionOne = igcRepositoryHelper.getModificationVersion(proxyOne);
+                Long versionTwo = igcRepositoryHelper.getModificationVersion(proxyTwo);
+                Relationship cached = (versionOne == null && versionTwo == null)
+                        ? null : instanceCache.getRelationship(guid, versionOne, versionTwo);
+                if (cached != null) {
+                    if (log.isDebugEnabled()) { log.debug("Found unchanged relationship in cache: {}", guid); }
+                    return cached;
+                }
+            }
             relationshipMapping = igcRepositoryHelper.getRelationshipMappingByTypes(
                     omrsRelationshipName,
                     proxyOne.getType(),
@@ -1656,6 +1721,7 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                         userId,
                         relationshipLevelRid
                 );
+                igcRepositoryHelper.cacheRelationship(found);
 
             } catch (TypeDefNotKnownException e) {
                 IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.TYPEDEF_NOT_MAPPED;
@@ -2622,18 +2688,8 @@ public class IGCOMRSMetadataCollection extends OMRSMetadataCollectionBase {
                 requestedTypeName = mappingExact.getOmrsTypeDefName();
             }
 
-            // Walk the hierarchy of types to ensure we search across all subtypes of the requested TypeDef as well
-            List<TypeDef> allEntityTypes = findTypeDefsByCategory(userId, TypeDefCategory.ENTITY_DEF);
-
-            for (TypeDef typeDef : allEntityTypes) {
-                EntityMapping implementedMapping = igcRepositoryHelper.getEntityMappingByGUID(typeDef.getGUID());
-                if (implementedMapping != null) {
-                    if (repositoryHelper.isTypeOf(metadataCollectionId, typeDef.getName(), requestedTypeName)) {
-                        // Add any subtypes of the requested type into the search
-                        mappingsToSearch.add(implementedMapping);
-                    }
-                }
-            }
+            // Search across all subtypes of the requested TypeDef as well (as computed when each mapping was added)
+            mappingsToSearch.addAll(igcRepositoryHelper.getEntityMappingsForTypeAndSubtypes(requestedTypeName));
 
         }
 
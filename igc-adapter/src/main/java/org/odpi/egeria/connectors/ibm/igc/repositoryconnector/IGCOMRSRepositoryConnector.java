@@ -2,9 +2,17 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
 
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCAssetCache;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRequestPriority;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCVersionEnum;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics.IGCMetricsJmxExporter;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics.IGCMetricsRegistry;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores.FallbackOMRSStubStore;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores.IGCOMRSStubStore;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores.LocalOMRSStubStore;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores.OMRSStubStore;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -14,15 +22,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
 
     private static final Logger log = LoggerFactory.getLogger(IGCOMRSRepositoryConnector.class);
 
+    public static final int DEFAULT_SEARCH_THREADS = 4;
+
     private IGCRestClient igcRestClient;
     private IGCVersionEnum igcVersion;
+    private IGCMetricsJmxExporter metricsExporter;
+    private int searchThreads = DEFAULT_SEARCH_THREADS;
+    private ExecutorService searchExecutor = null;
+    private IGCOMRSInstanceCache instanceCache = new IGCOMRSInstanceCache();
+    private IGCOMRSCursorCache cursorCache = new IGCOMRSCursorCache();
+    private boolean keysetPaging = false;
+    private OMRSStubStore stubStore;
 
     private List<String> defaultZones;
 
@@ -56,14 +78,96 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
         String igcPort = (String) proxyProperties.get("ibm.igc.services.port");
         String igcUser = (String) proxyProperties.get("ibm.igc.username");
         String igcPass = (String) proxyProperties.get("ibm.igc.password");
+        Integer igcSessions = (Integer) proxyProperties.get("ibm.igc.maxsessions");
+        Integer igcConnections = (Integer) proxyProperties.get("ibm.igc.maxconnections");
+        Integer igcPageFetchThreads = (Integer) proxyProperties.get("ibm.igc.pagefetchthreads");
+        Integer igcAsyncThreads = (Integer) proxyProperties.get("ibm.igc.asyncthreads");
+        Integer igcCacheSize = (Integer) proxyProperties.get("ibm.igc.cache.size");
+        Integer igcCacheTtl = (Integer) proxyProperties.get("ibm.igc.cache.ttl");
+        Integer igcMaxConcurrency = (Integer) proxyProperties.get("ibm.igc.maxconcurrency");
+        Integer igcLatencyTarget = (Integer) proxyProperties.get("ibm.igc.latencytarget");
+        Integer igcSearchRate = (Integer) proxyProperties.get("ibm.igc.ratelimit.search");
+        Integer igcAssetRate = (Integer) proxyProperties.get("ibm.igc.ratelimit.asset");
+        Integer igcBundleRate = (Integer) proxyProperties.get("ibm.igc.ratelimit.bundles");
+        Boolean igcMetricsJmx = (Boolean) proxyProperties.get("ibm.igc.metrics.jmx");
+        Integer igcInteractiveWeight = (Integer) proxyProperties.get("ibm.igc.priority.interactive");
+        Integer igcBackgroundWeight = (Integer) proxyProperties.get("ibm.igc.priority.background");
+        Integer igcSearchThreads = (Integer) proxyProperties.get("ibm.igc.searchthreads");
+        Integer igcInstanceCacheSize = (Integer) proxyProperties.get("ibm.igc.instancecache.size");
+        Integer igcInstanceCacheTtl = (Integer) proxyProperties.get("ibm.igc.instancecache.ttl");
+        Integer igcCursorCacheSize = (Integer) proxyProperties.get("ibm.igc.cursorcache.size");
+        Integer igcCursorCacheTtl = (Integer) proxyProperties.get("ibm.igc.cursorcache.ttl");
+        Boolean igcKeysetPaging = (Boolean) proxyProperties.get("ibm.igc.keysetpaging");
+        String igcStubStoreDirectory = (String) proxyProperties.get("ibm.igc.stubstore.directory");
+        Boolean igcStubStoreFallback = (Boolean) proxyProperties.get("ibm.igc.stubstore.fallback");
+        Integer igcStubStoreCompactPercent = (Integer) proxyProperties.get("ibm.igc.stubstore.compactpercent");
         Object zones = proxyProperties.get("default.zones");
         if (zones != null) {
             this.defaultZones = (List<String>) zones;
         }
+        if (igcSearchThreads != null) {
+            this.searchThreads = igcSearchThreads;
+        }
+        if (igcInstanceCacheSize != null || igcInstanceCacheTtl != null) {
+            int instanceCacheSize = (igcInstanceCacheSize != null) ? igcInstanceCacheSize : IGCOMRSInstanceCache.DEFAULT_MAX_SIZE;
+            long instanceCacheTtl = (igcInstanceCacheTtl != null) ? igcInstanceCacheTtl * 1000L : IGCOMRSInstanceCache.DEFAULT_TTL_MILLIS;
+            this.instanceCache = (instanceCacheSize > 0) ? new IGCOMRSInstanceCache(instanceCacheSize, instanceCacheTtl) : null;
+        }
+        if (igcCursorCacheSize != null || igcCursorCacheTtl != null) {
+            int cursorCacheSize = (igcCursorCacheSize != null) ? igcCursorCacheSize : IGCOMRSCursorCache.DEFAULT_MAX_SIZE;
+            long cursorCacheTtl = (igcCursorCacheTtl != null) ? igcCursorCacheTtl * 1000L : IGCOMRSCursorCache.DEFAULT_TTL_MILLIS;
+            this.cursorCache = (cursorCacheSize > 0) ? new IGCOMRSCursorCache(cursorCacheSize, cursorCacheTtl) : null;
+        }
+        if (igcKeysetPaging != null) {
+            this.keysetPaging = igcKeysetPaging;
+        }
 
-        // Create new REST API client (opens a new session)
-        this.igcRestClient = new IGCRestClient(igcHost, igcPort, igcUser, igcPass);
+        // Create new REST API client (opens a new session, and further sessions as concurrent requests need them)
+        if (igcSessions != null) {
+            this.igcRestClient = new IGCRestClient(igcHost, igcPort, igcUser, igcPass, igcSessions);
+        } else {
+            this.igcRestClient = new IGCRestClient(igcHost, igcPort, igcUser, igcPass);
+        }
         if (this.igcRestClient.isSuccessfullyInitialised()) {
+            if (igcConnections != null) {
+                this.igcRestClient.setMaxConnections(igcConnections);
+            }
+            if (igcPageFetchThreads != null) {
+                this.igcRestClient.setPageFetchThreads(igcPageFetchThreads);
+            }
+            if (igcAsyncThreads != null) {
+                this.igcRestClient.setAsyncThreads(igcAsyncThreads, IGCRestClient.DEFAULT_ASYNC_QUEUE_SIZE);
+            }
+            if (igcCacheSize != null || igcCacheTtl != null) {
+                int cacheSize = (igcCacheSize == null) ? IGCAssetCache.DEFAULT_MAX_SIZE : igcCacheSize;
+                long cacheTtl = (igcCacheTtl == null) ? IGCAssetCache.DEFAULT_TTL_MILLIS : igcCacheTtl * 1000L;
+                this.igcRestClient.setAssetCache((cacheSize > 0 && cacheTtl > 0) ? new IGCAssetCache(cacheSize, cacheTtl) : null);
+            }
+            if (igcMaxConcurrency != null) {
+                this.igcRestClient.setMaxConcurrency(igcMaxConcurrency);
+            }
+            if (igcLatencyTarget != null) {
+                this.igcRestClient.setLatencyTarget(igcLatencyTarget);
+            }
+            if (igcSearchRate != null) {
+                this.igcRestClient.setRateLimit(IGCRestClient.EP_SEARCH, igcSearchRate);
+            }
+            if (igcAssetRate != null) {
+                this.igcRestClient.setRateLimit(IGCRestClient.EP_ASSET, igcAssetRate);
+            }
+            if (igcBundleRate != null) {
+                this.igcRestClient.setRateLimit(IGCRestClient.EP_BUNDLES, igcBundleRate);
+            }
+            if (igcInteractiveWeight != null) {
+                this.igcRestClient.setRequestPriorityWeight(IGCRequestPriority.INTERACTIVE, igcInteractiveWeight);
+            }
+            if (igcBackgroundWeight != null) {
+                this.igcRestClient.setRequestPriorityWeight(IGCRequestPriority.BACKGROUND, igcBackgroundWeight);
+            }
+            if (igcMetricsJmx != null && igcMetricsJmx && this.igcRestClient.getMetrics() instanceof IGCMetricsRegistry) {
+                this.metricsExporter = new IGCMetricsJmxExporter((IGCMetricsRegistry) this.igcRestClient.getMetrics(), igcHost + ":" + igcPort);
+                this.metricsExporter.start();
+            }
             if (getMaxPageSize() > 0) {
                 this.igcRestClient.setDefaultPageSize(getMaxPageSize());
             }
@@ -74,6 +178,7 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
             try {
                 boolean success = upsertOMRSBundleZip();
                 this.igcRestClient.registerPOJO(OMRSStub.class);
+                this.stubStore = createStubStore(igcStubStoreDirectory, igcStubStoreFallback, igcStubStoreCompactPercent);
                 successfulInit = success;
             } catch (RepositoryErrorException e) {
                 log.error("Unable to create necessary OMRS objects -- failing.", e);
@@ -98,6 +203,36 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
 
     }
 
+    /**
+     * Create the store in which to keep OMRS stubs: on local disk if a directory has been configured (by default
+     * falling back to any stubs still held within IGC), or otherwise within IGC itself.
+     *
+     * @param directory the directory in which to keep stubs on local disk, or null to keep them within IGC
+     * @param fallback whether to fall back to the stubs held within IGC for any stub not on local disk
+     * @param compactPercent the percentage of the local stub log that must be garbage before it is compacted
+     * @return OMRSStubStore
+     */
+    private OMRSStubStore createStubStore(String directory, Boolean fallback, Integer compactPercent) {
+        OMRSStubStore igcStubStore = new IGCOMRSStubStore(this.igcRestClient);
+        if (directory == null || directory.isEmpty()) {
+            return igcStubStore;
+        }
+        LocalOMRSStubStore localStubStore;
+        try {
+            localStubStore = new LocalOMRSStubStore(
+                    Paths.get(directory),
+                    (compactPercent == null) ? LocalOMRSStubStore.DEFAULT_COMPACT_PERCENT : compactPercent
+            );
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to open local stub store {} -- keeping stubs in IGC.", directory, e); }
+            return igcStubStore;
+        }
+        if (fallback == null || fallback) {
+            return new FallbackOMRSStubStore(localStubStore, igcStubStore);
+        }
+        return localStubStore;
+    }
+
     /**
      * Retrieve the version identifier of the IGC environment.
      *
@@ -137,6 +272,27 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
 
         // Close the session on the IGC REST client
         this.igcRestClient.disconnect();
+        if (this.metricsExporter != null) {
+            this.metricsExporter.stop();
+        }
+        if (this.instanceCache != null) {
+            if (log.isInfoEnabled()) { log.info("Instance cache at disconnect: {}", this.instanceCache); }
+            this.instanceCache.invalidateAll();
+        }
+        if (this.cursorCache != null) {
+            if (log.isInfoEnabled()) { log.info("Cursor cache at disconnect: {}", this.cursorCache); }
+            this.cursorCache.invalidateAll();
+        }
+        if (this.stubStore != null) {
+            if (log.isInfoEnabled()) { log.info("Stub store at disconnect: {}", this.stubStore); }
+            this.stubStore.close();
+        }
+        synchronized (this) {
+            if (this.searchExecutor != null) {
+                this.searchExecutor.shutdownNow();
+                this.searchExecutor = null;
+            }
+        }
 
     }
 
@@ -158,6 +314,24 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
     }
 
 
+    /**
+     * Retrieve the executor on which the searches for different entity types are run concurrently, or null if they
+     * should be run one after another (ie. if no more than one search thread has been configured).
+     *
+     * @return ExecutorService
+     */
+    public synchronized ExecutorService getSearchExecutor() {
+        if (searchExecutor == null && searchThreads > 1) {
+            final AtomicInteger threadCount = new AtomicInteger(0);
+            searchExecutor = Executors.newFixedThreadPool(searchThreads, runnable -> {
+                Thread thread = new Thread(runnable, "igc-omrs-search-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return searchExecutor;
+    }
+
     /**
      * Access the IGC REST API client directly.
      *
@@ -165,6 +339,35 @@ public class IGCOMRSRepositoryConnector extends OMRSRepositoryConnector {
      */
     public IGCRestClient getIGCRestClient() { return this.igcRestClient; }
 
+    /**
+     * Retrieve the cache of mapped OMRS instances, or null if instances are not being cached.
+     *
+     * @return IGCOMRSInstanceCache
+     */
+    public IGCOMRSInstanceCache getInstanceCache() { return this.instanceCache; }
+
+    /**
+     * Retrieve the cache of points from which paged searches can be continued, or null if they are not being cached.
+     *
+     * @return IGCOMRSCursorCache
+     */
+    public IGCOMRSCursorCache getCursorCache() { return this.cursorCache; }
+
+    /**
+     * Retrieve the store in which OMRS stubs are kept.
+     *
+     * @return OMRSStubStore
+     */
+    public OMRSStubStore getStubStore() { return this.stubStore; }
+
+    /**
+     * Indicates whether paged searches should be continued from the last RID of the previous page (true) rather
+     * than by skipping the results of all previous pages (false), wherever the order of the results allows it.
+     *
+     * @return boolean
+     */
+    public boolean isKeysetPaging() { return this.keysetPaging; }
+
     /**
      * Retrieve the list of default zones to apply to assets.
      *
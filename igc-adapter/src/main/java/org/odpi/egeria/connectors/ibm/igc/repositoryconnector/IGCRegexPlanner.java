@@ -0,0 +1,373 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plans how to search IGC for a regular expression that IGC itself cannot evaluate, by finding the most selective
+ * literal fragment that every matching value must contain. That fragment can be searched for in IGC (as an exact
+ * match, or a 'like' condition), narrowing the results that must then be filtered locally against the full regular
+ * expression (see IGCLocalRegexFilter).
+ * <br><br>
+ * The analysis is deliberately conservative: anything it does not fully understand (alternation at the top level,
+ * case-insensitive or comments flags, etc) results in no fragment at all, rather than a fragment that could wrongly
+ * exclude matching values. As with OMRS, a regular expression must match the whole of a value.
+ */
+final class IGCRegexPlanner {
+
+    /** Inline flags that change what a literal character in the expression will match. */
+    private static final Pattern UNSUPPORTED_FLAGS = Pattern.compile("\\(\\?[a-zA-Z]*[ixuU][a-zA-Z-]*[:)]");
+
+    private static final Pattern BOUNDED_QUANTIFIER = Pattern.compile("\\{(\\d+)(,\\d*)?}");
+
+    private IGCRegexPlanner() {
+        // Only static methods
+    }
+
+    /**
+     * Retrieve an IGC search condition on the provided property that every value matching the provided regular
+     * expression will meet, or null if no such condition can be determined (in which case every value must be
+     * checked locally).
+     *
+     * @param igcPropertyName the name of the IGC property being searched
+     * @param regex the regular expression for which to search
+     * @return IGCSearchCondition
+     */
+    static IGCSearchCondition getPushdownCondition(String igcPropertyName, String regex) {
+        LiteralFragment fragment = getMostSelectiveLiteral(regex);
+        IGCSearchCondition condition = null;
+        if (fragment != null) {
+            String operator;
+            if (fragment.isWholeExpression()) {
+                operator = "=";
+            } else if (fragment.isAnchoredAtStart()) {
+                operator = "like {0}%";
+            } else if (fragment.isAnchoredAtEnd()) {
+                operator = "like %{0}";
+            } else {
+                operator = "like %{0}%";
+            }
+            condition = new IGCSearchCondition(igcPropertyName, operator, fragment.getLiteral());
+        }
+        return condition;
+    }
+
+    /**
+     * Retrieve the longest run of literal characters that every value matching the provided regular expression
+     * must contain, or null if there is no such run.
+     *
+     * @param regex the regular expression to analyse
+     * @return LiteralFragment
+     */
+    static LiteralFragment getMostSelectiveLiteral(String regex) {
+
+        if (regex == null || regex.isEmpty() || UNSUPPORTED_FLAGS.matcher(regex).find()) {
+            return null;
+        }
+
+        LiteralFragment best = null;
+        StringBuilder run = new StringBuilder();
+        boolean runAtStart = true;
+        boolean consumedAny = false;
+        boolean lastAtomLiteral = false;
+        int i = 0;
+        int length = regex.length();
+
+        while (i < length) {
+            char c = regex.charAt(i);
+            int next = i + 1;
+            boolean literal = false;
+            boolean zeroWidth = false;
+            char literalChar = c;
+            switch (c) {
+                case '\\':
+                    if (next >= length) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(next);
+                    if (escaped == 'Q') {
+                        int end = regex.indexOf("\\E", next + 1);
+                        String quoted = (end < 0) ? regex.substring(next + 1) : regex.substring(next + 1, end);
+                        // All but the last quoted character are literals that any quantifier cannot affect
+                        if (quoted.length() > 1) {
+                            if (run.length() == 0) {
+                                runAtStart = !consumedAny;
+                            }
+                            run.append(quoted, 0, quoted.length() - 1);
+                            consumedAny = true;
+                        }
+                        next = (end < 0) ? length : end + 2;
+                        if (quoted.isEmpty()) {
+                            zeroWidth = true;
+                        } else {
+                            literal = true;
+                            literalChar = quoted.charAt(quoted.length() - 1);
+                        }
+                    } else if (isZeroWidthEscape(escaped)) {
+                        zeroWidth = true;
+                        next = next + 1;
+                    } else if (Character.isLetterOrDigit(escaped)) {
+                        next = skipEscape(regex, next);
+                    } else {
+                        literal = true;
+                        literalChar = escaped;
+                        next = next + 1;
+                    }
+                    break;
+                case '[':
+                    next = skipCharacterClass(regex, i);
+                    break;
+                case '(':
+                    if (regex.startsWith("(?=", i) || regex.startsWith("(?!", i)
+                            || regex.startsWith("(?<=", i) || regex.startsWith("(?<!", i)) {
+                        zeroWidth = true;
+                    }
+                    next = skipGroup(regex, i);
+                    break;
+                case '|':
+                    // Alternation at the top level means no single fragment need be present
+                    return null;
+                case '^':
+                case '$':
+                    zeroWidth = true;
+                    break;
+                case '.':
+                case ')':
+                    break;
+                case '*':
+                case '?':
+                case '+':
+                case '{':
+                    // A quantifier: if it applies to the last literal of the run and allows zero repetitions, that
+                    // literal is not required after all -- either way the run cannot continue beyond it
+                    boolean optional = (c == '*' || c == '?');
+                    if (c == '{') {
+                        Matcher m = BOUNDED_QUANTIFIER.matcher(regex);
+                        if (m.find(i) && m.start() == i) {
+                            optional = m.group(1).replace("0", "").isEmpty();
+                            next = m.end();
+                        } else {
+                            // Not a valid quantifier, so Java would reject the expression anyway
+                            return null;
+                        }
+                    }
+                    if (next < length && (regex.charAt(next) == '?' || regex.charAt(next) == '+')) {
+                        next++;
+                    }
+                    if (lastAtomLiteral && optional && run.length() > 0) {
+                        run.setLength(run.length() - 1);
+                    }
+                    best = closeRun(best, run, runAtStart, false);
+                    lastAtomLiteral = false;
+                    i = next;
+                    continue;
+                default:
+                    literal = true;
+                    break;
+            }
+            if (literal) {
+                if (run.length() == 0) {
+                    runAtStart = !consumedAny;
+                }
+                run.append(literalChar);
+                consumedAny = true;
+                lastAtomLiteral = true;
+            } else if (!zeroWidth) {
+                best = closeRun(best, run, runAtStart, false);
+                consumedAny = true;
+                lastAtomLiteral = false;
+            } else {
+                lastAtomLiteral = false;
+            }
+            i = next;
+        }
+
+        // Whatever run remains open at the end of the expression must appear at the very end of the value
+        boolean wholeExpression = (best == null && runAtStart);
+        best = closeRun(best, run, runAtStart, true);
+        if (best != null && wholeExpression && best.isAnchoredAtStart() && best.isAnchoredAtEnd()) {
+            best.wholeExpression = true;
+        }
+        return best;
+
+    }
+
+    /**
+     * Close off the current run of literals, keeping it only if it is longer than the best run found so far.
+     *
+     * @param best the best run found so far (or null if none)
+     * @param run the current run of literals (which will be emptied)
+     * @param atStart whether the current run must appear at the very start of the value
+     * @param atEnd whether the current run must appear at the very end of the value
+     * @return LiteralFragment - the best run found
+     */
+    private static LiteralFragment closeRun(LiteralFragment best, StringBuilder run, boolean atStart, boolean atEnd) {
+        if (run.length() > 0 && (best == null || run.length() > best.getLiteral().length())) {
+            best = new LiteralFragment(run.toString(), atStart, atEnd);
+        }
+        run.setLength(0);
+        return best;
+    }
+
+    /**
+     * Indicates whether the escaped character is a zero-width assertion (one that does not consume any character).
+     *
+     * @param escaped the character following a backslash
+     * @return boolean
+     */
+    private static boolean isZeroWidthEscape(char escaped) {
+        return escaped == 'b' || escaped == 'B' || escaped == 'A' || escaped == 'G' || escaped == 'z' || escaped == 'Z';
+    }
+
+    /**
+     * Skip over an escape sequence that is not a literal (eg. a predefined character class or a back-reference).
+     *
+     * @param regex the regular expression
+     * @param index the position of the character following the backslash
+     * @return int - the position immediately after the escape sequence
+     */
+    private static int skipEscape(String regex, int index) {
+        char escaped = regex.charAt(index);
+        int next = index + 1;
+        if ((escaped == 'p' || escaped == 'P' || escaped == 'x') && next < regex.length() && regex.charAt(next) == '{') {
+            int end = regex.indexOf('}', next);
+            next = (end < 0) ? regex.length() : end + 1;
+        } else if (escaped == 'p' || escaped == 'P' || escaped == 'c') {
+            next = next + 1;
+        } else if (escaped == 'x') {
+            next = next + 2;
+        } else if (escaped == 'u') {
+            next = next + 4;
+        } else if (escaped == 'k') {
+            int end = regex.indexOf('>', next);
+            next = (end < 0) ? regex.length() : end + 1;
+        } else if (Character.isDigit(escaped)) {
+            while (next < regex.length() && Character.isDigit(regex.charAt(next))) {
+                next++;
+            }
+        }
+        return Math.min(next, regex.length());
+    }
+
+    /**
+     * Skip over a character class (including any nested classes).
+     *
+     * @param regex the regular expression
+     * @param index the position of the opening bracket
+     * @return int - the position immediately after the closing bracket
+     */
+    private static int skipCharacterClass(String regex, int index) {
+        int depth = 0;
+        int i = index;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            } else if (c == '[') {
+                depth++;
+                // A closing bracket immediately after the opening one (or its negation) is a literal
+                if (regex.startsWith("]", i + 1)) {
+                    i++;
+                } else if (regex.startsWith("^]", i + 1)) {
+                    i += 2;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    /**
+     * Skip over a group (including any nested groups and character classes).
+     *
+     * @param regex the regular expression
+     * @param index the position of the opening parenthesis
+     * @return int - the position immediately after the closing parenthesis
+     */
+    private static int skipGroup(String regex, int index) {
+        int depth = 0;
+        int i = index;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (regex.startsWith("Q", i + 1)) {
+                    int end = regex.indexOf("\\E", i + 2);
+                    i = (end < 0) ? regex.length() : end + 2;
+                } else {
+                    i += 2;
+                }
+                continue;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                continue;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    /**
+     * A run of literal characters that every value matching a regular expression must contain.
+     */
+    static final class LiteralFragment {
+
+        private final String literal;
+        private final boolean anchoredAtStart;
+        private final boolean anchoredAtEnd;
+        private boolean wholeExpression;
+
+        LiteralFragment(String literal, boolean anchoredAtStart, boolean anchoredAtEnd) {
+            this.literal = literal;
+            this.anchoredAtStart = anchoredAtStart;
+            this.anchoredAtEnd = anchoredAtEnd;
+            this.wholeExpression = false;
+        }
+
+        /**
+         * Retrieve the literal characters.
+         *
+         * @return String
+         */
+        String getLiteral() { return literal; }
+
+        /**
+         * Indicates whether the literal must appear at the very start of a matching value.
+         *
+         * @return boolean
+         */
+        boolean isAnchoredAtStart() { return anchoredAtStart; }
+
+        /**
+         * Indicates whether the literal must appear at the very end of a matching value.
+         *
+         * @return boolean
+         */
+        boolean isAnchoredAtEnd() { return anchoredAtEnd; }
+
+        /**
+         * Indicates whether the literal is the only value that can match (the expression has nothing else in it).
+         *
+         * @return boolean
+         */
+        boolean isWholeExpression() { return wholeExpression; }
+
+    }
+
+}
@@ -2,7 +2,11 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
 
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRequestPriority;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestConstants;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCVersionEnum;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ReferenceList;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
@@ -13,6 +17,7 @@ import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.EntityMapp
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.classifications.ClassificationMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.relationships.RelationshipMapping;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
@@ -25,11 +30,18 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
-import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
 public class IGCRepositoryHelper {
 
@@ -53,7 +65,8 @@ public class IGCRepositoryHelper {
     private String repositoryName;
     private String metadataCollectionId;
 
-    private XMLOutputFactory xmlOutputFactory;
+    private final ThreadLocal<IGCRequestContext> threadRequestContext = new ThreadLocal<>();
+    private final LongAdder requestContextRestCallsSaved = new LongAdder();
 
     IGCRepositoryHelper(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                         OMRSRepositoryHelper repositoryHelper,
@@ -61,14 +74,131 @@ public class IGCRepositoryHelper {
         this.igcomrsRepositoryConnector = igcomrsRepositoryConnector;
         this.repositoryHelper = repositoryHelper;
         this.igcRestClient = igcRestClient;
-        this.xmlOutputFactory = XMLOutputFactory.newInstance();
         this.repositoryName = igcomrsRepositoryConnector.getRepositoryName();
         this.metadataCollectionId = igcomrsRepositoryConnector.getMetadataCollectionId();
-        this.entityMappingStore = new EntityMappingStore(igcomrsRepositoryConnector);
+        this.entityMappingStore = new EntityMappingStore(igcomrsRepositoryConnector, repositoryHelper);
         this.relationshipMappingStore = new RelationshipMappingStore(igcomrsRepositoryConnector);
         this.classificationMappingStore = new ClassificationMappingStore(igcomrsRepositoryConnector);
     }
 
+    /**
+     * Open a request context for the OMRS operation being carried out by the current thread, through which the IGC
+     * lookups made while carrying out the operation will be memoized. If the thread is already within a request
+     * context (ie. this operation is part of a broader one) that context continues to be used, and null is returned.
+     * <br><br>
+     * Every context that is opened must be closed once the operation is complete.
+     *
+     * @return IGCRequestContext - the newly-opened context, or null if the thread was already within one
+     * @see #closeRequestContext(IGCRequestContext, String)
+     */
+    IGCRequestContext openRequestContext() {
+        IGCRequestContext requestContext = null;
+        if (threadRequestContext.get() == null) {
+            requestContext = new IGCRequestContext();
+            threadRequestContext.set(requestContext);
+        }
+        return requestContext;
+    }
+
+    /**
+     * Close a request context opened for the OMRS operation being carried out by the current thread, discarding
+     * everything memoized within it.
+     *
+     * @param requestContext the context returned when it was opened (if null, no action is taken)
+     * @param methodName the name of the OMRS operation for which the context was opened
+     */
+    void closeRequestContext(IGCRequestContext requestContext, String methodName) {
+        if (requestContext != null) {
+            threadRequestContext.remove();
+            requestContextRestCallsSaved.add(requestContext.getRestCallsSaved());
+            if (log.isDebugEnabled()) { log.debug("Completed {} with {}", methodName, requestContext); }
+        }
+    }
+
+    /**
+     * Retrieve the request context within which the current thread is carrying out an OMRS operation.
+     *
+     * @return IGCRequestContext - the context, or null if the thread is not within one
+     */
+    public IGCRequestContext getRequestContext() {
+        return threadRequestContext.get();
+    }
+
+    /**
+     * Run the provided work within the provided request context (eg. on a thread other than the one that opened
+     * the context).
+     *
+     * @param requestContext the request context within which to run the work (or null for none)
+     * @param work the work to run
+     * @param <T> the type of result produced by the work
+     * @return T - the result of the work
+     * @throws Exception any exception thrown by the work
+     */
+    <T> T callWithRequestContext(IGCRequestContext requestContext, Callable<T> work) throws Exception {
+        IGCRequestContext previous = threadRequestContext.get();
+        setThreadRequestContext(requestContext);
+        try {
+            return work.call();
+        } finally {
+            setThreadRequestContext(previous);
+        }
+    }
+
+    /**
+     * Retrieve the total number of REST calls to IGC that request contexts have avoided, across all of the OMRS
+     * operations they have covered.
+     *
+     * @return long
+     */
+    public long getRequestContextRestCallsSaved() {
+        return requestContextRestCallsSaved.sum();
+    }
+
+    /**
+     * Retrieve the header of the asset with the provided RID, memoized within the current request context (if any).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return Reference - the asset (or null if there is no such asset)
+     */
+    public Reference getAssetRefById(String rid) {
+        IGCRequestContext requestContext = getRequestContext();
+        return (requestContext == null) ? igcRestClient.getAssetRefById(rid) : requestContext.getAssetRefById(igcRestClient, rid);
+    }
+
+    /**
+     * Retrieve the identity of the provided asset, memoized within the current request context (if any).
+     *
+     * @param asset the asset for which to retrieve the identity
+     * @return Identity
+     */
+    public Identity getIdentity(Reference asset) {
+        return getIdentity(asset, getRequestContext());
+    }
+
+    /**
+     * Retrieve the identity of the provided asset, memoized within the provided request context.
+     *
+     * @param asset the asset for which to retrieve the identity
+     * @param requestContext the request context within which to memoize the identity (or null for none)
+     * @return Identity
+     */
+    public Identity getIdentity(Reference asset, IGCRequestContext requestContext) {
+        return (requestContext == null) ? asset.getIdentity(igcRestClient) : requestContext.getIdentity(igcRestClient, asset);
+    }
+
+    /**
+     * Set (or, if null, clear) the request context of the current thread.
+     *
+     * @param requestContext the request context
+     */
+    private void setThreadRequestContext(IGCRequestContext requestContext) {
+        if (requestContext == null) {
+            threadRequestContext.remove();
+        } else {
+            threadRequestContext.set(requestContext);
+        }
+    }
+
     /**
      * Adds an entity mapping for the provided TypeDef, using the provided EntityMapping Java class.
      *
@@ -111,6 +241,16 @@ public class IGCRepositoryHelper {
         return entityMappingStore.getAllMappings();
     }
 
+    /**
+     * Retrieve the entity mappings for the provided OMRS entity type and all of its subtypes.
+     *
+     * @param omrsTypeName the name of the OMRS entity type
+     * @return {@code List<EntityMapping>}
+     */
+    List<EntityMapping> getEntityMappingsForTypeAndSubtypes(String omrsTypeName) {
+        return entityMappingStore.getMappingsForTypeAndSubtypes(omrsTypeName);
+    }
+
     /**
      * Retrieve a listing of the OMRS entity type definitions that are mapped for IGC.
      *
@@ -213,43 +353,11 @@ public class IGCRepositoryHelper {
      *
      * @param assetType the IGC asset type for which to find mappings
      * @param userId the userId making the request
-     * @return {@code Map<String, RelationshipMapping>} - keyed by IGC asset type with values of the RelationshipMappings
+     * @return {@code Map<String, RelationshipMapping>} - keyed by IGC property name with values of the RelationshipMappings
+     *         (unmodifiable, as it is computed once as mappings are added)
      */
     public Map<String, List<RelationshipMapping>> getIgcPropertiesToRelationshipMappings(String assetType, String userId) {
-
-        HashMap<String, List<RelationshipMapping>> map = new HashMap<>();
-
-        List<EntityMapping> mappers = getMappers(assetType, userId);
-        for (EntityMapping mapper : mappers) {
-            List<RelationshipMapping> relationshipMappings = mapper.getRelationshipMappers();
-            for (RelationshipMapping relationshipMapping : relationshipMappings) {
-                if (relationshipMapping.getProxyOneMapping().matchesAssetType(assetType)) {
-                    List<String> relationshipNamesOne = relationshipMapping.getProxyOneMapping().getIgcRelationshipProperties();
-                    for (String relationshipName : relationshipNamesOne) {
-                        if (!map.containsKey(relationshipName)) {
-                            map.put(relationshipName, new ArrayList<>());
-                        }
-                        if (!map.get(relationshipName).contains(relationshipMapping)) {
-                            map.get(relationshipName).add(relationshipMapping);
-                        }
-                    }
-                }
-                if (relationshipMapping.getProxyTwoMapping().matchesAssetType(assetType)) {
-                    List<String> relationshipNamesTwo = relationshipMapping.getProxyTwoMapping().getIgcRelationshipProperties();
-                    for (String relationshipName : relationshipNamesTwo) {
-                        if (!map.containsKey(relationshipName)) {
-                            map.put(relationshipName, new ArrayList<>());
-                        }
-                        if (!map.get(relationshipName).contains(relationshipMapping)) {
-                            map.get(relationshipName).add(relationshipMapping);
-                        }
-                    }
-                }
-            }
-        }
-
-        return map;
-
+        return entityMappingStore.getIgcPropertiesToRelationshipMappings(assetType);
     }
 
     /**
@@ -270,6 +378,7 @@ public class IGCRepositoryHelper {
      * @param sequencingOrder Enum defining how the results should be ordered.
      * @param pageSize the maximum number of result entities that can be returned on this request.  Zero means
      *                 unrestricted return results size.
+     * @param afterRid the RID after which to continue the search (or null to start from fromEntityElement)
      * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
      * @throws RepositoryErrorException
      */
@@ -282,7 +391,8 @@ public class IGCRepositoryHelper {
                                   List<String> limitResultsByClassification,
                                   String sequencingProperty,
                                   SequencingOrder sequencingOrder,
-                                  int pageSize)
+                                  int pageSize,
+                                  String afterRid)
             throws FunctionNotSupportedException, RepositoryErrorException {
 
         String igcAssetType = mapping.getIgcAssetType();
@@ -304,6 +414,7 @@ public class IGCRepositoryHelper {
             IGCSearchConditionSet igcSearchConditionSet = new IGCSearchConditionSet();
 
             String qualifiedNameRegex = null;
+            IGCLocalRegexFilter localFilter = new IGCLocalRegexFilter(matchCriteria);
             if (matchProperties != null) {
                 Iterator iPropertyNames = matchProperties.getPropertyNames();
                 Set<String> mappedProperties = mapping.getAllMappedIgcProperties();
@@ -318,18 +429,27 @@ public class IGCRepositoryHelper {
                             omrsPropertyName,
                             properties,
                             mapping,
-                            value
+                            value,
+                            localFilter
                     );
                 }
             }
 
-            if (classificationLimiters != null) {
-                igcSearchConditionSet.addNestedConditionSet(classificationLimiters);
+            if (!localFilter.isEmpty()) {
+                // Any regular expressions IGC cannot evaluate are instead narrowed by the conditions they imply (where
+                // the match criteria allow), and then evaluated locally against the mapped results
+                if (matchCriteria == MatchCriteria.ANY && igcSearchConditionSet.size() > 0) {
+                    // ...except that IGC would then return results that meet any of the other conditions, which
+                    // cannot be told apart locally from those that only meet the implied conditions
+                    throw getRegexNotImplementedException(String.join(", ", localFilter.getRegexes()), "processResultsForMapping");
+                }
+                for (IGCSearchCondition condition : localFilter.getPushdownConditions()) {
+                    igcSearchConditionSet.addCondition(condition);
+                }
             }
 
-            IGCSearchSorting igcSearchSorting = null;
-            if (sequencingProperty == null && sequencingOrder != null) {
-                igcSearchSorting = IGCRepositoryHelper.sortFromNonPropertySequencingOrder(sequencingOrder);
+            if (classificationLimiters != null) {
+                igcSearchConditionSet.addNestedConditionSet(classificationLimiters);
             }
 
             if (matchCriteria != null) {
@@ -342,19 +462,15 @@ public class IGCRepositoryHelper {
                         break;
                     case NONE:
                         igcSearchConditionSet.setMatchAnyCondition(false);
-                        igcSearchConditionSet.setNegateAll(true);
+                        // (when every condition is being evaluated locally there is nothing for IGC to negate)
+                        igcSearchConditionSet.setNegateAll(igcSearchConditionSet.size() > 0);
                         break;
                 }
             }
 
             igcSearch.addProperties(properties);
             igcSearch.addConditions(igcSearchConditionSet);
-
-            setPagingForSearch(igcSearch, fromEntityElement, pageSize);
-
-            if (igcSearchSorting != null) {
-                igcSearch.addSortingCriteria(igcSearchSorting);
-            }
+            Comparator<EntityDetail> localSort = addSortingForSequencing(mapping, igcSearch, sequencingProperty, sequencingOrder);
 
             // If searching by qualifiedName, exact match (or starts with) we need to check results
             // to remove any (non-)generated type based on the qualifiedName (because the search results
@@ -370,17 +486,437 @@ public class IGCRepositoryHelper {
             }
 
             if (includeResult) {
-                processResults(
+                runSearchForMapping(
                         mapping,
-                        this.igcRestClient.search(igcSearch),
+                        igcSearch,
                         entityDetails,
+                        fromEntityElement,
                         pageSize,
-                        userId
+                        userId,
+                        localFilter.isEmpty() ? null : localFilter,
+                        localSort,
+                        afterRid
                 );
             }
         }
     }
 
+    /**
+     * Run the provided searches (one per entity mapping) concurrently, and merge their results into a single page of
+     * results in the requested order.
+     * <br><br>
+     * To be able to return the correct page of the overall results, each search retrieves (at most) the first
+     * fromEntityElement + pageSize of its own results. These are then merged (each search's results already being in
+     * the requested order) before skipping fromEntityElement results and returning the next pageSize. When there is
+     * no defined order, the results of each search follow those of the one before it.
+     * <br><br>
+     * Unless it is disabled, the point that each page reaches in every search is cached (against the provided key
+     * and the element number at which the next page starts), so that when the next page is requested each search
+     * can continue from that point and retrieve no more than pageSize results, rather than recomputing every page
+     * before it. With keyset paging, each search continues after the last RID it returned rather than asking IGC to
+     * skip the results it has already returned.
+     *
+     * @param searches the searches to run, one per entity mapping
+     * @param searchKey the key identifying the search as a whole (all of its parameters other than paging), or null
+     *                  if its pages should not be continued from one another
+     * @param fromEntityElement the starting element number of the overall results to return
+     * @param sequencingProperty the name of the property by which to order the results (for property orders)
+     * @param sequencingOrder the order in which to return the results
+     * @param pageSize the maximum number of results to return (0 for all results)
+     * @return {@code List<EntityDetail>} - the requested page of results
+     * @throws FunctionNotSupportedException when any search uses a regular expression that is not supported
+     * @throws RepositoryErrorException when any search fails
+     * @see #getSearchKey(String, Object...)
+     */
+    List<EntityDetail> searchAcrossMappings(List<MappingSearch> searches,
+                                            String searchKey,
+                                            int fromEntityElement,
+                                            String sequencingProperty,
+                                            SequencingOrder sequencingOrder,
+                                            int pageSize) throws FunctionNotSupportedException, RepositoryErrorException {
+
+        final String methodName = "searchAcrossMappings";
+        List<EntityDetail> results = new ArrayList<>();
+        if (searches.isEmpty()) {
+            return results;
+        }
+
+        // (IGC may not order property values exactly as they are compared locally, in which case the results a page
+        // consumed from a search need not be the first of that search's results, so those pages are not continued)
+        IGCOMRSCursorCache cursorCache = igcomrsRepositoryConnector.getCursorCache();
+        boolean useCursors = cursorCache != null && searchKey != null && pageSize > 0 && !isPropertySequencing(sequencingOrder);
+        IGCOMRSCursorCache.SearchCursor cursor = useCursors ? cursorCache.getCursor(searchKey, fromEntityElement) : null;
+        if (cursor != null && cursor.size() != searches.size()) {
+            cursor = null;
+        }
+
+        boolean keyset = isKeysetPaging(sequencingProperty, sequencingOrder);
+        int searchCount = searches.size();
+        int[] offsets = new int[searchCount];
+        String[] lastRids = new String[searchCount];
+        int[] beginAts = new int[searchCount];
+        int perMappingPageSize;
+        int skip;
+        if (cursor != null) {
+            // Continue each search from where the previous page left it
+            for (int i = 0; i < searchCount; i++) {
+                offsets[i] = cursor.getOffset(i);
+                lastRids[i] = cursor.getLastRid(i);
+                beginAts[i] = (keyset && lastRids[i] != null) ? 0 : offsets[i];
+            }
+            perMappingPageSize = pageSize;
+            skip = 0;
+            if (log.isDebugEnabled()) { log.debug("Continuing search from {} at {}.", cursor, fromEntityElement); }
+        } else if (searchCount == 1) {
+            // With only a single search, it can page through the results itself
+            offsets[0] = fromEntityElement;
+            beginAts[0] = fromEntityElement;
+            perMappingPageSize = pageSize;
+            skip = 0;
+        } else {
+            perMappingPageSize = (pageSize > 0) ? fromEntityElement + pageSize : 0;
+            skip = fromEntityElement;
+        }
+
+        IGCRequestContext openedContext = openRequestContext();
+        try {
+            List<List<EntityDetail>> resultsByMapping = runSearches(searches, beginAts, perMappingPageSize, (cursor != null && keyset) ? lastRids : null);
+            Comparator<EntityDetail> comparator = getComparatorForSequencingOrder(sequencingOrder, sequencingProperty);
+            if (comparator != null && isPropertySequencing(sequencingOrder)) {
+                // IGC may not order property values exactly as they are compared here (eg. in its collation), so
+                // ensure each (bounded) list is in the order that the merge expects
+                for (List<EntityDetail> mappingResults : resultsByMapping) {
+                    mappingResults.sort(comparator);
+                }
+            }
+            int[] consumed = new int[searchCount];
+            results = mergeSearchResults(resultsByMapping, comparator, skip, pageSize, consumed);
+            if (useCursors && results.size() == pageSize) {
+                // Only a full page can be followed by another
+                for (int i = 0; i < searchCount; i++) {
+                    if (consumed[i] > 0) {
+                        offsets[i] += consumed[i];
+                        lastRids[i] = getRidFromGeneratedId(getRidFromGuid(resultsByMapping.get(i).get(consumed[i] - 1).getGUID()));
+                    }
+                }
+                cursorCache.putCursor(searchKey, fromEntityElement + pageSize, new IGCOMRSCursorCache.SearchCursor(offsets, lastRids));
+            }
+        } finally {
+            closeRequestContext(openedContext, methodName);
+        }
+        return results;
+
+    }
+
+    /**
+     * Run the provided searches (concurrently, where there is a search executor), each from the provided starting
+     * point, and return the results of each in the same order as the searches.
+     *
+     * @param searches the searches to run, one per entity mapping
+     * @param beginAts the starting element number of the results to return from each search
+     * @param pageSize the maximum number of results to return from each search (0 for all results)
+     * @param afterRids the RID after which to continue each search (or null to start each from its beginAt)
+     * @return {@code List<List<EntityDetail>>}
+     * @throws FunctionNotSupportedException when any search uses a regular expression that is not supported
+     * @throws RepositoryErrorException when any search fails
+     */
+    private List<List<EntityDetail>> runSearches(List<MappingSearch> searches,
+                                                 int[] beginAts,
+                                                 int pageSize,
+                                                 String[] afterRids) throws FunctionNotSupportedException, RepositoryErrorException {
+
+        List<List<EntityDetail>> resultsByMapping = new ArrayList<>(searches.size());
+        ExecutorService executor = (searches.size() > 1) ? igcomrsRepositoryConnector.getSearchExecutor() : null;
+        if (executor == null) {
+            for (int i = 0; i < searches.size(); i++) {
+                List<EntityDetail> mappingResults = new ArrayList<>();
+                searches.get(i).run(mappingResults, beginAts[i], pageSize, (afterRids == null) ? null : afterRids[i]);
+                resultsByMapping.add(mappingResults);
+            }
+        } else {
+            IGCRequestPriority priority = igcRestClient.getRequestPriority();
+            IGCRequestContext requestContext = getRequestContext();
+            List<Future<List<EntityDetail>>> futures = new ArrayList<>(searches.size());
+            for (int i = 0; i < searches.size(); i++) {
+                MappingSearch search = searches.get(i);
+                int beginAt = beginAts[i];
+                String afterRid = (afterRids == null) ? null : afterRids[i];
+                futures.add(executor.submit(() -> {
+                    igcRestClient.setThreadRequestPriority(priority);
+                    try {
+                        return callWithRequestContext(requestContext, () -> {
+                            List<EntityDetail> mappingResults = new ArrayList<>();
+                            search.run(mappingResults, beginAt, pageSize, afterRid);
+                            return mappingResults;
+                        });
+                    } finally {
+                        igcRestClient.setThreadRequestPriority(null);
+                    }
+                }));
+            }
+            collectSearchResults(futures, resultsByMapping);
+        }
+        return resultsByMapping;
+
+    }
+
+    /**
+     * Indicates whether paged searches in the provided order should continue from the last RID of the previous page
+     * (true) rather than by skipping the results of all previous pages (false): only when keyset paging is enabled,
+     * and the results are in no particular order or ordered by GUID (and therefore, within each search, by RID).
+     *
+     * @param sequencingProperty the name of the property by which results are to be ordered (for property orders)
+     * @param sequencingOrder the order in which results are requested
+     * @return boolean
+     */
+    boolean isKeysetPaging(String sequencingProperty, SequencingOrder sequencingOrder) {
+        return igcomrsRepositoryConnector.isKeysetPaging()
+                && sequencingProperty == null
+                && (sequencingOrder == null || sequencingOrder == SequencingOrder.ANY || sequencingOrder == SequencingOrder.GUID);
+    }
+
+    /**
+     * Construct the key identifying a search from the name of the method running it and all of its parameters other
+     * than paging, under which the points from which its pages can be continued are cached.
+     *
+     * @param methodName the name of the method running the search
+     * @param parameters the parameters of the search (other than paging)
+     * @return String
+     */
+    static String getSearchKey(String methodName, Object... parameters) {
+        StringBuilder sb = new StringBuilder(methodName);
+        for (Object parameter : parameters) {
+            sb.append("|").append(parameter);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Wait for all of the provided searches to complete, collecting their results in the same order as the searches.
+     * If any search fails, the remaining searches are cancelled and the failure re-thrown.
+     *
+     * @param futures the searches that are running
+     * @param resultsByMapping the list into which to collect each search's results
+     * @throws FunctionNotSupportedException when any search uses a regular expression that is not supported
+     * @throws RepositoryErrorException when any search fails
+     */
+    private void collectSearchResults(List<Future<List<EntityDetail>>> futures,
+                                      List<List<EntityDetail>> resultsByMapping) throws FunctionNotSupportedException, RepositoryErrorException {
+
+        final String methodName = "collectSearchResults";
+        Throwable failure = null;
+        try {
+            for (Future<List<EntityDetail>> future : futures) {
+                resultsByMapping.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        }
+        if (failure != null) {
+            for (Future<List<EntityDetail>> future : futures) {
+                future.cancel(true);
+            }
+            if (failure instanceof FunctionNotSupportedException) {
+                throw (FunctionNotSupportedException) failure;
+            } else if (failure instanceof RepositoryErrorException) {
+                throw (RepositoryErrorException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else {
+                if (log.isErrorEnabled()) { log.error("Unable to complete search across entity types.", failure); }
+                IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.SEARCH_ERROR_UNKNOWN;
+                String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(repositoryName);
+                throw new RepositoryErrorException(errorCode.getHTTPErrorCode(),
+                        this.getClass().getName(),
+                        methodName,
+                        errorMessage,
+                        errorCode.getSystemAction(),
+                        errorCode.getUserAction());
+            }
+        }
+
+    }
+
+    /**
+     * Merge the provided lists of results (each of which is already in order) into a single list in that same
+     * order, and return only the requested page of that merged list.
+     *
+     * @param resultsByMapping the results of each search, each in order
+     * @param comparator the order of the results, or null if there is no defined order (in which case each list
+     *                   of results simply follows the one before it)
+     * @param fromEntityElement the starting element number of the merged results to return
+     * @param pageSize the maximum number of results to return (0 for all results)
+     * @param consumed the number of results of each list that were skipped or returned (or null if not needed)
+     * @return {@code List<EntityDetail>}
+     */
+    static List<EntityDetail> mergeSearchResults(List<List<EntityDetail>> resultsByMapping,
+                                                 Comparator<EntityDetail> comparator,
+                                                 int fromEntityElement,
+                                                 int pageSize,
+                                                 int[] consumed) {
+
+        List<EntityDetail> page = new ArrayList<>(pageSize > 0 ? pageSize : 16);
+        int skipped = 0;
+        if (comparator == null) {
+            for (int i = 0; i < resultsByMapping.size(); i++) {
+                for (EntityDetail result : resultsByMapping.get(i)) {
+                    if (skipped < fromEntityElement) {
+                        skipped++;
+                    } else if (pageSize <= 0 || page.size() < pageSize) {
+                        page.add(result);
+                    } else {
+                        return page;
+                    }
+                    if (consumed != null) {
+                        consumed[i]++;
+                    }
+                }
+            }
+        } else {
+            // k-way merge: the heap holds the position of the next result of each list, ordered by that result (and
+            // then by list, so that results comparing equal are always merged in the same order)
+            PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, resultsByMapping.size()), (a, b) -> {
+                int cmp = comparator.compare(resultsByMapping.get(a[0]).get(a[1]), resultsByMapping.get(b[0]).get(b[1]));
+                return (cmp != 0) ? cmp : Integer.compare(a[0], b[0]);
+            });
+            for (int i = 0; i < resultsByMapping.size(); i++) {
+                if (!resultsByMapping.get(i).isEmpty()) {
+                    heads.add(new int[]{ i, 0 });
+                }
+            }
+            while (!heads.isEmpty() && (pageSize <= 0 || page.size() < pageSize)) {
+                int[] head = heads.poll();
+                List<EntityDetail> mappingResults = resultsByMapping.get(head[0]);
+                if (skipped < fromEntityElement) {
+                    skipped++;
+                } else {
+                    page.add(mappingResults.get(head[1]));
+                }
+                if (consumed != null) {
+                    consumed[head[0]]++;
+                }
+                if (head[1] + 1 < mappingResults.size()) {
+                    heads.add(new int[]{ head[0], head[1] + 1 });
+                }
+            }
+        }
+        return page;
+
+    }
+
+    /**
+     * Retrieve a comparator that orders EntityDetails in the same way as IGC orders results for the provided
+     * SequencingOrder (including by the value of the provided property, for the property orders), or null if there
+     * is no order that can be applied across results from different searches.
+     *
+     * @param sequencingOrder the order in which results are requested
+     * @param sequencingProperty the name of the property by which results are to be ordered (for property orders)
+     * @return {@code Comparator<EntityDetail>}
+     */
+    static Comparator<EntityDetail> getComparatorForSequencingOrder(SequencingOrder sequencingOrder, String sequencingProperty) {
+        if (isPropertySequencing(sequencingOrder)) {
+            return getComparatorForSequencingProperty(EntityDetail::getProperties, sequencingProperty, sequencingOrder);
+        } else {
+            return getComparatorForNonPropertySequencingOrder(sequencingOrder);
+        }
+    }
+
+    /**
+     * Indicates whether the provided SequencingOrder orders results by the value of a property.
+     *
+     * @param sequencingOrder the order in which results are requested
+     * @return boolean
+     */
+    static boolean isPropertySequencing(SequencingOrder sequencingOrder) {
+        return sequencingOrder == SequencingOrder.PROPERTY_ASCENDING || sequencingOrder == SequencingOrder.PROPERTY_DESCENDING;
+    }
+
+    /**
+     * Retrieve a comparator that orders instances by the value of the provided property, or null if there is no
+     * property by which to order them. Instances without a (comparable) value for the property always come last.
+     *
+     * @param getProperties the means of retrieving the properties of an instance
+     * @param sequencingProperty the name of the property by which to order the instances
+     * @param sequencingOrder either PROPERTY_ASCENDING or PROPERTY_DESCENDING
+     * @param <T> the type of instance
+     * @return {@code Comparator<T>}
+     */
+    static <T> Comparator<T> getComparatorForSequencingProperty(Function<T, InstanceProperties> getProperties,
+                                                                String sequencingProperty,
+                                                                SequencingOrder sequencingOrder) {
+        if (sequencingProperty == null) {
+            return null;
+        }
+        Comparator<Comparable<Object>> valueOrder = (sequencingOrder == SequencingOrder.PROPERTY_DESCENDING)
+                ? Comparator.reverseOrder()
+                : Comparator.naturalOrder();
+        return Comparator.comparing(
+                instance -> getSortableValue(getProperties.apply(instance), sequencingProperty),
+                Comparator.nullsLast(valueOrder)
+        );
+    }
+
+    /**
+     * Retrieve the value of the provided property in a form that can be compared with the values of the same
+     * property on other instances, or null if there is no such value.
+     *
+     * @param properties the properties of an instance
+     * @param propertyName the name of the property
+     * @return {@code Comparable<Object>}
+     */
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> getSortableValue(InstanceProperties properties, String propertyName) {
+        InstancePropertyValue value = (properties == null) ? null : properties.getPropertyValue(propertyName);
+        Object sortable = null;
+        if (value instanceof PrimitivePropertyValue) {
+            sortable = ((PrimitivePropertyValue) value).getPrimitiveValue();
+            if (sortable instanceof Number && !(sortable instanceof BigDecimal)) {
+                // Compare numbers by value irrespective of their precise type
+                sortable = new BigDecimal(sortable.toString());
+            }
+        } else if (value instanceof EnumPropertyValue) {
+            sortable = ((EnumPropertyValue) value).getOrdinal();
+        }
+        return (sortable instanceof Comparable) ? (Comparable<Object>) sortable : null;
+    }
+
+    /**
+     * Retrieve a comparator that orders EntityDetails in the same way as IGC orders results for the provided
+     * non-property SequencingOrder, or null if there is no such order.
+     *
+     * @param sequencingOrder the order in which results are requested
+     * @return {@code Comparator<EntityDetail>}
+     */
+    private static Comparator<EntityDetail> getComparatorForNonPropertySequencingOrder(SequencingOrder sequencingOrder) {
+        Comparator<EntityDetail> comparator = null;
+        if (sequencingOrder != null) {
+            switch (sequencingOrder) {
+                case GUID:
+                    comparator = Comparator.comparing(EntityDetail::getGUID, Comparator.nullsLast(Comparator.naturalOrder()));
+                    break;
+                case CREATION_DATE_RECENT:
+                    comparator = Comparator.comparing(EntityDetail::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()));
+                    break;
+                case CREATION_DATE_OLDEST:
+                    comparator = Comparator.comparing(EntityDetail::getCreateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+                    break;
+                case LAST_UPDATE_RECENT:
+                    comparator = Comparator.comparing(EntityDetail::getUpdateTime, Comparator.nullsLast(Comparator.reverseOrder()));
+                    break;
+                case LAST_UPDATE_OLDEST:
+                    comparator = Comparator.comparing(EntityDetail::getUpdateTime, Comparator.nullsLast(Comparator.naturalOrder()));
+                    break;
+                default:
+                    comparator = null;
+                    break;
+            }
+        }
+        return comparator;
+    }
+
     /**
      * Add the type to search based on the provided mapping.
      *
@@ -400,6 +936,157 @@ public class IGCRepositoryHelper {
         return igcType;
     }
 
+    /**
+     * Add to the provided search the sort order for the provided sequencing, wherever IGC itself is able to apply
+     * it: for any non-property order, and for a property order where the property is mapped one-to-one to an IGC
+     * property. Otherwise, the results must be sorted locally and the comparator to do so is returned. (When keyset
+     * paging is enabled, results requested in no particular order are ordered by RID.)
+     *
+     * @param mapping the mapping for which the search will be run
+     * @param igcSearch the IGC search to which to add the sort order
+     * @param sequencingProperty the name of the property by which to order the results (for property orders)
+     * @param sequencingOrder the order in which results are requested
+     * @return {@code Comparator<EntityDetail>} - the order to apply locally, or null if there is none to apply
+     */
+    Comparator<EntityDetail> addSortingForSequencing(EntityMapping mapping,
+                                                     IGCSearch igcSearch,
+                                                     String sequencingProperty,
+                                                     SequencingOrder sequencingOrder) {
+        IGCSearchSorting igcSearchSorting = null;
+        Comparator<EntityDetail> localSort = null;
+        if (isPropertySequencing(sequencingOrder)) {
+            // (a property that is not mapped at all has no values, so there is nothing by which to sort)
+            String igcPropertyName = (sequencingProperty == null) ? null : mapping.getIgcPropertyName(sequencingProperty);
+            if (igcPropertyName != null) {
+                if (igcPropertyName.equals(EntityMapping.COMPLEX_MAPPING_SENTINEL)) {
+                    localSort = getComparatorForSequencingOrder(sequencingOrder, sequencingProperty);
+                } else {
+                    igcSearchSorting = new IGCSearchSorting(igcPropertyName, sequencingOrder == SequencingOrder.PROPERTY_ASCENDING);
+                }
+            }
+        } else if (sequencingProperty == null && sequencingOrder != null) {
+            igcSearchSorting = sortFromNonPropertySequencingOrder(sequencingOrder);
+        }
+        if (igcSearchSorting == null && isKeysetPaging(sequencingProperty, sequencingOrder)) {
+            // Results in no particular order are instead ordered by RID, so that paging can continue from the last RID
+            igcSearchSorting = new IGCSearchSorting("_id");
+        }
+        if (igcSearchSorting != null) {
+            igcSearch.addSortingCriteria(igcSearchSorting);
+        }
+        return localSort;
+    }
+
+    /**
+     * Run the provided search for a single entity mapping, processing the requested page of its results into the
+     * provided list of EntityDetail objects.
+     *
+     * @param mapping the EntityMapping that should be used to translate the results
+     * @param igcSearch the IGC search to run
+     * @param entityDetails the list of EntityDetails to append
+     * @param beginAt the starting element number of the results to return
+     * @param pageSize the maximum number of results to return (0 for all results)
+     * @param userId the user making the request
+     * @param filter the filter that each mapped result must pass (or null if there is none)
+     * @param localSort the order to apply to the mapped results (or null if IGC has already ordered them)
+     * @param afterRid the RID after which to continue the search (or null to start from beginAt), which requires
+     *                 the search to be ordered by RID
+     * @throws RepositoryErrorException when the search fails
+     */
+    void runSearchForMapping(EntityMapping mapping,
+                             IGCSearch igcSearch,
+                             List<EntityDetail> entityDetails,
+                             int beginAt,
+                             int pageSize,
+                             String userId,
+                             Predicate<EntityDetail> filter,
+                             Comparator<EntityDetail> localSort,
+                             String afterRid) throws RepositoryErrorException {
+        if (afterRid != null) {
+            addContinuationCondition(igcSearch, afterRid);
+        }
+        if (localSort != null) {
+            processSortedResults(mapping, igcSearch, entityDetails, beginAt, pageSize, userId, filter, localSort);
+        } else if (filter != null) {
+            processFilteredResults(mapping, igcSearch, entityDetails, beginAt, pageSize, userId, filter);
+        } else {
+            setPagingForSearch(igcSearch, beginAt, pageSize);
+            processResults(mapping, igcSearch, entityDetails, pageSize, userId);
+        }
+    }
+
+    /**
+     * Restrict the provided search (which must be ordered by RID) to only those results after the provided RID, so
+     * that it continues from that point without IGC having to skip over every result before it.
+     *
+     * @param igcSearch the IGC search to restrict
+     * @param afterRid the RID after which to continue the search
+     */
+    private void addContinuationCondition(IGCSearch igcSearch, String afterRid) {
+        IGCSearchConditionSet continued = new IGCSearchConditionSet(new IGCSearchCondition("_id", ">", afterRid));
+        IGCSearchConditionSet existing = igcSearch.getConditions();
+        if (existing != null && existing.size() > 0) {
+            // Nest the existing conditions, so that their own match criteria (and any negation) are unaffected
+            continued.addNestedConditionSet(existing);
+        }
+        continued.setMatchAnyCondition(false);
+        igcSearch.addConditions(continued);
+    }
+
+    /**
+     * Run the provided search and process the requested page of its results, in the order of the provided
+     * comparator, into the provided list of EntityDetail objects.
+     * <br><br>
+     * Since IGC cannot order the results itself, every result must be considered: the results are streamed (with
+     * only the page being processed, and the one being prefetched, held in memory) and only the first
+     * beginAt + pageSize of them in the requested order are kept as they go.
+     *
+     * @param mapper the EntityMapping that should be used to translate the results
+     * @param igcSearch the IGC search to run
+     * @param entityDetails the list of EntityDetails to append
+     * @param beginAt the starting element number of the ordered results to return
+     * @param pageSize the maximum number of ordered results to return (0 for all results)
+     * @param userId the user making the request
+     * @param filter the filter that each mapped result must pass (or null if there is none)
+     * @param comparator the order of the results
+     * @throws RepositoryErrorException when the search fails
+     */
+    void processSortedResults(EntityMapping mapper,
+                              IGCSearch igcSearch,
+                              List<EntityDetail> entityDetails,
+                              int beginAt,
+                              int pageSize,
+                              String userId,
+                              Predicate<EntityDetail> filter,
+                              Comparator<EntityDetail> comparator) throws RepositoryErrorException {
+
+        setPagingForSearch(igcSearch, 0, 0);
+        List<String> retrievedProperties = addEntityDetailProjection(mapper, igcSearch);
+
+        TopKSelector<EntityDetail> selector = new TopKSelector<>(comparator, (pageSize > 0) ? beginAt + pageSize : 0);
+        List<Reference> batch = new ArrayList<>();
+        List<EntityDetail> candidates = new ArrayList<>();
+        try (Stream<Reference> results = igcRestClient.searchStream(igcSearch, true)) {
+            Iterator<Reference> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= igcSearch.getPageSize() || !iterator.hasNext()) {
+                    candidates.clear();
+                    processBatch(mapper, batch, retrievedProperties, candidates, userId);
+                    batch.clear();
+                    for (EntityDetail candidate : candidates) {
+                        if (filter == null || filter.test(candidate)) {
+                            selector.offer(candidate);
+                        }
+                    }
+                }
+            }
+        }
+        if (log.isDebugEnabled()) { log.debug("Sorted {} search results locally to find {} (skipping {}).", selector.getOfferedCount(), pageSize, beginAt); }
+        entityDetails.addAll(selector.getPage(beginAt, pageSize));
+
+    }
+
     /**
      * Setup paging properties of the IGC search.
      *
@@ -421,56 +1108,227 @@ public class IGCRepositoryHelper {
     }
 
     /**
-     * Process the search results into the provided list of EntityDetail objects.
+     * Run the provided search and process its results into the provided list of EntityDetail objects.
+     * <br><br>
+     * When all results are requested (a pageSize of 0) the results are streamed, so that each page of results is
+     * only retrieved (in the background) as the previous one is being processed, rather than retrieving every page
+     * before processing any of them.
      *
      * @param mapper the EntityMapping that should be used to translate the results
-     * @param results the IGC search results
+     * @param igcSearch the IGC search to run
      * @param entityDetails the list of EntityDetails to append
      * @param pageSize the number of results per page (0 for all results)
      * @param userId the user making the request
      */
     void processResults(EntityMapping mapper,
-                        ReferenceList results,
+                        IGCSearch igcSearch,
                         List<EntityDetail> entityDetails,
                         int pageSize,
                         String userId) throws RepositoryErrorException {
 
+        List<String> retrievedProperties = addEntityDetailProjection(mapper, igcSearch);
         if (pageSize == 0) {
             // If the provided pageSize was 0, we need to retrieve ALL pages of results...
-            results.getAllPages(this.igcRestClient);
+            try (Stream<Reference> results = igcRestClient.searchStream(igcSearch, true)) {
+                Iterator<Reference> iterator = results.iterator();
+                List<Reference> batch = new ArrayList<>();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() >= igcSearch.getPageSize()) {
+                        processBatch(mapper, batch, retrievedProperties, entityDetails, userId);
+                        batch.clear();
+                    }
+                }
+                processBatch(mapper, batch, retrievedProperties, entityDetails, userId);
+            }
+        } else {
+            processResults(mapper, igcRestClient.search(igcSearch), retrievedProperties, entityDetails, pageSize, userId);
         }
 
-        for (Reference reference : results.getItems()) {
-            /* Only proceed with retrieving the EntityDetail if the type from IGC is not explicitly
-             * a 'main_object' (as these are non-API-accessible asset types in IGC like column analysis master,
-             * etc and will simply result in 400-code Bad Request messages from the API) */
-            if (!reference.getType().equals(DEFAULT_IGC_TYPE)) {
-                EntityDetail ed = null;
-
-                if (log.isDebugEnabled()) { log.debug("processResults with mapper: {}", mapper.getClass().getCanonicalName()); }
-                String idToLookup;
-                if (mapper.igcRidNeedsPrefix()) {
-                    if (log.isDebugEnabled()) { log.debug(" ... prefix required, getEntityDetail with: {}", mapper.getIgcRidPrefix() + reference.getId()); }
-                    idToLookup = mapper.getIgcRidPrefix() + reference.getId();
-                } else {
-                    if (log.isDebugEnabled()) { log.debug(" ... no prefix required, getEntityDetail with: {}", reference.getId()); }
-                    idToLookup = reference.getId();
-                }
-                try {
-                    ed = getEntityDetail(userId, getGuidForRid(idToLookup), reference);
-                } catch (EntityNotKnownException e) {
-                    if (log.isErrorEnabled()) { log.error("Unable to find entity: {}", idToLookup); }
+    }
+
+    /**
+     * Run the provided search and process only those of its results that pass the provided filter into the provided
+     * list of EntityDetail objects.
+     * <br><br>
+     * Since IGC cannot tell which of its results will pass the filter, the results are streamed from the first one
+     * onwards (with only the page being processed, and the one being prefetched, held in memory), skipping the first
+     * beginAt results that pass the filter. The search stops as soon as pageSize results have passed the filter.
+     *
+     * @param mapper the EntityMapping that should be used to translate the results
+     * @param igcSearch the IGC search to run
+     * @param entityDetails the list of EntityDetails to append
+     * @param beginAt the starting element number of the filtered results to return
+     * @param pageSize the maximum number of filtered results to return (0 for all results)
+     * @param userId the user making the request
+     * @param filter the filter that each mapped result must pass
+     */
+    void processFilteredResults(EntityMapping mapper,
+                                IGCSearch igcSearch,
+                                List<EntityDetail> entityDetails,
+                                int beginAt,
+                                int pageSize,
+                                String userId,
+                                Predicate<EntityDetail> filter) throws RepositoryErrorException {
+
+        int batchSize = (pageSize > 0) ? Math.min(beginAt + pageSize, igcomrsRepositoryConnector.getMaxPageSize()) : 0;
+        setPagingForSearch(igcSearch, 0, batchSize);
+        List<String> retrievedProperties = addEntityDetailProjection(mapper, igcSearch);
+
+        int examined = 0;
+        int skipped = 0;
+        int added = 0;
+        List<Reference> batch = new ArrayList<>();
+        List<EntityDetail> candidates = new ArrayList<>();
+        try (Stream<Reference> results = igcRestClient.searchStream(igcSearch, true)) {
+            Iterator<Reference> iterator = results.iterator();
+            while (iterator.hasNext() && (pageSize <= 0 || added < pageSize)) {
+                batch.add(iterator.next());
+                if (batch.size() >= igcSearch.getPageSize() || !iterator.hasNext()) {
+                    candidates.clear();
+                    processBatch(mapper, batch, retrievedProperties, candidates, userId);
+                    examined += batch.size();
+                    batch.clear();
+                    for (EntityDetail entityDetail : candidates) {
+                        if (pageSize > 0 && added >= pageSize) {
+                            break;
+                        } else if (filter.test(entityDetail)) {
+                            if (skipped < beginAt) {
+                                skipped++;
+                            } else {
+                                entityDetails.add(entityDetail);
+                                added++;
+                            }
+                        }
+                    }
                 }
-                if (ed != null) {
-                    entityDetails.add(ed);
+            }
+        }
+        if (log.isDebugEnabled()) { log.debug("Filtered {} search results locally to find {} (skipping {}).", examined, added, skipped); }
+
+    }
+
+    /**
+     * Add to the provided search every property needed to map its results to EntityDetails using the provided
+     * mapping, so that each result need not be retrieved again (one at a time) to map it.
+     *
+     * @param mapper the EntityMapping that will be used to translate the results
+     * @param igcSearch the IGC search to which to add the properties
+     * @return {@code List<String>} - all of the properties the search will retrieve for each result, or null if the
+     *         search is not for a single (mapped) asset type
+     */
+    private List<String> addEntityDetailProjection(EntityMapping mapper, IGCSearch igcSearch) {
+        List<String> types = igcSearch.getTypes();
+        List<String> requested = null;
+        if (types.size() == 1 && !types.get(0).equals(DEFAULT_IGC_TYPE)) {
+            requested = igcSearch.getProperties();
+            for (String property : mapper.getIgcPropertiesForEntityDetail(igcRestClient, types.get(0))) {
+                // POST'd search to IGC doesn't work on v11.7.0.2 using long_description, so leave it to be retrieved
+                // for each result
+                if (!requested.contains(property)
+                        && !(property.equals("long_description") && igcRestClient.getIgcVersion().isEqualTo(IGCVersionEnum.V11702))) {
+                    igcSearch.addProperty(property);
+                    requested.add(property);
                 }
             }
         }
+        return requested;
+    }
+
+    /**
+     * Process the search results into the provided list of EntityDetail objects.
+     *
+     * @param mapper the EntityMapping that should be used to translate the results
+     * @param results the IGC search results
+     * @param retrievedProperties the properties the search retrieved for each result (or null if unknown)
+     * @param entityDetails the list of EntityDetails to append
+     * @param pageSize the number of results per page
+     * @param userId the user making the request
+     */
+    private void processResults(EntityMapping mapper,
+                                ReferenceList results,
+                                List<String> retrievedProperties,
+                                List<EntityDetail> entityDetails,
+                                int pageSize,
+                                String userId) throws RepositoryErrorException {
+
+        processBatch(mapper, results.getItems(), retrievedProperties, entityDetails, userId);
 
         // If we haven't filled a page of results (because we needed to skip some above), recurse...
         if (results.hasMorePages() && entityDetails.size() < pageSize) {
             results.getNextPage(this.igcRestClient);
-            processResults(mapper, results, entityDetails, pageSize, userId);
+            processResults(mapper, results, retrievedProperties, entityDetails, pageSize, userId);
+        }
+
+    }
+
+    /**
+     * Process a batch (eg. a page) of search results into the provided list of EntityDetail objects.
+     *
+     * @param mapper the EntityMapping that should be used to translate the results
+     * @param batch the IGC search results
+     * @param retrievedProperties the properties the search retrieved for each result (or null if unknown)
+     * @param entityDetails the list of EntityDetails to append
+     * @param userId the user making the request
+     */
+    private void processBatch(EntityMapping mapper,
+                              List<Reference> batch,
+                              List<String> retrievedProperties,
+                              List<EntityDetail> entityDetails,
+                              String userId) throws RepositoryErrorException {
+
+        // Retrieve the context (and any modification details) that mapping each result needs for the whole batch at
+        // once, rather than one result at a time
+        if (!batch.isEmpty()) {
+            Reference.populateContextForAll(igcRestClient, batch);
+        }
+        for (Reference reference : batch) {
+            processResult(mapper, reference, retrievedProperties, entityDetails, userId);
+        }
+
+    }
+
+    /**
+     * Process a single search result into the provided list of EntityDetail objects.
+     *
+     * @param mapper the EntityMapping that should be used to translate the result
+     * @param reference the IGC search result
+     * @param retrievedProperties the properties the search retrieved for the result (or null if unknown)
+     * @param entityDetails the list of EntityDetails to append
+     * @param userId the user making the request
+     */
+    private void processResult(EntityMapping mapper,
+                               Reference reference,
+                               List<String> retrievedProperties,
+                               List<EntityDetail> entityDetails,
+                               String userId) throws RepositoryErrorException {
+
+        /* Only proceed with retrieving the EntityDetail if the type from IGC is not explicitly
+         * a 'main_object' (as these are non-API-accessible asset types in IGC like column analysis master,
+         * etc and will simply result in 400-code Bad Request messages from the API) */
+        if (!reference.getType().equals(DEFAULT_IGC_TYPE)) {
+            EntityDetail ed = null;
+
+            if (retrievedProperties != null) {
+                reference.setRetrievedProperties(retrievedProperties);
+            }
+            if (log.isDebugEnabled()) { log.debug("processResults with mapper: {}", mapper.getClass().getCanonicalName()); }
+            String idToLookup;
+            if (mapper.igcRidNeedsPrefix()) {
+                if (log.isDebugEnabled()) { log.debug(" ... prefix required, getEntityDetail with: {}", mapper.getIgcRidPrefix() + reference.getId()); }
+                idToLookup = mapper.getIgcRidPrefix() + reference.getId();
+            } else {
+                if (log.isDebugEnabled()) { log.debug(" ... no prefix required, getEntityDetail with: {}", reference.getId()); }
+                idToLookup = reference.getId();
+            }
+            try {
+                ed = getEntityDetail(userId, getGuidForRid(idToLookup), reference);
+            } catch (EntityNotKnownException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to find entity: {}", idToLookup); }
+            }
+            if (ed != null) {
+                entityDetails.add(ed);
+            }
         }
 
     }
@@ -591,12 +1449,26 @@ public class IGCRepositoryHelper {
                     errorCode.getUserAction());
         } else {
 
+            // If the asset has not changed since it was last mapped, re-use the result of that mapping
+            IGCOMRSInstanceCache instanceCache = igcomrsRepositoryConnector.getInstanceCache();
+            Long version = (instanceCache == null) ? null : getModificationVersion(asset);
+            if (version != null) {
+                detail = instanceCache.getEntityDetail(guid, version);
+                if (detail != null) {
+                    if (log.isDebugEnabled()) { log.debug("Found unchanged entity in cache: {}", guid); }
+                    return detail;
+                }
+            }
+
             // Otherwise, retrieve the mapping dynamically based on the type of asset
             EntityMappingInstance entityMap = getMappingInstanceForParameters(asset, prefix, userId);
 
             if (entityMap != null) {
                 // 2. Apply the mapping to the object, and retrieve the resulting EntityDetail
                 detail = EntityMapping.getEntityDetail(entityMap);
+                if (instanceCache != null && detail != null && detail.getUpdateTime() != null) {
+                    instanceCache.putEntityDetail(guid, detail, detail.getUpdateTime().getTime(), asset.getId());
+                }
             } else {
                 IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.TYPEDEF_NOT_MAPPED;
                 String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
@@ -616,6 +1488,80 @@ public class IGCRepositoryHelper {
 
     }
 
+    /**
+     * Retrieve the version of the provided IGC asset against which cached instances mapped from it are validated:
+     * its modified_on, as epoch milliseconds. The modification details are retrieved (or taken from the asset cache)
+     * if the asset does not already have them. Returns null if the asset type has no modification details, or they
+     * could not be retrieved.
+     *
+     * @param asset the IGC asset
+     * @return Long
+     */
+    public Long getModificationVersion(Reference asset) {
+        Long version = null;
+        if (asset != null && igcRestClient.hasModificationDetails(asset.getType())
+                && asset.populateModificationDetails(igcRestClient)) {
+            Date modifiedOn = (Date) igcRestClient.getPropertyByName(asset, IGCRestConstants.MOD_MODIFIED_ON);
+            if (modifiedOn != null) {
+                version = modifiedOn.getTime();
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Cache the provided mapped relationship (if instances are being cached), so that it can be re-used until either
+     * end of the relationship changes. Relationships that are not versioned, or that are based on a relationship-level
+     * asset, are not cached.
+     *
+     * @param relationship the mapped relationship
+     */
+    public void cacheRelationship(Relationship relationship) {
+        IGCOMRSInstanceCache instanceCache = igcomrsRepositoryConnector.getInstanceCache();
+        if (instanceCache != null && relationship != null && relationship.getUpdateTime() != null) {
+            String relationshipRid = getRidFromGuid(relationship.getGUID());
+            if (relationshipRid != null) {
+                String proxyOneRid = RelationshipMapping.getProxyOneRIDFromRelationshipRID(relationshipRid);
+                String proxyTwoRid = RelationshipMapping.getProxyTwoRIDFromRelationshipRID(relationshipRid);
+                if (proxyOneRid != null && proxyTwoRid != null && !proxyOneRid.equals(proxyTwoRid)) {
+                    instanceCache.putRelationship(
+                            relationship.getGUID(),
+                            relationship,
+                            getProxyVersion(relationship.getEntityOneProxy()),
+                            getProxyVersion(relationship.getEntityTwoProxy()),
+                            getRidFromGeneratedId(proxyOneRid),
+                            getRidFromGeneratedId(proxyTwoRid)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieve the version of the IGC asset behind the provided end of a mapped relationship: its modified_on, as
+     * epoch milliseconds, or null if it has no modification details.
+     *
+     * @param proxy the entity proxy at one end of the relationship
+     * @return Long
+     */
+    private Long getProxyVersion(EntityProxy proxy) {
+        return (proxy == null || proxy.getUpdateTime() == null) ? null : proxy.getUpdateTime().getTime();
+    }
+
+    /**
+     * Discard anything cached about the IGC asset with the provided RID: both the details of the asset itself and
+     * any mapped instances based on it (eg. because the asset has changed).
+     *
+     * @param rid the Repository ID (RID) of the IGC asset
+     */
+    public void invalidateCachedAsset(String rid) {
+        igcRestClient.invalidateCachedAsset(rid);
+        IGCOMRSInstanceCache instanceCache = igcomrsRepositoryConnector.getInstanceCache();
+        if (instanceCache != null) {
+            instanceCache.invalidate(rid);
+        }
+    }
+
     /**
      * Add the specified classification to the provided entity.
      *
@@ -801,11 +1747,20 @@ public class IGCRepositoryHelper {
             if (log.isDebugEnabled()) { log.debug("Found mapper class: {} ({})", found.getClass().getCanonicalName(), found); }
             // Translate the provided asset to a base asset type for the mapper, if needed
             // (if not needed the 'getBaseIgcAssetFromAlternative' is effectively a NOOP and gives back same object)
+            IGCRequestContext requestContext = getRequestContext();
+            Reference baseAsset;
+            if (requestContext == null) {
+                baseAsset = found.getBaseIgcAssetFromAlternative(igcObject, igcomrsRepositoryConnector);
+            } else {
+                baseAsset = requestContext.getBaseIgcAsset(found, igcObject,
+                        () -> found.getBaseIgcAssetFromAlternative(igcObject, igcomrsRepositoryConnector));
+            }
             entityMap = new EntityMappingInstance(
                     found,
                     igcomrsRepositoryConnector,
-                    found.getBaseIgcAssetFromAlternative(igcObject, igcomrsRepositoryConnector),
-                    userId
+                    baseAsset,
+                    userId,
+                    requestContext
             );
         } else {
             if (log.isDebugEnabled()) { log.debug("No mapper class found!"); }
@@ -826,14 +1781,9 @@ public class IGCRepositoryHelper {
 
         List<EntityMapping> mappers = entityMappingStore.getMappingsByIgcAssetType(igcAssetType);
 
-        if (mappers == null) {
-            mappers = new ArrayList<>();
-        }
-        if (mappers.isEmpty()) {
+        if (mappers == null || mappers.isEmpty()) {
             EntityMapping defaultMapper = entityMappingStore.getDefaultEntityMapper();
-            if (defaultMapper != null) {
-                mappers.add(defaultMapper);
-            }
+            mappers = (defaultMapper == null) ? Collections.emptyList() : Collections.singletonList(defaultMapper);
         }
 
         return mappers;
@@ -864,13 +1814,15 @@ public class IGCRepositoryHelper {
      * @param igcProperties the list of IGC properties to which to add for inclusion in the IGC search
      * @param mapping the mapping definition for the entity for which we're searching
      * @param value the value for which to search
+     * @param localFilter the filter to which to add any regular expression that IGC cannot evaluate itself
      * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
      */
     private void addSearchConditionFromValue(IGCSearchConditionSet igcSearchConditionSet,
                                              String omrsPropertyName,
                                              List<String> igcProperties,
                                              EntityMapping mapping,
-                                             InstancePropertyValue value) throws FunctionNotSupportedException {
+                                             InstancePropertyValue value,
+                                             IGCLocalRegexFilter localFilter) throws FunctionNotSupportedException {
 
         if (omrsPropertyName != null) {
             if (omrsPropertyName.equals(EntityMapping.COMPLEX_MAPPING_SENTINEL)) {
@@ -901,7 +1853,9 @@ public class IGCRepositoryHelper {
                             repositoryName,
                             igcSearchConditionSet,
                             igcPropertyName,
-                            value);
+                            value,
+                            omrsPropertyName,
+                            localFilter);
 
                 }
 
@@ -924,6 +1878,30 @@ public class IGCRepositoryHelper {
                                                       IGCSearchConditionSet igcSearchConditionSet,
                                                       String igcPropertyName,
                                                       InstancePropertyValue value) throws FunctionNotSupportedException {
+        addIGCSearchConditionFromValue(repositoryHelper, repositoryName, igcSearchConditionSet, igcPropertyName, value, null, null);
+    }
+
+    /**
+     * Adds the provided value to search criteria for IGC (once we know the IGC property). Any regular expression
+     * that IGC cannot evaluate itself is added to the provided filter (if any), to be evaluated against the provided
+     * OMRS property of the mapped results.
+     *
+     * @param repositoryHelper helper for the OMRS repository
+     * @param igcSearchConditionSet the search conditions to which to add the criteria
+     * @param igcPropertyName the IGC property name to search
+     * @param value the value for which to search
+     * @param omrsPropertyName the OMRS property name to which the IGC property is mapped
+     * @param localFilter the filter to which to add any regular expression IGC cannot evaluate (or null if there is
+     *                    no such filter, in which case such regular expressions are not supported)
+     * @throws FunctionNotSupportedException when a regular expression is used for the search that is not supported
+     */
+    static void addIGCSearchConditionFromValue(OMRSRepositoryHelper repositoryHelper,
+                                               String repositoryName,
+                                               IGCSearchConditionSet igcSearchConditionSet,
+                                               String igcPropertyName,
+                                               InstancePropertyValue value,
+                                               String omrsPropertyName,
+                                               IGCLocalRegexFilter localFilter) throws FunctionNotSupportedException {
 
         final String methodName = "addIGCSearchConditionFromValue";
 
@@ -985,17 +1963,18 @@ public class IGCRepositoryHelper {
                                     "=",
                                     unqualifiedValue
                             ));
+                        } else if (localFilter != null) {
+                            try {
+                                localFilter.addRegex(
+                                        omrsPropertyName,
+                                        candidateValue,
+                                        IGCRegexPlanner.getPushdownCondition(igcPropertyName, candidateValue)
+                                );
+                            } catch (PatternSyntaxException e) {
+                                throw getRegexNotImplementedException(repositoryName, candidateValue, methodName);
+                            }
                         } else {
-                            IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.REGEX_NOT_IMPLEMENTED;
-                            String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
-                                    repositoryName,
-                                    candidateValue);
-                            throw new FunctionNotSupportedException(errorCode.getHTTPErrorCode(),
-                                    IGCOMRSMetadataCollection.class.getName(),
-                                    methodName,
-                                    errorMessage,
-                                    errorCode.getSystemAction(),
-                                    errorCode.getUserAction());
+                            throw getRegexNotImplementedException(repositoryName, candidateValue, methodName);
                         }
                         break;
                 }
@@ -1051,6 +2030,55 @@ public class IGCRepositoryHelper {
 
     }
 
+    /**
+     * Indicates whether the provided regular expression can be evaluated by IGC itself (as an exact match, or a
+     * starts-with, ends-with or contains match), rather than needing to be evaluated locally.
+     *
+     * @param repositoryHelper helper for the OMRS repository
+     * @param regex the regular expression
+     * @return boolean
+     */
+    static boolean isRegexSupportedByIGC(OMRSRepositoryHelper repositoryHelper, String regex) {
+        return repositoryHelper.isContainsRegex(regex)
+                || repositoryHelper.isStartsWithRegex(regex)
+                || repositoryHelper.isEndsWithRegex(regex)
+                || repositoryHelper.isExactMatchRegex(regex);
+    }
+
+    /**
+     * Retrieve the exception to throw for a regular expression that cannot be supported.
+     *
+     * @param regex the regular expression
+     * @param methodName the method in which the regular expression was found
+     * @return FunctionNotSupportedException
+     */
+    private FunctionNotSupportedException getRegexNotImplementedException(String regex, String methodName) {
+        return getRegexNotImplementedException(repositoryName, regex, methodName);
+    }
+
+    /**
+     * Retrieve the exception to throw for a regular expression that cannot be supported.
+     *
+     * @param repositoryName the name of the repository
+     * @param regex the regular expression
+     * @param methodName the method in which the regular expression was found
+     * @return FunctionNotSupportedException
+     */
+    static FunctionNotSupportedException getRegexNotImplementedException(String repositoryName,
+                                                                         String regex,
+                                                                         String methodName) {
+        IGCOMRSErrorCode errorCode = IGCOMRSErrorCode.REGEX_NOT_IMPLEMENTED;
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(
+                repositoryName,
+                regex);
+        return new FunctionNotSupportedException(errorCode.getHTTPErrorCode(),
+                IGCOMRSMetadataCollection.class.getName(),
+                methodName,
+                errorMessage,
+                errorCode.getSystemAction(),
+                errorCode.getUserAction());
+    }
+
     /**
      * Generate a GUID for the provided internal IGC repository ID (RID) of an instance.
      *
@@ -1139,29 +2167,7 @@ public class IGCRepositoryHelper {
      * @return OMRSStub
      */
     public OMRSStub getOMRSStubForAsset(String rid, String type) {
-
-        // We need to translate the provided asset into a unique name for the stub
-        String stubName = getStubNameForAsset(rid, type);
-        IGCSearchCondition condition = new IGCSearchCondition(
-                "name",
-                "=",
-                stubName
-        );
-        String[] properties = new String[]{ "$sourceRID", "$sourceType", "$payload" };
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        IGCSearch igcSearch = new IGCSearch("$OMRS-Stub", properties, conditionSet);
-        ReferenceList results = igcRestClient.search(igcSearch);
-        OMRSStub stub = null;
-        if (results.getPaging().getNumTotal() > 0) {
-            if (results.getPaging().getNumTotal() > 1) {
-                if (log.isWarnEnabled()) { log.warn("Found multiple stubs for asset, taking only the first: {}", stubName); }
-            }
-            stub = (OMRSStub) results.getItems().get(0);
-        } else {
-            if (log.isInfoEnabled()) { log.info("No stub found for asset: {}", stubName); }
-        }
-        return stub;
-
+        return igcomrsRepositoryConnector.getStubStore().getStub(rid, type);
     }
 
     /**
@@ -1172,7 +2178,6 @@ public class IGCRepositoryHelper {
      * @return OMRSStub
      */
     public OMRSStub getOMRSStubForAsset(Reference asset) {
-        // We need to translate the provided asset into a unique name for the stub
         return getOMRSStubForAsset(asset.getId(), asset.getType());
     }
 
@@ -1181,78 +2186,19 @@ public class IGCRepositoryHelper {
      * (Note that this method assumes you have already retrieved the full asset being provided.)
      *
      * @param asset the asset for which to upsert the OMRS stub
-     * @return String the Repository ID (RID) of the OMRS stub
+     * @return String an identifier for the OMRS stub (its Repository ID (RID), if stubs are held within IGC)
      */
     public String upsertOMRSStubForAsset(Reference asset) {
 
-        String stubName = getStubNameFromAsset(asset);
-
         // Get the full asset details as a singular JSON payload
         String payload = igcRestClient.getValueAsJSON(asset);
+        return igcomrsRepositoryConnector.getStubStore().upsertStub(
+                asset.getId(),
+                asset.getType(),
+                payload,
+                AssetFingerprint.of(payload)
+        );
 
-        // Construct the asset XML document, including the full asset payload
-        StringWriter stringWriter = new StringWriter();
-        try {
-
-            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(stringWriter);
-            xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
-
-            xmlStreamWriter.writeStartElement("doc");
-            xmlStreamWriter.writeNamespace("xmlns", "http://www.ibm.com/iis/flow-doc");
-
-            xmlStreamWriter.writeStartElement("assets");
-            xmlStreamWriter.writeStartElement("asset");
-
-            xmlStreamWriter.writeAttribute("class", "$OMRS-Stub");
-            xmlStreamWriter.writeAttribute("repr", stubName);
-            xmlStreamWriter.writeAttribute("ID", "stub1");
-
-            addAttributeToAssetXML(xmlStreamWriter, "name", stubName);
-            addAttributeToAssetXML(xmlStreamWriter, "$sourceType", asset.getType());
-            addAttributeToAssetXML(xmlStreamWriter, "$sourceRID", asset.getId());
-            addAttributeToAssetXML(xmlStreamWriter, "$payload", payload);
-
-            xmlStreamWriter.writeEndElement(); // </asset>
-            xmlStreamWriter.writeEndElement(); // </assets>
-
-            xmlStreamWriter.writeStartElement("importAction");
-            xmlStreamWriter.writeAttribute("completeAssetIDs", "stub1");
-            xmlStreamWriter.writeEndElement(); // </importAction>
-
-            xmlStreamWriter.writeEndElement(); // </doc>
-
-            xmlStreamWriter.writeEndDocument();
-            xmlStreamWriter.flush();
-            xmlStreamWriter.close();
-
-        } catch (XMLStreamException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to write XML stream: {}", asset, e); }
-        }
-
-        String stubXML = stringWriter.getBuffer().toString();
-        if (log.isDebugEnabled()) { log.debug("Constructed XML for stub: {}", stubXML); }
-
-        // Upsert using the constructed asset XML
-        String results = igcRestClient.upsertOpenIgcAsset(stubXML);
-
-        return results.substring("stub1".length() + 5, results.length() - 2);
-
-    }
-
-    /**
-     * Adds the provided attribute to the asset XML being constructed.
-     *
-     * @param xmlStreamWriter the asset XML being constructed
-     * @param attrName the name of the attribute to add
-     * @param attrValue the value of the attribute
-     * @throws XMLStreamException for any error during the XML processing
-     */
-    private void addAttributeToAssetXML(XMLStreamWriter xmlStreamWriter, String attrName, String attrValue) throws
-            XMLStreamException {
-        xmlStreamWriter.writeStartElement("attribute");
-        xmlStreamWriter.writeAttribute("name", attrName);
-        xmlStreamWriter.writeAttribute("value", attrValue);
-        xmlStreamWriter.writeEndElement(); // </attribute>
     }
 
     /**
@@ -1264,72 +2210,7 @@ public class IGCRepositoryHelper {
      * @return boolean - true on successful deletion, false otherwise
      */
     public boolean deleteOMRSStubForAsset(String rid, String assetType) {
-
-        String stubName = getStubNameForAsset(rid, assetType);
-
-        // Construct the asset XML document, including the full asset payload
-        StringWriter stringWriter = new StringWriter();
-        try {
-
-            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(stringWriter);
-            xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
-
-            xmlStreamWriter.writeStartElement("doc");
-            xmlStreamWriter.writeNamespace("xmlns", "http://www.ibm.com/iis/flow-doc");
-
-            xmlStreamWriter.writeStartElement("assets");
-            xmlStreamWriter.writeStartElement("asset");
-
-            xmlStreamWriter.writeAttribute("class", "$OMRS-Stub");
-            xmlStreamWriter.writeAttribute("repr", stubName);
-            xmlStreamWriter.writeAttribute("ID", "stub1");
-
-            addAttributeToAssetXML(xmlStreamWriter, "name", stubName);
-
-            xmlStreamWriter.writeEndElement(); // </asset>
-            xmlStreamWriter.writeEndElement(); // </assets>
-
-            xmlStreamWriter.writeStartElement("assetsToDelete");
-            xmlStreamWriter.writeCharacters("stub1");
-            xmlStreamWriter.writeEndElement(); // </assetsToDelete>
-
-            xmlStreamWriter.writeEndElement(); // </doc>
-
-            xmlStreamWriter.writeEndDocument();
-            xmlStreamWriter.flush();
-            xmlStreamWriter.close();
-
-        } catch (XMLStreamException e) {
-            log.error("Unable to write XML stream.", e);
-        }
-
-        String stubXML = stringWriter.getBuffer().toString();
-        if (log.isDebugEnabled()) { log.debug("Constructed XML for stub deletion: {}", stubXML); }
-
-        // Delete using the constructed asset XML
-        return igcRestClient.deleteOpenIgcAsset(stubXML);
-
-    }
-
-    /**
-     * Construct the unique name for the OMRS stub based on the provided asset.
-     *
-     * @param asset the asset for which to construct the unique OMRS stub name
-     * @return String
-     */
-    private static String getStubNameFromAsset(Reference asset) {
-        return getStubNameForAsset(asset.getId(), asset.getType());
-    }
-
-    /**
-     * Construct the unique name for the OMRS stub based on the provided asset information.
-     *
-     * @param rid the Repository ID (RID) of the asset for which to construct the unique OMRS stub name
-     * @param assetType the asset type (REST form) of the asset for which to construct the unique OMRS stub name
-     * @return String
-     */
-    private static String getStubNameForAsset(String rid, String assetType) {
-        return assetType + "_" + rid;
+        return igcomrsRepositoryConnector.getStubStore().deleteStub(rid, assetType);
     }
 
     /**
@@ -1365,14 +2246,17 @@ public class IGCRepositoryHelper {
 
                 if (fullAsset != null) {
 
-                    // Iterate through all the paged properties and retrieve all pages for each
+                    // Iterate through all the paged properties and retrieve all pages for each (concurrently, as the
+                    // pages of each property are independent of those of every other property)
                     List<String> allPaged = igcRestClient.getPagedRelationalPropertiesFromPOJO(assetType);
+                    List<CompletableFuture<Void>> allPagesRetrieved = new ArrayList<>();
                     for (String pagedProperty : allPaged) {
                         ReferenceList pagedValue = (ReferenceList) igcRestClient.getPropertyByName(fullAsset, pagedProperty);
                         if (pagedValue != null) {
-                            pagedValue.getAllPages(igcRestClient);
+                            allPagesRetrieved.add(pagedValue.getAllPagesAsync(igcRestClient));
                         }
                     }
+                    CompletableFuture.allOf(allPagesRetrieved.toArray(new CompletableFuture[0])).join();
 
                     // Set the asset as fully retrieved, so we do not attempt to retrieve parts of it again
                     fullAsset.setFullyRetrieved();
@@ -1426,4 +2310,24 @@ public class IGCRepositoryHelper {
         return sort;
     }
 
+    /**
+     * A search for the entities of a single entity mapping, appending its results (in order) to the provided list.
+     */
+    @FunctionalInterface
+    interface MappingSearch {
+
+        /**
+         * Run the search.
+         *
+         * @param entityDetails the list to which to append the results
+         * @param beginAt the starting element number of the results to return
+         * @param pageSize the maximum number of results to return (0 for all results)
+         * @param afterRid the RID after which to continue the search (or null to start from beginAt)
+         * @throws FunctionNotSupportedException when the search uses a regular expression that is not supported
+         * @throws RepositoryErrorException when the search fails
+         */
+        void run(List<EntityDetail> entityDetails, int beginAt, int pageSize, String afterRid) throws FunctionNotSupportedException, RepositoryErrorException;
+
+    }
+
 }
@@ -0,0 +1,199 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Identity;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the IGC lookups (and the objects derived from them) made while carrying out a single OMRS operation, so
+ * that an asset related to many of the results of the operation (eg. a shared host, database, category or data
+ * class) is only looked up once.
+ * <br><br>
+ * A context lives only for the duration of the operation that opened it, and is then discarded: nothing it holds
+ * can therefore become stale in any way that matters to the operation. Since the mapping of an operation's results
+ * may be spread across several threads, the context is safe for concurrent use.
+ *
+ * @see IGCRepositoryHelper#openRequestContext()
+ */
+public class IGCRequestContext {
+
+    private final Map<String, Reference> assetsByRid;
+    private final Map<String, Identity> identitiesByRid;
+    private final Map<String, EntityProxy> entityProxiesByRid;
+    private final Map<String, Reference> baseAssetsByRid;
+
+    private final LongAdder lookupCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder restCallsSaved = new LongAdder();
+
+    /**
+     * Creates a new, empty request context.
+     */
+    public IGCRequestContext() {
+        this.assetsByRid = new ConcurrentHashMap<>();
+        this.identitiesByRid = new ConcurrentHashMap<>();
+        this.entityProxiesByRid = new ConcurrentHashMap<>();
+        this.baseAssetsByRid = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Retrieve the header of the asset with the provided RID, looking it up in IGC only the first time it is needed
+     * within this request.
+     *
+     * @param igcRestClient connectivity to an IGC environment
+     * @param rid the Repository ID (RID) of the asset
+     * @return Reference - the asset (or null if there is no such asset)
+     */
+    public Reference getAssetRefById(IGCRestClient igcRestClient, String rid) {
+        lookupCount.increment();
+        Reference asset = assetsByRid.get(rid);
+        if (asset == null) {
+            asset = igcRestClient.getAssetRefById(rid);
+            if (asset != null) {
+                assetsByRid.putIfAbsent(rid, asset);
+            }
+        } else {
+            hitCount.increment();
+            // With an asset cache the header would have come from the cache rather than IGC
+            if (igcRestClient.getAssetCache() == null) {
+                restCallsSaved.increment();
+            }
+        }
+        return asset;
+    }
+
+    /**
+     * Retrieve the identity of the provided asset, retrieving its context from IGC only the first time the identity
+     * of that asset is needed within this request.
+     *
+     * @param igcRestClient connectivity to an IGC environment
+     * @param asset the asset for which to retrieve the identity
+     * @return Identity
+     */
+    public Identity getIdentity(IGCRestClient igcRestClient, Reference asset) {
+        lookupCount.increment();
+        String key = getKey(asset.getType(), asset.getId());
+        Identity identity = identitiesByRid.get(key);
+        if (identity == null) {
+            identity = asset.getIdentity(igcRestClient);
+            identitiesByRid.putIfAbsent(key, identity);
+        } else {
+            hitCount.increment();
+            if (asset.isMissingContext(igcRestClient)) {
+                restCallsSaved.increment();
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * Retrieve the EntityProxy for the provided asset, building it (using the provided builder) only the first time
+     * it is needed within this request. Each caller receives its own copy of the EntityProxy.
+     *
+     * @param igcRestClient connectivity to an IGC environment
+     * @param asset the asset for which to retrieve the EntityProxy
+     * @param ridPrefix any prefix required on the asset's ID to make it unique
+     * @param builder the means of building the EntityProxy if it has not already been built
+     * @return EntityProxy
+     */
+    public EntityProxy getEntityProxy(IGCRestClient igcRestClient,
+                                      Reference asset,
+                                      String ridPrefix,
+                                      Supplier<EntityProxy> builder) {
+        lookupCount.increment();
+        String key = getKey(ridPrefix, asset.getId());
+        EntityProxy entityProxy = entityProxiesByRid.get(key);
+        if (entityProxy == null) {
+            entityProxy = builder.get();
+            if (entityProxy != null) {
+                entityProxiesByRid.putIfAbsent(key, entityProxy);
+            }
+        } else {
+            hitCount.increment();
+            if (asset.isMissingContextOrModificationDetails(igcRestClient)) {
+                restCallsSaved.increment();
+            }
+        }
+        return (entityProxy == null) ? null : new EntityProxy(entityProxy);
+    }
+
+    /**
+     * Retrieve the base asset expected by the provided mapping for the provided (possibly alternative) asset,
+     * translating it (eg. a host_(engine) into a host) only the first time it is needed within this request.
+     *
+     * @param mapping the mapping for which to retrieve the base asset
+     * @param asset the asset to translate
+     * @param translator the means of translating the asset if it has not already been translated
+     * @return Reference - the base asset
+     * @see EntityMapping#getBaseIgcAssetFromAlternative(Reference, IGCOMRSRepositoryConnector)
+     */
+    public Reference getBaseIgcAsset(EntityMapping mapping, Reference asset, Supplier<Reference> translator) {
+        lookupCount.increment();
+        String key = getKey(mapping.getClass().getName(), asset.getId());
+        Reference base = baseAssetsByRid.get(key);
+        if (base == null) {
+            base = translator.get();
+            if (base != null) {
+                baseAssetsByRid.putIfAbsent(key, base);
+            }
+        } else {
+            hitCount.increment();
+            // Only an asset that actually had to be translated cost a call to IGC
+            if (!base.getType().equals(asset.getType())) {
+                restCallsSaved.increment();
+            }
+        }
+        return base;
+    }
+
+    /**
+     * Retrieve the number of lookups made through this context.
+     *
+     * @return long
+     */
+    public long getLookupCount() { return lookupCount.sum(); }
+
+    /**
+     * Retrieve the number of lookups answered from what was already looked up within this request.
+     *
+     * @return long
+     */
+    public long getHitCount() { return hitCount.sum(); }
+
+    /**
+     * Retrieve the number of REST calls to IGC that were avoided by answering lookups from this context.
+     *
+     * @return long
+     */
+    public long getRestCallsSaved() { return restCallsSaved.sum(); }
+
+    @Override
+    public String toString() {
+        return "IGCRequestContext{" +
+                "lookups=" + getLookupCount() +
+                ", hits=" + getHitCount() +
+                ", restCallsSaved=" + getRestCallsSaved() +
+                "}";
+    }
+
+    /**
+     * Construct the key under which to memoize something about an asset.
+     *
+     * @param qualifier whatever further distinguishes what is memoized (eg. a type or prefix), or null if nothing
+     * @param rid the Repository ID (RID) of the asset
+     * @return String
+     */
+    private static String getKey(String qualifier, String rid) {
+        return (qualifier == null) ? rid : qualifier + "::" + rid;
+    }
+
+}
@@ -0,0 +1,124 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first k of a stream of candidates, in the order of the provided comparator, while holding no more
+ * than k candidates at any one time: once k candidates are held, each new candidate either displaces the last of
+ * those held or is discarded immediately.
+ * <br><br>
+ * Candidates that compare equal keep the order in which they were offered, so that paging through the same
+ * candidates gives consistent results.
+ *
+ * @param <T> the type of candidate
+ */
+class TopKSelector<T> {
+
+    private final Comparator<? super T> comparator;
+    private final int k;
+    private final PriorityQueue<Candidate<T>> selected;
+    private long offered;
+
+    /**
+     * Creates a new selector.
+     *
+     * @param comparator the order of the candidates
+     * @param k the number of candidates to select (0 to select every candidate)
+     */
+    TopKSelector(Comparator<? super T> comparator, int k) {
+        this.comparator = comparator;
+        this.k = Math.max(0, k);
+        // The heap is ordered so that the last of the candidates selected so far is always at its head
+        this.selected = new PriorityQueue<>(Math.max(1, Math.min(this.k, 1024)), (a, b) -> compare(b, a));
+        this.offered = 0;
+    }
+
+    /**
+     * Offer a candidate for selection.
+     *
+     * @param candidate the candidate
+     */
+    void offer(T candidate) {
+        Candidate<T> next = new Candidate<>(candidate, offered++);
+        if (k == 0 || selected.size() < k) {
+            selected.add(next);
+        } else if (compare(next, selected.peek()) < 0) {
+            selected.poll();
+            selected.add(next);
+        }
+    }
+
+    /**
+     * Retrieve the number of candidates that have been offered.
+     *
+     * @return long
+     */
+    long getOfferedCount() { return offered; }
+
+    /**
+     * Retrieve the selected candidates, in order.
+     *
+     * @return {@code List<T>}
+     */
+    List<T> getSelected() {
+        List<Candidate<T>> ordered = new ArrayList<>(selected);
+        ordered.sort(this::compare);
+        List<T> results = new ArrayList<>(ordered.size());
+        for (Candidate<T> candidate : ordered) {
+            results.add(candidate.value);
+        }
+        return results;
+    }
+
+    /**
+     * Retrieve a page of the selected candidates, in order.
+     *
+     * @param beginAt the starting element number of the page
+     * @param pageSize the maximum number of candidates in the page (0 for all remaining candidates)
+     * @return {@code List<T>}
+     */
+    List<T> getPage(int beginAt, int pageSize) {
+        List<T> results = getSelected();
+        if (beginAt >= results.size()) {
+            return Collections.emptyList();
+        }
+        int end = (pageSize > 0) ? Math.min(results.size(), beginAt + pageSize) : results.size();
+        return new ArrayList<>(results.subList(beginAt, end));
+    }
+
+    /**
+     * Compare two candidates, by the comparator and then by the order in which they were offered.
+     *
+     * @param a the first candidate
+     * @param b the second candidate
+     * @return int
+     */
+    private int compare(Candidate<T> a, Candidate<T> b) {
+        int cmp = comparator.compare(a.value, b.value);
+        return (cmp != 0) ? cmp : Long.compare(a.sequence, b.sequence);
+    }
+
+    /**
+     * A candidate, along with the order in which it was offered.
+     *
+     * @param <T> the type of candidate
+     */
+    private static final class Candidate<T> {
+
+        private final T value;
+        private final long sequence;
+
+        Candidate(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
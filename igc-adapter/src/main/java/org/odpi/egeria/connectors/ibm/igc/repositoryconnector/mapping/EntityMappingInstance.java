@@ -6,6 +6,7 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestConstants;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSMetadataCollection;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSRepositoryConnector;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCRequestContext;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
@@ -25,6 +26,7 @@ public class EntityMappingInstance {
     private IGCOMRSRepositoryConnector igcomrsRepositoryConnector;
     private IGCOMRSMetadataCollection igcomrsMetadataCollection;
     private String userId;
+    private IGCRequestContext requestContext;
 
     private Reference igcEntity;
     private EntitySummary omrsSummary;
@@ -45,12 +47,31 @@ public class EntityMappingInstance {
                                  IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                                  Reference igcEntity,
                                  String userId) {
+        this(mapping, igcomrsRepositoryConnector, igcEntity, userId, null);
+    }
+
+    /**
+     * Creates a new mapping specific to the provided metadata object, carried out as part of the OMRS operation
+     * with the provided request context.
+     *
+     * @param mapping the definition of the mapping to carry out
+     * @param igcomrsRepositoryConnector connectivity to an IGC repository
+     * @param igcEntity the IGC object for which to carry out a mapping
+     * @param userId the user through which to do the mapping
+     * @param requestContext the context within which to memoize lookups made by the mapping (or null for none)
+     */
+    public EntityMappingInstance(EntityMapping mapping,
+                                 IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
+                                 Reference igcEntity,
+                                 String userId,
+                                 IGCRequestContext requestContext) {
 
         this.mapping = mapping;
         this.igcomrsRepositoryConnector = igcomrsRepositoryConnector;
         this.igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
         this.igcEntity = igcEntity;
         this.userId = userId;
+        this.requestContext = requestContext;
         this.omrsRelationships = new ArrayList<>();
         this.omrsClassifications = new ArrayList<>();
 
@@ -91,6 +112,13 @@ public class EntityMappingInstance {
      */
     public final String getUserId() { return userId; }
 
+    /**
+     * Retrieve the context within which lookups made by the mapping are memoized (or null if they are not).
+     *
+     * @return IGCRequestContext
+     */
+    public final IGCRequestContext getRequestContext() { return requestContext; }
+
     /**
      * Retrieve the IGC object for which this mapping exists.
      *
@@ -104,7 +132,7 @@ public class EntityMappingInstance {
      * @param properties the list of IGC properties to further retrieve for the asset
      */
     public final void updateIgcEntityWithProperties(List<String> properties) {
-        if (!igcEntity.isFullyRetrieved()) {
+        if (!igcEntity.hasRetrievedProperties(properties)) {
             igcEntity = igcEntity.getAssetWithSubsetOfProperties(
                     igcomrsRepositoryConnector.getIGCRestClient(),
                     properties.toArray(new String[0])
@@ -81,6 +81,8 @@ public class ConfidentialityMapper extends ClassificationMapping {
         final String methodName = "addMappedOMRSClassification";
 
         IGCRestClient igcRestClient = igcomrsRepositoryConnector.getIGCRestClient();
+        IGCOMRSMetadataCollection igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
+        IGCRepositoryHelper igcRepositoryHelper = igcomrsMetadataCollection.getIgcRepositoryHelper();
 
         // Retrieve all assigned_to_terms relationships from this IGC object
         ReferenceList assignedToTerms = (ReferenceList) igcRestClient.getPropertyByName(fromIgcObject, "assigned_to_terms");
@@ -90,7 +92,7 @@ public class ConfidentialityMapper extends ClassificationMapping {
         for (Reference assignedTerm : assignedToTerms.getItems()) {
 
             // Retrieve the identity characteristics (ie. the parent category) of the related term
-            Identity termIdentity = assignedTerm.getIdentity(igcRestClient);
+            Identity termIdentity = igcRepositoryHelper.getIdentity(assignedTerm);
             Identity catIdentity = termIdentity.getParentIdentity();
 
             // Only do something with the assigned term if its immediate parent category is named
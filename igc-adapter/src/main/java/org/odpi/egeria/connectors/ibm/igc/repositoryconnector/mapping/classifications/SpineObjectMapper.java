@@ -64,7 +64,8 @@ public class SpineObjectMapper extends ClassificationMapping {
                                              Reference fromIgcObject,
                                              String userId) {
 
-        Identity termIdentity = fromIgcObject.getIdentity(igcomrsRepositoryConnector.getIGCRestClient());
+        IGCOMRSMetadataCollection igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
+        Identity termIdentity = igcomrsMetadataCollection.getIgcRepositoryHelper().getIdentity(fromIgcObject);
         Identity catIdentity = termIdentity.getParentIdentity();
 
         if (catIdentity.toString().endsWith("Spine Objects")) {
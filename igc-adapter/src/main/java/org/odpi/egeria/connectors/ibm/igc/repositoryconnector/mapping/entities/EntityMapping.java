@@ -536,6 +536,28 @@ public abstract class EntityMapping extends InstanceMapping {
 
     }
 
+    /**
+     * Retrieve all of the IGC properties needed to map an asset of the provided IGC asset type to an OMRS
+     * EntityDetail: those that are mapped (simply or in a complex way), those needed for its classifications, all of
+     * its non-relationship properties, and its modification details. Requesting these up-front (eg. as part of a
+     * search) avoids the mapping having to retrieve them one asset at a time.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     * @param igcAssetType the IGC asset type to be mapped
+     * @return {@code List<String>}
+     */
+    public final List<String> getIgcPropertiesForEntityDetail(IGCRestClient igcRestClient, String igcAssetType) {
+        Set<String> allProperties = new LinkedHashSet<>(getAllMappedIgcProperties());
+        for (ClassificationMapping classificationMapping : getClassificationMappers()) {
+            allProperties.addAll(classificationMapping.getMappedIgcPropertyNames());
+        }
+        allProperties.addAll(igcRestClient.getNonRelationshipPropertiesFromPOJO(igcAssetType));
+        if (igcRestClient.hasModificationDetails(igcAssetType)) {
+            allProperties.addAll(IGCRestConstants.getModificationProperties());
+        }
+        return new ArrayList<>(allProperties);
+    }
+
     /**
      * Map the IGC entity to an OMRS EntitySummary object.
      *
@@ -579,16 +601,8 @@ public abstract class EntityMapping extends InstanceMapping {
         EntityMapping mapping = entityMap.getMapping();
         IGCRestClient igcRestClient = entityMap.getRepositoryConnector().getIGCRestClient();
 
-        // Retrieve the set of non-relationship properties for the asset
-        List<String> nonRelationshipProperties = igcRestClient.getNonRelationshipPropertiesFromPOJO(igcEntity.getType());
-
         // Merge the detailed properties together (generic and more specific POJO mappings that were passed in)
-        ArrayList<String> allProperties = new ArrayList<>();
-        allProperties.addAll(mapping.getAllMappedIgcProperties());
-        for (ClassificationMapping classificationMapping : mapping.getClassificationMappers()) {
-            allProperties.addAll(classificationMapping.getMappedIgcPropertyNames());
-        }
-        allProperties.addAll(nonRelationshipProperties);
+        List<String> allProperties = mapping.getIgcPropertiesForEntityDetail(igcRestClient, igcEntity.getType());
 
         // Retrieve only this set of properties for the object (no more, no less)
         // but only if the asset we've been initialised with was not already fully-retrieved
@@ -698,8 +712,6 @@ public abstract class EntityMapping extends InstanceMapping {
                                                                   SequencingOrder sequencingOrder,
                                                                   int pageSize) {
 
-        // TODO: handle multi-page results with different starting points (ie. fromRelationshipElement != 0)
-
         Reference igcEntity = entityMap.getIgcEntity();
         EntityMapping entityMapping = entityMap.getMapping();
         IGCOMRSRepositoryConnector igcomrsRepositoryConnector = entityMap.getRepositoryConnector();
@@ -727,13 +739,16 @@ public abstract class EntityMapping extends InstanceMapping {
             );
         }
 
+        // Only the relationships within the requested page are retrieved and mapped
         RelationshipMapping.getMappedRelationships(
                 igcomrsRepositoryConnector,
                 omrsRelationships,
                 relationshipMappers,
                 relationshipTypeGUID,
                 igcEntity,
-                userId
+                userId,
+                fromRelationshipElement,
+                pageSize
         );
 
         return omrsRelationships;
@@ -122,7 +122,8 @@ public class ReferenceableMapper extends EntityMapping {
         String repositoryName = igcomrsRepositoryConnector.getRepositoryName();
 
         // Map IGC's identity characteristics to create a unique 'qualifiedName'
-        String qualifiedName = igcEntity.getIdentity(igcomrsRepositoryConnector.getIGCRestClient()).toString();
+        IGCRepositoryHelper igcRepositoryHelper = entityMap.getMetadataCollection().getIgcRepositoryHelper();
+        String qualifiedName = igcRepositoryHelper.getIdentity(igcEntity, entityMap.getRequestContext()).toString();
 
         if (mapping.igcRidNeedsPrefix()) {
             qualifiedName = mapping.getIgcRidPrefix() + qualifiedName;
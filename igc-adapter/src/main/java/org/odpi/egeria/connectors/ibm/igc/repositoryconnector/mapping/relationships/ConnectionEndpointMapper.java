@@ -18,7 +18,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Singleton to map the OMRS "ConnectionEndpoint" relationship between IGC "host" and "data_connection" assets
@@ -165,38 +167,40 @@ public class ConnectionEndpointMapper extends RelationshipMapping {
         String[] properties = new String[]{ "name" };
         IGCSearch igcSearch = new IGCSearch("data_connection", properties, igcSearchConditionSet);
 
-        ReferenceList dataConnections = igcomrsRepositoryConnector.getIGCRestClient().search(igcSearch);
-        dataConnections.getAllPages(igcomrsRepositoryConnector.getIGCRestClient());
-
-        for (Reference dataConnection : dataConnections.getItems()) {
-
-            /* Only proceed with the connection object if it is not a 'main_object' asset
-             * (in this scenario, 'main_object' represents ColumnAnalysisMaster objects that are not accessible
-             *  and will throw bad request (400) REST API errors) */
-            if (dataConnection != null && !dataConnection.getType().equals(IGCRepositoryHelper.DEFAULT_IGC_TYPE)) {
-                try {
-
-                    if (log.isDebugEnabled()) { log.debug("Retrieved connection: {}", dataConnection); }
-
-                    Relationship relationship = getMappedRelationship(
-                            igcomrsRepositoryConnector,
-                            ConnectionEndpointMapper.getInstance(igcomrsRepositoryConnector.getIGCVersion()),
-                            (RelationshipDef) igcomrsRepositoryConnector.getRepositoryHelper().getTypeDefByName(
-                                    igcomrsRepositoryConnector.getRepositoryName(),
-                                    "ConnectionEndpoint"),
-                            fromIgcObject,
-                            dataConnection,
-                            "data_connections",
-                            userId
-                    );
-
-                    relationships.add(relationship);
-
-                } catch (RepositoryErrorException e) {
-                    log.error("Unable to map relationship.", e);
+        // Stream through the results, rather than retrieving every page up-front
+        try (Stream<Reference> dataConnections = igcomrsRepositoryConnector.getIGCRestClient().searchStream(igcSearch)) {
+            Iterator<Reference> iterator = dataConnections.iterator();
+            while (iterator.hasNext()) {
+                Reference dataConnection = iterator.next();
+
+                /* Only proceed with the connection object if it is not a 'main_object' asset
+                 * (in this scenario, 'main_object' represents ColumnAnalysisMaster objects that are not accessible
+                 *  and will throw bad request (400) REST API errors) */
+                if (dataConnection != null && !dataConnection.getType().equals(IGCRepositoryHelper.DEFAULT_IGC_TYPE)) {
+                    try {
+
+                        if (log.isDebugEnabled()) { log.debug("Retrieved connection: {}", dataConnection); }
+
+                        Relationship relationship = getMappedRelationship(
+                                igcomrsRepositoryConnector,
+                                ConnectionEndpointMapper.getInstance(igcomrsRepositoryConnector.getIGCVersion()),
+                                (RelationshipDef) igcomrsRepositoryConnector.getRepositoryHelper().getTypeDefByName(
+                                        igcomrsRepositoryConnector.getRepositoryName(),
+                                        "ConnectionEndpoint"),
+                                fromIgcObject,
+                                dataConnection,
+                                "data_connections",
+                                userId
+                        );
+
+                        relationships.add(relationship);
+
+                    } catch (RepositoryErrorException e) {
+                        log.error("Unable to map relationship.", e);
+                    }
                 }
-            }
 
+            }
         }
 
     }
@@ -223,42 +227,44 @@ public class ConnectionEndpointMapper extends RelationshipMapping {
         String[] properties = new String[]{ "host" };
         IGCSearch igcSearch = new IGCSearch("connector", properties, igcSearchConditionSet);
 
-        ReferenceList dataConnectors = igcomrsRepositoryConnector.getIGCRestClient().search(igcSearch);
-        dataConnectors.getAllPages(igcomrsRepositoryConnector.getIGCRestClient());
-
-        for (Reference dataConnector : dataConnectors.getItems()) {
-
-            /* Only proceed with the connector object if it is not a 'main_object' asset
-             * (in this scenario, 'main_object' represents ColumnAnalysisMaster objects that are not accessible
-             *  and will throw bad request (400) REST API errors) */
-            if (dataConnector != null && !dataConnector.getType().equals(IGCRepositoryHelper.DEFAULT_IGC_TYPE)) {
-                try {
-
-                    if (log.isDebugEnabled()) { log.debug("Retrieved connector: {}", dataConnector); }
-
-                    //Reference host = (Reference) connectorGetPropertyByName.invoke(dataConnector, "host");
-                    Reference host = (Reference) igcRestClient.getPropertyByName(dataConnector, "host");
-                    if (log.isDebugEnabled()) { log.debug("Retrieved host: {}", host); }
-
-                    Relationship relationship = getMappedRelationship(
-                            igcomrsRepositoryConnector,
-                            ConnectionEndpointMapper.getInstance(igcomrsRepositoryConnector.getIGCVersion()),
-                            (RelationshipDef) igcomrsRepositoryConnector.getRepositoryHelper().getTypeDefByName(
-                                    igcomrsRepositoryConnector.getRepositoryName(),
-                                    "ConnectionEndpoint"),
-                            host,
-                            fromIgcObject,
-                            "data_connections",
-                            userId
-                    );
-
-                    relationships.add(relationship);
-
-                } catch (RepositoryErrorException e) {
-                    log.error("Unable to map relationship.", e);
+        // Stream through the results, rather than retrieving every page up-front
+        try (Stream<Reference> dataConnectors = igcRestClient.searchStream(igcSearch)) {
+            Iterator<Reference> iterator = dataConnectors.iterator();
+            while (iterator.hasNext()) {
+                Reference dataConnector = iterator.next();
+
+                /* Only proceed with the connector object if it is not a 'main_object' asset
+                 * (in this scenario, 'main_object' represents ColumnAnalysisMaster objects that are not accessible
+                 *  and will throw bad request (400) REST API errors) */
+                if (dataConnector != null && !dataConnector.getType().equals(IGCRepositoryHelper.DEFAULT_IGC_TYPE)) {
+                    try {
+
+                        if (log.isDebugEnabled()) { log.debug("Retrieved connector: {}", dataConnector); }
+
+                        //Reference host = (Reference) connectorGetPropertyByName.invoke(dataConnector, "host");
+                        Reference host = (Reference) igcRestClient.getPropertyByName(dataConnector, "host");
+                        if (log.isDebugEnabled()) { log.debug("Retrieved host: {}", host); }
+
+                        Relationship relationship = getMappedRelationship(
+                                igcomrsRepositoryConnector,
+                                ConnectionEndpointMapper.getInstance(igcomrsRepositoryConnector.getIGCVersion()),
+                                (RelationshipDef) igcomrsRepositoryConnector.getRepositoryHelper().getTypeDefByName(
+                                        igcomrsRepositoryConnector.getRepositoryName(),
+                                        "ConnectionEndpoint"),
+                                host,
+                                fromIgcObject,
+                                "data_connections",
+                                userId
+                        );
+
+                        relationships.add(relationship);
+
+                    } catch (RepositoryErrorException e) {
+                        log.error("Unable to map relationship.", e);
+                    }
                 }
-            }
 
+            }
         }
 
     }
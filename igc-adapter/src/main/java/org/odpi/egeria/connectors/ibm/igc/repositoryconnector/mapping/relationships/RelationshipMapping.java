@@ -13,6 +13,7 @@ import org.odpi.egeria.connectors.ibm.igc.clientlibrary.update.IGCUpdate;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSMetadataCollection;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSRepositoryConnector;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCRepositoryHelper;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCRequestContext;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.EntityMappingInstance;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.InstanceMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.attributes.AttributeMapping;
@@ -810,7 +811,8 @@ public abstract class RelationshipMapping extends InstanceMapping {
     }
 
     /**
-     * Retrieves an EntityProxy object for the provided IGC object.
+     * Retrieves an EntityProxy object for the provided IGC object. Within an OMRS operation's request context, the
+     * EntityProxy for any given object is only built once.
      *
      * @param igcomrsRepositoryConnector OMRS connector to the IBM IGC repository
      * @param igcObj the IGC object for which to retrieve an EntityProxy
@@ -823,7 +825,39 @@ public abstract class RelationshipMapping extends InstanceMapping {
                                                       String userId,
                                                       String ridPrefix) {
 
-        final String methodName = "getEntityProxyForObject";
+        IGCOMRSMetadataCollection igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
+        IGCRepositoryHelper igcRepositoryHelper = igcomrsMetadataCollection.getIgcRepositoryHelper();
+        IGCRequestContext requestContext = igcRepositoryHelper.getRequestContext();
+        if (requestContext == null || igcObj.getType() == null) {
+            return buildEntityProxyForObject(igcomrsRepositoryConnector, igcObj, userId, ridPrefix, igcRepositoryHelper);
+        } else {
+            return requestContext.getEntityProxy(
+                    igcomrsRepositoryConnector.getIGCRestClient(),
+                    igcObj,
+                    ridPrefix,
+                    () -> buildEntityProxyForObject(igcomrsRepositoryConnector, igcObj, userId, ridPrefix, igcRepositoryHelper)
+            );
+        }
+
+    }
+
+    /**
+     * Builds an EntityProxy object for the provided IGC object.
+     *
+     * @param igcomrsRepositoryConnector OMRS connector to the IBM IGC repository
+     * @param igcObj the IGC object for which to build an EntityProxy
+     * @param userId the user through which to build the EntityProxy (unused)
+     * @param ridPrefix any prefix required on the object's ID to make it unique
+     * @param igcRepositoryHelper helper for the IGC repository
+     * @return EntityProxy
+     */
+    private static EntityProxy buildEntityProxyForObject(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
+                                                         Reference igcObj,
+                                                         String userId,
+                                                         String ridPrefix,
+                                                         IGCRepositoryHelper igcRepositoryHelper) {
+
+        final String methodName = "buildEntityProxyForObject";
 
         IGCRestClient igcRestClient = igcomrsRepositoryConnector.getIGCRestClient();
         String igcType = igcObj.getType();
@@ -832,14 +866,12 @@ public abstract class RelationshipMapping extends InstanceMapping {
 
         if (igcType != null) {
 
-            IGCOMRSMetadataCollection igcomrsMetadataCollection = (IGCOMRSMetadataCollection) igcomrsRepositoryConnector.getMetadataCollection();
-            IGCRepositoryHelper igcRepositoryHelper = igcomrsMetadataCollection.getIgcRepositoryHelper();
             EntityMappingInstance entityMap = igcRepositoryHelper.getMappingInstanceForParameters(igcObj, ridPrefix, userId);
 
             if (entityMap != null) {
 
                 // Construct 'qualifiedName' from the Identity of the object
-                String identity = igcObj.getIdentity(igcRestClient).toString();
+                String identity = igcRepositoryHelper.getIdentity(igcObj).toString();
                 if (ridPrefix != null) {
                     identity = ridPrefix + identity;
                 }
@@ -911,10 +943,58 @@ public abstract class RelationshipMapping extends InstanceMapping {
                                               String relationshipTypeGUID,
                                               Reference fromIgcObject,
                                               String userId) {
+        getMappedRelationships(
+                igcomrsRepositoryConnector,
+                relationships,
+                mappings,
+                relationshipTypeGUID,
+                fromIgcObject,
+                userId,
+                0,
+                0
+        );
+    }
+
+    /**
+     * Utility function that actually does the Relationship object setup and addition to 'relationships' member,
+     * limited to a single page of the relationships.
+     * <br><br>
+     * The relationships are numbered in a consistent order: by mapping, then by IGC relationship property (or
+     * search) within each mapping, then by the order in which IGC returns them. Since IGC reports the total number
+     * of relationships behind each property or search with its first page, only the pages of IGC relationships that
+     * fall within the requested page are retrieved, and only those relationships are mapped. (Relationships of any
+     * complex / custom mappings must still be mapped in full to be counted.)
+     *
+     * @param igcomrsRepositoryConnector connectivity to an IGC environment
+     * @param relationships the list of relationships to append to
+     * @param mappings the mappings to use for retrieving the relationships
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param fromIgcObject the IGC object that is the source of the relationships
+     * @param userId
+     * @param fromRelationshipElement the starting element number of the relationships to return
+     * @param pageSize the maximum number of relationships to return (0 for all of them)
+     */
+    public static void getMappedRelationships(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
+                                              List<Relationship> relationships,
+                                              List<RelationshipMapping> mappings,
+                                              String relationshipTypeGUID,
+                                              Reference fromIgcObject,
+                                              String userId,
+                                              int fromRelationshipElement,
+                                              int pageSize) {
+
+        // First collect the candidate relationships within the page across all of the mappings, so that the details
+        // needed to construct the proxies at either end of them can then be retrieved in batch rather than one-by-one
+        RelationshipWindow window = new RelationshipWindow(fromRelationshipElement, pageSize);
 
         // Iterate through the provided mappings to create a number of OMRS relationships
         for (RelationshipMapping mapping : mappings) {
 
+            // Once the page is full, there is no need to look at any further relationships
+            if (window.isFull()) {
+                break;
+            }
+
             RelationshipDef omrsRelationshipDef = (RelationshipDef) igcomrsRepositoryConnector.getRepositoryHelper().getTypeDefByName(
                     igcomrsRepositoryConnector.getRepositoryName(),
                     mapping.getOmrsRelationshipType()
@@ -930,64 +1010,90 @@ public abstract class RelationshipMapping extends InstanceMapping {
                 ProxyMapping pmTwo = mapping.getProxyTwoMapping();
 
                 if (mapping.isSelfReferencing()) {
-                    addSelfReferencingRelationship(igcomrsRepositoryConnector, mapping, relationships, fromIgcObject, userId);
+                    addSelfReferencingRelationship(mapping, window, fromIgcObject);
                 } else if (!optimalStart.equals(RelationshipMapping.OptimalStart.CUSTOM)) {
                     if (fromIgcObject == null) {
                         if (log.isErrorEnabled()) { log.error("Object received to lookup {} relationship was null, cannot proceed.", relationshipTypeGUID); }
                     } else if (fromIgcObject.isFullyRetrieved()
                             || (optimalStart.equals(OptimalStart.ONE) && pmOne.matchesAssetType(fromAssetType) )
                             || (optimalStart.equals(OptimalStart.TWO) && pmTwo.matchesAssetType(fromAssetType)) ) {
-                        addDirectRelationship(igcomrsRepositoryConnector, mapping, relationships, fromIgcObject, userId);
+                        addDirectRelationship(igcomrsRepositoryConnector, mapping, window, fromIgcObject);
                     } else if (optimalStart.equals(OptimalStart.OPPOSITE)
                             || (optimalStart.equals(OptimalStart.TWO) && pmOne.matchesAssetType(fromAssetType))
                             || (optimalStart.equals(OptimalStart.ONE) && pmTwo.matchesAssetType(fromAssetType)) ) {
-                        addInvertedRelationship(igcomrsRepositoryConnector, mapping, relationships, fromIgcObject, userId);
+                        addInvertedRelationship(igcomrsRepositoryConnector, mapping, window, fromIgcObject);
                     } else {
                         if (log.isWarnEnabled()) { log.warn("Ran out of options for finding the relationship: {}", omrsRelationshipDef.getName()); }
                     }
                 }
 
                 // Then call any complex / custom relationship mappings defined
+                List<Relationship> complexRelationships = new ArrayList<>();
                 mapping.addMappedOMRSRelationships(
                         igcomrsRepositoryConnector,
-                        relationships,
+                        complexRelationships,
                         fromIgcObject,
                         userId
                 );
+                for (Relationship complexRelationship : complexRelationships) {
+                    window.include(new RelationshipCandidate(complexRelationship));
+                }
 
             }
 
         }
 
+        List<RelationshipCandidate> candidates = window.getCandidates();
+        if (!candidates.isEmpty()) {
+
+            // Retrieve the _context and modification details of all of the candidates' ends at once (one search per
+            // asset type), so that the construction of each EntityProxy below need not search for them individually
+            Set<Reference> proxies = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (RelationshipCandidate candidate : candidates) {
+                if (!candidate.isMapped()) {
+                    proxies.add(fromIgcObject);
+                    proxies.add(candidate.getRelatedIgcObject());
+                }
+            }
+            Reference.populateContextForAll(igcomrsRepositoryConnector.getIGCRestClient(), proxies);
+
+            for (RelationshipCandidate candidate : candidates) {
+                if (candidate.isMapped()) {
+                    relationships.add(candidate.getMappedRelationship());
+                } else {
+                    try {
+                        Relationship relationship = getMappedRelationship(
+                                igcomrsRepositoryConnector,
+                                candidate.getMapping(),
+                                fromIgcObject,
+                                candidate.getRelatedIgcObject(),
+                                candidate.getIgcPropertyName(),
+                                userId
+                        );
+                        if (log.isDebugEnabled()) { log.debug("getMappedRelationships - adding relationship: {}", relationship); }
+                        relationships.add(relationship);
+                    } catch (RepositoryErrorException e) {
+                        if (log.isErrorEnabled()) { log.error("Unable to add relationship {} for object {}", candidate.getMapping().getOmrsRelationshipType(), candidate.getRelatedIgcObject(), e); }
+                    }
+                }
+            }
+
+        }
+
     }
 
     /**
      * Adds a self-referencing relationship based on the provided mapping information.
      *
      * @param mapping the mapping for the self-referencing relationship
-     * @param relationships the list of relationships to append to
+     * @param window the page of candidate relationships to append to
      * @param fromIgcObject the IGC object that is the source (and target) of the self-referencing relationship
-     * @param userId
      */
-    private static void addSelfReferencingRelationship(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
-                                                       RelationshipMapping mapping,
-                                                       List<Relationship> relationships,
-                                                       Reference fromIgcObject,
-                                                       String userId) {
-        try {
-            Relationship relationship = getMappedRelationship(
-                    igcomrsRepositoryConnector,
-                    mapping,
-                    fromIgcObject,
-                    fromIgcObject,
-                    RelationshipMapping.SELF_REFERENCE_SENTINEL,
-                    userId
-            );
-            if (log.isDebugEnabled()) { log.debug("addSelfReferencingRelationship - adding relationship: {}", relationship); }
-            relationships.add(relationship);
-        } catch (RepositoryErrorException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to add self-referencing relationship for: {}", fromIgcObject, e); }
-        }
+    private static void addSelfReferencingRelationship(RelationshipMapping mapping,
+                                                       RelationshipWindow window,
+                                                       Reference fromIgcObject) {
+        if (log.isDebugEnabled()) { log.debug("addSelfReferencingRelationship - adding candidate for: {}", fromIgcObject); }
+        window.include(new RelationshipCandidate(mapping, fromIgcObject, RelationshipMapping.SELF_REFERENCE_SENTINEL));
     }
 
     /**
@@ -995,15 +1101,13 @@ public abstract class RelationshipMapping extends InstanceMapping {
      *
      * @param igcomrsRepositoryConnector connectivity to the IGC repository
      * @param mapping the mapping for the direct relationship
-     * @param relationships the list of relationships to append to
+     * @param window the page of candidate relationships to append to
      * @param fromIgcObject the IGC object that is the source of the direct relationship
-     * @param userId
      */
     private static void addDirectRelationship(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                                               RelationshipMapping mapping,
-                                              List<Relationship> relationships,
-                                              Reference fromIgcObject,
-                                              String userId) {
+                                              RelationshipWindow window,
+                                              Reference fromIgcObject) {
 
         IGCRestClient igcRestClient = igcomrsRepositoryConnector.getIGCRestClient();
 
@@ -1018,13 +1122,10 @@ public abstract class RelationshipMapping extends InstanceMapping {
             if (directRelationships != null && Reference.isReference(directRelationships)) {
 
                 addSingleMappedRelationship(
-                        igcomrsRepositoryConnector,
                         mapping,
-                        relationships,
-                        fromIgcObject,
+                        window,
                         (Reference) directRelationships,
-                        igcRelationshipName,
-                        userId
+                        igcRelationshipName
                 );
 
             } else if (directRelationships != null && Reference.isReferenceList(directRelationships)) { // and list of relationships another
@@ -1032,11 +1133,9 @@ public abstract class RelationshipMapping extends InstanceMapping {
                 addListOfMappedRelationships(
                         igcomrsRepositoryConnector,
                         mapping,
-                        relationships,
-                        fromIgcObject,
+                        window,
                         (ReferenceList) directRelationships,
-                        igcRelationshipName,
-                        userId
+                        igcRelationshipName
                 );
 
             } else {
@@ -1052,15 +1151,13 @@ public abstract class RelationshipMapping extends InstanceMapping {
      *
      * @param igcomrsRepositoryConnector connectivity to the IGC repository
      * @param mapping the mapping for the inverted relationship
-     * @param relationships the list of relationships to append to
+     * @param window the page of candidate relationships to append to
      * @param fromIgcObject the IGC object that is the source of the inverted relationship (or really the target)
-     * @param userId
      */
     private static void addInvertedRelationship(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                                                 RelationshipMapping mapping,
-                                                List<Relationship> relationships,
-                                                Reference fromIgcObject,
-                                                String userId) {
+                                                RelationshipWindow window,
+                                                Reference fromIgcObject) {
 
         String assetType = fromIgcObject.getType();
 
@@ -1072,17 +1169,18 @@ public abstract class RelationshipMapping extends InstanceMapping {
             // properties and add both sets of relationships
             List<String> igcProperties = mapping.getIgcRelationshipPropertiesForType(assetType);
             for (String igcRelationshipName : igcProperties) {
+                if (window.isFull()) {
+                    break;
+                }
                 IGCSearchCondition condition = new IGCSearchCondition(igcRelationshipName, "=", fromIgcObject.getId());
                 IGCSearchConditionSet igcSearchConditionSet = new IGCSearchConditionSet(condition);
                 addSearchResultsToRelationships(
                         igcomrsRepositoryConnector,
                         mapping,
-                        relationships,
-                        fromIgcObject,
+                        window,
                         igcSearchConditionSet,
                         assetType,
-                        igcRelationshipName,
-                        userId
+                        igcRelationshipName
                 );
             }
 
@@ -1106,12 +1204,10 @@ public abstract class RelationshipMapping extends InstanceMapping {
             addSearchResultsToRelationships(
                     igcomrsRepositoryConnector,
                     mapping,
-                    relationships,
-                    fromIgcObject,
+                    window,
                     igcSearchConditionSet,
                     sourceAssetType,
-                    anIgcRelationshipProperty,
-                    userId
+                    anIgcRelationshipProperty
             );
 
         }
@@ -1119,26 +1215,23 @@ public abstract class RelationshipMapping extends InstanceMapping {
     }
 
     /**
-     * Executes a search against the IGC repository based on the provided criteria, and adds all results to the list
-     * of relationships.
+     * Executes a search against the IGC repository based on the provided criteria, and adds those results that fall
+     * within the page to the candidate relationships. The search starts from the first result within the page, and
+     * retrieves no more results than are needed to fill it.
      *
      * @param igcomrsRepositoryConnector connectivity to the IGC repository
      * @param mapping the mapping for the inverted relationship
-     * @param relationships the list of relationships to append to
-     * @param fromIgcObject the object that is the source of the IGC relationship
+     * @param window the page of candidate relationships to append to
      * @param igcSearchConditionSet the search criteria to use for the search
      * @param assetType the type of IGC asset for which to search
      * @param igcPropertyName the name of the IGC property to search against
-     * @param userId
      */
     private static void addSearchResultsToRelationships(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                                                         RelationshipMapping mapping,
-                                                        List<Relationship> relationships,
-                                                        Reference fromIgcObject,
+                                                        RelationshipWindow window,
                                                         IGCSearchConditionSet igcSearchConditionSet,
                                                         String assetType,
-                                                        String igcPropertyName,
-                                                        String userId) {
+                                                        String igcPropertyName) {
 
         IGCSearch igcSearch = new IGCSearch(assetType, igcSearchConditionSet);
         if (!assetType.equals(IGCRepositoryHelper.DEFAULT_IGC_TYPE)) {
@@ -1146,98 +1239,89 @@ public abstract class RelationshipMapping extends InstanceMapping {
                 igcSearch.addProperties(IGCRestConstants.getModificationProperties());
             }
         }
+        igcSearch.setBeginAt(window.getLocalFrom());
+        int remaining = window.getRemaining();
+        if (remaining > 0) {
+            igcSearch.setPageSize(Math.min(remaining, igcomrsRepositoryConnector.getIGCRestClient().getDefaultPageSize()));
+        }
         ReferenceList foundRelationships = igcomrsRepositoryConnector.getIGCRestClient().search(igcSearch);
         addListOfMappedRelationships(
                 igcomrsRepositoryConnector,
                 mapping,
-                relationships,
-                fromIgcObject,
+                window,
                 foundRelationships,
-                igcPropertyName,
-                userId
+                igcPropertyName
         );
 
     }
 
     /**
-     * Add the provided list of relationships as OMRS relationships.
+     * Add those relationships from the provided list that fall within the page as candidates for OMRS relationships,
+     * retrieving only the pages of the list that cover the page.
      *
      * @param igcomrsRepositoryConnector connectivity to the IGC repository
      * @param mapping the mapping to use in translating each relationship
-     * @param relationships the list of relationships to append to
-     * @param fromIgcObject the asset that is the source of the IGC relationship
+     * @param window the page of candidate relationships to append to
      * @param igcRelationships the list of IGC relationships
      * @param igcPropertyName the name of the IGC relationship property
-     * @param userId
      */
     private static void addListOfMappedRelationships(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
                                                      RelationshipMapping mapping,
-                                                     List<Relationship> relationships,
-                                                     Reference fromIgcObject,
+                                                     RelationshipWindow window,
                                                      ReferenceList igcRelationships,
-                                                     String igcPropertyName,
-                                                     String userId) {
+                                                     String igcPropertyName) {
 
         if (log.isDebugEnabled()) { log.debug(" ... list of references: {}", mapping.getOmrsRelationshipType()); }
 
-        // TODO: paginate rather than always retrieving the full set
-        igcRelationships.getAllPages(igcomrsRepositoryConnector.getIGCRestClient());
-
-        // Iterate through all of the existing IGC relationships of that type to create an OMRS relationship
-        // for each one
-        for (Reference relation : igcRelationships.getItems()) {
-            addSingleMappedRelationship(
-                    igcomrsRepositoryConnector,
-                    mapping,
-                    relationships,
-                    fromIgcObject,
-                    relation,
-                    igcPropertyName,
-                    userId
+        int total = igcRelationships.getTotal();
+        int localFrom = window.getLocalFrom();
+        int localTo = window.getLocalTo(total);
+
+        if (localFrom < localTo) {
+            // Iterate through only those IGC relationships of that type within the page to create a candidate OMRS
+            // relationship for each one
+            List<Reference> inPage = igcRelationships.getItemsInRange(
+                    igcomrsRepositoryConnector.getIGCRestClient(),
+                    localFrom,
+                    localTo
             );
+            window.skip(localFrom);
+            for (Reference relation : inPage) {
+                addSingleMappedRelationship(
+                        mapping,
+                        window,
+                        relation,
+                        igcPropertyName
+                );
+            }
+            window.skip(total - localFrom - inPage.size());
+        } else {
+            window.skip(total);
         }
 
     }
 
     /**
-     * Add the provided relationship as an OMRS relationship.
+     * Add the provided relationship as a candidate for an OMRS relationship.
      *
-     * @param igcomrsRepositoryConnector connectivity to the IGC repository
-     * @param mapping the mapping to use in translating each relationship
-     * @param relationships the list of relationships to append to
-     * @param fromIgcObject the asset that is the source of the IGC relationship
+     * @param mapping the mapping to use in translating the relationship
+     * @param window the page of candidate relationships to append to
      * @param igcRelationship the IGC relationship
      * @param igcPropertyName the name of the IGC relationship property
-     * @param userId
      */
-    private static void addSingleMappedRelationship(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
-                                                    RelationshipMapping mapping,
-                                                    List<Relationship> relationships,
-                                                    Reference fromIgcObject,
+    private static void addSingleMappedRelationship(RelationshipMapping mapping,
+                                                    RelationshipWindow window,
                                                     Reference igcRelationship,
-                                                    String igcPropertyName,
-                                                    String userId) {
+                                                    String igcPropertyName) {
 
         if (log.isDebugEnabled()) { log.debug(" ... single reference: {}", igcRelationship); }
         if (igcRelationship != null
                 && igcRelationship.getType() != null
                 && !igcRelationship.getType().equals("null")) {
-
-            try {
-                Relationship omrsRelationship = getMappedRelationship(
-                        igcomrsRepositoryConnector,
-                        mapping,
-                        fromIgcObject,
-                        igcRelationship,
-                        igcPropertyName,
-                        userId
-                );
-                if (log.isDebugEnabled()) { log.debug("addSingleMappedRelationship - adding relationship: {}", omrsRelationship); }
-                relationships.add(omrsRelationship);
-            } catch (RepositoryErrorException e) {
-                if (log.isErrorEnabled()) { log.error("Unable to add relationship {} for object {}", mapping.getOmrsRelationshipType(), igcRelationship); }
-            }
-
+            window.include(new RelationshipCandidate(mapping, igcRelationship, igcPropertyName));
+        } else {
+            // Still count the (empty) relationship, so that the numbering of relationships remains consistent
+            window.skip(1);
         }
 
     }
@@ -1703,4 +1787,122 @@ public abstract class RelationshipMapping extends InstanceMapping {
 
     }
 
+    /**
+     * A relationship that has been found from the IGC object for which relationships are being retrieved, but whose
+     * OMRS Relationship has not yet been constructed (or a relationship from a complex / custom mapping, which has).
+     */
+    private static class RelationshipCandidate {
+
+        private final RelationshipMapping mapping;
+        private final Reference relatedIgcObject;
+        private final String igcPropertyName;
+        private final Relationship mappedRelationship;
+
+        RelationshipCandidate(RelationshipMapping mapping, Reference relatedIgcObject, String igcPropertyName) {
+            this.mapping = mapping;
+            this.relatedIgcObject = relatedIgcObject;
+            this.igcPropertyName = igcPropertyName;
+            this.mappedRelationship = null;
+        }
+
+        RelationshipCandidate(Relationship mappedRelationship) {
+            this.mapping = null;
+            this.relatedIgcObject = null;
+            this.igcPropertyName = null;
+            this.mappedRelationship = mappedRelationship;
+        }
+
+        RelationshipMapping getMapping() { return mapping; }
+        Reference getRelatedIgcObject() { return relatedIgcObject; }
+        String getIgcPropertyName() { return igcPropertyName; }
+        Relationship getMappedRelationship() { return mappedRelationship; }
+        boolean isMapped() { return mappedRelationship != null; }
+
+    }
+
+    /**
+     * The page of relationships being retrieved: tracks the number (position) of the next relationship across all
+     * of the mappings, and keeps only those candidates whose position falls within the page.
+     */
+    private static class RelationshipWindow {
+
+        private final int from;
+        private final long end;
+        private long position;
+        private final List<RelationshipCandidate> candidates;
+
+        /**
+         * Creates a new page of relationships.
+         *
+         * @param from the position of the first relationship in the page
+         * @param pageSize the maximum number of relationships in the page (0 for unlimited)
+         */
+        RelationshipWindow(int from, int pageSize) {
+            this.from = Math.max(0, from);
+            this.end = (pageSize > 0) ? (long) this.from + pageSize : Long.MAX_VALUE;
+            this.position = 0;
+            this.candidates = new ArrayList<>();
+        }
+
+        /**
+         * Indicates whether every relationship in the page has already been passed.
+         *
+         * @return boolean
+         */
+        boolean isFull() { return position >= end; }
+
+        /**
+         * Retrieve the number of relationships still to be passed before the page is full (or 0 if unlimited).
+         *
+         * @return int
+         */
+        int getRemaining() {
+            return (end == Long.MAX_VALUE) ? 0 : (int) Math.max(0, end - Math.max(position, from));
+        }
+
+        /**
+         * Retrieve the index, within a list of relationships starting at the current position, of the first
+         * relationship that falls within the page.
+         *
+         * @return int
+         */
+        int getLocalFrom() { return (int) Math.max(0, from - position); }
+
+        /**
+         * Retrieve the index, within a list of relationships starting at the current position, after the last
+         * relationship that falls within the page.
+         *
+         * @param total the total number of relationships in the list
+         * @return int
+         */
+        int getLocalTo(int total) { return (int) Math.max(0, Math.min(total, end - position)); }
+
+        /**
+         * Pass over the provided number of relationships without including them.
+         *
+         * @param count the number of relationships to pass over
+         */
+        void skip(int count) { position += Math.max(0, count); }
+
+        /**
+         * Include the provided candidate relationship, if its position falls within the page.
+         *
+         * @param candidate the candidate relationship at the current position
+         */
+        void include(RelationshipCandidate candidate) {
+            if (position >= from && position < end) {
+                candidates.add(candidate);
+            }
+            position++;
+        }
+
+        /**
+         * Retrieve the candidate relationships that fall within the page.
+         *
+         * @return {@code List<RelationshipCandidate>}
+         */
+        List<RelationshipCandidate> getCandidates() { return candidates; }
+
+    }
+
 }
@@ -0,0 +1,325 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact fingerprint of the JSON payload of an asset: a hash of the whole document, and a hash of the value of
+ * each of its top-level properties. Comparing the fingerprints of two versions of an asset shows whether it has
+ * changed at all and, if so, which of its properties have changed, without either version having to be parsed.
+ * <br><br>
+ * Values are hashed exactly as serialised, so two versions are only considered the same if they serialise
+ * identically (as they do when both are serialised from the same type of IGC object).
+ */
+public class AssetFingerprint {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long documentHash;
+    private final String[] properties;
+    private final long[] propertyHashes;
+
+    private AssetFingerprint(long documentHash, String[] properties, long[] propertyHashes) {
+        this.documentHash = documentHash;
+        this.properties = properties;
+        this.propertyHashes = propertyHashes;
+    }
+
+    /**
+     * Calculate the fingerprint of the provided JSON payload of an asset.
+     *
+     * @param json the JSON payload of the asset
+     * @return AssetFingerprint - or null if the payload is not a JSON object
+     */
+    public static AssetFingerprint of(String json) {
+        Map<String, int[]> ranges = getPropertyRanges(json);
+        if (ranges == null) {
+            return null;
+        }
+        String[] properties = new String[ranges.size()];
+        long[] propertyHashes = new long[ranges.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : ranges.entrySet()) {
+            properties[i] = entry.getKey();
+            propertyHashes[i] = hash(json, entry.getValue()[0], entry.getValue()[1]);
+            i++;
+        }
+        return new AssetFingerprint(hash(json), properties, propertyHashes);
+    }
+
+    /**
+     * Calculate the hash of an entire JSON payload, as used for the document hash of a fingerprint.
+     *
+     * @param json the JSON payload
+     * @return long
+     */
+    public static long hash(String json) {
+        return hash(json, 0, json.length());
+    }
+
+    /**
+     * Retrieve the hash of the whole document.
+     *
+     * @return long
+     */
+    public long getDocumentHash() { return documentHash; }
+
+    /**
+     * Retrieve the names of the top-level properties whose values differ between this fingerprint and the provided
+     * one, including any property present in only one of them.
+     *
+     * @param other the fingerprint against which to compare
+     * @return {@code Set<String>}
+     */
+    public Set<String> getDifferingProperties(AssetFingerprint other) {
+        Set<String> differing = new LinkedHashSet<>();
+        if (documentHash == other.documentHash) {
+            return differing;
+        }
+        Map<String, Long> otherHashes = new HashMap<>();
+        for (int i = 0; i < other.properties.length; i++) {
+            otherHashes.put(other.properties[i], other.propertyHashes[i]);
+        }
+        for (int i = 0; i < properties.length; i++) {
+            Long otherHash = otherHashes.remove(properties[i]);
+            if (otherHash == null || otherHash != propertyHashes[i]) {
+                differing.add(properties[i]);
+            }
+        }
+        differing.addAll(otherHashes.keySet());
+        return differing;
+    }
+
+    /**
+     * Serialise the fingerprint into its compact binary form.
+     *
+     * @return byte[]
+     * @see #fromBytes(byte[])
+     */
+    public byte[] toBytes() {
+        byte[][] names = new byte[properties.length][];
+        int length = 8 + 4;
+        for (int i = 0; i < properties.length; i++) {
+            names[i] = properties[i].getBytes(StandardCharsets.UTF_8);
+            length += 2 + names[i].length + 8;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putLong(documentHash);
+        buffer.putInt(properties.length);
+        for (int i = 0; i < properties.length; i++) {
+            buffer.putShort((short) names[i].length).put(names[i]);
+            buffer.putLong(propertyHashes[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Deserialise a fingerprint from its compact binary form.
+     *
+     * @param bytes the binary form of the fingerprint
+     * @return AssetFingerprint - or null if the bytes are not a valid fingerprint
+     * @see #toBytes()
+     */
+    public static AssetFingerprint fromBytes(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long documentHash = buffer.getLong();
+            int count = buffer.getInt();
+            String[] properties = new String[count];
+            long[] propertyHashes = new long[count];
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[buffer.getShort() & 0xffff];
+                buffer.get(name);
+                properties[i] = new String(name, StandardCharsets.UTF_8).intern();
+                propertyHashes[i] = buffer.getLong();
+            }
+            return new AssetFingerprint(documentHash, properties, propertyHashes);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Locate the value of each top-level property within the provided JSON payload, without parsing the values.
+     *
+     * @param json the JSON payload (which should be an object)
+     * @return {@code Map<String, int[]>} - the start (inclusive) and end (exclusive) character positions of the value
+     *                                    of each property, keyed by property name and in document order; or null if
+     *                                    the payload is not a JSON object
+     */
+    public static Map<String, int[]> getPropertyRanges(String json) {
+        Map<String, int[]> ranges = new LinkedHashMap<>();
+        int length = json.length();
+        int i = skipWhitespace(json, 0);
+        if (i >= length || json.charAt(i) != '{') {
+            return null;
+        }
+        i = skipWhitespace(json, i + 1);
+        if (i < length && json.charAt(i) == '}') {
+            return ranges;
+        }
+        while (i < length) {
+            if (json.charAt(i) != '"') {
+                return null;
+            }
+            int keyEnd = endOfString(json, i);
+            if (keyEnd < 0) {
+                return null;
+            }
+            String key = json.substring(i + 1, keyEnd - 1);
+            i = skipWhitespace(json, keyEnd);
+            if (i >= length || json.charAt(i) != ':') {
+                return null;
+            }
+            int valueStart = skipWhitespace(json, i + 1);
+            int valueEnd = endOfValue(json, valueStart);
+            if (valueEnd < 0) {
+                return null;
+            }
+            ranges.put(key, new int[]{ valueStart, valueEnd });
+            i = skipWhitespace(json, valueEnd);
+            if (i >= length) {
+                return null;
+            } else if (json.charAt(i) == '}') {
+                return ranges;
+            } else if (json.charAt(i) != ',') {
+                return null;
+            }
+            i = skipWhitespace(json, i + 1);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AssetFingerprint)) {
+            return false;
+        }
+        AssetFingerprint that = (AssetFingerprint) obj;
+        return documentHash == that.documentHash
+                && Arrays.equals(properties, that.properties)
+                && Arrays.equals(propertyHashes, that.propertyHashes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(documentHash);
+    }
+
+    @Override
+    public String toString() {
+        return "AssetFingerprint{" +
+                "documentHash=" + Long.toHexString(documentHash) +
+                ", properties=" + properties.length +
+                "}";
+    }
+
+    /**
+     * Calculate the 64-bit FNV-1a hash of the provided range of characters.
+     *
+     * @param value the string containing the characters
+     * @param start the position of the first character (inclusive)
+     * @param end the position of the last character (exclusive)
+     * @return long
+     */
+    private static long hash(String value, int start, int end) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            hash ^= (c & 0xff);
+            hash *= FNV_PRIME;
+            hash ^= (c >>> 8);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Find the first non-whitespace character at or after the provided position.
+     *
+     * @param json the JSON
+     * @param i the position from which to start
+     * @return int
+     */
+    private static int skipWhitespace(String json, int i) {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Find the end of the JSON string starting at the provided position.
+     *
+     * @param json the JSON
+     * @param start the position of the opening quote
+     * @return int - the position after the closing quote, or -1 if the string is never closed
+     */
+    private static int endOfString(String json, int start) {
+        for (int i = start + 1; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the end of the JSON value starting at the provided position.
+     *
+     * @param json the JSON
+     * @param start the position of the first character of the value
+     * @return int - the position after the value, or -1 if the value is never closed
+     */
+    private static int endOfValue(String json, int start) {
+        if (start >= json.length()) {
+            return -1;
+        }
+        char first = json.charAt(start);
+        if (first == '"') {
+            return endOfString(json, start);
+        } else if (first == '{' || first == '[') {
+            int depth = 0;
+            for (int i = start; i < json.length(); i++) {
+                char c = json.charAt(i);
+                if (c == '"') {
+                    i = endOfString(json, i);
+                    if (i < 0) {
+                        return -1;
+                    }
+                    i--;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        } else {
+            int i = start;
+            while (i < json.length() && ",}] \t\r\n".indexOf(json.charAt(i)) < 0) {
+                i++;
+            }
+            return (i == start) ? -1 : i;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.MainObject;
@@ -35,6 +36,12 @@ public class OMRSStub extends MainObject {
      */
     protected String $payload;
 
+    /**
+     * The fingerprint of the payload, where the store holding the stub keeps one (not a property in IGC).
+     */
+    @JsonIgnore
+    private AssetFingerprint fingerprint;
+
     // TODO: add notes object reference
 
     /** @see #$sourceType */ @JsonProperty("$sourceType") public String getSourceType() { return this.$sourceType; }
@@ -46,6 +53,9 @@ public class OMRSStub extends MainObject {
     /** @see #$payload */ @JsonProperty("$payload") public String getPayload() { return this.$payload; }
     /** @see #$payload */ @JsonProperty("$payload") public void setPayload(String payload) { this.$payload = payload; }
 
+    /** @see #fingerprint */ @JsonIgnore public AssetFingerprint getFingerprint() { return this.fingerprint; }
+    /** @see #fingerprint */ @JsonIgnore public void setFingerprint(AssetFingerprint fingerprint) { this.fingerprint = fingerprint; }
+
     public static Boolean canBeCreated() { return true; }
     public static Boolean includesModificationDetails() { return true; }
     private static final List<String> NON_RELATIONAL_PROPERTIES = Arrays.asList(
@@ -9,41 +9,45 @@ import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCRepositoryHelpe
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.entities.EntityMapping;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSMetadataCollection;
 import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.IGCOMRSRepositoryConnector;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.mapping.relationships.RelationshipMapping;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Store of implemented entity mappings for the repository.
+ * <br><br>
+ * Mappings are only ever added (as TypeDefs are added to the repository), while they are looked up on every request.
+ * So every lookup is computed when a mapping is added, into an immutable index that replaces the previous one in a
+ * single (volatile) write: readers never lock, and always see a complete and consistent index.
  */
 public class EntityMappingStore {
 
     private static final Logger log = LoggerFactory.getLogger(EntityMappingStore.class);
 
     private IGCOMRSRepositoryConnector igcomrsRepositoryConnector;
+    private OMRSRepositoryHelper repositoryHelper;
 
     private List<TypeDef> typeDefs;
-
     private Map<String, EntityMapping> omrsGuidToMapping;
-    private Map<String, List<String>> igcAssetTypeToOmrsGuids;
-    private Map<String, String> igcAssetDisplayNameToOmrsGuid;
-    private Map<String, String> igcAssetTypeAndPrefixToOmrsGuid;
-    private Map<String, String> omrsNameToGuid;
 
-    public EntityMappingStore(IGCOMRSRepositoryConnector igcomrsRepositoryConnector) {
+    private volatile Index index;
+    private volatile EntityMapping defaultMapping;
+
+    public EntityMappingStore(IGCOMRSRepositoryConnector igcomrsRepositoryConnector,
+                              OMRSRepositoryHelper repositoryHelper) {
         this.igcomrsRepositoryConnector = igcomrsRepositoryConnector;
+        this.repositoryHelper = repositoryHelper;
         typeDefs = new ArrayList<>();
-        omrsGuidToMapping = new HashMap<>();
-        igcAssetTypeToOmrsGuids = new HashMap<>();
-        igcAssetDisplayNameToOmrsGuid = new HashMap<>();
-        igcAssetTypeAndPrefixToOmrsGuid = new HashMap<>();
-        omrsNameToGuid = new HashMap<>();
+        omrsGuidToMapping = new LinkedHashMap<>();
+        index = new Index(new ArrayList<>(), new ArrayList<>(), new HashMap<>());
     }
 
     /**
@@ -51,7 +55,7 @@ public class EntityMappingStore {
      *
      * @return {@code List<TypeDef>}
      */
-    public List<TypeDef> getTypeDefs() { return this.typeDefs; }
+    public List<TypeDef> getTypeDefs() { return index.typeDefs; }
 
     /**
      * Adds an entity mapping for the provided TypeDef, using the provided EntityMapping Java class and repository details.
@@ -61,7 +65,7 @@ public class EntityMappingStore {
      * @param igcomrsRepositoryConnector connectivity via an IGC OMRS Repository Connector
      * @return boolean false if unable to configure an EntityMapping from the provided class
      */
-    public boolean addMapping(TypeDef omrsTypeDef, Class mappingClass, IGCOMRSRepositoryConnector igcomrsRepositoryConnector) {
+    public synchronized boolean addMapping(TypeDef omrsTypeDef, Class mappingClass, IGCOMRSRepositoryConnector igcomrsRepositoryConnector) {
 
         EntityMapping mapping = getEntityMapper(mappingClass);
 
@@ -69,19 +73,6 @@ public class EntityMappingStore {
             typeDefs.add(omrsTypeDef);
             String guid = omrsTypeDef.getGUID();
             omrsGuidToMapping.put(guid, mapping);
-            omrsNameToGuid.put(omrsTypeDef.getName(), guid);
-            String igcAssetType = mapping.getIgcAssetType();
-            addIgcAssetTypeToGuid(igcAssetType, guid);
-            igcAssetDisplayNameToOmrsGuid.put(mapping.getIgcAssetTypeDisplayName(), guid);
-            String prefix = "";
-            if (mapping.getIgcRidPrefix() != null) {
-                prefix = mapping.getIgcRidPrefix();
-            }
-            igcAssetTypeAndPrefixToOmrsGuid.put(prefix + igcAssetType, guid);
-            for (String otherType : mapping.getOtherIGCAssetTypes()) {
-                addIgcAssetTypeToGuid(otherType, guid);
-                igcAssetTypeAndPrefixToOmrsGuid.put(prefix + otherType, guid);
-            }
             IGCRestClient igcRestClient = igcomrsRepositoryConnector.getIGCRestClient();
             igcRestClient.registerPOJO(mapping.getIgcPOJO(igcomrsRepositoryConnector));
             List<Class> otherPOJOs = mapping.getOtherIGCPOJOs(igcomrsRepositoryConnector);
@@ -90,6 +81,9 @@ public class EntityMappingStore {
                     igcRestClient.registerPOJO(pojo);
                 }
             }
+            Map<String, List<String>> supertypesByGuid = new HashMap<>(index.supertypesByGuid);
+            supertypesByGuid.put(guid, getSupertypeNames(omrsTypeDef));
+            index = new Index(typeDefs, new ArrayList<>(omrsGuidToMapping.entrySet()), supertypesByGuid);
         }
 
         return (mapping != null);
@@ -97,16 +91,22 @@ public class EntityMappingStore {
     }
 
     /**
-     * Adds a mapping between IGC asset type and GUID of the OMRS TypeDef.
+     * Retrieves the names of all of the supertypes of the provided TypeDef, from its immediate supertype upwards.
      *
-     * @param igcAssetType the IGC asset type
-     * @param guid of the OMRS TypeDef
+     * @param omrsTypeDef the OMRS TypeDef
+     * @return {@code List<String>}
      */
-    private void addIgcAssetTypeToGuid(String igcAssetType, String guid) {
-        if (!igcAssetTypeToOmrsGuids.containsKey(igcAssetType)) {
-            igcAssetTypeToOmrsGuids.put(igcAssetType, new ArrayList<>());
+    private List<String> getSupertypeNames(TypeDef omrsTypeDef) {
+        List<String> supertypeNames = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(omrsTypeDef.getName());
+        TypeDefLink superType = omrsTypeDef.getSuperType();
+        while (superType != null && superType.getName() != null && visited.add(superType.getName())) {
+            supertypeNames.add(superType.getName());
+            TypeDef superTypeDef = repositoryHelper.getTypeDefByName(igcomrsRepositoryConnector.getRepositoryName(), superType.getName());
+            superType = (superTypeDef == null) ? null : superTypeDef.getSuperType();
         }
-        igcAssetTypeToOmrsGuids.get(igcAssetType).add(guid);
+        return supertypeNames;
     }
 
     /**
@@ -116,12 +116,11 @@ public class EntityMappingStore {
      * @return EntityMapping
      */
     public EntityMapping getMappingByOmrsTypeGUID(String guid) {
-        if (omrsGuidToMapping.containsKey(guid)) {
-            return omrsGuidToMapping.get(guid);
-        } else {
+        EntityMapping mapping = index.mappingsByGuid.get(guid);
+        if (mapping == null) {
             if (log.isWarnEnabled()) { log.warn("Unable to find mapping for OMRS type: {}", guid); }
-            return null;
         }
+        return mapping;
     }
 
     /**
@@ -130,20 +129,90 @@ public class EntityMappingStore {
      * a generated prefix for one or more of them (this method will return both the prefix and non-prefix mappings).
      *
      * @param assetType IGC asset type
-     * @return {@code List<EntityMapping>}
+     * @return {@code List<EntityMapping>} - an unmodifiable list
      */
     public List<EntityMapping> getMappingsByIgcAssetType(String assetType) {
         String simpleType = Reference.getAssetTypeForSearch(assetType);
-        if (igcAssetTypeToOmrsGuids.containsKey(simpleType)) {
-            List<String> guids = igcAssetTypeToOmrsGuids.get(simpleType);
-            ArrayList<EntityMapping> mappings = new ArrayList<>();
-            for (String guid : guids) {
-                mappings.add(getMappingByOmrsTypeGUID(guid));
-            }
-            return mappings;
-        } else {
+        List<EntityMapping> mappings = index.mappingsByIgcAssetType.get(simpleType);
+        if (mappings == null) {
             if (log.isWarnEnabled()) { log.warn("Unable to find mapping for IGC type: {}", simpleType); }
-            return null;
+        }
+        return mappings;
+    }
+
+    /**
+     * Retrieves the entity mappings for the provided OMRS entity type and all of its subtypes.
+     *
+     * @param omrsTypeName the name of the OMRS entity type
+     * @return {@code List<EntityMapping>} - an unmodifiable (possibly empty) list
+     */
+    public List<EntityMapping> getMappingsForTypeAndSubtypes(String omrsTypeName) {
+        return index.mappingsByOmrsTypeAndSubtypes.getOrDefault(omrsTypeName, Collections.emptyList());
+    }
+
+    /**
+     * Retrieve a mapping from IGC property name to the relationship mappings it represents, for all of the entity
+     * mappings that could be applied to the provided IGC asset type (or the default entity mapping, if there are none).
+     *
+     * @param assetType IGC asset type
+     * @return {@code Map<String, List<RelationshipMapping>>} - an unmodifiable map
+     */
+    public Map<String, List<RelationshipMapping>> getIgcPropertiesToRelationshipMappings(String assetType) {
+        String simpleType = Reference.getAssetTypeForSearch(assetType);
+        Index current = index;
+        Map<String, List<RelationshipMapping>> map = current.relationshipMappingsByIgcAssetType.get(simpleType);
+        if (map == null) {
+            // Asset types without any mapping of their own fall back to the default mapping: compute these once each,
+            // on first use, and keep them with the index they were computed from
+            map = current.relationshipMappingsByIgcAssetType.computeIfAbsent(simpleType, type -> {
+                EntityMapping fallback = getDefaultEntityMapper();
+                return getIgcPropertiesToRelationshipMappings(type,
+                        fallback == null ? Collections.emptyList() : Collections.singletonList(fallback));
+            });
+        }
+        return map;
+    }
+
+    /**
+     * Compute a mapping from IGC property name to the relationship mappings it represents, for the provided entity
+     * mappings applied to the provided IGC asset type.
+     *
+     * @param assetType IGC asset type
+     * @param mappers the entity mappings to apply
+     * @return {@code Map<String, List<RelationshipMapping>>} - an unmodifiable map
+     */
+    private static Map<String, List<RelationshipMapping>> getIgcPropertiesToRelationshipMappings(String assetType,
+                                                                                                List<EntityMapping> mappers) {
+        Map<String, List<RelationshipMapping>> map = new HashMap<>();
+        for (EntityMapping mapper : mappers) {
+            for (RelationshipMapping relationshipMapping : mapper.getRelationshipMappers()) {
+                if (relationshipMapping.getProxyOneMapping().matchesAssetType(assetType)) {
+                    addRelationshipMapping(map, relationshipMapping.getProxyOneMapping().getIgcRelationshipProperties(), relationshipMapping);
+                }
+                if (relationshipMapping.getProxyTwoMapping().matchesAssetType(assetType)) {
+                    addRelationshipMapping(map, relationshipMapping.getProxyTwoMapping().getIgcRelationshipProperties(), relationshipMapping);
+                }
+            }
+        }
+        map.replaceAll((property, relationshipMappings) -> Collections.unmodifiableList(relationshipMappings));
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Add the provided relationship mapping under each of the provided IGC property names (once only).
+     *
+     * @param map the mapping from IGC property name to relationship mappings
+     * @param igcPropertyNames the IGC property names
+     * @param relationshipMapping the relationship mapping
+     */
+    private static void addRelationshipMapping(Map<String, List<RelationshipMapping>> map,
+                                               List<String> igcPropertyNames,
+                                               RelationshipMapping relationshipMapping) {
+        for (String igcPropertyName : igcPropertyNames) {
+            List<RelationshipMapping> relationshipMappings = map.computeIfAbsent(igcPropertyName, k -> new ArrayList<>());
+            if (!relationshipMappings.contains(relationshipMapping)) {
+                relationshipMappings.add(relationshipMapping);
+            }
         }
     }
 
@@ -154,13 +223,11 @@ public class EntityMappingStore {
      * @return EntityMapping
      */
     public EntityMapping getMappingByIgcAssetDisplayName(String assetDisplayName) {
-        if (igcAssetDisplayNameToOmrsGuid.containsKey(assetDisplayName)) {
-            String guid = igcAssetDisplayNameToOmrsGuid.get(assetDisplayName);
-            return getMappingByOmrsTypeGUID(guid);
-        } else {
+        EntityMapping mapping = index.mappingByIgcAssetDisplayName.get(assetDisplayName);
+        if (mapping == null) {
             if (log.isWarnEnabled()) { log.warn("Unable to find mapping for IGC asset display name: {}", assetDisplayName); }
-            return null;
         }
+        return mapping;
     }
 
     /**
@@ -173,13 +240,11 @@ public class EntityMappingStore {
     public EntityMapping getMappingByIgcAssetTypeAndPrefix(String assetType, String prefix) {
         String simpleType = Reference.getAssetTypeForSearch(assetType);
         String key = (prefix == null ? "" : prefix) + simpleType;
-        if (igcAssetTypeAndPrefixToOmrsGuid.containsKey(key)) {
-            String guid = igcAssetTypeAndPrefixToOmrsGuid.get(key);
-            return getMappingByOmrsTypeGUID(guid);
-        } else {
+        EntityMapping mapping = index.mappingByIgcAssetTypeAndPrefix.get(key);
+        if (mapping == null) {
             if (log.isWarnEnabled()) { log.warn("Unable to find mapping for IGC asset type with prefix: {}", key); }
-            return null;
         }
+        return mapping;
     }
 
     /**
@@ -189,22 +254,20 @@ public class EntityMappingStore {
      * @return EntityMapping
      */
     public EntityMapping getMappingByOmrsTypeName(String name) {
-        if (omrsNameToGuid.containsKey(name)) {
-            String guid = omrsNameToGuid.get(name);
-            return getMappingByOmrsTypeGUID(guid);
-        } else {
+        EntityMapping mapping = index.mappingByOmrsTypeName.get(name);
+        if (mapping == null) {
             if (log.isWarnEnabled()) { log.warn("Unable to find mapping for OMRS type: {}", name); }
-            return null;
         }
+        return mapping;
     }
 
     /**
      * Retrieves all entity mappings that are implemented for this repository.
      *
-     * @return {@code List<EntityMapping>}
+     * @return {@code List<EntityMapping>} - an unmodifiable list
      */
     public List<EntityMapping> getAllMappings() {
-        return new ArrayList<>(omrsGuidToMapping.values());
+        return index.allMappings;
     }
 
     /**
@@ -213,12 +276,15 @@ public class EntityMappingStore {
      * @return EntityMapping
      */
     public EntityMapping getDefaultEntityMapper() {
-        EntityMapping referenceable = null;
-        try {
-            Class mappingClass = Class.forName(IGCRepositoryHelper.MAPPING_PKG + "entities.ReferenceableMapper");
-            referenceable = getEntityMapper(mappingClass);
-        } catch (ClassNotFoundException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to find default ReferenceableMapper class: {}", IGCRepositoryHelper.MAPPING_PKG + "entities.ReferenceableMapper", e); }
+        EntityMapping referenceable = defaultMapping;
+        if (referenceable == null) {
+            try {
+                Class mappingClass = Class.forName(IGCRepositoryHelper.MAPPING_PKG + "entities.ReferenceableMapper");
+                referenceable = getEntityMapper(mappingClass);
+                defaultMapping = referenceable;
+            } catch (ClassNotFoundException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to find default ReferenceableMapper class: {}", IGCRepositoryHelper.MAPPING_PKG + "entities.ReferenceableMapper", e); }
+            }
         }
         return referenceable;
     }
@@ -239,4 +305,83 @@ public class EntityMappingStore {
         return entityMapper;
     }
 
+    /**
+     * An immutable index of all of the lookups of entity mappings, computed from the mappings at a point in time.
+     */
+    private static final class Index {
+
+        private final List<TypeDef> typeDefs;
+        private final List<EntityMapping> allMappings;
+        private final Map<String, List<String>> supertypesByGuid;
+        private final Map<String, EntityMapping> mappingsByGuid;
+        private final Map<String, EntityMapping> mappingByOmrsTypeName;
+        private final Map<String, List<EntityMapping>> mappingsByOmrsTypeAndSubtypes;
+        private final Map<String, List<EntityMapping>> mappingsByIgcAssetType;
+        private final Map<String, EntityMapping> mappingByIgcAssetDisplayName;
+        private final Map<String, EntityMapping> mappingByIgcAssetTypeAndPrefix;
+        private final ConcurrentMap<String, Map<String, List<RelationshipMapping>>> relationshipMappingsByIgcAssetType;
+
+        /**
+         * Compute the index for the provided mappings.
+         *
+         * @param typeDefs the TypeDefs of the mappings, in the order they were added
+         * @param mappings the mappings, keyed by the GUID of their TypeDef, in the order they were added
+         * @param supertypesByGuid the names of the supertypes of each TypeDef, keyed by its GUID
+         */
+        Index(List<TypeDef> typeDefs,
+              List<Map.Entry<String, EntityMapping>> mappings,
+              Map<String, List<String>> supertypesByGuid) {
+
+            this.typeDefs = Collections.unmodifiableList(new ArrayList<>(typeDefs));
+            this.supertypesByGuid = Collections.unmodifiableMap(supertypesByGuid);
+
+            List<EntityMapping> all = new ArrayList<>();
+            Map<String, EntityMapping> byGuid = new HashMap<>();
+            Map<String, EntityMapping> byOmrsName = new HashMap<>();
+            Map<String, List<EntityMapping>> byOmrsTypeAndSubtypes = new HashMap<>();
+            Map<String, List<EntityMapping>> byIgcAssetType = new HashMap<>();
+            Map<String, EntityMapping> byDisplayName = new HashMap<>();
+            Map<String, EntityMapping> byIgcAssetTypeAndPrefix = new HashMap<>();
+
+            for (Map.Entry<String, EntityMapping> entry : mappings) {
+                String guid = entry.getKey();
+                EntityMapping mapping = entry.getValue();
+                all.add(mapping);
+                byGuid.put(guid, mapping);
+                String omrsTypeName = mapping.getOmrsTypeDefName();
+                byOmrsName.put(omrsTypeName, mapping);
+                byOmrsTypeAndSubtypes.computeIfAbsent(omrsTypeName, k -> new ArrayList<>()).add(mapping);
+                for (String supertypeName : supertypesByGuid.getOrDefault(guid, Collections.emptyList())) {
+                    byOmrsTypeAndSubtypes.computeIfAbsent(supertypeName, k -> new ArrayList<>()).add(mapping);
+                }
+                String prefix = (mapping.getIgcRidPrefix() == null) ? "" : mapping.getIgcRidPrefix();
+                String igcAssetType = mapping.getIgcAssetType();
+                byIgcAssetType.computeIfAbsent(igcAssetType, k -> new ArrayList<>()).add(mapping);
+                byIgcAssetTypeAndPrefix.put(prefix + igcAssetType, mapping);
+                byDisplayName.put(mapping.getIgcAssetTypeDisplayName(), mapping);
+                for (String otherType : mapping.getOtherIGCAssetTypes()) {
+                    byIgcAssetType.computeIfAbsent(otherType, k -> new ArrayList<>()).add(mapping);
+                    byIgcAssetTypeAndPrefix.put(prefix + otherType, mapping);
+                }
+            }
+
+            this.relationshipMappingsByIgcAssetType = new ConcurrentHashMap<>();
+            for (Map.Entry<String, List<EntityMapping>> entry : byIgcAssetType.entrySet()) {
+                relationshipMappingsByIgcAssetType.put(entry.getKey(), getIgcPropertiesToRelationshipMappings(entry.getKey(), entry.getValue()));
+            }
+
+            byOmrsTypeAndSubtypes.replaceAll((name, list) -> Collections.unmodifiableList(list));
+            byIgcAssetType.replaceAll((type, list) -> Collections.unmodifiableList(list));
+            this.allMappings = Collections.unmodifiableList(all);
+            this.mappingsByGuid = Collections.unmodifiableMap(byGuid);
+            this.mappingByOmrsTypeName = Collections.unmodifiableMap(byOmrsName);
+            this.mappingsByOmrsTypeAndSubtypes = Collections.unmodifiableMap(byOmrsTypeAndSubtypes);
+            this.mappingsByIgcAssetType = Collections.unmodifiableMap(byIgcAssetType);
+            this.mappingByIgcAssetDisplayName = Collections.unmodifiableMap(byDisplayName);
+            this.mappingByIgcAssetTypeAndPrefix = Collections.unmodifiableMap(byIgcAssetTypeAndPrefix);
+
+        }
+
+    }
+
 }
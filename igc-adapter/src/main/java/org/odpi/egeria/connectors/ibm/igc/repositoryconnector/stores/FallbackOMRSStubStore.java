@@ -0,0 +1,101 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A store of OMRS stubs that keeps all stubs in a primary store, but falls back to retrieving any stub not (yet)
+ * in the primary store from a secondary store: copying it into the primary store as it does so.
+ * <br><br>
+ * Intended to allow a move from one store to another (eg. from stubs held within IGC to stubs held on local disk)
+ * without first having to migrate every stub: each is migrated as it is first needed.
+ */
+public class FallbackOMRSStubStore implements OMRSStubStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FallbackOMRSStubStore.class);
+
+    private final OMRSStubStore primary;
+    private final OMRSStubStore fallback;
+
+    private final LongAdder fallbackHits = new LongAdder();
+    private final LongAdder fallbackMisses = new LongAdder();
+
+    /**
+     * Creates a new store that falls back from the provided primary store to the provided secondary store.
+     *
+     * @param primary the store in which all stubs are kept
+     * @param fallback the store from which to retrieve any stub not in the primary store
+     */
+    public FallbackOMRSStubStore(OMRSStubStore primary, OMRSStubStore fallback) {
+        this.primary = primary;
+        this.fallback = fallback;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSStub getStub(String rid, String assetType) {
+        OMRSStub stub = primary.getStub(rid, assetType);
+        if (stub == null) {
+            stub = fallback.getStub(rid, assetType);
+            if (stub != null) {
+                fallbackHits.increment();
+                if (log.isDebugEnabled()) { log.debug("Migrating stub from fallback store for asset: {}", rid); }
+                if (stub.getFingerprint() == null) {
+                    stub.setFingerprint(AssetFingerprint.of(stub.getPayload()));
+                }
+                primary.upsertStub(rid, assetType, stub.getPayload(), stub.getFingerprint());
+            } else {
+                fallbackMisses.increment();
+            }
+        }
+        return stub;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String upsertStub(String rid, String assetType, String payload, AssetFingerprint fingerprint) {
+        return primary.upsertStub(rid, assetType, payload, fingerprint);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The stub is deleted from both stores, so that a stale copy cannot later be retrieved from the fallback store.
+     */
+    @Override
+    public boolean deleteStub(String rid, String assetType) {
+        boolean deletedPrimary = primary.deleteStub(rid, assetType);
+        boolean deletedFallback = fallback.deleteStub(rid, assetType);
+        return deletedPrimary || deletedFallback;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        primary.close();
+        fallback.close();
+    }
+
+    @Override
+    public String toString() {
+        return "FallbackOMRSStubStore{" +
+                "primary=" + primary +
+                ", fallback=" + fallback +
+                ", fallbackHits=" + fallbackHits.sum() +
+                ", fallbackMisses=" + fallbackMisses.sum() +
+                "}";
+    }
+
+}
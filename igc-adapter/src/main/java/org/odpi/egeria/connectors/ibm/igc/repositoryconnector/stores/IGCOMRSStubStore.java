@@ -0,0 +1,234 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ReferenceList;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringWriter;
+
+/**
+ * A store of OMRS stubs held within IGC itself, as assets of the $OMRS-Stub type (defined by the OMRS bundle).
+ * <br><br>
+ * Every operation against this store is a round-trip to IGC: a search to retrieve a stub, and an asset XML upload
+ * to create, update or delete one.
+ */
+public class IGCOMRSStubStore implements OMRSStubStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCOMRSStubStore.class);
+
+    public static final String STUB_TYPE = "$OMRS-Stub";
+
+    private static final String[] STUB_PROPERTIES = new String[]{ "$sourceRID", "$sourceType", "$payload" };
+
+    private IGCRestClient igcRestClient;
+    private XMLOutputFactory xmlOutputFactory;
+
+    /**
+     * Creates a new store of OMRS stubs held within the provided IGC environment.
+     *
+     * @param igcRestClient connectivity to the IGC environment
+     */
+    public IGCOMRSStubStore(IGCRestClient igcRestClient) {
+        this.igcRestClient = igcRestClient;
+        this.xmlOutputFactory = XMLOutputFactory.newInstance();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSStub getStub(String rid, String assetType) {
+
+        // We need to translate the provided asset into a unique name for the stub
+        String stubName = getStubNameForAsset(rid, assetType);
+        IGCSearchCondition condition = new IGCSearchCondition(
+                "name",
+                "=",
+                stubName
+        );
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
+        IGCSearch igcSearch = new IGCSearch(STUB_TYPE, STUB_PROPERTIES, conditionSet);
+        ReferenceList results = igcRestClient.search(igcSearch);
+        OMRSStub stub = null;
+        if (results != null && results.getPaging().getNumTotal() > 0) {
+            if (results.getPaging().getNumTotal() > 1) {
+                if (log.isWarnEnabled()) { log.warn("Found multiple stubs for asset, taking only the first: {}", stubName); }
+            }
+            stub = (OMRSStub) results.getItems().get(0);
+        } else {
+            if (log.isInfoEnabled()) { log.info("No stub found for asset: {}", stubName); }
+        }
+        return stub;
+
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br><br>
+     * The $OMRS-Stub type has no property in which to keep the fingerprint, so it is not kept.
+     */
+    @Override
+    public String upsertStub(String rid, String assetType, String payload, AssetFingerprint fingerprint) {
+
+        String stubName = getStubNameForAsset(rid, assetType);
+
+        // Construct the asset XML document, including the full asset payload
+        StringWriter stringWriter = new StringWriter();
+        try {
+
+            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(stringWriter);
+            xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+
+            xmlStreamWriter.writeStartElement("doc");
+            xmlStreamWriter.writeNamespace("xmlns", "http://www.ibm.com/iis/flow-doc");
+
+            xmlStreamWriter.writeStartElement("assets");
+            xmlStreamWriter.writeStartElement("asset");
+
+            xmlStreamWriter.writeAttribute("class", STUB_TYPE);
+            xmlStreamWriter.writeAttribute("repr", stubName);
+            xmlStreamWriter.writeAttribute("ID", "stub1");
+
+            addAttributeToAssetXML(xmlStreamWriter, "name", stubName);
+            addAttributeToAssetXML(xmlStreamWriter, "$sourceType", assetType);
+            addAttributeToAssetXML(xmlStreamWriter, "$sourceRID", rid);
+            addAttributeToAssetXML(xmlStreamWriter, "$payload", payload);
+
+            xmlStreamWriter.writeEndElement(); // </asset>
+            xmlStreamWriter.writeEndElement(); // </assets>
+
+            xmlStreamWriter.writeStartElement("importAction");
+            xmlStreamWriter.writeAttribute("completeAssetIDs", "stub1");
+            xmlStreamWriter.writeEndElement(); // </importAction>
+
+            xmlStreamWriter.writeEndElement(); // </doc>
+
+            xmlStreamWriter.writeEndDocument();
+            xmlStreamWriter.flush();
+            xmlStreamWriter.close();
+
+        } catch (XMLStreamException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to write XML stream: {}", stubName, e); }
+        }
+
+        String stubXML = stringWriter.getBuffer().toString();
+        if (log.isDebugEnabled()) { log.debug("Constructed XML for stub: {}", stubXML); }
+
+        // Upsert using the constructed asset XML
+        String results = igcRestClient.upsertOpenIgcAsset(stubXML);
+
+        return (results == null) ? null : results.substring("stub1".length() + 5, results.length() - 2);
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteStub(String rid, String assetType) {
+
+        String stubName = getStubNameForAsset(rid, assetType);
+
+        // Construct the asset XML document, identifying only the stub to delete
+        StringWriter stringWriter = new StringWriter();
+        try {
+
+            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(stringWriter);
+            xmlStreamWriter.writeStartDocument("UTF-8", "1.0");
+
+            xmlStreamWriter.writeStartElement("doc");
+            xmlStreamWriter.writeNamespace("xmlns", "http://www.ibm.com/iis/flow-doc");
+
+            xmlStreamWriter.writeStartElement("assets");
+            xmlStreamWriter.writeStartElement("asset");
+
+            xmlStreamWriter.writeAttribute("class", STUB_TYPE);
+            xmlStreamWriter.writeAttribute("repr", stubName);
+            xmlStreamWriter.writeAttribute("ID", "stub1");
+
+            addAttributeToAssetXML(xmlStreamWriter, "name", stubName);
+
+            xmlStreamWriter.writeEndElement(); // </asset>
+            xmlStreamWriter.writeEndElement(); // </assets>
+
+            xmlStreamWriter.writeStartElement("assetsToDelete");
+            xmlStreamWriter.writeCharacters("stub1");
+            xmlStreamWriter.writeEndElement(); // </assetsToDelete>
+
+            xmlStreamWriter.writeEndElement(); // </doc>
+
+            xmlStreamWriter.writeEndDocument();
+            xmlStreamWriter.flush();
+            xmlStreamWriter.close();
+
+        } catch (XMLStreamException e) {
+            log.error("Unable to write XML stream.", e);
+        }
+
+        String stubXML = stringWriter.getBuffer().toString();
+        if (log.isDebugEnabled()) { log.debug("Constructed XML for stub deletion: {}", stubXML); }
+
+        // Delete using the constructed asset XML
+        return igcRestClient.deleteOpenIgcAsset(stubXML);
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        // Nothing to do: the REST client's sessions are closed by the connector itself
+    }
+
+    /**
+     * Retrieve the first page of all OMRS stubs held within IGC (eg. to copy them into some other store).
+     *
+     * @param pageSize the number of stubs to include in each page
+     * @return ReferenceList
+     */
+    public ReferenceList getAllStubs(int pageSize) {
+        IGCSearch igcSearch = new IGCSearch(STUB_TYPE, STUB_PROPERTIES, new IGCSearchConditionSet());
+        igcSearch.setPageSize(pageSize);
+        return igcRestClient.search(igcSearch);
+    }
+
+    /**
+     * Adds the provided attribute to the asset XML being constructed.
+     *
+     * @param xmlStreamWriter the asset XML being constructed
+     * @param attrName the name of the attribute to add
+     * @param attrValue the value of the attribute
+     * @throws XMLStreamException for any error during the XML processing
+     */
+    private void addAttributeToAssetXML(XMLStreamWriter xmlStreamWriter, String attrName, String attrValue) throws
+            XMLStreamException {
+        xmlStreamWriter.writeStartElement("attribute");
+        xmlStreamWriter.writeAttribute("name", attrName);
+        xmlStreamWriter.writeAttribute("value", attrValue);
+        xmlStreamWriter.writeEndElement(); // </attribute>
+    }
+
+    /**
+     * Construct the unique name for the OMRS stub based on the provided asset information.
+     *
+     * @param rid the Repository ID (RID) of the asset for which to construct the unique OMRS stub name
+     * @param assetType the asset type (REST form) of the asset for which to construct the unique OMRS stub name
+     * @return String
+     */
+    static String getStubNameForAsset(String rid, String assetType) {
+        return assetType + "_" + rid;
+    }
+
+}
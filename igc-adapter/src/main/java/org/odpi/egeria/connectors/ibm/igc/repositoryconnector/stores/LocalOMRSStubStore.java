@@ -0,0 +1,583 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * A store of OMRS stubs held on local disk, so that retrieving and saving a stub costs no round-trip to IGC.
+ * <br><br>
+ * Stubs are written to an append-only log: each upsert appends a new record for the asset (holding both its payload
+ * and the fingerprint of that payload) and each delete appends a tombstone, with an in-memory index (rebuilt by
+ * scanning the log on opening) giving the position of the latest record for each asset. Records are read through a
+ * read-only memory mapping of the log, which is only extended to cover newly-appended records once enough of them
+ * have accumulated (until then they are read from the file directly). Each record carries a checksum, so that any
+ * record left incomplete by an unclean shutdown is detected (and discarded) on opening.
+ * <br><br>
+ * Superseded records and tombstones are garbage: once they make up more than the configured share of the log, the
+ * live records are copied into a new log that atomically replaces the old one.
+ * <br><br>
+ * A mapping that is replaced (by extending it, or by compacting or closing the log) is explicitly unmapped rather than
+ * left for garbage collection, both so that mappings do not accumulate and because some platforms (eg. Windows) will
+ * not replace a file that is still mapped. The directory must be on a local filesystem that supports file locks and
+ * atomic renames.
+ */
+public class LocalOMRSStubStore implements OMRSStubStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalOMRSStubStore.class);
+
+    public static final String LOG_FILENAME = "omrs-stubs.log";
+    public static final int DEFAULT_COMPACT_PERCENT = 50;
+
+    private static final String COMPACT_FILENAME = LOG_FILENAME + ".compact";
+    private static final long MIN_COMPACT_BYTES = 16L * 1024 * 1024;
+    private static final long REMAP_THRESHOLD_BYTES = 4L * 1024 * 1024;
+
+    // Stubs written before fingerprints were kept: still read, but no longer written
+    private static final byte RECORD_STUB = 1;
+    private static final byte RECORD_DELETED = 2;
+    private static final byte RECORD_FINGERPRINTED_STUB = 3;
+    // record length (int) + kind (byte) + 3 field lengths (int) ... + checksum (int)
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4 + 4 + 4 + 4;
+
+    private final Path directory;
+    private final Path logFile;
+    private final int compactPercent;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer mapped;
+    private long mappedSize;
+    private long writePosition;
+    private long garbageBytes;
+    private Map<String, StubLocation> index;
+
+    /**
+     * Opens (or creates, if there is none yet) the store of OMRS stubs in the provided directory.
+     *
+     * @param directory the directory in which to hold the stubs
+     * @param compactPercent the percentage of the log that must be garbage before it is compacted
+     * @throws IOException if the store cannot be opened (eg. it is already open in another process)
+     */
+    public LocalOMRSStubStore(Path directory, int compactPercent) throws IOException {
+        this.directory = directory;
+        this.logFile = directory.resolve(LOG_FILENAME);
+        this.compactPercent = Math.min(100, Math.max(1, compactPercent));
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(COMPACT_FILENAME));
+        open();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSStub getStub(String rid, String assetType) {
+        OMRSStub stub = null;
+        lock.readLock().lock();
+        try {
+            StubLocation location = (index == null) ? null : index.get(rid);
+            if (location != null && location.assetType.equals(assetType)) {
+                stub = new OMRSStub();
+                String stubName = IGCOMRSStubStore.getStubNameForAsset(rid, assetType);
+                stub.setType(IGCOMRSStubStore.STUB_TYPE);
+                stub.setName(stubName);
+                stub.setTheName(stubName);
+                stub.setSourceRID(rid);
+                stub.setSourceType(location.assetType);
+                stub.setPayload(new String(readBytes(location.payloadPosition, location.payloadLength), StandardCharsets.UTF_8));
+                if (location.fingerprintLength > 0) {
+                    stub.setFingerprint(AssetFingerprint.fromBytes(readBytes(location.getFingerprintPosition(), location.fingerprintLength)));
+                }
+            } else {
+                if (log.isDebugEnabled()) { log.debug("No local stub found for asset: {}", rid); }
+            }
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to read local stub for asset: {}", rid, e); }
+            stub = null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stub;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String upsertStub(String rid, String assetType, String payload, AssetFingerprint fingerprint) {
+        String stubName = IGCOMRSStubStore.getStubNameForAsset(rid, assetType);
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                return null;
+            }
+            long recordPosition = writePosition;
+            byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+            byte[] fingerprintBytes = (fingerprint == null) ? null : fingerprint.toBytes();
+            int recordLength = append(RECORD_FINGERPRINTED_STUB, rid, assetType, payloadBytes, fingerprintBytes);
+            int fingerprintLength = (fingerprintBytes == null) ? 0 : fingerprintBytes.length;
+            StubLocation location = new StubLocation(
+                    assetType.intern(),
+                    recordPosition,
+                    recordLength,
+                    writePosition - 4 - fingerprintLength - 4 - payloadBytes.length,
+                    payloadBytes.length,
+                    fingerprintLength);
+            StubLocation previous = index.put(rid, location);
+            if (previous != null) {
+                garbageBytes += previous.recordLength;
+            }
+            compactIfNeeded();
+            remapIfNeeded();
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to write local stub for asset: {}", stubName, e); }
+            stubName = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return stubName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteStub(String rid, String assetType) {
+        boolean deleted = false;
+        lock.writeLock().lock();
+        try {
+            if (index != null && index.containsKey(rid)) {
+                int recordLength = append(RECORD_DELETED, rid, assetType, new byte[0], null);
+                StubLocation previous = index.remove(rid);
+                garbageBytes += previous.recordLength + recordLength;
+                deleted = true;
+                compactIfNeeded();
+                remapIfNeeded();
+            }
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to delete local stub for asset: {}", rid, e); }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                closeLog();
+                index = null;
+            }
+        } catch (IOException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to cleanly close the local stub store: {}", logFile, e); }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieve the number of stubs in the store.
+     *
+     * @return int
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return (index == null) ? 0 : index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy the live records into a new log that replaces the current one, discarding all garbage.
+     *
+     * @throws IOException if the log cannot be compacted (in which case the current log continues to be used)
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                return;
+            }
+            long before = writePosition;
+            Path compactFile = directory.resolve(COMPACT_FILENAME);
+            try (FileChannel out = FileChannel.open(compactFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE)) {
+                long position = 0;
+                for (StubLocation location : index.values()) {
+                    ByteBuffer record = ByteBuffer.wrap(readBytes(location.recordPosition, location.recordLength));
+                    while (record.hasRemaining()) {
+                        position += out.write(record, position);
+                    }
+                }
+                out.force(true);
+            }
+            // Re-opening the log rebuilds the index from (and so verifies) whichever log is in place afterwards
+            closeLog();
+            try {
+                Files.move(compactFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                open();
+            }
+            if (log.isInfoEnabled()) { log.info("Compacted local stub store from {} to {} bytes ({} stubs).", before, writePosition, index.size()); }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.readLock().lock();
+        try {
+            return "LocalOMRSStubStore{" +
+                    "log=" + logFile +
+                    ", stubs=" + ((index == null) ? 0 : index.size()) +
+                    ", bytes=" + writePosition +
+                    ", garbageBytes=" + garbageBytes +
+                    "}";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open the log, rebuild the index by scanning it, and map it into memory. Any incomplete or corrupt record (and
+     * everything after it) is discarded.
+     *
+     * @throws IOException if the log cannot be opened
+     */
+    private void open() throws IOException {
+        index = null;
+        channel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("Local stub store is already in use by another process: " + logFile);
+        }
+        index = new HashMap<>();
+        garbageBytes = 0;
+        writePosition = scan();
+        if (writePosition < channel.size()) {
+            if (log.isWarnEnabled()) { log.warn("Discarding {} bytes of incomplete records from the end of the local stub store: {}", channel.size() - writePosition, logFile); }
+            channel.truncate(writePosition);
+        }
+        mapped = null;
+        mappedSize = 0;
+        remap();
+        if (log.isInfoEnabled()) { log.info("Opened local stub store: {}", this); }
+    }
+
+    /**
+     * Scan through every record of the log, indexing the latest record for each asset.
+     *
+     * @return long - the position after the last complete record
+     * @throws IOException if the log cannot be read
+     */
+    private long scan() throws IOException {
+        long position = 0;
+        CRC32 crc = new CRC32();
+        InputStream channelStream = Channels.newInputStream(channel.position(0));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(channelStream, 64 * 1024));
+        try {
+            while (true) {
+                int bodyLength = in.readInt();
+                if (bodyLength < RECORD_OVERHEAD - 8 || position + bodyLength + 8 > channel.size()) {
+                    break;
+                }
+                byte[] body = new byte[bodyLength];
+                in.readFully(body);
+                int checksum = in.readInt();
+                crc.reset();
+                crc.update(body, 0, body.length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                byte kind = buffer.get();
+                String rid = readString(buffer);
+                String assetType = readString(buffer);
+                int payloadLength = buffer.getInt();
+                int recordLength = bodyLength + 8;
+                StubLocation previous;
+                if (kind == RECORD_STUB || kind == RECORD_FINGERPRINTED_STUB) {
+                    long payloadPosition = position + 4 + buffer.position();
+                    int fingerprintLength = 0;
+                    if (kind == RECORD_FINGERPRINTED_STUB) {
+                        buffer.position(buffer.position() + payloadLength);
+                        fingerprintLength = buffer.getInt();
+                    }
+                    previous = index.put(rid, new StubLocation(
+                            assetType.intern(),
+                            position,
+                            recordLength,
+                            payloadPosition,
+                            payloadLength,
+                            fingerprintLength));
+                } else {
+                    previous = index.remove(rid);
+                    garbageBytes += recordLength;
+                }
+                if (previous != null) {
+                    garbageBytes += previous.recordLength;
+                }
+                position += recordLength;
+            }
+        } catch (EOFException e) {
+            // Reached the end of the log (possibly part-way through a record that was never completed)
+        }
+        return position;
+    }
+
+    /**
+     * Append a record to the end of the log.
+     *
+     * @param kind the kind of record
+     * @param rid the Repository ID (RID) of the asset
+     * @param assetType the IGC asset type of the asset
+     * @param payload the payload of the record
+     * @param fingerprint the fingerprint of the payload (only for fingerprinted stub records, for which it may be null)
+     * @return int - the length of the record
+     * @throws IOException if the record cannot be written
+     */
+    private int append(byte kind, String rid, String assetType, byte[] payload, byte[] fingerprint) throws IOException {
+        byte[] ridBytes = rid.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = assetType.getBytes(StandardCharsets.UTF_8);
+        if (kind == RECORD_FINGERPRINTED_STUB && fingerprint == null) {
+            fingerprint = new byte[0];
+        }
+        int bodyLength = 1 + 4 + ridBytes.length + 4 + typeBytes.length + 4 + payload.length
+                + ((fingerprint == null) ? 0 : 4 + fingerprint.length);
+        ByteBuffer record = ByteBuffer.allocate(bodyLength + 8);
+        record.putInt(bodyLength);
+        record.put(kind);
+        record.putInt(ridBytes.length).put(ridBytes);
+        record.putInt(typeBytes.length).put(typeBytes);
+        record.putInt(payload.length).put(payload);
+        if (fingerprint != null) {
+            record.putInt(fingerprint.length).put(fingerprint);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, bodyLength);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        long position = writePosition;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        writePosition = position;
+        return bodyLength + 8;
+    }
+
+    /**
+     * Read the provided range of bytes from the log: from the memory mapping if it covers them, or directly from the
+     * file otherwise. Must be called while holding (at least) the read lock, so that the mapping is not replaced
+     * part-way through.
+     *
+     * @param position the position of the first byte
+     * @param length the number of bytes
+     * @return byte[]
+     * @throws IOException if the bytes cannot be read
+     */
+    private byte[] readBytes(long position, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        MappedByteBuffer current = mapped;
+        if (current != null && position + length <= mappedSize) {
+            ByteBuffer view = current.duplicate();
+            view.position((int) position);
+            view.get(bytes);
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of local stub store: " + logFile);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Extend the memory mapping to cover the entire log, once enough has been appended beyond what it covers. Must be
+     * called while holding the write lock.
+     *
+     * @throws IOException if the log cannot be mapped
+     */
+    private void remapIfNeeded() throws IOException {
+        if (index != null && writePosition - mappedSize >= REMAP_THRESHOLD_BYTES) {
+            remap();
+        }
+    }
+
+    /**
+     * Extend the memory mapping to cover the entire log (so long as it is small enough to be mapped at all), and
+     * unmap the mapping it replaces. Must be called while holding the write lock (or before the store is in use).
+     *
+     * @throws IOException if the log cannot be mapped
+     */
+    private void remap() throws IOException {
+        long size = writePosition;
+        if (size > mappedSize && size <= Integer.MAX_VALUE) {
+            MappedByteBuffer previous = mapped;
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mappedSize = size;
+            unmap(previous);
+        }
+    }
+
+    /**
+     * Release the provided memory mapping immediately, rather than whenever it is garbage-collected. The mapping must
+     * not be used again afterwards. Failing to release it is logged rather than thrown, as the mapping is then still
+     * released once garbage-collected.
+     *
+     * @param buffer the mapping to release (or null if there is none)
+     */
+    private void unmap(MappedByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            try {
+                // Java 9 and later
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // Java 8
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    Method clean = cleaner.getClass().getMethod("clean");
+                    clean.setAccessible(true);
+                    clean.invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (log.isWarnEnabled()) { log.warn("Unable to release memory mapping of the local stub store -- it will be released once garbage-collected: {}", logFile, e); }
+        }
+    }
+
+    /**
+     * Compact the log if enough of it has become garbage, logging (rather than failing on) any error.
+     */
+    private void compactIfNeeded() {
+        if (garbageBytes >= MIN_COMPACT_BYTES && garbageBytes * 100 >= writePosition * compactPercent) {
+            try {
+                compact();
+            } catch (IOException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to compact the local stub store: {}", logFile, e); }
+            }
+        }
+    }
+
+    /**
+     * Release the memory mapping, then flush and close the log.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    private void closeLog() throws IOException {
+        MappedByteBuffer previous = mapped;
+        mapped = null;
+        mappedSize = 0;
+        unmap(previous);
+        try {
+            channel.force(true);
+            if (fileLock != null) {
+                fileLock.release();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Read a length-prefixed UTF-8 string from the provided buffer.
+     *
+     * @param buffer the buffer from which to read
+     * @return String
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The location of the latest record for an asset within the log.
+     */
+    private static final class StubLocation {
+
+        private final String assetType;
+        private final long recordPosition;
+        private final int recordLength;
+        private final long payloadPosition;
+        private final int payloadLength;
+        private final int fingerprintLength;
+
+        private StubLocation(String assetType,
+                             long recordPosition,
+                             int recordLength,
+                             long payloadPosition,
+                             int payloadLength,
+                             int fingerprintLength) {
+            this.assetType = assetType;
+            this.recordPosition = recordPosition;
+            this.recordLength = recordLength;
+            this.payloadPosition = payloadPosition;
+            this.payloadLength = payloadLength;
+            this.fingerprintLength = fingerprintLength;
+        }
+
+        private long getFingerprintPosition() {
+            return payloadPosition + payloadLength + 4;
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ReferenceList;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+import org.odpi.openmetadata.http.HttpHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility to copy all of the OMRS stubs held within IGC into a local stub store, optionally removing them from IGC
+ * once they have all been copied. Should be run (once) while the connector is stopped, before the connector is
+ * first started with a local stub store.
+ */
+public class OMRSStubMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(OMRSStubMigrator.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    public static void main(String[] args) {
+
+        if (args.length < 5) {
+            System.out.println("Inadequate parameters provided.");
+            printUsage();
+            System.exit(1);
+        }
+
+        boolean deleteFromIgc = (args.length > 5 && args[5].equals("--delete"));
+
+        HttpHelper.noStrictSSL();
+
+        IGCRestClient igcRestClient = new IGCRestClient(args[0], args[1], args[2], args[3]);
+        if (!igcRestClient.isSuccessfullyInitialised()) {
+            System.out.println("Unable to connect to IGC: " + args[0] + ":" + args[1]);
+            System.exit(1);
+        }
+        igcRestClient.registerPOJO(OMRSStub.class);
+
+        LocalOMRSStubStore target = null;
+        try {
+            target = new LocalOMRSStubStore(Paths.get(args[4]), LocalOMRSStubStore.DEFAULT_COMPACT_PERCENT);
+            int migrated = migrate(new IGCOMRSStubStore(igcRestClient), target, igcRestClient, deleteFromIgc);
+            System.out.println("Migrated " + migrated + " stubs into: " + args[4]);
+        } catch (IOException e) {
+            System.out.println("Unable to open local stub store: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            if (target != null) {
+                target.close();
+            }
+            igcRestClient.disconnect();
+        }
+
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: ");
+        System.out.println("  OMRSStubMigrator hostname port username password directory [--delete]");
+    }
+
+    /**
+     * Copy every OMRS stub held within IGC into the provided store.
+     *
+     * @param source the store of OMRS stubs held within IGC
+     * @param target the store into which to copy the stubs
+     * @param igcRestClient connectivity to the IGC environment
+     * @param deleteFromIgc true to delete each stub from IGC once all stubs have been copied, false to leave them
+     * @return int - the number of stubs copied
+     */
+    public static int migrate(IGCOMRSStubStore source,
+                              OMRSStubStore target,
+                              IGCRestClient igcRestClient,
+                              boolean deleteFromIgc) {
+
+        int migrated = 0;
+        int failed = 0;
+        // Only the RID and type of each stub copied are kept (to delete it later), rather than its whole payload
+        List<String[]> copied = new ArrayList<>();
+
+        ReferenceList page = source.getAllStubs(PAGE_SIZE);
+        while (page != null && !page.getItems().isEmpty()) {
+            for (Reference item : page.getItems()) {
+                OMRSStub stub = (OMRSStub) item;
+                if (stub.getSourceRID() == null || stub.getSourceType() == null || stub.getPayload() == null) {
+                    if (log.isWarnEnabled()) { log.warn("Skipping incomplete stub: {}", stub.getName()); }
+                    failed++;
+                } else if (target.upsertStub(stub.getSourceRID(),
+                        stub.getSourceType(),
+                        stub.getPayload(),
+                        AssetFingerprint.of(stub.getPayload())) != null) {
+                    if (deleteFromIgc) {
+                        copied.add(new String[]{ stub.getSourceRID(), stub.getSourceType() });
+                    }
+                    migrated++;
+                } else {
+                    failed++;
+                }
+            }
+            if (log.isInfoEnabled()) { log.info("Migrated {} stubs ({} failed) so far.", migrated, failed); }
+            if (page.getPaging() != null && page.getPaging().hasMore()) {
+                page.getNextPage(igcRestClient);
+            } else {
+                page = null;
+            }
+        }
+
+        // Only delete once every page has been read, as deleting along the way would shift the pages still to read
+        if (deleteFromIgc) {
+            int deleted = 0;
+            for (String[] ridAndType : copied) {
+                if (source.deleteStub(ridAndType[0], ridAndType[1])) {
+                    deleted++;
+                }
+            }
+            if (log.isInfoEnabled()) { log.info("Deleted {} of {} migrated stubs from IGC.", deleted, copied.size()); }
+        }
+
+        return migrated;
+
+    }
+
+}
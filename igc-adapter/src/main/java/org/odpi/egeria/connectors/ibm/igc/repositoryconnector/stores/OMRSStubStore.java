@@ -0,0 +1,50 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+
+/**
+ * A store of OMRS stubs: shadow copies of the last version of each asset for which an event was processed, against
+ * which the next version of the asset can be compared to determine what has changed.
+ * <br><br>
+ * Stubs are identified by the Repository ID (RID) of the asset they shadow.
+ */
+public interface OMRSStubStore {
+
+    /**
+     * Retrieve the OMRS stub for the provided asset details. If there is no existing stub, will return null.
+     *
+     * @param rid the Repository ID (RID) of the asset for which to retrieve the OMRS stub
+     * @param assetType the IGC asset type of the asset for which to retrieve the OMRS stub
+     * @return OMRSStub
+     */
+    OMRSStub getStub(String rid, String assetType);
+
+    /**
+     * Update (or create if it does not already exist) the OMRS stub for the provided asset details.
+     *
+     * @param rid the Repository ID (RID) of the asset for which to upsert the OMRS stub
+     * @param assetType the IGC asset type of the asset for which to upsert the OMRS stub
+     * @param payload the JSON payload of the latest version of the asset
+     * @param fingerprint the fingerprint of the payload (which the store may keep alongside it, or ignore)
+     * @return String - an identifier for the stored stub, or null if it could not be stored
+     */
+    String upsertStub(String rid, String assetType, String payload, AssetFingerprint fingerprint);
+
+    /**
+     * Delete the OMRS stub for the provided asset details.
+     *
+     * @param rid the Repository ID (RID) of the asset for which to delete the OMRS stub
+     * @param assetType the IGC asset type of the asset for which to delete the OMRS stub
+     * @return boolean - true on successful deletion, false otherwise
+     */
+    boolean deleteStub(String rid, String assetType);
+
+    /**
+     * Free up any resources held by the store, since it is no longer needed.
+     */
+    void close();
+
+}
@@ -0,0 +1,133 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the fingerprinting of asset payloads, and in particular the locating of top-level property values within them.
+ */
+public class AssetFingerprintTest {
+
+    @Test
+    public void testSimpleValues() {
+        String json = "{\"name\":\"Customer\",\"count\":42,\"active\":true,\"parent\":null}";
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        assertNotNull(ranges);
+        assertEquals(Arrays.asList("name", "count", "active", "parent"), Arrays.asList(ranges.keySet().toArray()));
+        assertEquals("\"Customer\"", valueOf(json, ranges, "name"));
+        assertEquals("42", valueOf(json, ranges, "count"));
+        assertEquals("true", valueOf(json, ranges, "active"));
+        assertEquals("null", valueOf(json, ranges, "parent"));
+    }
+
+    @Test
+    public void testEscapedQuotes() {
+        String json = "{\"short_description\":\"A \\\"quoted\\\" term, with } and ]\",\"name\":\"x\\\\\",\"end\":1}";
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        assertNotNull(ranges);
+        assertEquals("\"A \\\"quoted\\\" term, with } and ]\"", valueOf(json, ranges, "short_description"));
+        // An escaped backslash does not escape the quote that follows it
+        assertEquals("\"x\\\\\"", valueOf(json, ranges, "name"));
+        assertEquals("1", valueOf(json, ranges, "end"));
+    }
+
+    @Test
+    public void testEscapedQuoteInPropertyName() {
+        String json = "{\"odd\\\"name\":1,\"next\":2}";
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        assertNotNull(ranges);
+        assertEquals("1", valueOf(json, ranges, "odd\\\"name"));
+        assertEquals("2", valueOf(json, ranges, "next"));
+    }
+
+    @Test
+    public void testNestedArraysAndObjects() {
+        String json = "{\"assigned_to_terms\":{\"items\":[{\"_id\":\"a\",\"_context\":[{\"_name\":\"]}\"}]},[[1,2],[]]],"
+                + "\"paging\":{\"numTotal\":1,\"nested\":{\"deeper\":{}}}},"
+                + "\"matrix\":[[1,[2,[3]]],{\"k\":[]}],"
+                + "\"last\":\"done\"}";
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        assertNotNull(ranges);
+        assertEquals(Arrays.asList("assigned_to_terms", "matrix", "last"), Arrays.asList(ranges.keySet().toArray()));
+        assertEquals("{\"items\":[{\"_id\":\"a\",\"_context\":[{\"_name\":\"]}\"}]},[[1,2],[]]],"
+                + "\"paging\":{\"numTotal\":1,\"nested\":{\"deeper\":{}}}}", valueOf(json, ranges, "assigned_to_terms"));
+        assertEquals("[[1,[2,[3]]],{\"k\":[]}]", valueOf(json, ranges, "matrix"));
+        assertEquals("\"done\"", valueOf(json, ranges, "last"));
+    }
+
+    @Test
+    public void testWhitespace() {
+        String json = " \n{\n  \"name\" :\t\"Customer\" ,\r\n  \"terms\" : [ 1 , 2 ] ,\n  \"count\"  :  7\n}\n ";
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(json);
+        assertNotNull(ranges);
+        assertEquals("\"Customer\"", valueOf(json, ranges, "name"));
+        assertEquals("[ 1 , 2 ]", valueOf(json, ranges, "terms"));
+        assertEquals("7", valueOf(json, ranges, "count"));
+    }
+
+    @Test
+    public void testEmptyObject() {
+        Map<String, int[]> ranges = AssetFingerprint.getPropertyRanges(" { } ");
+        assertNotNull(ranges);
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    public void testNotAnObject() {
+        assertNull(AssetFingerprint.getPropertyRanges("[1,2]"));
+        assertNull(AssetFingerprint.getPropertyRanges("\"text\""));
+        assertNull(AssetFingerprint.getPropertyRanges(""));
+        assertNull(AssetFingerprint.of("[1,2]"));
+    }
+
+    @Test
+    public void testMalformedObject() {
+        assertNull("Unterminated string", AssetFingerprint.getPropertyRanges("{\"name\":\"Customer}"));
+        assertNull("Unterminated array", AssetFingerprint.getPropertyRanges("{\"terms\":[1,2}"));
+        assertNull("Unterminated object", AssetFingerprint.getPropertyRanges("{\"name\":\"Customer\""));
+        assertNull("Missing colon", AssetFingerprint.getPropertyRanges("{\"name\" \"Customer\"}"));
+        assertNull("Missing value", AssetFingerprint.getPropertyRanges("{\"name\":}"));
+        assertNull("Unquoted name", AssetFingerprint.getPropertyRanges("{name:1}"));
+    }
+
+    @Test
+    public void testDifferingProperties() {
+        AssetFingerprint before = AssetFingerprint.of("{\"name\":\"Customer\",\"terms\":[{\"_id\":\"a\"}],\"gone\":1}");
+        AssetFingerprint after = AssetFingerprint.of("{\"name\":\"Customer\",\"terms\":[{\"_id\":\"b\"}],\"added\":2}");
+        assertEquals(Collections.emptySet(), before.getDifferingProperties(before));
+        assertEquals(3, after.getDifferingProperties(before).size());
+        assertTrue(after.getDifferingProperties(before).containsAll(Arrays.asList("terms", "gone", "added")));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        AssetFingerprint fingerprint = AssetFingerprint.of("{\"name\":\"Customer\",\"terms\":[1,2]}");
+        assertEquals(fingerprint, AssetFingerprint.fromBytes(fingerprint.toBytes()));
+        assertNull(AssetFingerprint.fromBytes(new byte[]{ 1, 2, 3 }));
+    }
+
+    /**
+     * Retrieve the text of the value of the provided property, as located by getPropertyRanges.
+     *
+     * @param json the JSON payload
+     * @param ranges the ranges located within the payload
+     * @param property the name of the property
+     * @return String
+     */
+    private static String valueOf(String json, Map<String, int[]> ranges, String property) {
+        int[] range = ranges.get(property);
+        assertNotNull("No range found for property: " + property, range);
+        return json.substring(range[0], range[1]);
+    }
+
+}
@@ -0,0 +1,212 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.repositoryconnector.stores;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.AssetFingerprint;
+import org.odpi.egeria.connectors.ibm.igc.repositoryconnector.model.OMRSStub;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the local (append-only log) store of OMRS stubs.
+ */
+public class LocalOMRSStubStoreTest {
+
+    private static final String TYPE = "term";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private Path logFile;
+    private LocalOMRSStubStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("stubs").toPath();
+        logFile = directory.resolve(LocalOMRSStubStore.LOG_FILENAME);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testUpsertGetDelete() throws IOException {
+
+        store = open();
+        String payload = "{\"_id\":\"rid1\",\"name\":\"First\"}";
+        AssetFingerprint fingerprint = AssetFingerprint.of(payload);
+
+        assertEquals(IGCOMRSStubStore.getStubNameForAsset("rid1", TYPE), store.upsertStub("rid1", TYPE, payload, fingerprint));
+        OMRSStub stub = store.getStub("rid1", TYPE);
+        assertNotNull(stub);
+        assertEquals("rid1", stub.getSourceRID());
+        assertEquals(TYPE, stub.getSourceType());
+        assertEquals(payload, stub.getPayload());
+        assertEquals(fingerprint, stub.getFingerprint());
+        assertNull("A stub is only found for its own asset type", store.getStub("rid1", "category"));
+
+        String updated = "{\"_id\":\"rid1\",\"name\":\"Renamed\"}";
+        store.upsertStub("rid1", TYPE, updated, null);
+        stub = store.getStub("rid1", TYPE);
+        assertEquals(updated, stub.getPayload());
+        assertNull(stub.getFingerprint());
+        assertEquals(1, store.size());
+
+        assertTrue(store.deleteStub("rid1", TYPE));
+        assertNull(store.getStub("rid1", TYPE));
+        assertFalse(store.deleteStub("rid1", TYPE));
+        assertEquals(0, store.size());
+
+    }
+
+    @Test
+    public void testReopenDiscardsTruncatedRecord() throws IOException {
+
+        store = open();
+        store.upsertStub("rid1", TYPE, "{\"name\":\"First\"}", null);
+        store.upsertStub("rid2", TYPE, "{\"name\":\"Second\"}", null);
+        store.close();
+
+        // Simulate an unclean shutdown part-way through writing the last record
+        long complete = Files.size(logFile);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(complete - 3);
+        }
+
+        store = open();
+        assertEquals(1, store.size());
+        assertEquals("{\"name\":\"First\"}", store.getStub("rid1", TYPE).getPayload());
+        assertNull(store.getStub("rid2", TYPE));
+
+        // The incomplete record has been discarded, so that later records follow on from the last complete one
+        store.upsertStub("rid3", TYPE, "{\"name\":\"Third\"}", null);
+        store.close();
+        store = open();
+        assertEquals(2, store.size());
+        assertEquals("{\"name\":\"Third\"}", store.getStub("rid3", TYPE).getPayload());
+
+    }
+
+    @Test
+    public void testReadLegacyRecord() throws IOException {
+
+        String payload = "{\"name\":\"Legacy\"}";
+        Files.write(logFile, legacyRecord("rid1", TYPE, payload));
+
+        store = open();
+        OMRSStub stub = store.getStub("rid1", TYPE);
+        assertNotNull(stub);
+        assertEquals(payload, stub.getPayload());
+        assertNull(stub.getFingerprint());
+
+        // A legacy record is superseded like any other
+        store.upsertStub("rid1", TYPE, "{\"name\":\"Current\"}", AssetFingerprint.of("{\"name\":\"Current\"}"));
+        assertEquals("{\"name\":\"Current\"}", store.getStub("rid1", TYPE).getPayload());
+        assertNotNull(store.getStub("rid1", TYPE).getFingerprint());
+
+    }
+
+    @Test
+    public void testCompactionKeepsLiveStubs() throws IOException {
+
+        store = open();
+        for (int version = 0; version < 5; version++) {
+            for (int i = 0; i < 100; i++) {
+                String payload = "{\"_id\":\"rid" + i + "\",\"version\":" + version + "}";
+                store.upsertStub("rid" + i, TYPE, payload, AssetFingerprint.of(payload));
+            }
+        }
+        for (int i = 0; i < 100; i += 2) {
+            store.deleteStub("rid" + i, TYPE);
+        }
+        long before = Files.size(logFile);
+
+        store.compact();
+        assertTrue("Compaction discards superseded records", Files.size(logFile) < before);
+        assertFalse(Files.exists(directory.resolve(LocalOMRSStubStore.LOG_FILENAME + ".compact")));
+        assertLiveStubs();
+
+        // ... and the compacted log is read back the same after re-opening it
+        store.close();
+        store = open();
+        assertLiveStubs();
+
+    }
+
+    /**
+     * Check that only the latest version of each odd-numbered stub remains after compaction.
+     */
+    private void assertLiveStubs() {
+        assertEquals(50, store.size());
+        for (int i = 0; i < 100; i++) {
+            OMRSStub stub = store.getStub("rid" + i, TYPE);
+            if (i % 2 == 0) {
+                assertNull(stub);
+            } else {
+                String payload = "{\"_id\":\"rid" + i + "\",\"version\":4}";
+                assertEquals(payload, stub.getPayload());
+                assertEquals(AssetFingerprint.of(payload), stub.getFingerprint());
+            }
+        }
+    }
+
+    /**
+     * Open the store in the test's directory.
+     *
+     * @return LocalOMRSStubStore
+     * @throws IOException if the store cannot be opened
+     */
+    private LocalOMRSStubStore open() throws IOException {
+        return new LocalOMRSStubStore(directory, LocalOMRSStubStore.DEFAULT_COMPACT_PERCENT);
+    }
+
+    /**
+     * Build a stub record as written before fingerprints were kept (kind 1): the length of the body, the body itself
+     * (kind, RID, asset type and payload) and the checksum of the body.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @param assetType the IGC asset type of the asset
+     * @param payload the payload of the stub
+     * @return byte[]
+     */
+    private static byte[] legacyRecord(String rid, String assetType, String payload) {
+        byte[] ridBytes = rid.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = assetType.getBytes(StandardCharsets.UTF_8);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + 4 + ridBytes.length + 4 + typeBytes.length + 4 + payloadBytes.length;
+        ByteBuffer record = ByteBuffer.allocate(bodyLength + 8);
+        record.putInt(bodyLength);
+        record.put((byte) 1);
+        record.putInt(ridBytes.length).put(ridBytes);
+        record.putInt(typeBytes.length).put(typeBytes);
+        record.putInt(payloadBytes.length).put(payloadBytes);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, bodyLength);
+        record.putInt((int) crc.getValue());
+        return record.array();
+    }
+
+}
@@ -0,0 +1,330 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+
+import java.util.*;
+
+/**
+ * A cache of the most frequently re-retrieved details of IGC assets, keyed by Repository ID (RID): the asset's
+ * header (_id, _type, _name, _url), its _context, and its modification details (created_on, created_by,
+ * modified_on, modified_by).
+ * <br><br>
+ * Each of these details expires independently of the others once it has been cached for longer than the
+ * time-to-live, and when the cache holds more than its maximum number of assets the least-recently used asset is
+ * evicted. Since details can change in IGC at any time, any process that learns of a change to an asset (eg. through
+ * an event) should invalidate that asset so that its details are re-retrieved on next use.
+ * <br><br>
+ * Cached objects are shared, so callers must copy (rather than modify) anything they retrieve from the cache.
+ */
+public class IGCAssetCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final long DEFAULT_TTL_MILLIS = 60000;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, CachedAsset> assetsByRid;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long expirationCount = 0;
+    private long invalidationCount = 0;
+
+    /**
+     * Creates a new cache using the default maximum size and time-to-live.
+     */
+    public IGCAssetCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Creates a new cache that will hold the details of (at most) the provided number of assets, each for (at most)
+     * the provided time-to-live.
+     *
+     * @param maxSize the maximum number of assets for which to cache details
+     * @param ttlMillis the number of milliseconds for which any detail remains valid once cached
+     */
+    public IGCAssetCache(int maxSize, long ttlMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.assetsByRid = new LinkedHashMap<String, CachedAsset>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAsset> eldest) {
+                boolean evict = size() > IGCAssetCache.this.maxSize;
+                if (evict) {
+                    evictionCount++;
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Retrieve the cached header of the asset with the provided RID, or null if it is not cached.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return Reference - the header of the asset (_id, _type, _name and _url only)
+     */
+    public synchronized Reference getHeader(String rid) {
+        CachedAsset cached = getCachedAsset(rid);
+        Reference header = null;
+        if (cached != null && isValid(cached.headerExpiresAt)) {
+            header = cached.header;
+        } else if (cached != null && cached.header != null) {
+            cached.header = null;
+            expirationCount++;
+        }
+        return recordLookup(header);
+    }
+
+    /**
+     * Cache the header of the provided asset.
+     *
+     * @param asset the asset whose header should be cached
+     */
+    public synchronized void putHeader(Reference asset) {
+        if (asset != null && asset.getId() != null) {
+            CachedAsset cached = getOrCreateCachedAsset(asset.getId());
+            Reference header = new Reference(asset.getName(), asset.getType(), asset.getId());
+            header.setUrl(asset.getUrl());
+            cached.header = header;
+            cached.headerExpiresAt = getExpiry();
+        }
+    }
+
+    /**
+     * Retrieve the cached _context of the asset with the provided RID, or null if it is not cached.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return {@code List<Reference>} - the (unmodifiable) _context of the asset
+     */
+    public synchronized List<Reference> getContext(String rid) {
+        CachedAsset cached = getCachedAsset(rid);
+        List<Reference> context = null;
+        if (cached != null && isValid(cached.contextExpiresAt)) {
+            context = cached.context;
+        } else if (cached != null && cached.context != null) {
+            cached.context = null;
+            expirationCount++;
+        }
+        return recordLookup(context);
+    }
+
+    /**
+     * Cache the provided _context for the asset with the provided RID.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @param context the _context of the asset
+     */
+    public synchronized void putContext(String rid, List<Reference> context) {
+        if (rid != null && context != null) {
+            CachedAsset cached = getOrCreateCachedAsset(rid);
+            cached.context = Collections.unmodifiableList(new ArrayList<>(context));
+            cached.contextExpiresAt = getExpiry();
+        }
+    }
+
+    /**
+     * Retrieve the cached modification details of the asset with the provided RID, or null if they are not cached.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return {@code Map<String, Object>} - the (unmodifiable) modification details, keyed by property name
+     */
+    public synchronized Map<String, Object> getModificationDetails(String rid) {
+        CachedAsset cached = getCachedAsset(rid);
+        Map<String, Object> modificationDetails = null;
+        if (cached != null && isValid(cached.modificationDetailsExpiresAt)) {
+            modificationDetails = cached.modificationDetails;
+        } else if (cached != null && cached.modificationDetails != null) {
+            cached.modificationDetails = null;
+            expirationCount++;
+        }
+        return recordLookup(modificationDetails);
+    }
+
+    /**
+     * Cache the provided modification details for the asset with the provided RID.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @param modificationDetails the modification details of the asset, keyed by property name
+     */
+    public synchronized void putModificationDetails(String rid, Map<String, Object> modificationDetails) {
+        if (rid != null && modificationDetails != null) {
+            CachedAsset cached = getOrCreateCachedAsset(rid);
+            cached.modificationDetails = Collections.unmodifiableMap(new HashMap<>(modificationDetails));
+            cached.modificationDetailsExpiresAt = getExpiry();
+        }
+    }
+
+    /**
+     * Remove all cached details of the asset with the provided RID (eg. because the asset has changed).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     */
+    public synchronized void invalidate(String rid) {
+        if (rid != null && assetsByRid.remove(rid) != null) {
+            invalidationCount++;
+        }
+    }
+
+    /**
+     * Remove all cached details of all assets.
+     */
+    public synchronized void invalidateAll() {
+        invalidationCount += assetsByRid.size();
+        assetsByRid.clear();
+    }
+
+    /**
+     * Retrieve the number of assets for which some details are currently cached.
+     *
+     * @return int
+     */
+    public synchronized int size() { return assetsByRid.size(); }
+
+    /**
+     * Retrieve the maximum number of assets for which details will be cached.
+     *
+     * @return int
+     */
+    public int getMaxSize() { return maxSize; }
+
+    /**
+     * Retrieve the number of milliseconds for which any detail remains valid once cached.
+     *
+     * @return long
+     */
+    public long getTtlMillis() { return ttlMillis; }
+
+    /**
+     * Retrieve the number of lookups that were answered from the cache.
+     *
+     * @return long
+     */
+    public synchronized long getHitCount() { return hitCount; }
+
+    /**
+     * Retrieve the number of lookups that could not be answered from the cache.
+     *
+     * @return long
+     */
+    public synchronized long getMissCount() { return missCount; }
+
+    /**
+     * Retrieve the number of assets evicted from the cache to keep it within its maximum size.
+     *
+     * @return long
+     */
+    public synchronized long getEvictionCount() { return evictionCount; }
+
+    /**
+     * Retrieve the number of cached details that were discarded because they had outlived the time-to-live.
+     *
+     * @return long
+     */
+    public synchronized long getExpirationCount() { return expirationCount; }
+
+    /**
+     * Retrieve the number of assets removed from the cache by invalidation.
+     *
+     * @return long
+     */
+    public synchronized long getInvalidationCount() { return invalidationCount; }
+
+    /**
+     * Retrieve the proportion of lookups that were answered from the cache (0.0 if there have been no lookups).
+     *
+     * @return double
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return (lookups == 0) ? 0.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "IGCAssetCache{" +
+                "size=" + assetsByRid.size() +
+                ", maxSize=" + maxSize +
+                ", ttlMillis=" + ttlMillis +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                ", expirations=" + expirationCount +
+                ", invalidations=" + invalidationCount +
+                "}";
+    }
+
+    /**
+     * Retrieve the cached details of the asset with the provided RID (if any).
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return CachedAsset
+     */
+    private CachedAsset getCachedAsset(String rid) {
+        return (rid == null) ? null : assetsByRid.get(rid);
+    }
+
+    /**
+     * Retrieve the cached details of the asset with the provided RID, creating an (empty) entry if there is none.
+     *
+     * @param rid the Repository ID (RID) of the asset
+     * @return CachedAsset
+     */
+    private CachedAsset getOrCreateCachedAsset(String rid) {
+        return assetsByRid.computeIfAbsent(rid, k -> new CachedAsset());
+    }
+
+    /**
+     * Record a lookup as a hit or a miss, depending on whether the provided value was found.
+     *
+     * @param value the value that was looked up (or null if it was not found)
+     * @param <T> the type of value looked up
+     * @return T - the value provided
+     */
+    private <T> T recordLookup(T value) {
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Calculate the expiry time of a detail cached now.
+     *
+     * @return long
+     */
+    private long getExpiry() {
+        return System.currentTimeMillis() + ttlMillis;
+    }
+
+    /**
+     * Indicates whether a detail with the provided expiry time is still valid (true) or not (false).
+     *
+     * @param expiresAt the expiry time of the detail
+     * @return boolean
+     */
+    private boolean isValid(long expiresAt) {
+        return System.currentTimeMillis() < expiresAt;
+    }
+
+    /**
+     * The cached details of a single asset.
+     */
+    private static class CachedAsset {
+
+        private Reference header = null;
+        private long headerExpiresAt = 0;
+        private List<Reference> context = null;
+        private long contextExpiresAt = 0;
+        private Map<String, Object> modificationDetails = null;
+        private long modificationDetailsExpiresAt = 0;
+
+    }
+
+}
@@ -0,0 +1,113 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adaptively determines the number of requests that may be in-flight against IGC at any one time, using an
+ * additive-increase / multiplicative-decrease (AIMD) approach. (The limit itself is enforced by the
+ * IGCRequestScheduler.)
+ * <br><br>
+ * Each request that succeeds while the limit is fully in use raises the limit by a fraction (so that the limit grows
+ * by roughly one for every "limit" successful requests), up to the maximum. Each request that signals IGC is
+ * overloaded (a server error, a timeout or "too many requests" response, or exceeding the latency target if one has
+ * been set) halves the limit, down to a minimum of one: though only once for all requests that were already
+ * in-flight when the limit was last reduced, so that a single burst of failures does not collapse the limit entirely.
+ */
+class IGCConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCConcurrencyLimiter.class);
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private int maxLimit;
+    private double limit;
+    private long latencyTargetNanos;
+    private long lastDecreaseNanos;
+
+    /**
+     * Creates a new limiter that starts by allowing the provided number of concurrent requests.
+     *
+     * @param initialLimit the number of concurrent requests to allow initially
+     * @param maxLimit the maximum number of concurrent requests the limit may grow to
+     */
+    IGCConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(1, initialLimit));
+        this.latencyTargetNanos = 0;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * Retrieve the number of concurrent requests currently allowed.
+     *
+     * @return int
+     */
+    synchronized int getLimit() { return (int) limit; }
+
+    /**
+     * Retrieve the maximum number of concurrent requests the limit may grow to.
+     *
+     * @return int
+     */
+    synchronized int getMaxLimit() { return maxLimit; }
+
+    /**
+     * Change the maximum number of concurrent requests the limit may grow to.
+     *
+     * @param maxLimit the new maximum
+     */
+    synchronized void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.min(this.limit, this.maxLimit);
+    }
+
+    /**
+     * Set the latency (in milliseconds) beyond which a request is taken as a sign that IGC is overloaded, or 0 to
+     * only treat errors and timeouts as such signs.
+     *
+     * @param latencyTargetMillis the latency target, in milliseconds
+     */
+    synchronized void setLatencyTargetMillis(long latencyTargetMillis) {
+        this.latencyTargetNanos = Math.max(0, latencyTargetMillis) * 1000000L;
+    }
+
+    /**
+     * Record that a request completed successfully.
+     *
+     * @param startNanos the time (System.nanoTime) at which the request started
+     * @param saturated whether the full limit of concurrent requests was in use when the request completed
+     */
+    synchronized void onSuccess(long startNanos, boolean saturated) {
+        if (latencyTargetNanos > 0 && System.nanoTime() - startNanos > latencyTargetNanos) {
+            decrease(startNanos);
+        } else if (saturated && limit < maxLimit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * Record that a request failed in a way that indicates IGC is overloaded (server error, timeout, etc).
+     *
+     * @param startNanos the time (System.nanoTime) at which the request started
+     */
+    synchronized void onOverload(long startNanos) {
+        decrease(startNanos);
+    }
+
+    /**
+     * Reduce the limit, unless it has already been reduced since the provided request started.
+     *
+     * @param startNanos the time at which the request that signalled overload started
+     */
+    private void decrease(long startNanos) {
+        if (startNanos - lastDecreaseNanos > 0) {
+            limit = Math.max(1, limit * BACKOFF_RATIO);
+            lastDecreaseNanos = System.nanoTime();
+            if (log.isInfoEnabled()) { log.info("IGC appears overloaded -- reducing concurrent requests to {}.", (int) limit); }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+/**
+ * A token bucket that caps the rate of requests sent to a single IGC endpoint.
+ * <br><br>
+ * Tokens are added continuously at the configured rate, up to a burst of (at most) one second's worth of requests.
+ * Each request takes a token, and when none is left waits until the token it has reserved becomes available.
+ */
+class IGCRateLimiter {
+
+    private final double permitsPerNano;
+    private final double maxTokens;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Creates a new rate limiter allowing the provided number of requests per second.
+     *
+     * @param requestsPerSecond the maximum sustained rate of requests
+     */
+    IGCRateLimiter(double requestsPerSecond) {
+        double rate = Math.max(0.001, requestsPerSecond);
+        this.permitsPerNano = rate / 1000000000.0;
+        this.maxTokens = Math.max(1.0, rate);
+        this.tokens = this.maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Retrieve the maximum sustained rate of requests this limiter allows.
+     *
+     * @return double - requests per second
+     */
+    double getRequestsPerSecond() { return permitsPerNano * 1000000000.0; }
+
+    /**
+     * Take a token for a single request, waiting until one is available if needed.
+     */
+    void acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+            // Reserve the token now (possibly going into debt), so that waiting requests are served in order
+            tokens -= 1.0;
+            waitNanos = (tokens >= 0) ? 0 : (long) (-tokens / permitsPerNano);
+        }
+        if (waitNanos > 0) {
+            try {
+                Thread.sleep(waitNanos / 1000000L, (int) (waitNanos % 1000000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to send a request to IGC.", e);
+            }
+        }
+    }
+
+}
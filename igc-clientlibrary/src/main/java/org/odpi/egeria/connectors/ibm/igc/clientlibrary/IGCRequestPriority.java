@@ -0,0 +1,38 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+/**
+ * The classes of priority with which requests are scheduled against IGC. When more requests are waiting than IGC
+ * can be sent at once, each class receives a share of the available capacity in proportion to its weight.
+ *
+ * @see IGCRestClient#setDefaultRequestPriority(IGCRequestPriority)
+ * @see IGCRestClient#runWithPriority(IGCRequestPriority, java.util.function.Supplier)
+ */
+public enum IGCRequestPriority {
+
+    /**
+     * Requests on behalf of a user or caller who is waiting for the results (eg. queries from cohort members).
+     */
+    INTERACTIVE(4),
+
+    /**
+     * Bulk or asynchronous work, whose latency matters less than that of interactive requests (eg. processing
+     * events or synchronising changes).
+     */
+    BACKGROUND(1);
+
+    private final int defaultWeight;
+
+    IGCRequestPriority(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Retrieve the share of capacity this class receives by default, relative to the other classes.
+     *
+     * @return int
+     */
+    public int getDefaultWeight() { return defaultWeight; }
+
+}
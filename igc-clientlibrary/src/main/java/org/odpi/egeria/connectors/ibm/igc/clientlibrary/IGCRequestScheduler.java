@@ -0,0 +1,226 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits requests to IGC up to the current concurrency limit (as adapted by the IGCConcurrencyLimiter, and never more
+ * than the number of sessions available), queueing any others by priority class.
+ * <br><br>
+ * When capacity becomes available it is granted using weighted fair queueing across the classes that have requests
+ * waiting: each class is granted capacity in proportion to its weight, and within a class requests are granted in
+ * the order they arrived. A class that has been idle does not build up credit while idle, so a burst of interactive
+ * requests is interleaved with (rather than stalled behind) an ongoing stream of background requests, and
+ * vice versa.
+ */
+class IGCRequestScheduler {
+
+    private final IGCConcurrencyLimiter limiter;
+    private final Map<IGCRequestPriority, ArrayDeque<Waiter>> waiting;
+    private final Map<IGCRequestPriority, Double> nextStartTags;
+    private final Map<IGCRequestPriority, Integer> weights;
+
+    private int maxSessions;
+    private int inFlight;
+    private double virtualTime;
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param limiter the limiter determining how many requests may be in-flight at once
+     * @param maxSessions the maximum number of sessions available through which to send requests
+     */
+    IGCRequestScheduler(IGCConcurrencyLimiter limiter, int maxSessions) {
+        this.limiter = limiter;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.inFlight = 0;
+        this.virtualTime = 0;
+        this.waiting = new EnumMap<>(IGCRequestPriority.class);
+        this.nextStartTags = new EnumMap<>(IGCRequestPriority.class);
+        this.weights = new EnumMap<>(IGCRequestPriority.class);
+        for (IGCRequestPriority priority : IGCRequestPriority.values()) {
+            waiting.put(priority, new ArrayDeque<>());
+            nextStartTags.put(priority, 0.0);
+            weights.put(priority, priority.getDefaultWeight());
+        }
+    }
+
+    /**
+     * Change the maximum number of sessions available through which to send requests.
+     *
+     * @param maxSessions the maximum number of sessions
+     */
+    synchronized void setMaxSessions(int maxSessions) {
+        this.maxSessions = Math.max(1, maxSessions);
+        dispatch();
+    }
+
+    /**
+     * Change the share of capacity granted to the provided priority class, relative to the other classes.
+     *
+     * @param priority the priority class
+     * @param weight the weight of the class (at least 1)
+     */
+    synchronized void setWeight(IGCRequestPriority priority, int weight) {
+        weights.put(priority, Math.max(1, weight));
+    }
+
+    /**
+     * Retrieve the number of requests currently in-flight.
+     *
+     * @return int
+     */
+    synchronized int getInFlight() { return inFlight; }
+
+    /**
+     * Retrieve the number of requests of the provided priority class currently waiting to be admitted.
+     *
+     * @param priority the priority class
+     * @return int
+     */
+    synchronized int getWaiting(IGCRequestPriority priority) { return waiting.get(priority).size(); }
+
+    /**
+     * Wait until a request of the provided priority class is admitted. Every successful call must be paired with a
+     * call to release once the request (including any re-try) has completed.
+     *
+     * @param priority the priority class of the request
+     */
+    synchronized void acquire(IGCRequestPriority priority) {
+        if (inFlight < getCapacity() && isNothingWaiting()) {
+            activate(priority);
+            grant(priority);
+            return;
+        }
+        ArrayDeque<Waiter> queue = waiting.get(priority);
+        if (queue.isEmpty()) {
+            activate(priority);
+        }
+        Waiter waiter = new Waiter();
+        queue.addLast(waiter);
+        while (!waiter.granted) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    release();
+                } else {
+                    queue.remove(waiter);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to send a request to IGC.", e);
+            }
+        }
+    }
+
+    /**
+     * Release the capacity held by a request admitted through acquire.
+     */
+    synchronized void release() {
+        inFlight--;
+        dispatch();
+    }
+
+    /**
+     * Record that an individual request to IGC completed successfully, so the concurrency limit can adapt.
+     *
+     * @param startNanos the time (System.nanoTime) at which the request started
+     */
+    synchronized void onSuccess(long startNanos) {
+        limiter.onSuccess(startNanos, inFlight >= getCapacity());
+        dispatch();
+    }
+
+    /**
+     * Record that an individual request to IGC indicated that IGC is overloaded, so the concurrency limit can adapt.
+     *
+     * @param startNanos the time (System.nanoTime) at which the request started
+     */
+    synchronized void onOverload(long startNanos) {
+        limiter.onOverload(startNanos);
+    }
+
+    /**
+     * Retrieve the number of requests that may currently be in-flight at once.
+     *
+     * @return int
+     */
+    private int getCapacity() {
+        return Math.min(limiter.getLimit(), maxSessions);
+    }
+
+    /**
+     * Indicates whether no requests of any class are waiting to be admitted.
+     *
+     * @return boolean
+     */
+    private boolean isNothingWaiting() {
+        for (ArrayDeque<Waiter> queue : waiting.values()) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bring a class that may have been idle up to the current virtual time, so that it cannot claim capacity for the
+     * time it was idle.
+     *
+     * @param priority the priority class
+     */
+    private void activate(IGCRequestPriority priority) {
+        nextStartTags.put(priority, Math.max(nextStartTags.get(priority), virtualTime));
+    }
+
+    /**
+     * Grant capacity to a request of the provided class, advancing the class's virtual time by the inverse of its
+     * weight.
+     *
+     * @param priority the priority class
+     */
+    private void grant(IGCRequestPriority priority) {
+        double startTag = nextStartTags.get(priority);
+        virtualTime = startTag;
+        nextStartTags.put(priority, startTag + 1.0 / weights.get(priority));
+        inFlight++;
+    }
+
+    /**
+     * Admit as many waiting requests as current capacity allows, choosing each time the waiting class with the
+     * earliest virtual start time.
+     */
+    private void dispatch() {
+        boolean granted = false;
+        while (inFlight < getCapacity()) {
+            IGCRequestPriority next = null;
+            for (IGCRequestPriority priority : IGCRequestPriority.values()) {
+                if (!waiting.get(priority).isEmpty()
+                        && (next == null || nextStartTags.get(priority) < nextStartTags.get(next))) {
+                    next = priority;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            Waiter waiter = waiting.get(next).pollFirst();
+            grant(next);
+            waiter.granted = true;
+            granted = true;
+        }
+        if (granted) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * A single request waiting to be admitted.
+     */
+    private static class Waiter {
+        private boolean granted = false;
+    }
+
+}
@@ -4,21 +4,53 @@ package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
 
 import java.io.*;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics.IGCMetricsRecorder;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics.IGCMetricsRegistry;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.*;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
@@ -29,15 +61,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.util.Base64Utils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.net.ssl.HttpsURLConnection;
+
 /**
  * Library of methods to connect to and interact with an IBM Information Governance Catalog environment
  * using appropriate session management.
@@ -65,17 +103,33 @@ public class IGCRestClient {
     private String authorization;
     private String baseURL;
     private Boolean workflowEnabled = false;
-    private List<String> cookies = null;
     private boolean successfullyInitialised = false;
     private RestTemplate restTemplate;
+    private IGCSessionPool sessions;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
 
     private IGCVersionEnum igcVersion;
-    private HashMap<String, Class> registeredPojosByType;
-    private HashMap<String, DynamicPropertyReader> typeAndPropertyToAccessor;
-    private HashMap<String, DynamicPropertyWriter> typeAndPropertyToWriter;
-    private HashMap<String, PojoIntrospector> typeToIntrospector;
+    private Map<String, Class> registeredPojosByType;
+    private Map<String, DynamicPropertyReader> typeAndPropertyToAccessor;
+    private Map<String, DynamicPropertyWriter> typeAndPropertyToWriter;
+    private Map<String, PojoIntrospector> typeToIntrospector;
 
     private int defaultPageSize = 100;
+    private int pageFetchThreads = 1;
+    private int idBatchSize = DEFAULT_ID_BATCH_SIZE;
+    private IGCAssetCache assetCache = new IGCAssetCache();
+    private ExecutorService pageFetchExecutor = null;
+    private int asyncThreads = DEFAULT_ASYNC_THREADS;
+    private int asyncQueueSize = DEFAULT_ASYNC_QUEUE_SIZE;
+    private ExecutorService asyncExecutor = null;
+    private IGCConcurrencyLimiter concurrencyLimiter;
+    private int maxConcurrency = 0;
+    private IGCRequestScheduler scheduler;
+    private IGCRequestPriority defaultRequestPriority = IGCRequestPriority.INTERACTIVE;
+    private final ThreadLocal<IGCRequestPriority> threadRequestPriority = new ThreadLocal<>();
+    private Map<String, IGCRateLimiter> rateLimitsByEndpoint;
+    private IGCMetricsRecorder metrics = new IGCMetricsRegistry();
 
     private ObjectMapper mapper;
 
@@ -86,11 +140,20 @@ public class IGCRestClient {
     public static final String EP_BUNDLES = "/ibm/iis/igc-rest/v1/bundles";
     public static final String EP_BUNDLE_ASSETS = EP_BUNDLES + "/assets";
 
+    public static final int DEFAULT_MAX_SESSIONS = 4;
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final int DEFAULT_ID_BATCH_SIZE = 100;
+    public static final int DEFAULT_ASYNC_THREADS = 4;
+    public static final int DEFAULT_ASYNC_QUEUE_SIZE = 1000;
+
+    private static final long SESSION_DRAIN_TIMEOUT_MS = 10000;
+
     /**
      * Default constructor used by the IGCRestClient.
      * <br><br>
      * Creates a new session on the server and retains the cookies to re-use the same session for the life
-     * of the client (or until the session times out); whichever occurs first.
+     * of the client (or until the session times out); whichever occurs first. Additional sessions (up to
+     * DEFAULT_MAX_SESSIONS) are opened as concurrent requests require them.
      *
      * @param host the services (domain) tier host
      * @param port the services (domain) tier port number
@@ -98,7 +161,22 @@ public class IGCRestClient {
      * @param password the password for the user
      */
     public IGCRestClient(String host, String port, String user, String password) {
-        this("https://" + host + ":" + port, encodeBasicAuth(user, password));
+        this(host, port, user, password, DEFAULT_MAX_SESSIONS);
+    }
+
+    /**
+     * Creates a new session on the server and retains the cookies to re-use the same session for the life
+     * of the client (or until the session times out); whichever occurs first. Additional sessions (up to the
+     * maximum provided) are opened as concurrent requests require them.
+     *
+     * @param host the services (domain) tier host
+     * @param port the services (domain) tier port number
+     * @param user the username with which to open and retain the sessions
+     * @param password the password for the user
+     * @param maxSessions the maximum number of concurrent sessions to open against IGC
+     */
+    public IGCRestClient(String host, String port, String user, String password, int maxSessions) {
+        this("https://" + host + ":" + port, encodeBasicAuth(user, password), maxSessions, null);
     }
 
     /**
@@ -109,6 +187,25 @@ public class IGCRestClient {
      * @param authorization the Basic-encoded authorization string to use to login to Information Server
      */
     protected IGCRestClient(String baseURL, String authorization) {
+        this(baseURL, authorization, DEFAULT_MAX_SESSIONS, null);
+    }
+
+    /**
+     * Creates a new session on the server and retains the cookies to re-use the same session for the life
+     * of the client (or until the session times out); whichever occurs first.
+     * <br><br>
+     * When no request factory is provided, a pool of persistent (keep-alive) connections is used as the transport
+     * for all requests, sized by DEFAULT_MAX_CONNECTIONS.
+     *
+     * @param baseURL the base URL of the domain tier of Information Server
+     * @param authorization the Basic-encoded authorization string to use to login to Information Server
+     * @param maxSessions the maximum number of concurrent sessions to open against IGC
+     * @param requestFactory the HTTP transport to use for all requests (or null to use the default pooled transport)
+     */
+    protected IGCRestClient(String baseURL,
+                            String authorization,
+                            int maxSessions,
+                            ClientHttpRequestFactory requestFactory) {
 
         if (baseURL == null || !baseURL.startsWith("https://")) {
             if (log.isErrorEnabled()) { log.error("Cannot instantiate IGCRestClient -- baseURL must be https: {}", baseURL); }
@@ -118,11 +215,19 @@ public class IGCRestClient {
         this.baseURL = baseURL;
         this.authorization = authorization;
         this.mapper = new ObjectMapper();
-        this.registeredPojosByType = new HashMap<>();
-        this.typeAndPropertyToAccessor = new HashMap<>();
-        this.typeAndPropertyToWriter = new HashMap<>();
-        this.typeToIntrospector = new HashMap<>();
-        this.restTemplate = new RestTemplate();
+        this.registeredPojosByType = new ConcurrentHashMap<>();
+        this.typeAndPropertyToAccessor = new ConcurrentHashMap<>();
+        this.typeAndPropertyToWriter = new ConcurrentHashMap<>();
+        this.typeToIntrospector = new ConcurrentHashMap<>();
+        this.sessions = new IGCSessionPool(maxSessions);
+        // Each in-flight request needs a session of its own, so concurrency can never usefully exceed the sessions
+        this.concurrencyLimiter = new IGCConcurrencyLimiter(maxSessions, sessions.getMaxSessions());
+        this.scheduler = new IGCRequestScheduler(concurrencyLimiter, maxSessions);
+        this.rateLimitsByEndpoint = new ConcurrentHashMap<>();
+        if (requestFactory == null) {
+            requestFactory = createPooledRequestFactory();
+        }
+        this.restTemplate = new RestTemplate(requestFactory);
 
         if (log.isDebugEnabled()) { log.debug("Constructing IGCRestClient..."); }
 
@@ -135,17 +240,13 @@ public class IGCRestClient {
             igcSearch.addType("information_governance_rule");
             igcSearch.setPageSize(1);
             igcSearch.setDevGlossary(true);
-            String response = searchJson(igcSearch);
+            ReferenceList response = search(igcSearch);
 
             if (response != null) {
 
                 if (log.isDebugEnabled()) { log.debug("Checking for workflow and registering version..."); }
                 ObjectMapper tmpMapper = new ObjectMapper();
-                try {
-                    this.workflowEnabled = tmpMapper.readValue(response, ReferenceList.class).getPaging().getNumTotal() > 0;
-                } catch (IOException e) {
-                    if (log.isErrorEnabled()) { log.error("Unable to determine if workflow is enabled: {}", e); }
-                }
+                this.workflowEnabled = response.getPaging().getNumTotal() > 0;
                 // Register the non-generated types
                 this.registerPOJO(Paging.class);
 
@@ -178,14 +279,222 @@ public class IGCRestClient {
      */
     public boolean isSuccessfullyInitialised() { return successfullyInitialised; }
 
+    /**
+     * Creates the default transport: a pool of persistent (keep-alive) connections shared across all sessions.
+     * <br><br>
+     * TLS settings are taken from the JVM-wide HttpsURLConnection defaults, so that any SSL configuration applied
+     * to the platform (eg. disabling strict SSL checking) continues to apply to the pooled connections.
+     *
+     * @return ClientHttpRequestFactory
+     */
+    private ClientHttpRequestFactory createPooledRequestFactory() {
+        SSLConnectionSocketFactory sslSocketFactory = new SSLConnectionSocketFactory(
+                HttpsURLConnection.getDefaultSSLSocketFactory(),
+                HttpsURLConnection.getDefaultHostnameVerifier()
+        );
+        this.connectionManager = new PoolingHttpClientConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("https", sslSocketFactory)
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .build()
+        );
+        this.connectionManager.setMaxTotal(DEFAULT_MAX_CONNECTIONS);
+        this.connectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_CONNECTIONS);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableCookieManagement()
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Retrieve the maximum number of concurrent sessions this client will open against IGC.
+     *
+     * @return int
+     */
+    public int getMaxSessions() { return sessions.getMaxSessions(); }
+
+    /**
+     * Set the maximum number of concurrent sessions this client will open against IGC. Sessions are only opened
+     * as concurrent requests require them, and each session is re-authenticated independently of the others.
+     *
+     * @param maxSessions the maximum number of concurrent sessions
+     */
+    public void setMaxSessions(int maxSessions) {
+        sessions.setMaxSessions(maxSessions);
+        scheduler.setMaxSessions(maxSessions);
+        updateMaxConcurrencyLimit();
+    }
+
+    /**
+     * Set the maximum number of persistent connections the default (pooled) transport will keep open to IGC.
+     * (Has no effect if a custom transport was provided when the client was constructed.)
+     *
+     * @param maxConnections the maximum number of pooled connections
+     */
+    public void setMaxConnections(int maxConnections) {
+        if (connectionManager != null && maxConnections > 0) {
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+        }
+    }
+
+    /**
+     * Retrieve the number of concurrent requests currently allowed against IGC. This limit adapts to IGC's
+     * responsiveness: it grows gradually while requests succeed, and is halved whenever IGC appears to be overloaded
+     * (server errors, timeouts, "too many requests" responses, or exceeding the latency target).
+     *
+     * @return int
+     */
+    public int getConcurrencyLimit() { return concurrencyLimiter.getLimit(); }
+
+    /**
+     * Set the maximum number of concurrent requests the adaptive limit may grow to. Since each in-flight request needs
+     * a session of its own, this is capped at the maximum number of sessions (which is also the default).
+     *
+     * @param maxConcurrency the maximum number of concurrent requests
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency > 0) {
+            this.maxConcurrency = maxConcurrency;
+            updateMaxConcurrencyLimit();
+        }
+    }
+
+    /**
+     * Set the ceiling of the adaptive concurrency limit: the maximum concurrency requested (if any), capped at the
+     * maximum number of sessions.
+     */
+    private void updateMaxConcurrencyLimit() {
+        int maxSessions = sessions.getMaxSessions();
+        concurrencyLimiter.setMaxLimit((maxConcurrency > 0) ? Math.min(maxConcurrency, maxSessions) : maxSessions);
+    }
+
+    /**
+     * Set the latency (in milliseconds) beyond which a response is taken as a sign that IGC is overloaded, reducing
+     * the number of concurrent requests allowed. Set to 0 (the default) to only react to errors and timeouts.
+     *
+     * @param latencyTargetMillis the latency target, in milliseconds
+     */
+    public void setLatencyTarget(long latencyTargetMillis) { concurrencyLimiter.setLatencyTargetMillis(latencyTargetMillis); }
+
+    /**
+     * Cap the rate of requests sent to the provided endpoint (eg. EP_SEARCH, EP_ASSET or EP_BUNDLES), or remove any
+     * existing cap by providing a rate of 0 or less. Any request whose URL includes the endpoint is subject to the cap.
+     *
+     * @param endpoint the REST resource whose requests should be rate-limited
+     * @param requestsPerSecond the maximum sustained number of requests per second
+     */
+    public void setRateLimit(String endpoint, double requestsPerSecond) {
+        if (endpoint != null) {
+            if (requestsPerSecond > 0) {
+                rateLimitsByEndpoint.put(endpoint, new IGCRateLimiter(requestsPerSecond));
+            } else {
+                rateLimitsByEndpoint.remove(endpoint);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the maximum number of requests per second that will be sent to the provided endpoint, or 0 if the
+     * endpoint is not rate-limited.
+     *
+     * @param endpoint the REST resource
+     * @return double
+     */
+    public double getRateLimit(String endpoint) {
+        IGCRateLimiter rateLimiter = (endpoint == null) ? null : rateLimitsByEndpoint.get(endpoint);
+        return (rateLimiter == null) ? 0 : rateLimiter.getRequestsPerSecond();
+    }
+
+    /**
+     * Retrieve the priority with which requests are scheduled when no other priority has been set for the thread
+     * making them.
+     *
+     * @return IGCRequestPriority
+     */
+    public IGCRequestPriority getDefaultRequestPriority() { return defaultRequestPriority; }
+
+    /**
+     * Set the priority with which requests are scheduled when no other priority has been set for the thread making
+     * them (INTERACTIVE unless changed).
+     *
+     * @param priority the default priority
+     */
+    public void setDefaultRequestPriority(IGCRequestPriority priority) {
+        if (priority != null) {
+            this.defaultRequestPriority = priority;
+        }
+    }
+
+    /**
+     * Set the priority with which all subsequent requests made by the current thread are scheduled, or clear it
+     * (reverting to the default priority) by providing null. Intended for long-lived threads that only ever do one
+     * kind of work; otherwise prefer runWithPriority.
+     *
+     * @param priority the priority for the current thread's requests
+     * @see #runWithPriority(IGCRequestPriority, Supplier)
+     */
+    public void setThreadRequestPriority(IGCRequestPriority priority) {
+        if (priority == null) {
+            threadRequestPriority.remove();
+        } else {
+            threadRequestPriority.set(priority);
+        }
+    }
+
+    /**
+     * Retrieve the priority with which requests made by the current thread are scheduled.
+     *
+     * @return IGCRequestPriority
+     */
+    public IGCRequestPriority getRequestPriority() {
+        IGCRequestPriority priority = threadRequestPriority.get();
+        return (priority == null) ? defaultRequestPriority : priority;
+    }
+
+    /**
+     * Run the provided work with all of the requests it makes (including any it makes through this client's
+     * executors) scheduled with the provided priority.
+     *
+     * @param priority the priority with which to schedule requests
+     * @param work the work to run
+     * @param <T> the type of result of the work
+     * @return T - the result of the work
+     */
+    public <T> T runWithPriority(IGCRequestPriority priority, Supplier<T> work) {
+        IGCRequestPriority previous = threadRequestPriority.get();
+        setThreadRequestPriority(priority);
+        try {
+            return work.get();
+        } finally {
+            setThreadRequestPriority(previous);
+        }
+    }
+
+    /**
+     * Set the share of capacity that requests of the provided priority receive, relative to those of other
+     * priorities, whenever more requests are waiting than can be sent to IGC at once. (By default interactive
+     * requests receive four times the share of background requests.)
+     *
+     * @param priority the priority
+     * @param weight the relative share of capacity (at least 1)
+     */
+    public void setRequestPriorityWeight(IGCRequestPriority priority, int weight) {
+        if (priority != null) {
+            scheduler.setWeight(priority, weight);
+        }
+    }
+
     /**
      * Setup the HTTP headers of a request based on either session reuse (forceLogin = false) or forcing a new
      * session (forceLogin = true).
      *
+     * @param session the session through which the request will be sent
      * @param forceLogin indicates whether to create a new session by forcing login (true), or reuse existing session (false)
      * @return
      */
-    private HttpHeaders getHttpHeaders(boolean forceLogin) {
+    private HttpHeaders getHttpHeaders(IGCSession session, boolean forceLogin) {
 
         HttpHeaders headers = new HttpHeaders();
         headers.add(HttpHeaders.CACHE_CONTROL, "no-cache");
@@ -193,6 +502,7 @@ public class IGCRestClient {
 
         // If we have cookies already, and haven't been asked to force the login,
         // re-use these (to maintain the same session)
+        List<String> cookies = session.getCookies();
         if (cookies != null && !forceLogin) {
             // TODO: identified as High issue on page 1122
             headers.addAll(HttpHeaders.COOKIE, cookies);
@@ -209,7 +519,10 @@ public class IGCRestClient {
      * Attempts to open a new session while sending the provided request. If the alreadyTriedNewSession is true,
      * and we are unable to open a new session with this attempt, will give up. If the alreadyTriedNewSession is false,
      * will attempt to re-send this request to open a new session precisely once before giving up.
+     * <br><br>
+     * Only the provided session is re-opened: any other sessions in the pool are unaffected.
      *
+     * @param session the session that appears to have expired
      * @param url the URL to which to send the request
      * @param method the HTTP method to use in sending the request
      * @param contentType the type of content to expect in the payload (if any)
@@ -217,7 +530,8 @@ public class IGCRestClient {
      * @param alreadyTriedNewSession indicates whether a new session was already attempted (true) or not (false)
      * @return {@code ResponseEntity<String>}
      */
-    private ResponseEntity<String> openNewSessionWithRequest(String url,
+    private ResponseEntity<String> openNewSessionWithRequest(IGCSession session,
+                                                             String url,
                                                              HttpMethod method,
                                                              MediaType contentType,
                                                              String payload,
@@ -227,8 +541,9 @@ public class IGCRestClient {
             return null;
         } else {
             // By removing cookies, we'll force a login
-            this.cookies = null;
-            return makeRequest(url, method, contentType, payload, true);
+            session.invalidate();
+            recordRelogin(url);
+            return makeRequest(session, url, method, contentType, payload, true);
         }
     }
 
@@ -237,13 +552,15 @@ public class IGCRestClient {
      * and we are unable to open a new session with this attempt, will give up. If the alreadyTriedNewSession is false,
      * will attempt to re-upload the file to open a new session precisely once before giving up.
      *
+     * @param session the session that appears to have expired
      * @param endpoint the endpoint to which to upload the file
      * @param method the HTTP method to use in sending the request
      * @param file the Spring FileSystemResource or ClassPathResource containing the file to be uploaded
      * @param alreadyTriedNewSession indicates whether a new session was already attempted (true) or not (false)
      * @return {@code ResponseEntity<String>}
      */
-    private ResponseEntity<String> openNewSessionWithUpload(String endpoint,
+    private ResponseEntity<String> openNewSessionWithUpload(IGCSession session,
+                                                            String endpoint,
                                                             HttpMethod method,
                                                             AbstractResource file,
                                                             boolean alreadyTriedNewSession) {
@@ -253,8 +570,9 @@ public class IGCRestClient {
         } else {
             log.info("Session appears to have timed out -- starting a new session and re-trying the upload.");
             // By removing cookies, we'll force a login
-            this.cookies = null;
-            return uploadFile(endpoint, method, file, true);
+            session.invalidate();
+            recordRelogin(endpoint);
+            return uploadFile(session, endpoint, method, file, true);
         }
     }
 
@@ -262,18 +580,30 @@ public class IGCRestClient {
      * Adds the cookies from a response into subsequent headers, so that we re-use the session indicated by those
      * cookies.
      *
+     * @param session the session to which the cookies belong
      * @param response the response from which to obtain the cookies
      */
-    private void setCookiesFromResponse(ResponseEntity<String> response) {
+    private void setCookiesFromResponse(IGCSession session, ResponseEntity<String> response) {
+        setCookiesFromResponse(session, response.getStatusCode(), response.getHeaders());
+    }
+
+    /**
+     * Adds the cookies from a response into subsequent headers, so that we re-use the session indicated by those
+     * cookies.
+     *
+     * @param session the session to which the cookies belong
+     * @param status the status code of the response
+     * @param headers the headers of the response from which to obtain the cookies
+     */
+    private void setCookiesFromResponse(IGCSession session, HttpStatus status, HttpHeaders headers) {
 
         // If we had a successful response, setup the cookies
-        if (response.getStatusCode() == HttpStatus.OK || response.getStatusCode() == HttpStatus.CREATED) {
-            HttpHeaders headers = response.getHeaders();
+        if (status == HttpStatus.OK || status == HttpStatus.CREATED) {
             if (headers.get(HttpHeaders.SET_COOKIE) != null) {
-                this.cookies = headers.get(HttpHeaders.SET_COOKIE);
+                session.setCookies(headers.get(HttpHeaders.SET_COOKIE));
             }
         } else {
-            if (log.isErrorEnabled()) { log.error("Unable to make request or unexpected status: {}", response.getStatusCode()); }
+            if (log.isErrorEnabled()) { log.error("Unable to make request or unexpected status: {}", status); }
         }
 
     }
@@ -310,6 +640,39 @@ public class IGCRestClient {
         return referenceList;
     }
 
+    /**
+     * Attempt to convert the JSON tree into a Java object, based on the registered POJOs (without first serializing
+     * the tree into a String).
+     *
+     * @param json the JSON tree to convert
+     * @return Reference - an IGC object
+     */
+    public Reference readJSONIntoPOJO(JsonNode json) {
+        Reference reference = null;
+        try {
+            reference = this.mapper.treeToValue(json, Reference.class);
+        } catch (JsonProcessingException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to translate JSON into POJO: {}", json, e); }
+        }
+        return reference;
+    }
+
+    /**
+     * Attempt to convert the JSON tree into a ReferenceList (without first serializing the tree into a String).
+     *
+     * @param json the JSON tree to convert
+     * @return ReferenceList
+     */
+    public ReferenceList readJSONIntoReferenceList(JsonNode json) {
+        ReferenceList referenceList = null;
+        try {
+            referenceList = this.mapper.treeToValue(json, ReferenceList.class);
+        } catch (JsonProcessingException e) {
+            if (log.isErrorEnabled()) { log.error("Unable to translate JSON into ReferenceList: {}", json, e); }
+        }
+        return referenceList;
+    }
+
     /**
      * Attempt to convert the provided IGC object into JSON, based on the registered POJOs.
      *
@@ -354,6 +717,167 @@ public class IGCRestClient {
      */
     public void setDefaultPageSize(int pageSize) { this.defaultPageSize = pageSize; }
 
+    /**
+     * Retrieve the number of pages that will be retrieved concurrently when retrieving all pages of results.
+     *
+     * @return int
+     */
+    public int getPageFetchThreads() { return pageFetchThreads; }
+
+    /**
+     * Set the number of pages that should be retrieved concurrently when retrieving all pages of results. A value of
+     * 1 (the default) will retrieve each page one after another; anything higher will retrieve all remaining pages in
+     * parallel (but never more than this many at a time) once the first page of results is known.
+     *
+     * @param pageFetchThreads the maximum number of pages to retrieve concurrently
+     */
+    public synchronized void setPageFetchThreads(int pageFetchThreads) {
+        this.pageFetchThreads = Math.max(1, pageFetchThreads);
+        if (pageFetchExecutor != null) {
+            pageFetchExecutor.shutdown();
+            pageFetchExecutor = null;
+        }
+    }
+
+    /**
+     * Retrieve the executor used to retrieve pages in parallel, creating it if it does not already exist.
+     *
+     * @return ExecutorService
+     */
+    private synchronized ExecutorService getPageFetchExecutor() {
+        if (pageFetchExecutor == null) {
+            final AtomicInteger threadCount = new AtomicInteger(0);
+            pageFetchExecutor = Executors.newFixedThreadPool(pageFetchThreads, runnable -> {
+                Thread thread = new Thread(runnable, "igc-page-fetch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pageFetchExecutor;
+    }
+
+    /**
+     * Retrieve the number of threads used to run the asynchronous (CompletableFuture-returning) methods.
+     *
+     * @return int
+     */
+    public int getAsyncThreads() { return asyncThreads; }
+
+    /**
+     * Set the number of threads used to run the asynchronous (CompletableFuture-returning) methods, and the number
+     * of asynchronous requests that may be queued waiting for one of those threads. Once the queue is full, further
+     * asynchronous requests are run directly by the thread that makes them (slowing it down, rather than queueing
+     * an unbounded amount of work).
+     *
+     * @param asyncThreads the maximum number of asynchronous requests to run concurrently
+     * @param asyncQueueSize the maximum number of asynchronous requests to queue
+     */
+    public synchronized void setAsyncThreads(int asyncThreads, int asyncQueueSize) {
+        this.asyncThreads = Math.max(1, asyncThreads);
+        this.asyncQueueSize = Math.max(1, asyncQueueSize);
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+            asyncExecutor = null;
+        }
+    }
+
+    /**
+     * Retrieve the executor used to run the asynchronous methods, creating it if it does not already exist.
+     * <br><br>
+     * This is deliberately separate from the page fetch executor, so that asynchronous requests that themselves
+     * retrieve pages in parallel can never starve each other of threads.
+     *
+     * @return ExecutorService
+     */
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            final AtomicInteger threadCount = new AtomicInteger(0);
+            asyncExecutor = new ThreadPoolExecutor(
+                    asyncThreads,
+                    asyncThreads,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(asyncQueueSize),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "igc-async-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.CallerRunsPolicy()
+            );
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Run the provided (blocking) request asynchronously on the async executor.
+     *
+     * @param request the request to run
+     * @param <T> the type of result of the request
+     * @return {@code CompletableFuture<T>}
+     */
+    private <T> CompletableFuture<T> runAsync(Supplier<T> request) {
+        IGCRequestPriority priority = getRequestPriority();
+        return CompletableFuture.supplyAsync(() -> runWithPriority(priority, request), getAsyncExecutor());
+    }
+
+    /**
+     * Retrieve the maximum number of RIDs that will be looked up by any single search when retrieving assets by RID.
+     *
+     * @return int
+     */
+    public int getIdBatchSize() { return idBatchSize; }
+
+    /**
+     * Set the maximum number of RIDs that should be looked up by any single search when retrieving assets by RID.
+     * Larger sets of RIDs are split into multiple searches of (at most) this many RIDs each.
+     *
+     * @param idBatchSize the maximum number of RIDs to include in a single search
+     */
+    public void setIdBatchSize(int idBatchSize) { this.idBatchSize = Math.max(1, idBatchSize); }
+
+    /**
+     * Retrieve the cache of asset headers, contexts and modification details used by this IGC REST API connection
+     * (or null if caching is disabled).
+     *
+     * @return IGCAssetCache
+     */
+    public IGCAssetCache getAssetCache() { return assetCache; }
+
+    /**
+     * Set the cache of asset headers, contexts and modification details to use for this IGC REST API connection.
+     *
+     * @param assetCache the cache to use, or null to disable caching
+     */
+    public void setAssetCache(IGCAssetCache assetCache) { this.assetCache = assetCache; }
+
+    /**
+     * Retrieve the recorder of metrics about the requests this client makes against IGC (by default an in-memory
+     * IGCMetricsRegistry), or null if metrics are not being recorded.
+     *
+     * @return IGCMetricsRecorder
+     */
+    public IGCMetricsRecorder getMetrics() { return metrics; }
+
+    /**
+     * Set the recorder of metrics about the requests this client makes against IGC.
+     *
+     * @param metrics the recorder to use, or null to stop recording metrics
+     */
+    public void setMetrics(IGCMetricsRecorder metrics) { this.metrics = metrics; }
+
+    /**
+     * Remove any cached details of the asset with the provided RID (eg. because the asset is known to have changed).
+     *
+     * @param rid the Repository ID of the asset
+     */
+    public void invalidateCachedAsset(String rid) {
+        IGCAssetCache cache = assetCache;
+        if (cache != null) {
+            cache.invalidate(rid);
+        }
+    }
+
     /**
      * Utility function to easily encode a username and password to send through as authorization info.
      *
@@ -369,14 +893,19 @@ public class IGCRestClient {
      * Internal utility for making potentially repeat requests (if session expires and needs to be re-opened),
      * to upload a file to a given endpoint.
      *
+     * @param session the session through which to upload the file
      * @param endpoint the REST resource against which to POST the upload
      * @param file the Spring FileSystemResource or ClassPathResource of the file to be uploaded
      * @param forceLogin a boolean indicating whether login should be forced (true) or session reused (false)
      * @return {@code ResponseEntity<String>}
      */
-    private ResponseEntity<String> uploadFile(String endpoint, HttpMethod method, AbstractResource file, boolean forceLogin) {
+    private ResponseEntity<String> uploadFile(IGCSession session,
+                                              String endpoint,
+                                              HttpMethod method,
+                                              AbstractResource file,
+                                              boolean forceLogin) {
 
-        HttpHeaders headers = getHttpHeaders(forceLogin);
+        HttpHeaders headers = getHttpHeaders(session, forceLogin);
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
 
         ResponseEntity<String> response = null;
@@ -386,21 +915,31 @@ public class IGCRestClient {
         HttpEntity<MultiValueMap<String, Object>> toSend = new HttpEntity<>(body, headers);
 
         try {
-            response = restTemplate.exchange(
-                    baseURL + endpoint,
-                    method,
-                    toSend,
-                    String.class
-            );
+            response = sendWithinLimits(baseURL + endpoint, responseBytes -> {
+                ResponseEntity<String> uploaded = restTemplate.exchange(
+                        baseURL + endpoint,
+                        method,
+                        toSend,
+                        String.class
+                );
+                responseBytes.set(getResponseSize(uploaded));
+                return uploaded;
+            });
+            setCookiesFromResponse(session, response);
         } catch (HttpClientErrorException e) {
-            log.warn("Request failed -- session may have expired, retrying...", e);
-            // If the response was forbidden (fails with exception), the session may have expired -- create a new one
-            response = openNewSessionWithUpload(
-                    baseURL + endpoint,
-                    method,
-                    file,
-                    forceLogin
-            );
+            if (isSessionExpired(e)) {
+                log.warn("Request failed -- session may have expired, retrying...", e);
+                // If the response was forbidden (fails with exception), the session may have expired -- create a new one
+                response = openNewSessionWithUpload(
+                        session,
+                        endpoint,
+                        method,
+                        file,
+                        forceLogin
+                );
+            } else {
+                if (log.isErrorEnabled()) { log.error("Request rejected by IGC ({}) -- {} of file to {}.", e.getRawStatusCode(), method, endpoint, e); }
+            }
         } catch (RestClientException e) {
             log.error("Request failed -- check IGC environment connectivity and authentication details.", e);
         }
@@ -418,13 +957,232 @@ public class IGCRestClient {
      * @return boolean - indicates success (true) or failure (false)
      */
     public boolean uploadFile(String endpoint, HttpMethod method, AbstractResource file) {
-        ResponseEntity<String> response = uploadFile(endpoint, method, file, false);
+        ResponseEntity<String> response;
+        IGCSession session = borrowSession(baseURL + endpoint);
+        try {
+            response = uploadFile(session, endpoint, method, file, false);
+        } finally {
+            releaseSession(session);
+        }
         return (response == null ? false : response.getStatusCode() == HttpStatus.OK);
     }
 
+    /**
+     * Borrow a session through which to send a request, once the rate limit of its endpoint (if any) allows it and the
+     * scheduler admits a request of the current thread's priority. The rate limit is waited on first, so that a
+     * request throttled by its endpoint does not hold a scheduler slot or session that other requests could use. The
+     * session must be returned through releaseSession.
+     *
+     * @param url the URL against which the request will be made
+     * @return IGCSession
+     */
+    private IGCSession borrowSession(String url) {
+        acquireRateLimit(url);
+        scheduler.acquire(getRequestPriority());
+        try {
+            return sessions.borrow();
+        } catch (RuntimeException e) {
+            scheduler.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a session borrowed through borrowSession, allowing the next waiting request to be admitted. If the pool
+     * no longer keeps the session (it has shrunk or been drained in the meantime), the session is logged out instead.
+     *
+     * @param session the session to return
+     */
+    private void releaseSession(IGCSession session) {
+        boolean kept = sessions.release(session);
+        scheduler.release();
+        if (!kept) {
+            logout(session);
+        }
+    }
+
+    /**
+     * Log out the provided session (if it was ever authenticated), so that it no longer counts against IGC's limit
+     * on sessions. Any failure is logged rather than thrown, as the session will eventually time out in IGC anyway.
+     *
+     * @param session the session to log out
+     */
+    private void logout(IGCSession session) {
+        if (session.isAuthenticated()) {
+            try {
+                makeRequest(session, baseURL + EP_LOGOUT, HttpMethod.GET, null, null, false);
+            } catch (RuntimeException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to log out {} -- it will be left to time out.", session, e); }
+            }
+            session.invalidate();
+        }
+    }
+
+    /**
+     * Wait until the rate limit of every endpoint matching the provided URL (if any) allows another request.
+     *
+     * @param url the URL against which the request will be made
+     */
+    private void acquireRateLimit(String url) {
+        for (Map.Entry<String, IGCRateLimiter> entry : rateLimitsByEndpoint.entrySet()) {
+            if (url.contains(entry.getKey())) {
+                entry.getValue().acquire();
+            }
+        }
+    }
+
+    /**
+     * Send a single HTTP request to IGC, and record the outcome so that the adaptive limit on concurrent requests can
+     * adapt.
+     *
+     * @param url the URL against which the request is made
+     * @param send the function that actually sends the request
+     * @param <T> the type of response
+     * @return T - the response
+     */
+    private <T> T sendWithinLimits(String url, Function<AtomicLong, T> send) {
+        AtomicLong responseBytes = new AtomicLong(0);
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            T response = send.apply(responseBytes);
+            scheduler.onSuccess(start);
+            failed = false;
+            return response;
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            // Server-side errors and I/O failures (including timeouts) indicate IGC is struggling with the load
+            scheduler.onOverload(start);
+            throw e;
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                scheduler.onOverload(start);
+            }
+            throw e;
+        } finally {
+            IGCMetricsRecorder recorder = metrics;
+            if (recorder != null) {
+                recorder.recordRequest(getEndpointName(url), System.nanoTime() - start, responseBytes.get(), failed);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the short name by which metrics refer to the endpoint of the provided URL.
+     *
+     * @param url the URL (or endpoint) of a request
+     * @return String - one of the IGCMetricsRecorder.ENDPOINT_ constants
+     */
+    private static String getEndpointName(String url) {
+        String name = IGCMetricsRecorder.ENDPOINT_OTHER;
+        if (url != null) {
+            if (url.contains(EP_SEARCH)) {
+                name = IGCMetricsRecorder.ENDPOINT_SEARCH;
+            } else if (url.contains(EP_BUNDLES)) {
+                name = IGCMetricsRecorder.ENDPOINT_BUNDLES;
+            } else if (url.contains(EP_ASSET)) {
+                name = IGCMetricsRecorder.ENDPOINT_ASSET;
+            } else if (url.contains(EP_LOGOUT)) {
+                name = IGCMetricsRecorder.ENDPOINT_LOGOUT;
+            } else if (url.contains(EP_TYPES)) {
+                name = IGCMetricsRecorder.ENDPOINT_TYPES;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Retrieve the size of the body of the provided response: from its Content-Length if known, otherwise from the
+     * body itself.
+     *
+     * @param response the response
+     * @return long
+     */
+    private static long getResponseSize(ResponseEntity<String> response) {
+        long size = 0;
+        if (response != null) {
+            size = response.getHeaders().getContentLength();
+            if (size < 0) {
+                String body = response.getBody();
+                size = (body == null) ? 0 : body.length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Record that a session had to be re-opened to complete a request to the provided URL.
+     *
+     * @param url the URL (or endpoint) of the request
+     */
+    private void recordRelogin(String url) {
+        IGCMetricsRecorder recorder = metrics;
+        if (recorder != null) {
+            recorder.recordRelogin(getEndpointName(url));
+        }
+    }
+
+    /**
+     * Record a page of results retrieved from IGC.
+     *
+     * @param url the URL (or endpoint) from which the results were retrieved
+     * @param assetType the asset type(s) searched for, or null to take the type from the results themselves
+     * @param page the page of results (if any)
+     * @param startNanos the time (System.nanoTime) at which retrieval of the results began
+     */
+    private void recordResults(String url, String assetType, ReferenceList page, long startNanos) {
+        IGCMetricsRecorder recorder = metrics;
+        if (recorder != null) {
+            List<Reference> items = (page == null) ? null : page.getItems();
+            int itemCount = (items == null) ? 0 : items.size();
+            if (assetType == null && itemCount > 0) {
+                assetType = items.get(0).getType();
+            }
+            int pageNumber = 1;
+            Paging paging = (page == null) ? null : page.getPaging();
+            if (paging != null && paging.getBeginIndex() != null && paging.getPageSize() != null && paging.getPageSize() > 0) {
+                pageNumber = paging.getBeginIndex() / paging.getPageSize() + 1;
+            }
+            recorder.recordResults(getEndpointName(url), assetType, pageNumber, itemCount, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Indicates whether the provided client error means the session has expired or been rejected (true), and should
+     * therefore be re-opened, or is some other problem with the request itself (false) that re-trying will not fix.
+     *
+     * @param e the client error received from IGC
+     * @return boolean
+     */
+    private boolean isSessionExpired(HttpClientErrorException e) {
+        return e.getStatusCode() == HttpStatus.UNAUTHORIZED || e.getStatusCode() == HttpStatus.FORBIDDEN;
+    }
+
+    /**
+     * Internal utility for making a request through a session borrowed from the pool, returning the session to the
+     * pool once the request (including any re-try on a new session) completes.
+     *
+     * @param url the URL against which to make the request
+     * @param method HttpMethod (GET, POST, etc)
+     * @param contentType the type of content to expect in the payload (if any)
+     * @param payload if POSTing some content, the JSON structure providing what should be POSTed
+     * @return {@code ResponseEntity<String>}
+     */
+    private ResponseEntity<String> makePooledRequest(String url,
+                                                     HttpMethod method,
+                                                     MediaType contentType,
+                                                     String payload) {
+        IGCSession session = borrowSession(url);
+        try {
+            return makeRequest(session, url, method, contentType, payload, false);
+        } finally {
+            releaseSession(session);
+        }
+    }
+
     /**
      * Internal utility for making potentially repeat requests (if session expires and needs to be re-opened).
      *
+     * @param session the session through which to make the request
      * @param url the URL against which to make the request
      * @param method HttpMethod (GET, POST, etc)
      * @param contentType the type of content to expect in the payload (if any)
@@ -432,12 +1190,13 @@ public class IGCRestClient {
      * @param forceLogin a boolean indicating whether login should be forced (true) or session reused (false)
      * @return {@code ResponseEntity<String>}
      */
-    private ResponseEntity<String> makeRequest(String url,
+    private ResponseEntity<String> makeRequest(IGCSession session,
+                                               String url,
                                                HttpMethod method,
                                                MediaType contentType,
                                                String payload,
                                                boolean forceLogin) {
-        HttpHeaders headers = getHttpHeaders(forceLogin);
+        HttpHeaders headers = getHttpHeaders(session, forceLogin);
         HttpEntity<String> toSend;
         if (payload != null) {
             headers.setContentType(contentType);
@@ -449,28 +1208,160 @@ public class IGCRestClient {
         try {
             if (log.isDebugEnabled()) { log.debug("{}ing to {} with: {}", method, url, payload); }
             UriComponents uriComponents = UriComponentsBuilder.fromHttpUrl(url).build(true);
-            response = restTemplate.exchange(
+            response = sendWithinLimits(url, responseBytes -> {
+                ResponseEntity<String> received = restTemplate.exchange(
+                        uriComponents.toUri(),
+                        method,
+                        toSend,
+                        String.class);
+                responseBytes.set(getResponseSize(received));
+                return received;
+            });
+            setCookiesFromResponse(session, response);
+        } catch (HttpClientErrorException e) {
+            if (isSessionExpired(e)) {
+                log.warn("Request failed -- {} may have expired, retrying...", session, e);
+                // If the response was forbidden (fails with exception), the session may have expired -- create a new one
+                response = openNewSessionWithRequest(
+                        session,
+                        url,
+                        method,
+                        contentType,
+                        payload,
+                        forceLogin
+                );
+            } else {
+                if (log.isErrorEnabled()) { log.error("Request rejected by IGC ({}) -- {} to {} with: {}", e.getRawStatusCode(), method, url, payload, e); }
+            }
+        } catch (RestClientException e) {
+            log.error("Request failed -- check IGC environment connectivity and authentication details.", e);
+        }
+        return response;
+    }
+
+    /**
+     * Internal utility for making potentially repeat requests (if session expires and needs to be re-opened), where
+     * the JSON body of the response is deserialized directly from the response stream by the provided reader (rather
+     * than first being copied into a String).
+     *
+     * @param session the session through which to make the request
+     * @param url the URL against which to make the request
+     * @param method HttpMethod (GET, POST, etc)
+     * @param contentType the type of content to expect in the payload (if any)
+     * @param payload if POSTing some content, the JSON structure providing what should be POSTed
+     * @param reader the reader to use to deserialize the JSON body of the response
+     * @param forceLogin a boolean indicating whether login should be forced (true) or session reused (false)
+     * @param <T> the type of object into which the response is deserialized
+     * @return {@code ResponseEntity<T>}
+     */
+    private <T> ResponseEntity<T> makeStreamingRequest(IGCSession session,
+                                                       String url,
+                                                       HttpMethod method,
+                                                       MediaType contentType,
+                                                       String payload,
+                                                       JsonBodyReader<T> reader,
+                                                       boolean forceLogin) {
+        HttpHeaders headers = getHttpHeaders(session, forceLogin);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        HttpEntity<String> toSend;
+        if (payload != null) {
+            headers.setContentType(contentType);
+            toSend = new HttpEntity<>(payload, headers);
+        } else {
+            toSend = new HttpEntity<>(headers);
+        }
+        ResponseEntity<T> response = null;
+        try {
+            if (log.isDebugEnabled()) { log.debug("{}ing to {} with: {}", method, url, payload); }
+            UriComponents uriComponents = UriComponentsBuilder.fromHttpUrl(url).build(true);
+            response = sendWithinLimits(url, responseBytes -> restTemplate.execute(
                     uriComponents.toUri(),
                     method,
-                    toSend,
-                    String.class);
-            setCookiesFromResponse(response);
+                    restTemplate.httpEntityCallback(toSend),
+                    clientHttpResponse -> {
+                        setCookiesFromResponse(session, clientHttpResponse.getStatusCode(), clientHttpResponse.getHeaders());
+                        InputStream body = clientHttpResponse.getBody();
+                        return new ResponseEntity<>(
+                                readJsonBody(url, (body == null) ? null : new CountingInputStream(body, responseBytes), reader),
+                                clientHttpResponse.getHeaders(),
+                                clientHttpResponse.getStatusCode()
+                        );
+                    }));
         } catch (HttpClientErrorException e) {
-            log.warn("Request failed -- session may have expired, retrying...", e);
+            if (!isSessionExpired(e)) {
+                if (log.isErrorEnabled()) { log.error("Request rejected by IGC ({}) -- {} to {} with: {}", e.getRawStatusCode(), method, url, payload, e); }
+                return null;
+            }
+            log.warn("Request failed -- {} may have expired, retrying...", session, e);
             // If the response was forbidden (fails with exception), the session may have expired -- create a new one
-            response = openNewSessionWithRequest(
-                    url,
-                    method,
-                    contentType,
-                    payload,
-                    forceLogin
-            );
+            if (forceLogin) {
+                if (log.isErrorEnabled()) { log.error("Opening a new session already attempted without success -- giving up on {} to {} with {}", method, url, payload); }
+            } else {
+                // By removing cookies, we'll force a login
+                session.invalidate();
+                recordRelogin(url);
+                response = makeStreamingRequest(session, url, method, contentType, payload, reader, true);
+            }
         } catch (RestClientException e) {
             log.error("Request failed -- check IGC environment connectivity and authentication details.", e);
         }
         return response;
     }
 
+    /**
+     * Deserialize the JSON body of a response directly from its stream, using the provided reader.
+     *
+     * @param url the URL from which the response was received (for logging purposes)
+     * @param body the stream of the body of the response
+     * @param reader the reader to use to deserialize the JSON
+     * @param <T> the type of object into which the response is deserialized
+     * @return T - the deserialized object, or null if there was no body or it could not be deserialized
+     * @throws IOException on any failure to read from the stream
+     */
+    private <T> T readJsonBody(String url, InputStream body, JsonBodyReader<T> reader) throws IOException {
+        T result = null;
+        if (body != null) {
+            try (JsonParser parser = mapper.getFactory().createParser(body)) {
+                if (parser.nextToken() != null) {
+                    result = reader.read(parser);
+                }
+            } catch (JsonProcessingException e) {
+                if (log.isErrorEnabled()) { log.error("Unable to translate JSON results from: {}", url, e); }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * General utility for making requests whose JSON response is deserialized directly from the response stream.
+     *
+     * @param endpoint the REST resource against which to make the request
+     * @param method HttpMethod (GET, POST, etc)
+     * @param contentType the type of content to expect in the payload (if any)
+     * @param payload if POSTing some content, the JSON structure providing what should be POSTed
+     * @param reader the reader to use to deserialize the JSON body of the response
+     * @param <T> the type of object into which the response is deserialized
+     * @return T - the deserialized body of the response
+     */
+    private <T> T makeStreamingRequest(String endpoint,
+                                       HttpMethod method,
+                                       MediaType contentType,
+                                       String payload,
+                                       JsonBodyReader<T> reader) {
+        ResponseEntity<T> response;
+        IGCSession session = borrowSession(baseURL + endpoint);
+        try {
+            response = makeStreamingRequest(session, baseURL + endpoint, method, contentType, payload, reader, false);
+        } finally {
+            releaseSession(session);
+        }
+        if (response == null) {
+            log.error("Unable to complete request -- check IGC environment connectivity and authentication details.");
+            throw new NullPointerException("Unable to complete request -- check IGC environment connectivity and authentication details.");
+        }
+        return response.getBody();
+    }
+
     /**
      * General utility for making requests.
      *
@@ -481,12 +1372,11 @@ public class IGCRestClient {
      * @return String - containing the body of the response
      */
     public String makeRequest(String endpoint, HttpMethod method, MediaType contentType, String payload) {
-        ResponseEntity<String> response = makeRequest(
+        ResponseEntity<String> response = makePooledRequest(
                 baseURL + endpoint,
                 method,
                 contentType,
-                payload,
-                false
+                payload
         );
         String body = null;
         if (response == null) {
@@ -508,12 +1398,11 @@ public class IGCRestClient {
      * @return String - containing the RID of the created object instance
      */
     public String makeCreateRequest(String endpoint, HttpMethod method, MediaType contentType, String payload) {
-        ResponseEntity<String> response = makeRequest(
+        ResponseEntity<String> response = makePooledRequest(
                 baseURL + endpoint,
                 method,
                 contentType,
-                payload,
-                false
+                payload
         );
         String rid = null;
         if (!response.getStatusCode().equals(HttpStatus.CREATED)) {
@@ -527,74 +1416,312 @@ public class IGCRestClient {
                 rid = instanceURL.substring(instanceURL.lastIndexOf("/"));
             }
         }
-        return rid;
+        return rid;
+    }
+
+    /**
+     * Retrieves the list of metadata types supported by IGC.
+     *
+     * @param objectMapper an ObjectMapper to use for translating the types list
+     *
+     * @return ArrayNode the list of types supported by IGC, as a JSON structure
+     */
+    public List<Type> getTypes(ObjectMapper objectMapper) {
+        List<Type> alTypes = makeStreamingRequest(EP_TYPES, HttpMethod.GET, null, null,
+                parser -> objectMapper.readValue(parser, new TypeReference<List<Type>>(){}));
+        return (alTypes == null ? new ArrayList<>() : alTypes);
+    }
+
+    /**
+     * Retrieve all information about an asset from IGC.
+     * This can be an expensive operation that may retrieve far more information than you actually need.
+     *
+     * @see #getAssetRefById(String)
+     *
+     * @param rid the Repository ID of the asset
+     * @return Reference - the IGC object representing the asset
+     */
+    public Reference getAssetById(String rid) {
+        long start = System.nanoTime();
+        Reference asset = makeStreamingRequest(EP_ASSET + "/" + rid, HttpMethod.GET, null, null,
+                parser -> mapper.readValue(parser, Reference.class));
+        IGCMetricsRecorder recorder = metrics;
+        if (recorder != null) {
+            recorder.recordResults(IGCMetricsRecorder.ENDPOINT_ASSET, (asset == null) ? null : asset.getType(), 1, (asset == null) ? 0 : 1, System.nanoTime() - start);
+        }
+        return asset;
+    }
+
+    /**
+     * Retrieve only the minimal unique properties of an asset from IGC.
+     * This will generally be the most performant way to see that an asset exists and get its identifying characteristics.
+     *
+     * @param rid the Repository ID of the asset
+     * @return Reference - the minimalistic IGC object representing the asset
+     */
+    public Reference getAssetRefById(String rid) {
+
+        IGCAssetCache cache = assetCache;
+        Reference cached = getCachedHeader(cache, rid);
+        if (cached != null) {
+            return cached;
+        }
+
+        // We can search for any object by ID by using "main_object" as the type
+        // (no properties needed)
+        IGCSearchCondition condition = new IGCSearchCondition(
+                "_id",
+                "=",
+                rid
+        );
+        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
+        IGCSearch igcSearch = new IGCSearch("main_object", conditionSet);
+        // Add non-main_object types that might also be looked-up by RID
+        igcSearch.addType("classification");
+        igcSearch.addType("label");
+        igcSearch.addType("user");
+        igcSearch.addType("group");
+        ReferenceList results = search(igcSearch);
+        Reference reference = null;
+        if (results.getPaging().getNumTotal() > 0) {
+            if (results.getPaging().getNumTotal() > 1) {
+                if (log.isWarnEnabled()) { log.warn("Found multiple assets for RID {}, taking only the first.", rid); }
+            }
+            reference = results.getItems().get(0);
+            cacheHeader(cache, reference);
+        }
+
+        return reference;
+
+    }
+
+    /**
+     * Retrieve only the minimal unique properties of each of the provided assets from IGC, using as few searches
+     * as possible (rather than one search per asset).
+     *
+     * @see #getAssetRefById(String)
+     *
+     * @param rids the Repository IDs of the assets
+     * @return {@code Map<String, Reference>} - the minimalistic IGC objects representing the assets, keyed by RID
+     *         (any RID for which no asset could be found will be missing from the map)
+     */
+    public Map<String, Reference> getAssetRefsByIds(Collection<String> rids) {
+
+        Map<String, Reference> assetsByRid = new LinkedHashMap<>();
+        if (rids == null || rids.isEmpty()) {
+            return assetsByRid;
+        }
+
+        // Only search for those assets whose headers are not already cached
+        IGCAssetCache cache = assetCache;
+        List<String> uncached = new ArrayList<>();
+        for (String rid : rids) {
+            Reference cached = getCachedHeader(cache, rid);
+            if (cached != null) {
+                assetsByRid.put(rid, cached);
+            } else {
+                uncached.add(rid);
+            }
+        }
+
+        Map<String, Reference> retrieved = getAssetsByIds(uncached, batch -> {
+            // We can search for any object by ID by using "main_object" as the type
+            // (no properties needed)
+            IGCSearch igcSearch = new IGCSearch("main_object", batch);
+            // Add non-main_object types that might also be looked-up by RID
+            igcSearch.addType("classification");
+            igcSearch.addType("label");
+            igcSearch.addType("user");
+            igcSearch.addType("group");
+            return igcSearch;
+        });
+        retrieved.values().forEach(asset -> cacheHeader(cache, asset));
+        assetsByRid.putAll(retrieved);
+
+        return assetsByRid;
+
+    }
+
+    /**
+     * Retrieve a new (independent) asset object for the provided RID from the cached header (and _context, if also
+     * cached) of the asset, or null if its header is not cached.
+     *
+     * @param cache the cache from which to retrieve the asset (or null if caching is disabled)
+     * @param rid the Repository ID of the asset
+     * @return Reference
+     */
+    private Reference getCachedHeader(IGCAssetCache cache, String rid) {
+        Reference asset = null;
+        if (cache != null) {
+            Reference header = cache.getHeader(rid);
+            if (header != null) {
+                asset = copyHeader(header);
+                List<Reference> context = cache.getContext(rid);
+                if (context != null) {
+                    asset.setContext(new ArrayList<>(context));
+                }
+            }
+        }
+        return asset;
+    }
+
+    /**
+     * Cache the header (and _context, if it was included) of the provided asset.
+     *
+     * @param cache the cache into which to put the asset (or null if caching is disabled)
+     * @param asset the asset to cache
+     */
+    private void cacheHeader(IGCAssetCache cache, Reference asset) {
+        if (cache != null && asset != null) {
+            cache.putHeader(asset);
+            if (asset.getContext() != null && !asset.getContext().isEmpty()) {
+                cache.putContext(asset.getId(), asset.getContext());
+            }
+        }
     }
 
     /**
-     * Retrieves the list of metadata types supported by IGC.
-     *
-     * @param objectMapper an ObjectMapper to use for translating the types list
+     * Create a new (independent) asset object from the provided header, using the registered POJO for the asset's
+     * type where there is one.
      *
-     * @return ArrayNode the list of types supported by IGC, as a JSON structure
+     * @param header the header (_id, _type, _name and _url) of the asset
+     * @return Reference
      */
-    public List<Type> getTypes(ObjectMapper objectMapper) {
-        String response = makeRequest(EP_TYPES, HttpMethod.GET, null,null);
-        List<Type> alTypes = new ArrayList<>();
-        try {
-            alTypes = objectMapper.readValue(response, new TypeReference<List<Type>>(){});
-        } catch (IOException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to parse types response: {}", response, e); }
+    private Reference copyHeader(Reference header) {
+        Reference copy = null;
+        Class pojo = getPOJOForType(header.getType());
+        if (pojo != null) {
+            try {
+                copy = (Reference) pojo.newInstance();
+            } catch (InstantiationException | IllegalAccessException | ClassCastException e) {
+                if (log.isDebugEnabled()) { log.debug("Unable to instantiate POJO for type {} -- using a basic reference.", header.getType(), e); }
+            }
         }
-        return alTypes;
+        if (copy == null) {
+            copy = new Reference();
+        }
+        copy.setId(header.getId());
+        copy.setType(header.getType());
+        copy.setName(header.getName());
+        copy.setUrl(header.getUrl());
+        return copy;
     }
 
     /**
-     * Retrieve all information about an asset from IGC.
-     * This can be an expensive operation that may retrieve far more information than you actually need.
-     *
-     * @see #getAssetRefById(String)
+     * Retrieve the provided subset of properties of each of the provided assets (all of the same type) from IGC,
+     * using as few searches as possible (rather than one search per asset).
      *
-     * @param rid the Repository ID of the asset
-     * @return Reference - the IGC object representing the asset
+     * @param assetType the IGC asset type of all of the assets
+     * @param rids the Repository IDs of the assets
+     * @param properties the properties to retrieve for each asset
+     * @return {@code Map<String, Reference>} - the IGC objects representing the assets, keyed by RID (any RID for
+     *         which no asset could be found will be missing from the map)
      */
-    public Reference getAssetById(String rid) {
-        return readJSONIntoPOJO(makeRequest(EP_ASSET + "/" + rid, HttpMethod.GET, null,null));
+    public Map<String, Reference> getAssetsByIds(String assetType, Collection<String> rids, List<String> properties) {
+        final String typeForSearch = Reference.getAssetTypeForSearch(assetType);
+        return getAssetsByIds(rids, batch -> {
+            IGCSearch igcSearch = new IGCSearch(typeForSearch, batch);
+            if (properties != null) {
+                igcSearch.addProperties(properties);
+            }
+            return igcSearch;
+        });
     }
 
     /**
-     * Retrieve only the minimal unique properties of an asset from IGC.
-     * This will generally be the most performant way to see that an asset exists and get its identifying characteristics.
+     * Retrieve the provided assets from IGC, splitting them into batches of (at most) the ID batch size and searching
+     * for each batch by RID. If more than one page fetch thread has been configured, the batches are searched
+     * concurrently.
      *
-     * @param rid the Repository ID of the asset
-     * @return Reference - the minimalistic IGC object representing the asset
+     * @param rids the Repository IDs of the assets
+     * @param searchForBatch constructs the search for a batch, given the condition that limits it to that batch
+     * @return {@code Map<String, Reference>} - the IGC objects representing the assets, keyed by RID
+     * @see #setIdBatchSize(int)
+     * @see #setPageFetchThreads(int)
      */
-    public Reference getAssetRefById(String rid) {
+    private Map<String, Reference> getAssetsByIds(Collection<String> rids,
+                                                  Function<IGCSearchConditionSet, IGCSearch> searchForBatch) {
 
-        // We can search for any object by ID by using "main_object" as the type
-        // (no properties needed)
-        IGCSearchCondition condition = new IGCSearchCondition(
-                "_id",
-                "=",
-                rid
-        );
-        IGCSearchConditionSet conditionSet = new IGCSearchConditionSet(condition);
-        IGCSearch igcSearch = new IGCSearch("main_object", conditionSet);
-        // Add non-main_object types that might also be looked-up by RID
-        igcSearch.addType("classification");
-        igcSearch.addType("label");
-        igcSearch.addType("user");
-        igcSearch.addType("group");
-        ReferenceList results = search(igcSearch);
-        Reference reference = null;
-        if (results.getPaging().getNumTotal() > 0) {
-            if (results.getPaging().getNumTotal() > 1) {
-                if (log.isWarnEnabled()) { log.warn("Found multiple assets for RID {}, taking only the first.", rid); }
+        Map<String, Reference> assetsByRid = new LinkedHashMap<>();
+        if (rids == null || rids.isEmpty()) {
+            return assetsByRid;
+        }
+
+        List<String> uniqueRids = new ArrayList<>(new LinkedHashSet<>(rids));
+        List<IGCSearch> batches = new ArrayList<>();
+        for (int i = 0; i < uniqueRids.size(); i += idBatchSize) {
+            List<String> batch = uniqueRids.subList(i, Math.min(i + idBatchSize, uniqueRids.size()));
+            IGCSearchCondition idIn = new IGCSearchCondition("_id", new ArrayList<>(batch));
+            IGCSearch igcSearch = searchForBatch.apply(new IGCSearchConditionSet(idIn));
+            igcSearch.setPageSize(batch.size());
+            batches.add(igcSearch);
+        }
+
+        if (batches.size() == 1 || pageFetchThreads == 1) {
+            for (IGCSearch batch : batches) {
+                addAssetsByRid(assetsByRid, searchAllPagesSerially(batch));
+            }
+        } else {
+            ExecutorService executor = getPageFetchExecutor();
+            List<Future<List<Reference>>> results = new ArrayList<>(batches.size());
+            IGCRequestPriority priority = getRequestPriority();
+            for (IGCSearch batch : batches) {
+                results.add(executor.submit(() -> runWithPriority(priority, () -> searchAllPagesSerially(batch))));
+            }
+            try {
+                for (Future<List<Reference>> result : results) {
+                    addAssetsByRid(assetsByRid, result.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.forEach(result -> result.cancel(true));
+                throw new IllegalStateException("Interrupted while retrieving assets by RID.", e);
+            } catch (ExecutionException e) {
+                results.forEach(result -> result.cancel(true));
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Unable to retrieve assets by RID.", cause);
             }
-            reference = results.getItems().get(0);
         }
 
-        return reference;
+        return assetsByRid;
+
+    }
+
+    /**
+     * Retrieve every result of the provided search, one page after another (so that it is safe to call from a page
+     * fetch thread).
+     *
+     * @param igcSearch search conditions and criteria to use
+     * @return {@code List<Reference>} - every result of the search
+     */
+    private List<Reference> searchAllPagesSerially(IGCSearch igcSearch) {
+        List<Reference> allResults = new ArrayList<>();
+        ReferenceList results = search(igcSearch);
+        if (results != null) {
+            allResults.addAll(results.getItems());
+            Paging paging = results.getPaging();
+            if (paging != null && paging.getNextPageURL() != null && !paging.getNextPageURL().equals("null")) {
+                getRemainingPagesSerially(allResults, paging);
+            }
+        }
+        return allResults;
+    }
 
+    /**
+     * Add each of the provided assets to the provided map, keyed by its RID.
+     *
+     * @param assetsByRid the map to which to add the assets
+     * @param assets the assets to add
+     */
+    private void addAssetsByRid(Map<String, Reference> assetsByRid, List<Reference> assets) {
+        for (Reference asset : assets) {
+            if (asset != null && asset.getId() != null) {
+                assetsByRid.putIfAbsent(asset.getId(), asset);
+            }
+        }
     }
 
     /**
@@ -614,14 +1741,51 @@ public class IGCRestClient {
      * @return ReferenceList - the first page of results from the search
      */
     public ReferenceList search(IGCSearch igcSearch) {
-        ReferenceList referenceList = null;
-        String results = searchJson(igcSearch);
-        try {
-            referenceList = this.mapper.readValue(results, ReferenceList.class);
-        } catch (IOException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to translate JSON results: {}", results, e); }
-        }
-        return referenceList;
+        long start = System.nanoTime();
+        ReferenceList results = makeStreamingRequest(EP_SEARCH, HttpMethod.POST, MediaType.APPLICATION_JSON, igcSearch.getQuery().toString(),
+                parser -> mapper.readValue(parser, ReferenceList.class));
+        recordResults(EP_SEARCH, String.join(",", igcSearch.getTypes()), results, start);
+        return results;
+    }
+
+    /**
+     * Retrieve all assets that match the provided search criteria from IGC, as a stream that will only retrieve each
+     * subsequent page of results once the items of the previous page have been consumed.
+     *
+     * @param igcSearch search conditions and criteria to use
+     * @return {@code Stream<Reference>} - every result of the search, in order
+     * @see #searchStream(IGCSearch, boolean)
+     */
+    public Stream<Reference> searchStream(IGCSearch igcSearch) {
+        return searchStream(igcSearch, false);
+    }
+
+    /**
+     * Retrieve all assets that match the provided search criteria from IGC, as a stream that will only retrieve each
+     * subsequent page of results once the items of the previous page have been consumed.
+     * <br><br>
+     * Unlike retrieving all pages up-front, at most one page of results (or two, when prefetching) is held in memory
+     * at any time, and short-circuiting the stream (eg. via limit or findFirst) avoids retrieving the remaining pages.
+     * Closing the stream cancels any page that is still being prefetched.
+     *
+     * @param igcSearch search conditions and criteria to use
+     * @param prefetch if true, retrieve the next page of results in the background while the current page is consumed
+     * @return {@code Stream<Reference>} - every result of the search, in order
+     */
+    public Stream<Reference> searchStream(IGCSearch igcSearch, boolean prefetch) {
+        ReferenceList firstPage = search(igcSearch);
+        PagedReferenceIterator iterator = new PagedReferenceIterator(
+                this,
+                firstPage,
+                prefetch ? getPageFetchExecutor() : null
+        );
+        // The total reported by IGC is only an estimate (assets may be added or removed while paging), so the stream
+        // is deliberately not SIZED
+        Spliterator<Reference> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL
+        );
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
     }
 
     /**
@@ -643,6 +1807,7 @@ public class IGCRestClient {
      */
     public boolean update(IGCUpdate igcUpdate) {
         String result = updateJson(igcUpdate.getRidToUpdate(), igcUpdate.getUpdate());
+        invalidateCachedAsset(igcUpdate.getRidToUpdate());
         return (result != null);
     }
 
@@ -684,6 +1849,7 @@ public class IGCRestClient {
      */
     public boolean delete(String rid) {
         String result = deleteJson(rid);
+        invalidateCachedAsset(rid);
         if (result != null) {
             log.error("Unable to delete asset {}: {}", rid, result);
         }
@@ -839,60 +2005,390 @@ public class IGCRestClient {
      * @return ReferenceList - the next page of results
      */
     public ReferenceList getNextPage(Paging paging) {
-        ReferenceList nextPage = null;
-        try {
-            nextPage = mapper.readValue("{\"items\": []}", ReferenceList.class);
-            String sNextURL = paging.getNextPageURL();
-            if (sNextURL != null && !sNextURL.equals("null")) {
-                if (this.workflowEnabled && !sNextURL.contains("workflowMode=draft")) {
-                    sNextURL += "&workflowMode=draft";
-                }
-                // Strip off the hostname and port number details from the IGC response, to replace with details used
-                // in configuration of the connector (allowing a proxy or other server in front)
-                UriComponents components = UriComponentsBuilder.fromHttpUrl(sNextURL).build(true);
-                String embeddedHost = "https://" + components.getHost() + ":" + components.getPort();
-                String nextUrlNoHost = sNextURL.substring(embeddedHost.length() + 1);
-                String nextPageBody = makeRequest(nextUrlNoHost, HttpMethod.GET, null, null);
-                // If the page is part of an ASSET retrieval, we need to strip off the attribute
-                // name of the relationship for proper multi-page composition
-                if (sNextURL.contains(EP_ASSET)) {
-                    String remainder = sNextURL.substring((baseURL + EP_ASSET).length() + 2);
-                    String attributeName = remainder.substring(remainder.indexOf('/') + 1, remainder.indexOf('?'));
-                    nextPageBody = nextPageBody.substring(attributeName.length() + 4, nextPageBody.length() - 1);
-                }
-                nextPage = mapper.readValue(nextPageBody, ReferenceList.class);
+        return getPage(paging.getNextPageURL());
+    }
+
+    /**
+     * Retrieve the page of results at the provided URL<br>
+     * ... or if there is no such page, return an empty ReferenceList.
+     *
+     * @param pageURL the URL (as provided by IGC in paging details) of the page of results to retrieve
+     * @return ReferenceList - the page of results
+     */
+    private ReferenceList getPage(String pageURL) {
+        long start = System.nanoTime();
+        ReferenceList page = null;
+        String sNextURL = pageURL;
+        if (sNextURL != null && !sNextURL.equals("null")) {
+            if (this.workflowEnabled && !sNextURL.contains("workflowMode=draft")) {
+                sNextURL += "&workflowMode=draft";
             }
-        } catch (IOException e) {
-            if (log.isErrorEnabled()) { log.error("Unable to parse next page from JSON: {}", paging, e); }
+            // Strip off the hostname and port number details from the IGC response, to replace with details used
+            // in configuration of the connector (allowing a proxy or other server in front)
+            UriComponents components = UriComponentsBuilder.fromHttpUrl(sNextURL).build(true);
+            String embeddedHost = "https://" + components.getHost() + ":" + components.getPort();
+            String nextUrlNoHost = sNextURL.substring(embeddedHost.length() + 1);
+            // If the page is part of an ASSET retrieval, we need to skip over the attribute
+            // name of the relationship for proper multi-page composition
+            if (sNextURL.contains(EP_ASSET)) {
+                page = makeStreamingRequest(nextUrlNoHost, HttpMethod.GET, null, null, this::readRelationshipPage);
+            } else {
+                page = makeStreamingRequest(nextUrlNoHost, HttpMethod.GET, null, null,
+                        parser -> mapper.readValue(parser, ReferenceList.class));
+            }
+            recordResults(nextUrlNoHost, null, page, start);
+        }
+        return (page == null ? new ReferenceList() : page);
+    }
+
+    /**
+     * Read a page of relationships from the response to an ASSET retrieval, which wraps the page in an object keyed
+     * by the attribute name of the relationship: {"attribute_name": { "paging": ..., "items": ... }}.
+     *
+     * @param parser the JSON parser, positioned at the start of the response
+     * @return ReferenceList - the page of relationships
+     * @throws IOException on any failure to read or parse the response
+     */
+    private ReferenceList readRelationshipPage(JsonParser parser) throws IOException {
+        ReferenceList page = null;
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT
+                && parser.nextToken() == JsonToken.FIELD_NAME
+                && parser.nextToken() == JsonToken.START_OBJECT) {
+            page = mapper.readValue(parser, ReferenceList.class);
+        } else {
+            if (log.isWarnEnabled()) { log.warn("Unexpected structure for page of relationships at: {}", parser.getCurrentLocation()); }
         }
-        return nextPage;
+        return page;
     }
 
     /**
      * Retrieve all pages of results from a set of Paging details and items<br>
      * ... or if there is no next page, return the items provided.
+     * <br><br>
+     * If more than one page fetch thread has been configured, all remaining pages will be retrieved in parallel.
+     * In either case the items are returned in page order, and the provided list of items is not modified.
      *
      * @param items the List of items for which to retrieve all pages
      * @param paging the Paging object for which to retrieve all pages
      * @return {@code List<Reference>} - an List containing all items from all pages of results
+     * @see #setPageFetchThreads(int)
      */
     public List<Reference> getAllPages(List<Reference> items, Paging paging) {
         List<Reference> allPages = items;
-        ReferenceList results = getNextPage(paging);
-        List<Reference> resultsItems = results.getItems();
-        if (!resultsItems.isEmpty()) {
-            // NOTE: this ordering of addAll is important, to avoid side-effecting the original set of items
-            resultsItems.addAll(allPages);
-            allPages = getAllPages(resultsItems, results.getPaging());
+        if (paging != null && paging.getNextPageURL() != null && !paging.getNextPageURL().equals("null")) {
+            Integer numTotal = paging.getNumTotal();
+            allPages = new ArrayList<>(Math.max(items.size(), numTotal == null ? 0 : numTotal));
+            allPages.addAll(items);
+            List<String> remainingPageURLs = (pageFetchThreads > 1) ? getRemainingPageURLs(paging) : null;
+            if (remainingPageURLs == null) {
+                getRemainingPagesSerially(allPages, paging);
+            } else {
+                getRemainingPagesInParallel(allPages, remainingPageURLs);
+            }
         }
         return allPages;
     }
 
     /**
-     * Disconnect from IGC REST API and invalidate the session.
+     * Retrieve only those items that fall within the provided range (of indices across all pages of results), given
+     * a page of results and its Paging details, fetching only the pages of results that cover that range rather than
+     * every page. Items of the provided page that fall within the range are re-used rather than fetched again.
+     * <br><br>
+     * If more than one page fetch thread has been configured, the pages are retrieved in parallel. In either case
+     * the items are returned in order, and the provided list of items is not modified.
+     *
+     * @param items the items of the page of results already retrieved
+     * @param paging the Paging object of the page of results already retrieved
+     * @param fromIndex the index (across all pages) of the first item to retrieve
+     * @param toIndex the index (across all pages) after the last item to retrieve
+     * @return {@code List<Reference>} - the items within the range (fewer if there are not that many results)
+     * @see #setPageFetchThreads(int)
+     */
+    public List<Reference> getItemsInRange(List<Reference> items, Paging paging, int fromIndex, int toIndex) {
+
+        int begin = (paging == null || paging.getBeginIndex() == null) ? 0 : paging.getBeginIndex();
+        int total = begin + items.size();
+        if (paging != null && paging.getNumTotal() != null) {
+            total = Math.max(total, paging.getNumTotal());
+        }
+        int end = Math.min(toIndex, total);
+        int index = Math.max(fromIndex, begin);
+
+        List<Reference> inRange = new ArrayList<>(Math.max(0, end - index));
+        while (index < end && index - begin < items.size()) {
+            inRange.add(items.get(index - begin));
+            index++;
+        }
+
+        if (index < end) {
+            List<String> pageURLs = getPageURLsInRange(paging, index, end);
+            if (pageURLs == null) {
+                // If we cannot address the pages directly, fall back to retrieving all of them
+                List<Reference> allPages = getAllPages(items, paging);
+                inRange.addAll(allPages.subList(Math.min(index - begin, allPages.size()), Math.min(end - begin, allPages.size())));
+            } else {
+                List<Reference> retrieved = new ArrayList<>(end - index);
+                if (pageFetchThreads > 1 && pageURLs.size() > 1) {
+                    getRemainingPagesInParallel(retrieved, pageURLs);
+                } else {
+                    for (String pageURL : pageURLs) {
+                        List<Reference> pageItems = getPage(pageURL).getItems();
+                        if (pageItems.isEmpty()) {
+                            break;
+                        }
+                        retrieved.addAll(pageItems);
+                    }
+                }
+                inRange.addAll(retrieved.subList(0, Math.min(end - index, retrieved.size())));
+            }
+        }
+
+        return inRange;
+
+    }
+
+    /**
+     * Calculate the URLs of the pages of results that cover the provided range, based on the paging details of a
+     * page of results: the "next" link of those details and the size of each page. The first page calculated starts
+     * exactly at the start of the range.
+     *
+     * @param paging the Paging object of a page of results
+     * @param fromIndex the index (across all pages) of the first item to cover
+     * @param toIndex the index (across all pages) after the last item to cover
+     * @return {@code List<String>} the URLs of the pages (in order), or null if they cannot be determined
+     */
+    private List<String> getPageURLsInRange(Paging paging, int fromIndex, int toIndex) {
+        List<String> pageURLs = null;
+        Integer pageSize = (paging == null) ? null : paging.getPageSize();
+        String nextPageURL = (paging == null) ? null : paging.getNextPageURL();
+        if (pageSize != null && pageSize > 0 && nextPageURL != null && !nextPageURL.equals("null")) {
+            try {
+                UriComponentsBuilder nextPage = UriComponentsBuilder.fromHttpUrl(nextPageURL);
+                List<String> begin = nextPage.build(true).getQueryParams().get("begin");
+                if (begin != null && begin.size() == 1) {
+                    pageURLs = new ArrayList<>();
+                    for (int beginAt = fromIndex; beginAt < toIndex; beginAt += pageSize) {
+                        pageURLs.add(nextPage.replaceQueryParam("begin", beginAt).build(true).toUriString());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to determine pages in range from: {}", paging, e); }
+                pageURLs = null;
+            }
+        }
+        return pageURLs;
+    }
+
+    /**
+     * Retrieve each remaining page of results one after another, following the "next" link of each page.
+     *
+     * @param allPages the list into which to add the items of every remaining page
+     * @param paging the Paging object of the last page already retrieved
+     */
+    private void getRemainingPagesSerially(List<Reference> allPages, Paging paging) {
+        Paging current = paging;
+        while (current != null) {
+            ReferenceList results = getNextPage(current);
+            List<Reference> resultsItems = results.getItems();
+            if (resultsItems.isEmpty()) {
+                break;
+            }
+            allPages.addAll(resultsItems);
+            current = results.getPaging();
+        }
+    }
+
+    /**
+     * Retrieve all of the provided pages of results concurrently, adding their items in page order.
+     *
+     * @param allPages the list into which to add the items of every remaining page
+     * @param pageURLs the URLs of every remaining page, in page order
+     */
+    private void getRemainingPagesInParallel(List<Reference> allPages, List<String> pageURLs) {
+        ExecutorService executor = getPageFetchExecutor();
+        List<Future<ReferenceList>> pages = new ArrayList<>(pageURLs.size());
+        IGCRequestPriority priority = getRequestPriority();
+        for (String pageURL : pageURLs) {
+            pages.add(executor.submit(() -> runWithPriority(priority, () -> getPage(pageURL))));
+        }
+        try {
+            for (Future<ReferenceList> page : pages) {
+                allPages.addAll(page.get().getItems());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pages.forEach(page -> page.cancel(true));
+            throw new IllegalStateException("Interrupted while retrieving pages of results.", e);
+        } catch (ExecutionException e) {
+            pages.forEach(page -> page.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Unable to retrieve page of results.", cause);
+        }
+    }
+
+    /**
+     * Calculate the URLs of all remaining pages of results, based on the paging details of a page of results: the
+     * "next" link of those details, the total number of results and the size of each page.
+     *
+     * @param paging the Paging object of the first page of results
+     * @return {@code List<String>} the URLs of all remaining pages (in order), or null if they cannot be determined
+     */
+    private List<String> getRemainingPageURLs(Paging paging) {
+        List<String> pageURLs = null;
+        Integer numTotal = paging.getNumTotal();
+        Integer pageSize = paging.getPageSize();
+        if (numTotal != null && pageSize != null && pageSize > 0) {
+            try {
+                UriComponentsBuilder nextPage = UriComponentsBuilder.fromHttpUrl(paging.getNextPageURL());
+                List<String> begin = nextPage.build(true).getQueryParams().get("begin");
+                if (begin != null && begin.size() == 1) {
+                    pageURLs = new ArrayList<>();
+                    for (int beginAt = Integer.parseInt(begin.get(0)); beginAt < numTotal; beginAt += pageSize) {
+                        pageURLs.add(nextPage.replaceQueryParam("begin", beginAt).build(true).toUriString());
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to determine remaining pages from: {}", paging, e); }
+                pageURLs = null;
+            }
+        }
+        return pageURLs;
+    }
+
+    /**
+     * Asynchronously retrieve all assets that match the provided search criteria from IGC.
+     *
+     * @param igcSearch search conditions and criteria to use
+     * @return {@code CompletableFuture<ReferenceList>} - the first page of results from the search
+     * @see #search(IGCSearch)
+     */
+    public CompletableFuture<ReferenceList> searchAsync(IGCSearch igcSearch) {
+        return runAsync(() -> search(igcSearch));
+    }
+
+    /**
+     * Asynchronously retrieve all information about an asset from IGC.
+     *
+     * @param rid the Repository ID of the asset
+     * @return {@code CompletableFuture<Reference>} - the IGC object representing the asset
+     * @see #getAssetById(String)
+     */
+    public CompletableFuture<Reference> getAssetByIdAsync(String rid) {
+        return runAsync(() -> getAssetById(rid));
+    }
+
+    /**
+     * Asynchronously retrieve only the minimal unique properties of an asset from IGC.
+     *
+     * @param rid the Repository ID of the asset
+     * @return {@code CompletableFuture<Reference>} - the minimalistic IGC object representing the asset
+     * @see #getAssetRefById(String)
+     */
+    public CompletableFuture<Reference> getAssetRefByIdAsync(String rid) {
+        return runAsync(() -> getAssetRefById(rid));
+    }
+
+    /**
+     * Asynchronously retrieve the provided subset of properties of each of the provided assets from IGC.
+     *
+     * @param assetType the IGC asset type of all of the assets
+     * @param rids the Repository IDs of the assets
+     * @param properties the properties to retrieve for each asset
+     * @return {@code CompletableFuture<Map<String, Reference>>} - the IGC objects representing the assets, keyed by RID
+     * @see #getAssetsByIds(String, Collection, List)
+     */
+    public CompletableFuture<Map<String, Reference>> getAssetsByIdsAsync(String assetType,
+                                                                        Collection<String> rids,
+                                                                        List<String> properties) {
+        return runAsync(() -> getAssetsByIds(assetType, rids, properties));
+    }
+
+    /**
+     * Asynchronously retrieve the next page of results from a set of paging details.
+     *
+     * @param paging the "paging" portion of the JSON response from which to retrieve the next page
+     * @return {@code CompletableFuture<ReferenceList>} - the next page of results
+     * @see #getNextPage(Paging)
+     */
+    public CompletableFuture<ReferenceList> getNextPageAsync(Paging paging) {
+        return runAsync(() -> getNextPage(paging));
+    }
+
+    /**
+     * Asynchronously retrieve all pages of results from a set of Paging details and items.
+     *
+     * @param items the List of items for which to retrieve all pages
+     * @param paging the Paging object for which to retrieve all pages
+     * @return {@code CompletableFuture<List<Reference>>} - a List containing all items from all pages of results
+     * @see #getAllPages(List, Paging)
+     */
+    public CompletableFuture<List<Reference>> getAllPagesAsync(List<Reference> items, Paging paging) {
+        return runAsync(() -> getAllPages(items, paging));
+    }
+
+    /**
+     * Asynchronously apply the update described by the provided update object.
+     *
+     * @param igcUpdate update criteria to use
+     * @return {@code CompletableFuture<Boolean>} - indicating success (true) or not (false) of the operation
+     * @see #update(IGCUpdate)
+     */
+    public CompletableFuture<Boolean> updateAsync(IGCUpdate igcUpdate) {
+        return runAsync(() -> update(igcUpdate));
+    }
+
+    /**
+     * Asynchronously create the object described by the provided create object.
+     *
+     * @param igcCreate creation criteria to use
+     * @return {@code CompletableFuture<String>} - the created asset's RID (or null if nothing was created)
+     * @see #create(IGCCreate)
+     */
+    public CompletableFuture<String> createAsync(IGCCreate igcCreate) {
+        return runAsync(() -> create(igcCreate));
+    }
+
+    /**
+     * Asynchronously upsert the provided asset XML (OpenIGC) into IGC.
+     *
+     * @param assetXML the XML document defining the asset(s) to upsert
+     * @return {@code CompletableFuture<String>} - the JSON structure indicating the updated assets' RIDs
+     * @see #upsertOpenIgcAsset(String)
+     */
+    public CompletableFuture<String> upsertOpenIgcAssetAsync(String assetXML) {
+        return runAsync(() -> upsertOpenIgcAsset(assetXML));
+    }
+
+    /**
+     * Disconnect from IGC REST API and invalidate all of the sessions that were opened.
      */
     public void disconnect() {
-        makeRequest(EP_LOGOUT, HttpMethod.GET, null,null);
+        if (assetCache != null && log.isInfoEnabled()) { log.info("Asset cache statistics: {}", assetCache); }
+        if (metrics != null && log.isInfoEnabled()) { log.info("Request metrics: {}", metrics); }
+        // Wait (for a limited time) for requests still in-flight to release their sessions, so they are logged out too
+        for (IGCSession session : sessions.drain(SESSION_DRAIN_TIMEOUT_MS)) {
+            logout(session);
+        }
+        synchronized (this) {
+            if (pageFetchExecutor != null) {
+                pageFetchExecutor.shutdownNow();
+                pageFetchExecutor = null;
+            }
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdownNow();
+                asyncExecutor = null;
+            }
+        }
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to cleanly close pooled connections.", e); }
+            }
+        }
     }
 
     /**
@@ -933,7 +2429,7 @@ public class IGCRestClient {
      * @see #registerPOJO(Class)
      */
     public Class getPOJOForType(String typeName) {
-        return this.registeredPojosByType.get(typeName);
+        return (typeName == null) ? null : this.registeredPojosByType.get(typeName);
     }
 
     /**
@@ -1149,4 +2645,62 @@ public class IGCRestClient {
         return getIntrospector(typeName).includesModificationDetails();
     }
 
+    /**
+     * Counts the bytes read from a response stream, so that the size of streamed responses can be recorded.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+
+    }
+
+    /**
+     * Deserializes the JSON body of a response directly from a streaming parser.
+     *
+     * @param <T> the type of object into which the response is deserialized
+     */
+    @FunctionalInterface
+    private interface JsonBodyReader<T> {
+
+        /**
+         * Read the object from the provided parser, which is already positioned on the first token of the response.
+         *
+         * @param parser the JSON parser over the body of the response
+         * @return T - the deserialized object
+         * @throws IOException on any failure to read or parse the response
+         */
+        T read(JsonParser parser) throws IOException;
+
+    }
+
 }
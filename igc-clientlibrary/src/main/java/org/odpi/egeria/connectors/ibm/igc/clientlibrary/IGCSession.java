@@ -0,0 +1,65 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import java.util.List;
+
+/**
+ * A single authenticated session against the IGC REST API, identified by the cookies IGC hands back on login.
+ * <br><br>
+ * Sessions are owned by an {@link IGCSessionPool}: a session is only ever used by one request at a time, so
+ * re-authenticating a session (eg. because it has expired) has no effect on any other session in the pool.
+ */
+class IGCSession {
+
+    private final int id;
+    private volatile List<String> cookies = null;
+
+    /**
+     * Creates a new (not yet authenticated) session.
+     *
+     * @param id a numeric identifier for the session, unique within its pool (for logging purposes)
+     */
+    IGCSession(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Retrieve the identifier of this session within its pool.
+     *
+     * @return int
+     */
+    int getId() { return id; }
+
+    /**
+     * Retrieve the cookies that identify this session to IGC, or null if the session has not yet been authenticated.
+     *
+     * @return {@code List<String>}
+     */
+    List<String> getCookies() { return cookies; }
+
+    /**
+     * Set the cookies that identify this session to IGC.
+     *
+     * @param cookies the cookies returned by IGC
+     */
+    void setCookies(List<String> cookies) { this.cookies = cookies; }
+
+    /**
+     * Indicates whether this session has been authenticated (true) or will need to login on its next use (false).
+     *
+     * @return boolean
+     */
+    boolean isAuthenticated() { return cookies != null; }
+
+    /**
+     * Discard the cookies of this session, so that its next use will force a new login.
+     */
+    void invalidate() { this.cookies = null; }
+
+    @Override
+    public String toString() {
+        return "IGCSession#" + id;
+    }
+
+}
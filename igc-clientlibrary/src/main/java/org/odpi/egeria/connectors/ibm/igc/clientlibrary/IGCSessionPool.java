@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * A bounded pool of independently-authenticated sessions against the IGC REST API.
+ * <br><br>
+ * Sessions are created lazily (up to the maximum size of the pool) as concurrent demand requires them, and each
+ * request borrows a session for its duration: when every session is already in use, further requests wait for one
+ * to be released.
+ * <br><br>
+ * A session the pool no longer keeps (because the pool has shrunk or been drained since it was borrowed) is handed
+ * back to whoever releases it, so that it can be logged out rather than left open against IGC.
+ */
+class IGCSessionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCSessionPool.class);
+
+    private final LinkedBlockingDeque<IGCSession> idle;
+    private int maxSessions;
+    private int created;
+    private volatile boolean closed;
+    private boolean drained;
+
+    /**
+     * Creates a new pool that will hold at most the provided number of sessions.
+     *
+     * @param maxSessions the maximum number of sessions to open against IGC
+     */
+    IGCSessionPool(int maxSessions) {
+        this.idle = new LinkedBlockingDeque<>();
+        this.maxSessions = Math.max(1, maxSessions);
+        this.created = 0;
+        this.closed = false;
+        this.drained = false;
+    }
+
+    /**
+     * Retrieve the maximum number of sessions this pool will open.
+     *
+     * @return int
+     */
+    synchronized int getMaxSessions() { return maxSessions; }
+
+    /**
+     * Change the maximum number of sessions this pool will open. When shrinking the pool, sessions beyond the new
+     * maximum are discarded as they are released.
+     *
+     * @param maxSessions the new maximum number of sessions
+     */
+    synchronized void setMaxSessions(int maxSessions) {
+        this.maxSessions = Math.max(1, maxSessions);
+        notifyAll();
+    }
+
+    /**
+     * Borrow a session from the pool, waiting for one to be released if all sessions are already in use.
+     * Previously-authenticated sessions are preferred over new (unauthenticated) ones.
+     *
+     * @return IGCSession
+     * @throws IllegalStateException if the pool has been drained
+     */
+    IGCSession borrow() {
+        IGCSession session = closed ? null : idle.pollFirst();
+        if (session == null) {
+            synchronized (this) {
+                while (session == null) {
+                    if (closed) {
+                        throw new IllegalStateException("No further IGC sessions can be borrowed: the pool has been drained.");
+                    }
+                    session = idle.pollFirst();
+                    if (session == null) {
+                        if (created < maxSessions) {
+                            session = new IGCSession(++created);
+                            if (log.isDebugEnabled()) { log.debug("Opening {} of {}.", session, maxSessions); }
+                        } else {
+                            try {
+                                wait();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IllegalStateException("Interrupted while waiting for an IGC session.", e);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Return a borrowed session to the pool, so that it can be re-used by another request.
+     *
+     * @param session the session to return
+     * @return boolean - true if the pool kept the session, or false if it did not (because the pool has shrunk or
+     *                   been drained since the session was borrowed), in which case the caller should log it out
+     */
+    synchronized boolean release(IGCSession session) {
+        boolean kept = true;
+        if (drained) {
+            created--;
+            kept = false;
+            if (log.isDebugEnabled()) { log.debug("Discarding {} -- pool already drained.", session); }
+        } else if (created > maxSessions && !closed) {
+            // The pool has shrunk since the session was borrowed, so drop this one
+            created--;
+            kept = false;
+            if (log.isDebugEnabled()) { log.debug("Discarding {} -- pool reduced to {}.", session, maxSessions); }
+        } else {
+            idle.offerFirst(session);
+        }
+        notifyAll();
+        return kept;
+    }
+
+    /**
+     * Close the pool and remove every session from it (eg. to log them out). No further sessions can be borrowed, and
+     * sessions still borrowed are waited for (up to the provided time) so that they can be removed as well: any
+     * released after that are handed back by release instead.
+     *
+     * @param timeoutMillis the maximum number of milliseconds to wait for borrowed sessions to be released
+     * @return {@code List<IGCSession>} the sessions that were removed
+     */
+    synchronized List<IGCSession> drain(long timeoutMillis) {
+        closed = true;
+        notifyAll();
+        long deadline = System.currentTimeMillis() + Math.max(0, timeoutMillis);
+        long remaining = timeoutMillis;
+        try {
+            while (idle.size() < created && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (idle.size() < created && log.isWarnEnabled()) {
+            log.warn("{} IGC sessions still in use after {}ms -- they will be logged out once released.", created - idle.size(), timeoutMillis);
+        }
+        drained = true;
+        List<IGCSession> removed = new ArrayList<>();
+        idle.drainTo(removed);
+        created -= removed.size();
+        return removed;
+    }
+
+}
@@ -0,0 +1,143 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary;
+
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Paging;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.Reference;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.model.common.ReferenceList;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Iterates through every item of a set of IGC results, retrieving each subsequent page of results only once the
+ * items of the previous page have been consumed.
+ * <br><br>
+ * Optionally, the next page of results can be prefetched in the background while the current page is being consumed,
+ * so that (at most) one page of results beyond the current one is ever held in memory.
+ */
+class PagedReferenceIterator implements Iterator<Reference> {
+
+    private final IGCRestClient igcRestClient;
+    private final ExecutorService prefetchExecutor;
+
+    private Iterator<Reference> currentItems;
+    private Paging currentPaging;
+    private Future<ReferenceList> nextPage;
+
+    /**
+     * Creates a new iterator starting from the provided first page of results.
+     *
+     * @param igcRestClient connectivity to the IGC environment from which to retrieve subsequent pages
+     * @param firstPage the first page of results (may be null, in which case there are no results)
+     * @param prefetchExecutor the executor on which to prefetch the next page, or null to retrieve each page only
+     *                         when it is needed
+     */
+    PagedReferenceIterator(IGCRestClient igcRestClient, ReferenceList firstPage, ExecutorService prefetchExecutor) {
+        this.igcRestClient = igcRestClient;
+        this.prefetchExecutor = prefetchExecutor;
+        this.nextPage = null;
+        setCurrentPage(firstPage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        while (!currentItems.hasNext() && hasMorePages()) {
+            setCurrentPage(retrieveNextPage());
+        }
+        return currentItems.hasNext();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Reference next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No further results.");
+        }
+        return currentItems.next();
+    }
+
+    /**
+     * Cancel any page that is still being prefetched (eg. because the caller has stopped consuming results early).
+     */
+    void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        currentItems = Collections.emptyIterator();
+        currentPaging = null;
+    }
+
+    /**
+     * Indicates whether there is a further page of results beyond the current one (true) or not (false).
+     *
+     * @return boolean
+     */
+    private boolean hasMorePages() {
+        if (currentPaging == null) {
+            return false;
+        }
+        String next = currentPaging.getNextPageURL();
+        return (next != null && !next.equals("null"));
+    }
+
+    /**
+     * Make the provided page of results the current one, and start prefetching the page after it (if requested).
+     *
+     * @param page the page of results to make current
+     */
+    private void setCurrentPage(ReferenceList page) {
+        List<Reference> items = (page == null) ? null : page.getItems();
+        if (items == null || items.isEmpty()) {
+            // An empty page means we have run past the end of the results, whatever the paging details might say
+            currentItems = Collections.emptyIterator();
+            currentPaging = null;
+        } else {
+            currentItems = items.iterator();
+            currentPaging = page.getPaging();
+            if (prefetchExecutor != null && hasMorePages()) {
+                final Paging paging = currentPaging;
+                final IGCRequestPriority priority = igcRestClient.getRequestPriority();
+                nextPage = prefetchExecutor.submit(() -> igcRestClient.runWithPriority(priority, () -> igcRestClient.getNextPage(paging)));
+            }
+        }
+    }
+
+    /**
+     * Retrieve the page of results following the current one, waiting for it to be prefetched if that was requested.
+     *
+     * @return ReferenceList
+     */
+    private ReferenceList retrieveNextPage() {
+        if (nextPage == null) {
+            return igcRestClient.getNextPage(currentPaging);
+        }
+        Future<ReferenceList> pending = nextPage;
+        nextPage = null;
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.cancel(true);
+            throw new IllegalStateException("Interrupted while retrieving page of results.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Unable to retrieve page of results.", cause);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Exposes every set of metrics in an IGCMetricsRegistry as an MBean, including those created after the exporter
+ * is started, under object names of the form:
+ * <br><br>
+ * {@code org.odpi.egeria.connectors.ibm.igc:type=IGCRestClient,client="...",endpoint=search,assetType="..."}
+ */
+public class IGCMetricsJmxExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(IGCMetricsJmxExporter.class);
+
+    public static final String DOMAIN = "org.odpi.egeria.connectors.ibm.igc";
+
+    private final IGCMetricsRegistry registry;
+    private final String clientName;
+    private final MBeanServer mBeanServer;
+    private final List<ObjectName> registered;
+    private final Consumer<IGCRequestMetrics> listener;
+
+    /**
+     * Creates a new exporter for the provided registry, registering MBeans with the platform MBean server.
+     *
+     * @param registry the registry whose metrics should be exported
+     * @param clientName a name distinguishing this client's metrics from those of any other client in the same JVM
+     */
+    public IGCMetricsJmxExporter(IGCMetricsRegistry registry, String clientName) {
+        this(registry, clientName, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Creates a new exporter for the provided registry, registering MBeans with the provided MBean server.
+     *
+     * @param registry the registry whose metrics should be exported
+     * @param clientName a name distinguishing this client's metrics from those of any other client in the same JVM
+     * @param mBeanServer the MBean server with which to register the metrics
+     */
+    public IGCMetricsJmxExporter(IGCMetricsRegistry registry, String clientName, MBeanServer mBeanServer) {
+        this.registry = registry;
+        this.clientName = clientName;
+        this.mBeanServer = mBeanServer;
+        this.registered = new CopyOnWriteArrayList<>();
+        this.listener = this::register;
+    }
+
+    /**
+     * Register all existing metrics of the registry, and any further metrics as they are created.
+     */
+    public void start() {
+        registry.addListener(listener);
+        for (IGCRequestMetrics metrics : registry.getAllMetrics()) {
+            register(metrics);
+        }
+    }
+
+    /**
+     * Unregister all metrics registered by this exporter, and stop registering any further metrics.
+     */
+    public void stop() {
+        registry.removeListener(listener);
+        for (ObjectName name : registered) {
+            try {
+                if (mBeanServer.isRegistered(name)) {
+                    mBeanServer.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                if (log.isWarnEnabled()) { log.warn("Unable to unregister metrics: {}", name, e); }
+            }
+        }
+        registered.clear();
+    }
+
+    /**
+     * Register a single set of metrics (if it is not already registered).
+     *
+     * @param metrics the metrics to register
+     */
+    private void register(IGCRequestMetrics metrics) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN
+                    + ":type=IGCRestClient"
+                    + ",client=" + ObjectName.quote(clientName)
+                    + ",endpoint=" + ObjectName.quote(metrics.getEndpoint())
+                    + ",assetType=" + ObjectName.quote(metrics.getAssetType()));
+            if (!mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(metrics, name);
+                registered.add(name);
+            }
+        } catch (JMException e) {
+            if (log.isWarnEnabled()) { log.warn("Unable to register metrics: {}", metrics, e); }
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics;
+
+/**
+ * Receives measurements of the requests an IGCRestClient makes against IGC, so that they can be aggregated or
+ * exported to some monitoring system.
+ * <br><br>
+ * Endpoints are identified by the short names given by the ENDPOINT_ constants. Implementations must be thread-safe,
+ * and should be cheap: they are called on the thread making each request.
+ *
+ * @see IGCMetricsRegistry
+ */
+public interface IGCMetricsRecorder {
+
+    String ENDPOINT_SEARCH = "search";
+    String ENDPOINT_ASSET = "asset";
+    String ENDPOINT_BUNDLES = "bundles";
+    String ENDPOINT_LOGOUT = "logout";
+    String ENDPOINT_TYPES = "types";
+    String ENDPOINT_OTHER = "other";
+
+    /**
+     * Record a single HTTP request to IGC.
+     *
+     * @param endpoint the endpoint to which the request was sent
+     * @param latencyNanos the time taken to send the request and receive (and, where streamed, read) its response
+     * @param responseBytes the size of the body of the response
+     * @param failed true if the request failed (eg. an error response, or no response at all), otherwise false
+     */
+    void recordRequest(String endpoint, long latencyNanos, long responseBytes, boolean failed);
+
+    /**
+     * Record that a session had to be re-opened (re-authenticated) in order to complete a request.
+     *
+     * @param endpoint the endpoint to which the request that required the new session was sent
+     */
+    void recordRelogin(String endpoint);
+
+    /**
+     * Record a set of results retrieved from IGC: a page of search results, a page of relationships, or an asset.
+     *
+     * @param endpoint the endpoint from which the results were retrieved
+     * @param assetType the asset type(s) searched for or returned
+     * @param pageNumber the (1-based) number of the page of results that was retrieved
+     * @param itemsReturned the number of items in the results
+     * @param latencyNanos the total time taken to retrieve the results (including any waiting and re-trying)
+     */
+    void recordResults(String endpoint, String assetType, int pageNumber, int itemsReturned, long latencyNanos);
+
+}
@@ -0,0 +1,148 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory registry that aggregates the metrics of requests to IGC, both per endpoint (across all requests to
+ * that endpoint) and per endpoint and asset type (across all results retrieved for that type from that endpoint).
+ * <br><br>
+ * Listeners can be added to be notified of each new set of metrics as it is created (eg. to export it).
+ */
+public class IGCMetricsRegistry implements IGCMetricsRecorder {
+
+    private static final String UNKNOWN_TYPE = "unknown";
+
+    private final ConcurrentMap<String, IGCRequestMetrics> metricsByKey;
+    private final List<Consumer<IGCRequestMetrics>> listeners;
+
+    /**
+     * Creates a new, empty registry.
+     */
+    public IGCMetricsRegistry() {
+        this.metricsByKey = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordRequest(String endpoint, long latencyNanos, long responseBytes, boolean failed) {
+        getOrCreateMetrics(endpoint, IGCRequestMetrics.ALL_TYPES).recordRequest(latencyNanos, responseBytes, failed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordRelogin(String endpoint) {
+        getOrCreateMetrics(endpoint, IGCRequestMetrics.ALL_TYPES).recordRelogin();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordResults(String endpoint, String assetType, int pageNumber, int itemsReturned, long latencyNanos) {
+        String type = (assetType == null || assetType.isEmpty()) ? UNKNOWN_TYPE : assetType;
+        getOrCreateMetrics(endpoint, type).recordResults(pageNumber, itemsReturned, latencyNanos);
+    }
+
+    /**
+     * Retrieve the metrics for the provided endpoint and asset type, or null if there are none.
+     *
+     * @param endpoint the endpoint (one of the ENDPOINT_ constants)
+     * @param assetType the asset type(s), or IGCRequestMetrics.ALL_TYPES for the metrics of the endpoint as a whole
+     * @return IGCRequestMetrics
+     */
+    public IGCRequestMetrics getMetrics(String endpoint, String assetType) {
+        return metricsByKey.get(getKey(endpoint, assetType));
+    }
+
+    /**
+     * Retrieve all metrics in the registry.
+     *
+     * @return {@code Collection<IGCRequestMetrics>}
+     */
+    public Collection<IGCRequestMetrics> getAllMetrics() {
+        return Collections.unmodifiableCollection(metricsByKey.values());
+    }
+
+    /**
+     * Add a listener to be notified of each new set of metrics when it is first created.
+     *
+     * @param listener the listener to notify
+     */
+    public void addListener(Consumer<IGCRequestMetrics> listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Remove a listener that was previously added.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<IGCRequestMetrics> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("IGCMetricsRegistry{");
+        boolean first = true;
+        for (IGCRequestMetrics metrics : metricsByKey.values()) {
+            if (IGCRequestMetrics.ALL_TYPES.equals(metrics.getAssetType())) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(metrics);
+                first = false;
+            }
+        }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Retrieve the metrics for the provided endpoint and asset type, creating them (and notifying any listeners) if
+     * they do not yet exist.
+     *
+     * @param endpoint the endpoint
+     * @param assetType the asset type(s)
+     * @return IGCRequestMetrics
+     */
+    private IGCRequestMetrics getOrCreateMetrics(String endpoint, String assetType) {
+        String key = getKey(endpoint, assetType);
+        IGCRequestMetrics metrics = metricsByKey.get(key);
+        if (metrics == null) {
+            IGCRequestMetrics created = new IGCRequestMetrics(endpoint, assetType);
+            metrics = metricsByKey.putIfAbsent(key, created);
+            if (metrics == null) {
+                metrics = created;
+                for (Consumer<IGCRequestMetrics> listener : listeners) {
+                    listener.accept(created);
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Retrieve the key under which the metrics for the provided endpoint and asset type are registered.
+     *
+     * @param endpoint the endpoint
+     * @param assetType the asset type(s)
+     * @return String
+     */
+    private String getKey(String endpoint, String assetType) {
+        return endpoint + "|" + assetType;
+    }
+
+}
@@ -0,0 +1,246 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The aggregated metrics of requests to a single IGC endpoint: either of all requests to that endpoint (when the
+ * asset type is ALL_TYPES), or of the results retrieved from that endpoint for a particular asset type.
+ * <br><br>
+ * All measurements are lock-free, so that recording them adds negligible overhead to each request.
+ */
+public class IGCRequestMetrics implements IGCRequestMetricsMBean {
+
+    public static final String ALL_TYPES = "all";
+
+    private static final long[] LATENCY_BUCKET_BOUNDS_MILLIS = {
+            5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000
+    };
+
+    private final String endpoint;
+    private final String assetType;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder reloginCount = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final LongAdder itemsReturned = new LongAdder();
+    private final LongAdder pageCount = new LongAdder();
+    private final LongAdder pageNumberTotal = new LongAdder();
+    private final LongAccumulator maxPageNumber = new LongAccumulator(Math::max, 0);
+    private final LongAdder latencyNanosTotal = new LongAdder();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_MILLIS.length + 1);
+
+    /**
+     * Creates a new (empty) set of metrics.
+     *
+     * @param endpoint the endpoint to which the metrics apply
+     * @param assetType the asset type(s) to which the metrics apply, or ALL_TYPES
+     */
+    public IGCRequestMetrics(String endpoint, String assetType) {
+        this.endpoint = endpoint;
+        this.assetType = assetType;
+    }
+
+    /**
+     * Record a single request.
+     *
+     * @param latencyNanos the time taken by the request
+     * @param bytes the size of the body of the response
+     * @param failed whether the request failed (true) or not (false)
+     */
+    void recordRequest(long latencyNanos, long bytes, boolean failed) {
+        recordLatency(latencyNanos);
+        responseBytes.add(bytes);
+        if (failed) {
+            failureCount.increment();
+        }
+    }
+
+    /**
+     * Record a re-opened session.
+     */
+    void recordRelogin() {
+        reloginCount.increment();
+    }
+
+    /**
+     * Record a set of results.
+     *
+     * @param pageNumber the (1-based) number of the page of results
+     * @param items the number of items in the results
+     * @param latencyNanos the time taken to retrieve the results
+     */
+    void recordResults(int pageNumber, int items, long latencyNanos) {
+        recordLatency(latencyNanos);
+        itemsReturned.add(items);
+        pageCount.increment();
+        pageNumberTotal.add(pageNumber);
+        maxPageNumber.accumulate(pageNumber);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getEndpoint() { return endpoint; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAssetType() { return assetType; }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRequestCount() { return requestCount.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getFailureCount() { return failureCount.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getReloginCount() { return reloginCount.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getResponseBytes() { return responseBytes.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getItemsReturned() { return itemsReturned.sum(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMaxPageNumber() { return maxPageNumber.get(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMeanPageNumber() {
+        long pages = pageCount.sum();
+        return (pages == 0) ? 0.0 : (double) pageNumberTotal.sum() / pages;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMeanLatencyMillis() {
+        long requests = requestCount.sum();
+        return (requests == 0) ? 0.0 : latencyNanosTotal.sum() / 1000000.0 / requests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLatencyP50Millis() { return getLatencyPercentileMillis(0.50); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLatencyP95Millis() { return getLatencyPercentileMillis(0.95); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLatencyP99Millis() { return getLatencyPercentileMillis(0.99); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getLatencyBucketBoundsMillis() { return LATENCY_BUCKET_BOUNDS_MILLIS.clone(); }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[latencyHistogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = latencyHistogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Estimate the latency below which the provided proportion of requests completed, as the upper bound of the
+     * histogram bucket into which that proportion falls (or the last bound, if it falls beyond all of them).
+     *
+     * @param percentile the proportion of requests (0.0 - 1.0)
+     * @return long - the latency, in milliseconds
+     */
+    public long getLatencyPercentileMillis(double percentile) {
+        long[] counts = getLatencyHistogram();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MILLIS.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return LATENCY_BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS_MILLIS[LATENCY_BUCKET_BOUNDS_MILLIS.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return "IGCRequestMetrics{" +
+                "endpoint=" + endpoint +
+                ", assetType=" + assetType +
+                ", requests=" + getRequestCount() +
+                ", failures=" + getFailureCount() +
+                ", relogins=" + getReloginCount() +
+                ", bytes=" + getResponseBytes() +
+                ", items=" + getItemsReturned() +
+                ", maxPage=" + getMaxPageNumber() +
+                ", meanMillis=" + String.format("%.1f", getMeanLatencyMillis()) +
+                ", p99Millis=" + getLatencyP99Millis() +
+                "}";
+    }
+
+    /**
+     * Count a request and add its latency into the histogram.
+     *
+     * @param latencyNanos the time taken by the request
+     */
+    private void recordLatency(long latencyNanos) {
+        requestCount.increment();
+        latencyNanosTotal.add(latencyNanos);
+        long millis = latencyNanos / 1000000L;
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length && millis > LATENCY_BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+}
@@ -0,0 +1,119 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.egeria.connectors.ibm.igc.clientlibrary.metrics;
+
+/**
+ * The management interface through which IGCRequestMetrics are exposed over JMX.
+ *
+ * @see IGCMetricsJmxExporter
+ */
+public interface IGCRequestMetricsMBean {
+
+    /**
+     * Retrieve the endpoint to which these metrics apply.
+     *
+     * @return String
+     */
+    String getEndpoint();
+
+    /**
+     * Retrieve the asset type(s) to which these metrics apply, or ALL_TYPES if they cover every request to the
+     * endpoint.
+     *
+     * @return String
+     */
+    String getAssetType();
+
+    /**
+     * Retrieve the number of requests made.
+     *
+     * @return long
+     */
+    long getRequestCount();
+
+    /**
+     * Retrieve the number of requests that failed.
+     *
+     * @return long
+     */
+    long getFailureCount();
+
+    /**
+     * Retrieve the number of times a session had to be re-opened to complete a request.
+     *
+     * @return long
+     */
+    long getReloginCount();
+
+    /**
+     * Retrieve the total size of all response bodies received.
+     *
+     * @return long
+     */
+    long getResponseBytes();
+
+    /**
+     * Retrieve the total number of items (results) returned.
+     *
+     * @return long
+     */
+    long getItemsReturned();
+
+    /**
+     * Retrieve the highest page number of results retrieved.
+     *
+     * @return long
+     */
+    long getMaxPageNumber();
+
+    /**
+     * Retrieve the average page number of results retrieved.
+     *
+     * @return double
+     */
+    double getMeanPageNumber();
+
+    /**
+     * Retrieve the average latency of requests, in milliseconds.
+     *
+     * @return double
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * Retrieve the (bucketed) median latency of requests, in milliseconds.
+     *
+     * @return long
+     */
+    long getLatencyP50Millis();
+
+    /**
+     * Retrieve the (bucketed) 95th percentile latency of requests, in milliseconds.
+     *
+     * @return long
+     */
+    long getLatencyP95Millis();
+
+    /**
+     * Retrieve the (bucketed) 99th percentile latency of requests, in milliseconds.
+     *
+     * @return long
+     */
+    long getLatencyP99Millis();
+
+    /**
+     * Retrieve the upper bound (in milliseconds) of each bucket of the latency histogram.
+     *
+     * @return long[]
+     */
+    long[] getLatencyBucketBoundsMillis();
+
+    /**
+     * Retrieve the number of requests whose latency fell into each bucket of the latency histogram. (The final
+     * bucket counts all requests slower than the last bound.)
+     *
+     * @return long[]
+     */
+    long[] getLatencyHistogram();
+
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.*;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearch;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchCondition;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchConditionSet;
+import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCAssetCache;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestConstants;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.search.IGCSearchSorting;
@@ -14,7 +15,13 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The ultimate parent object for all IGC assets, it contains only the most basic information common to every single
@@ -60,6 +67,11 @@ public class Reference extends ObjectPrinter {
      */
     @JsonIgnore private boolean fullyRetrieved = false;
 
+    /**
+     * Used to track which properties have already been retrieved for this asset (eg. by the search that found it).
+     */
+    @JsonIgnore private Set<String> retrievedProperties = null;
+
     /**
      * Provides the context to the unique identity of this asset. Note that while this will exist on
      * almost all IGC assets, it is not present on absolutely all of them -- also be aware that without
@@ -111,6 +123,26 @@ public class Reference extends ObjectPrinter {
     @JsonIgnore public boolean isFullyRetrieved() { return this.fullyRetrieved; }
     @JsonIgnore public void setFullyRetrieved() { this.fullyRetrieved = true; }
 
+    /**
+     * Record that the provided properties have already been retrieved for this asset.
+     *
+     * @param properties the names of the properties that have been retrieved
+     */
+    @JsonIgnore public void setRetrievedProperties(Collection<String> properties) {
+        this.retrievedProperties = (properties == null) ? null : new HashSet<>(properties);
+    }
+
+    /**
+     * Indicates whether all of the provided properties have already been retrieved for this asset (so there is no
+     * need to retrieve them again).
+     *
+     * @param properties the names of the properties needed
+     * @return boolean
+     */
+    @JsonIgnore public boolean hasRetrievedProperties(Collection<String> properties) {
+        return fullyRetrieved || (retrievedProperties != null && retrievedProperties.containsAll(properties));
+    }
+
     @JsonIgnore private static final List<String> NON_RELATIONAL_PROPERTIES = Arrays.asList(
             "name"
     );
@@ -241,20 +273,30 @@ public class Reference extends ObjectPrinter {
 
         if (bHasModificationDetails && createdBy == null) {
 
-            IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", this.getId());
-            IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
-            IGCSearch igcSearch = new IGCSearch(this.getType(), idOnlySet);
-            igcSearch.addProperties(IGCRestConstants.getModificationProperties());
-            igcSearch.setPageSize(2);
-            ReferenceList assetsWithModDetails = igcrest.search(igcSearch);
-            success = (!assetsWithModDetails.getItems().isEmpty());
-            if (success) {
-
-                Reference assetWithModDetails = assetsWithModDetails.getItems().get(0);
-                igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_ON, igcrest.getPropertyByName(assetWithModDetails, IGCRestConstants.MOD_CREATED_ON));
-                igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_BY, igcrest.getPropertyByName(assetWithModDetails, IGCRestConstants.MOD_CREATED_BY));
-                igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_ON, igcrest.getPropertyByName(assetWithModDetails, IGCRestConstants.MOD_MODIFIED_ON));
-                igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_BY, igcrest.getPropertyByName(assetWithModDetails, IGCRestConstants.MOD_MODIFIED_BY));
+            IGCAssetCache cache = igcrest.getAssetCache();
+            Map<String, Object> cachedModDetails = (cache == null) ? null : cache.getModificationDetails(this.getId());
+
+            if (cachedModDetails != null) {
+                setModificationDetails(igcrest, cachedModDetails);
+            } else {
+
+                IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", this.getId());
+                IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
+                IGCSearch igcSearch = new IGCSearch(this.getType(), idOnlySet);
+                igcSearch.addProperties(IGCRestConstants.getModificationProperties());
+                igcSearch.setPageSize(2);
+                ReferenceList assetsWithModDetails = igcrest.search(igcSearch);
+                success = (!assetsWithModDetails.getItems().isEmpty());
+                if (success) {
+
+                    Reference assetWithModDetails = assetsWithModDetails.getItems().get(0);
+                    Map<String, Object> modDetails = getModificationDetails(igcrest, assetWithModDetails);
+                    setModificationDetails(igcrest, modDetails);
+                    if (cache != null) {
+                        cache.putModificationDetails(this.getId(), modDetails);
+                    }
+
+                }
 
             }
 
@@ -280,25 +322,47 @@ public class Reference extends ObjectPrinter {
 
             boolean bHasModificationDetails = igcrest.hasModificationDetails(this.getType());
 
-            IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", this.getId());
-            IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
-            IGCSearch igcSearch = new IGCSearch(this.getType(), idOnlySet);
-            if (bHasModificationDetails) {
-                igcSearch.addProperties(IGCRestConstants.getModificationProperties());
+            IGCAssetCache cache = igcrest.getAssetCache();
+            List<Reference> cachedContext = (cache == null) ? null : cache.getContext(this.getId());
+            Map<String, Object> cachedModDetails = null;
+            if (cachedContext != null && bHasModificationDetails) {
+                cachedModDetails = cache.getModificationDetails(this.getId());
             }
-            igcSearch.setPageSize(2);
-            ReferenceList assetsWithCtx = igcrest.search(igcSearch);
-            success = (!assetsWithCtx.getItems().isEmpty());
-            if (success) {
 
-                Reference assetWithCtx = assetsWithCtx.getItems().get(0);
-                this._context = new ArrayList(assetWithCtx.getContext());
+            if (cachedContext != null && (!bHasModificationDetails || cachedModDetails != null)) {
+
+                this._context = new ArrayList<>(cachedContext);
+                if (bHasModificationDetails) {
+                    setModificationDetails(igcrest, cachedModDetails);
+                }
+
+            } else {
 
+                IGCSearchCondition idOnly = new IGCSearchCondition("_id", "=", this.getId());
+                IGCSearchConditionSet idOnlySet = new IGCSearchConditionSet(idOnly);
+                IGCSearch igcSearch = new IGCSearch(this.getType(), idOnlySet);
                 if (bHasModificationDetails) {
-                    igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_ON, igcrest.getPropertyByName(assetWithCtx, IGCRestConstants.MOD_CREATED_ON));
-                    igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_BY, igcrest.getPropertyByName(assetWithCtx, IGCRestConstants.MOD_CREATED_BY));
-                    igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_ON, igcrest.getPropertyByName(assetWithCtx, IGCRestConstants.MOD_MODIFIED_ON));
-                    igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_BY, igcrest.getPropertyByName(assetWithCtx, IGCRestConstants.MOD_MODIFIED_BY));
+                    igcSearch.addProperties(IGCRestConstants.getModificationProperties());
+                }
+                igcSearch.setPageSize(2);
+                ReferenceList assetsWithCtx = igcrest.search(igcSearch);
+                success = (!assetsWithCtx.getItems().isEmpty());
+                if (success) {
+
+                    Reference assetWithCtx = assetsWithCtx.getItems().get(0);
+                    this._context = new ArrayList(assetWithCtx.getContext());
+                    if (cache != null) {
+                        cache.putContext(this.getId(), this._context);
+                    }
+
+                    if (bHasModificationDetails) {
+                        Map<String, Object> modDetails = getModificationDetails(igcrest, assetWithCtx);
+                        setModificationDetails(igcrest, modDetails);
+                        if (cache != null) {
+                            cache.putModificationDetails(this.getId(), modDetails);
+                        }
+                    }
+
                 }
 
             }
@@ -309,6 +373,159 @@ public class Reference extends ObjectPrinter {
 
     }
 
+    /**
+     * Ensures that the _context (and, where the asset type supports them, the modification details) of each of the
+     * provided assets are populated, using a single batched search per asset type rather than a search per asset.
+     * Any assets whose details are already populated (or cached) are skipped, and any that cannot be found are left
+     * as-is (so that they will be retrieved individually if they are needed later).
+     *
+     * @param igcrest a REST API connection to use in populating the details
+     * @param assets the assets whose details should be populated
+     * @see #populateContext(IGCRestClient)
+     */
+    public static void populateContextForAll(IGCRestClient igcrest, Collection<Reference> assets) {
+
+        IGCAssetCache cache = igcrest.getAssetCache();
+
+        // Collect the assets that need anything retrieved, by the type through which to search for them and then RID
+        Map<String, Map<String, List<Reference>>> assetsToRetrieve = new LinkedHashMap<>();
+        for (Reference asset : assets) {
+            if (asset != null && asset.getId() != null && asset.getType() != null
+                    && asset.isMissingContextOrModificationDetails(igcrest, cache)) {
+                assetsToRetrieve
+                        .computeIfAbsent(getAssetTypeForSearch(asset.getType()), k -> new LinkedHashMap<>())
+                        .computeIfAbsent(asset.getId(), k -> new ArrayList<>())
+                        .add(asset);
+            }
+        }
+
+        for (Map.Entry<String, Map<String, List<Reference>>> entry : assetsToRetrieve.entrySet()) {
+
+            String assetType = entry.getKey();
+            Map<String, List<Reference>> assetsByRid = entry.getValue();
+            boolean bHasModificationDetails = igcrest.hasModificationDetails(assetType);
+            if (log.isDebugEnabled()) { log.debug("Retrieving _context of {} assets of type {} in batch.", assetsByRid.size(), assetType); }
+
+            Map<String, Reference> retrieved = igcrest.getAssetsByIds(
+                    assetType,
+                    assetsByRid.keySet(),
+                    bHasModificationDetails ? IGCRestConstants.getModificationProperties() : null
+            );
+
+            for (Map.Entry<String, Reference> found : retrieved.entrySet()) {
+
+                String rid = found.getKey();
+                Reference assetWithCtx = found.getValue();
+                List<Reference> context = (assetWithCtx.getContext() == null) ? new ArrayList<>() : assetWithCtx.getContext();
+                Map<String, Object> modDetails = bHasModificationDetails ? getModificationDetails(igcrest, assetWithCtx) : null;
+                if (cache != null) {
+                    cache.putContext(rid, context);
+                    if (modDetails != null) {
+                        cache.putModificationDetails(rid, modDetails);
+                    }
+                }
+
+                List<Reference> requested = assetsByRid.get(rid);
+                if (requested != null) {
+                    for (Reference asset : requested) {
+                        if (asset._context.isEmpty()) {
+                            asset._context = new ArrayList<>(context);
+                        }
+                        // Set the identity as well, so that an asset that genuinely has no _context is not searched
+                        // for again when its identity is requested
+                        if (asset.identity == null) {
+                            asset.identity = new Identity(asset._context, asset.getType(), asset.getName(), asset.getId());
+                        }
+                        if (modDetails != null && igcrest.getPropertyByName(asset, IGCRestConstants.MOD_CREATED_BY) == null) {
+                            asset.setModificationDetails(igcrest, modDetails);
+                        }
+                    }
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Indicates whether the _context of this asset would still need to be retrieved from IGC: that is, it is neither
+     * already populated on the asset nor available from the cache.
+     *
+     * @param igcrest a REST API connection to use in checking the context
+     * @return boolean
+     */
+    public boolean isMissingContext(IGCRestClient igcrest) {
+        return isMissingContext(igcrest.getAssetCache());
+    }
+
+    /**
+     * Indicates whether the _context or modification details of this asset would still need to be retrieved from
+     * IGC: that is, they are neither already populated on the asset nor available from the cache.
+     *
+     * @param igcrest a REST API connection to use in checking the modification details
+     * @return boolean
+     */
+    public boolean isMissingContextOrModificationDetails(IGCRestClient igcrest) {
+        return isMissingContextOrModificationDetails(igcrest, igcrest.getAssetCache());
+    }
+
+    /**
+     * Indicates whether the _context of this asset still needs to be retrieved.
+     *
+     * @param cache the cache of asset details (or null if caching is disabled)
+     * @return boolean
+     */
+    private boolean isMissingContext(IGCAssetCache cache) {
+        return (this.identity == null
+                && this._context.isEmpty()
+                && (cache == null || cache.getContext(this.getId()) == null));
+    }
+
+    /**
+     * Indicates whether the _context or modification details of this asset still need to be retrieved: that is, they
+     * are neither already populated on the asset nor available from the cache.
+     *
+     * @param igcrest a REST API connection to use in checking the modification details
+     * @param cache the cache of asset details (or null if caching is disabled)
+     * @return boolean
+     */
+    private boolean isMissingContextOrModificationDetails(IGCRestClient igcrest, IGCAssetCache cache) {
+        boolean missingContext = isMissingContext(cache);
+        boolean missingModDetails = (igcrest.hasModificationDetails(this.getType())
+                && igcrest.getPropertyByName(this, IGCRestConstants.MOD_CREATED_BY) == null
+                && (cache == null || cache.getModificationDetails(this.getId()) == null));
+        return missingContext || missingModDetails;
+    }
+
+    /**
+     * Retrieve the modification details of the provided asset, keyed by property name.
+     *
+     * @param igcrest a REST API connection to use in reading the modification details
+     * @param asset the asset from which to read the modification details
+     * @return {@code Map<String, Object>}
+     */
+    private static Map<String, Object> getModificationDetails(IGCRestClient igcrest, Reference asset) {
+        Map<String, Object> modDetails = new HashMap<>();
+        for (String property : IGCRestConstants.getModificationProperties()) {
+            modDetails.put(property, igcrest.getPropertyByName(asset, property));
+        }
+        return modDetails;
+    }
+
+    /**
+     * Set the provided modification details (keyed by property name) on this asset.
+     *
+     * @param igcrest a REST API connection to use in setting the modification details
+     * @param modDetails the modification details to set
+     */
+    private void setModificationDetails(IGCRestClient igcrest, Map<String, Object> modDetails) {
+        igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_ON, modDetails.get(IGCRestConstants.MOD_CREATED_ON));
+        igcrest.setPropertyByName(this, IGCRestConstants.MOD_CREATED_BY, modDetails.get(IGCRestConstants.MOD_CREATED_BY));
+        igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_ON, modDetails.get(IGCRestConstants.MOD_MODIFIED_ON));
+        igcrest.setPropertyByName(this, IGCRestConstants.MOD_MODIFIED_BY, modDetails.get(IGCRestConstants.MOD_MODIFIED_BY));
+    }
+
     /**
      * Retrieves the semantic identity of the asset.
      *
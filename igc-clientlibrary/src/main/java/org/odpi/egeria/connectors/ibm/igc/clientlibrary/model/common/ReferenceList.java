@@ -7,6 +7,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import org.odpi.egeria.connectors.ibm.igc.clientlibrary.IGCRestClient;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Provides a standard class for any relationship in IGC, by including 'paging' details and 'items' array.
@@ -53,10 +55,52 @@ public class ReferenceList extends ObjectPrinter {
      * @param igcrest the IGCRestClient connection to use to retrieve the relationships
      */
     public void getAllPages(IGCRestClient igcrest) {
-        this.items = new ArrayList(igcrest.getAllPages(this.items, this.paging));
+        List<Reference> allPages = igcrest.getAllPages(this.items, this.paging);
+        if (allPages != this.items) {
+            this.items = (allPages instanceof ArrayList) ? (ArrayList<Reference>) allPages : new ArrayList<>(allPages);
+        }
         this.paging = new Paging(this.items.size());
     }
 
+    /**
+     * Asynchronously retrieve all pages of relationships that this object represents. The relationships of this object
+     * are only replaced once all pages have been retrieved.
+     *
+     * @param igcrest the IGCRestClient connection to use to retrieve the relationships
+     * @return {@code CompletableFuture<Void>} - completes once all pages have been retrieved
+     */
+    public CompletableFuture<Void> getAllPagesAsync(IGCRestClient igcrest) {
+        return igcrest.getAllPagesAsync(this.items, this.paging).thenAccept(allPages -> {
+            if (allPages != this.items) {
+                this.items = (allPages instanceof ArrayList) ? (ArrayList<Reference>) allPages : new ArrayList<>(allPages);
+            }
+            this.paging = new Paging(this.items.size());
+        });
+    }
+
+    /**
+     * Retrieve only those relationships that this object represents within the provided range (of indices across all
+     * pages), fetching only the pages needed to cover that range. The relationships of this object are not modified.
+     *
+     * @param igcrest the IGCRestClient connection to use to retrieve the relationships
+     * @param fromIndex the index (across all pages) of the first relationship to retrieve
+     * @param toIndex the index (across all pages) after the last relationship to retrieve
+     * @return {@code List<Reference>} - the relationships within the range
+     */
+    public List<Reference> getItemsInRange(IGCRestClient igcrest, int fromIndex, int toIndex) {
+        return igcrest.getItemsInRange(this.items, this.paging, fromIndex, toIndex);
+    }
+
+    /**
+     * Retrieve the total number of relationships (across all pages) that this object represents.
+     *
+     * @return int
+     */
+    public int getTotal() {
+        Integer numTotal = (this.paging == null) ? null : this.paging.getNumTotal();
+        return (numTotal == null) ? this.items.size() : Math.max(numTotal, this.items.size());
+    }
+
     /**
      * Retrieve the next page of relationships that this object represents.
      *
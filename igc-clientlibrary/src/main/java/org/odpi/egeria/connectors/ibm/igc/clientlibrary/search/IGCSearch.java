@@ -134,6 +134,49 @@ public class IGCSearch {
         this.beginAt = beginAt;
     }
 
+    /**
+     * Retrieve the asset types for which to search.
+     *
+     * @return {@code List<String>}
+     */
+    public List<String> getTypes() {
+        List<String> typeNames = new ArrayList<>();
+        types.forEach(type -> typeNames.add(type.asText()));
+        return typeNames;
+    }
+
+    /**
+     * Retrieve the list of properties to be returned for each result of the search.
+     *
+     * @return {@code List<String>}
+     */
+    public List<String> getProperties() {
+        List<String> propertyNames = new ArrayList<>();
+        properties.forEach(property -> propertyNames.add(property.asText()));
+        return propertyNames;
+    }
+
+    /**
+     * Retrieve the set of conditions used for the search (or null if there are none).
+     *
+     * @return IGCSearchConditionSet
+     */
+    public IGCSearchConditionSet getConditions() { return conditions; }
+
+    /**
+     * Retrieve the number of results to include in each page.
+     *
+     * @return int
+     */
+    public int getPageSize() { return pageSize; }
+
+    /**
+     * Retrieve the number of results to skip over before returning.
+     *
+     * @return int
+     */
+    public int getBeginAt() { return beginAt; }
+
     /**
      * Set whether to search the development glossary (true) or published glossary (false).
      *